@@ -27,7 +27,6 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,8 +35,10 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Stack;
 import java.util.Vector;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IContainer;
@@ -53,6 +54,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.prop4j.Literal;
 import org.prop4j.Node;
+import org.prop4j.NodeReader;
 import org.prop4j.Not;
 
 import antenna.preprocessor.v3.PPException;
@@ -64,9 +66,12 @@ import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.builder.IComposerExtensionClass;
 import de.ovgu.featureide.core.builder.IComposerObject;
 import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass;
+import de.ovgu.featureide.core.builder.preprocessor.PPFileCheckThread;
+import de.ovgu.featureide.core.builder.preprocessor.PPFileState;
 import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
 import de.ovgu.featureide.core.signature.documentation.base.ADocumentationCommentParser;
 import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.NodeCreator;
@@ -81,24 +86,100 @@ import de.ovgu.featureide.fm.core.editing.NodeCreator;
  */
 public class AntennaPreprocessor extends PPComposerExtensionClass {
 
-	/** antenna preprocessor used from external library */
-	private Preprocessor preprocessor;
+	/**
+	 * Checks the directives of source files and runs the antenna preprocessor on them. Each worker has its own preprocessor, because the preprocessor
+	 * keeps the state of the current file.
+	 */
+	private static class PreprocessThread extends PPFileCheckThread {
+
+		private final String defines;
+
+		/** antenna preprocessor used from external library */
+		private Preprocessor preprocessor;
+
+		public PreprocessThread(PPComposerExtensionClass composer, List<IFile> files, String defines) {
+			super(composer, files, null);
+			this.defines = defines;
+		}
+
+		private PreprocessThread(PreprocessThread oldThread) {
+			super(oldThread);
+			defines = oldThread.defines;
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			// add activated features as definitions to preprocessor
+			preprocessor = new Preprocessor(new AntennaLogger(), new AntennaLineFilter());
+			try {
+				preprocessor.addDefines(defines);
+				return true;
+			} catch (final PPException e) {
+				AntennaCorePlugin.getDefault().logError(e);
+				return false;
+			}
+		}
+
+		@Override
+		protected void postProcess(Vector<String> lines, PPFileState fileState) {
+			final IFile res = fileState.getFile();
+			try {
+				// run antenna preprocessor
+				if (preprocessor.preprocess(lines, res.getCharset())) {
+					// if preprocessor changed file: save (refreshed together with the markers)
+					try (FileOutputStream ostr = new FileOutputStream(res.getRawLocation().toOSString())) {
+						Preprocessor.saveStrings(lines, ostr, res.getCharset());
+					}
+					fileState.setChanged(true);
+				}
+			} catch (final PPException e) {
+				final int lineNumber = e.getLineNumber();
+				fileState.addMarker(e.getMessage().replace("Line #" + lineNumber + " :", "Antenna:"), Math.max(lineNumber, 0) + 1, IMarker.SEVERITY_ERROR);
+				AntennaCorePlugin.getDefault().logError(e);
+			} catch (CoreException | IOException e) {
+				AntennaCorePlugin.getDefault().logError(e);
+			}
+		}
+
+		@Override
+		protected AWorkerThread<IFile> newThread() {
+			return new PreprocessThread(this);
+		}
+	}
 
 	private AntennaModelBuilder antennaModelBuilder;
 
 	/** pattern for replacing preprocessor commands like "//#if" */
 	static final Pattern replaceCommandPattern = Pattern.compile("//\\s*\\#(.+?)\\s");
 
+	/**
+	 * pattern for the preprocessor commands that affect the nesting of expressions (longer names first, because the first matching alternative is taken)
+	 */
+	private static final Pattern directivePattern = Pattern.compile("//\\s*\\#(ifdef|ifndef|if|elifdef|elifndef|elif|else|endif|condition)");
+
+	/** pattern for the start of any preprocessor command */
+	private static final Pattern anyDirectivePattern = Pattern.compile("//\\s*\\#");
+
+	private static final Pattern whitespaceBeforeHashPattern = Pattern.compile("\\s+#");
+
+	private static final Pattern operatorsPattern = Pattern.compile(AntennaModelBuilder.OPERATORS);
+
 	public AntennaPreprocessor() {
 		super(ANTENNA);
 		nodereader.setIgnoreMissingFeatures(true);
 	}
 
+	@Override
+	protected NodeReader createNodeReader() {
+		final NodeReader nodeReader = super.createNodeReader();
+		nodeReader.setIgnoreMissingFeatures(true);
+		return nodeReader;
+	}
+
 	@Override
 	public boolean initialize(IFeatureProject project) {
 		super.initialize(project);
 		antennaModelBuilder = new AntennaModelBuilder(project);
-		preprocessor = new Preprocessor(new AntennaLogger(), new AntennaLineFilter());
 
 		final String projectSourcePath = project.getProjectSourcePath();
 		if ((projectSourcePath == null) || projectSourcePath.isEmpty()) {
@@ -137,17 +218,12 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 			featureList.deleteCharAt(length - 1);
 		}
 
-		// add source files
-		try {
-			// add activated features as definitions to preprocessor
-			preprocessor.clearDefines();
-			preprocessor.addDefines(featureList.toString());
-
-			// preprocess for all files in source folder
-			startPreprocessingSourceFiles(featureProject.getBuildFolder(), true);
-		} catch (final Exception e) {
-			AntennaCorePlugin.getDefault().logError(e);
-		}
+		// preprocess for all files in source folder
+		final List<IFile> files = getFiles(featureProject.getBuildFolder());
+		final PreprocessThread preprocessThread = new PreprocessThread(this, files, featureList.toString());
+		preprocessThread.check();
+		applyMarkers(preprocessThread.getFileStates(), true);
+		setModelMarkers();
 
 		if (antennaModelBuilder != null) {
 			antennaModelBuilder.buildModel();
@@ -246,120 +322,56 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 	public void postModelChanged() {
 		deleteAllPreprocessorAnotationMarkers();
 		prepareFullBuild(null);
-		startPreprocessingSourceFiles(featureProject.getBuildFolder(), false);
-	}
-
-	private void startPreprocessingSourceFiles(IFolder sourceFolder, boolean performFullBuild) {
-		try {
-			preprocessSourceFiles(sourceFolder, performFullBuild);
-			setModelMarkers();
-		} catch (final FileNotFoundException e) {
-			AntennaCorePlugin.getDefault().logError(e);
-		} catch (final CoreException e) {
-			AntennaCorePlugin.getDefault().logError(e);
-		} catch (final IOException e) {
-			AntennaCorePlugin.getDefault().logError(e);
-		}
-	}
-
-	/**
-	 * preprocess all files in folder
-	 *
-	 * @param sourceFolder folder with files to preprocess
-	 * @throws CoreException
-	 * @throws FileNotFoundException
-	 * @throws IOException
-	 */
-	private void preprocessSourceFiles(IFolder sourceFolder, boolean performFullBuild) throws CoreException, FileNotFoundException, IOException {
-		for (final IResource res : sourceFolder.members()) {
-			if (res instanceof IFolder) {
-				// for folders do recursively
-				preprocessSourceFiles((IFolder) res, performFullBuild);
-			} else if (res instanceof IFile) {
-				// delete all existing builder markers
-				if (performFullBuild) {
-					featureProject.deleteBuilderMarkers(res, 0);
-				}
-
-				// get all lines from file
-				final Vector<String> lines = loadStringsFromFile((IFile) res);
-
-				// do checking and some stuff
-				processLinesOfFile(lines, (IFile) res);
-
-				if (!performFullBuild) {
-					continue;
-				}
-
-				boolean changed = false;
-
-				try {
-					// run antenna preprocessor
-					changed = preprocessor.preprocess(lines, ((IFile) res).getCharset());
-				} catch (final PPException e) {
-					final int lineNumber = e.getLineNumber();
-					featureProject.createBuilderMarker(res, e.getMessage().replace("Line #" + lineNumber + " :", "Antenna:"), Math.max(lineNumber, 0) + 1,
-							IMarker.SEVERITY_ERROR);
-					AntennaCorePlugin.getDefault().logError(e);
-				}
-
-				// if preprocessor changed file: save & refresh
-				if (changed) {
-					FileOutputStream ostr = null;
-					try {
-						ostr = new FileOutputStream(res.getRawLocation().toOSString());
-						Preprocessor.saveStrings(lines, ostr, ((IFile) res).getCharset());
-					} finally {
-						if (ostr != null) {
-							ostr.close();
-						}
-					}
-					// use touch to support e.g. linux
-					res.touch(null);
-					res.refreshLocal(IResource.DEPTH_ZERO, null);
-				}
-			}
-		}
+		checkSourceFiles(featureProject.getBuildFolder(), false);
+		setModelMarkers();
 	}
 
 	/**
 	 * Do checking for all lines of file.
 	 *
 	 * @param lines all lines of file
-	 * @param res file
+	 * @param fileState state of the file
 	 */
-	synchronized private void processLinesOfFile(Vector<String> lines, IFile res) {
-		expressionStack = new Stack<Node>();
+	@Override
+	protected void processLinesOfFile(Vector<String> lines, PPFileState fileState) {
+		final Stack<Node> expressionStack = fileState.getExpressionStack();
 
 		// count of if, ifelse and else to remove after processing of else from stack
-		ifelseCountStack = new Stack<Integer>();
+		final Stack<Integer> ifelseCountStack = fileState.getIfelseCountStack();
 
 		// go line for line
 		for (int j = 0; j < lines.size(); ++j) {
 			final String line = lines.get(j);
 
+			final Matcher directiveMatcher = directivePattern.matcher(line);
+			if (!directiveMatcher.find()) {
+				continue;
+			}
+			final String directive = directiveMatcher.group(1);
+			final boolean isElse = directive.equals("else");
+
 			// if line is preprocessor directive
-			if (containsPreprocessorDirective(line, "ifdef|ifndef|condition|elifdef|elifndef|if|else|elif")) {
+			if (!directive.equals("endif")) {
 
 				// if e1, elseif e2, ..., elseif en == if -e1 && -e2 && ... && en
 				// if e1, elseif e2, ..., else == if -e1 && -e2 && ...
-				if (containsPreprocessorDirective(line, "elifdef|elifndef|else|elif")) {
+				if (isElse || directive.startsWith("elif")) {
 					if (!expressionStack.isEmpty()) {
 						final Node lastElement = new Not(expressionStack.pop().clone());
 						expressionStack.push(lastElement);
 					}
-				} else if (containsPreprocessorDirective(line, "ifdef|ifndef|condition|if")) {
+				} else {
 					ifelseCountStack.push(0);
 				}
 
-				if (!ifelseCountStack.empty() && !containsPreprocessorDirective(line, "else")) {
+				if (!ifelseCountStack.empty() && !isElse) {
 					ifelseCountStack.push(ifelseCountStack.pop() + 1);
 				}
 
-				setMarkersContradictionalFeatures(line, res, j + 1);
+				setMarkersContradictionalFeatures(line, directive, fileState, j + 1);
 
-				setMarkersNotConcreteFeatures(line, res, j + 1);
-			} else if (containsPreprocessorDirective(line, "endif")) {
+				setMarkersNotConcreteFeatures(line, fileState, j + 1);
+			} else {
 				while (!ifelseCountStack.empty()) {
 					if (ifelseCountStack.peek() == 0) {
 						break;
@@ -386,35 +398,28 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 	 * feature model</li> </ol>
 	 *
 	 * @param line content of line
-	 * @param res file containing given line
+	 * @param directive the preprocessor command of the given line
+	 * @param fileState state of the file containing given line
 	 * @param lineNumber line number of given line
 	 */
-	private void setMarkersContradictionalFeatures(String line, IFile res, int lineNumber) {
-		if (containsPreprocessorDirective(line, "else")) {
+	private void setMarkersContradictionalFeatures(String line, String directive, PPFileState fileState, int lineNumber) {
+		final Stack<Node> expressionStack = fileState.getExpressionStack();
+		if (directive.equals("else")) {
 			if (!expressionStack.isEmpty()) {
-				checkContradictionOrTautology(lineNumber, res);
+				checkContradictionOrTautology(lineNumber, fileState);
 			}
 
 			return;
 		}
 
-		final boolean conditionIsSet = containsPreprocessorDirective(line, "condition");
-		final boolean negative = containsPreprocessorDirective(line, "ifndef|elifndef");
+		final boolean conditionIsSet = directive.equals("condition");
+		final boolean negative = directive.equals("ifndef") || directive.equals("elifndef");
 
 		// remove "//#if ", "//ifdef", ...
 		line = replaceCommandPattern.matcher(line).replaceAll("");
 
-		// prepare expression for NodeReader()
-		line = line.trim();
-		line = line.replace("&&", "&");
-		line = line.replace("||", "|");
-		line = line.replace("!", "-");
-		line = line.replace("&", " and ");
-		line = line.replace("|", " or ");
-		line = line.replace("-", " not ");
-
 		// get all features and generate Node expression for given line
-		Node ppExpression = nodereader.stringToNode(line, featureList);
+		Node ppExpression = fileState.getNodeReader().stringToNode(toNodeReaderSyntax(line.trim()), featureList);
 
 		if (ppExpression != null) {
 			if (negative) {
@@ -422,7 +427,7 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 			}
 			expressionStack.push(ppExpression);
 
-			checkContradictionOrTautology(lineNumber, res);
+			checkContradictionOrTautology(lineNumber, fileState);
 		} else {
 			// if generating of expression failed, generate expression "true"
 			if (!conditionIsSet) {
@@ -432,35 +437,55 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 
 	}
 
+	/**
+	 * Prepares an expression for the {@link NodeReader} in one pass: replaces the operators "&&", "&", "||", "|", "!", and "-" by "and", "or", and "not".
+	 *
+	 * @param expression the expression of a preprocessor command
+	 * @return the expression in the syntax of the node reader
+	 */
+	private static String toNodeReaderSyntax(String expression) {
+		final int length = expression.length();
+		final StringBuilder sb = new StringBuilder(length + 16);
+		for (int i = 0; i < length; i++) {
+			final char c = expression.charAt(i);
+			switch (c) {
+			case '&':
+			case '|':
+				if (((i + 1) < length) && (expression.charAt(i + 1) == c)) {
+					i++;
+				}
+				sb.append((c == '&') ? " and " : " or ");
+				break;
+			case '!':
+			case '-':
+				sb.append(" not ");
+				break;
+			default:
+				sb.append(c);
+				break;
+			}
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Checks given line if it contains not existing or abstract features.
 	 *
 	 * @param line content of line
-	 * @param res file containing given line
+	 * @param fileState state of the file containing given line
 	 * @param lineNumber line number of given line
 	 */
-	private void setMarkersNotConcreteFeatures(String line, IFile res, int lineNumber) {
-		final String[] splitted = line.replaceAll("\\s+#", "#").split(AntennaModelBuilder.OPERATORS, 0);
+	private void setMarkersNotConcreteFeatures(String line, PPFileState fileState, int lineNumber) {
+		final String[] splitted = operatorsPattern.split(whitespaceBeforeHashPattern.matcher(line).replaceAll("#"), 0);
 
 		for (int i = 0; i < splitted.length; ++i) {
 			final String linePart = splitted[i];
-			if (!linePart.isEmpty() && !containsPreprocessorDirective(linePart, ".*")) {
-				setMarkersOnNotExistingOrAbstractFeature(linePart, lineNumber, res);
+			if (!linePart.isEmpty() && !anyDirectivePattern.matcher(linePart).find()) {
+				setMarkersOnNotExistingOrAbstractFeature(linePart, lineNumber, fileState);
 			}
 		}
 	}
 
-	/**
-	 * Checks whether the text contains the specified directive or not
-	 *
-	 * @param text text to check
-	 * @param directives directives splitted by |
-	 * @return true - if the specified directive is contained
-	 */
-	protected static boolean containsPreprocessorDirective(String text, String directives) {
-		return Pattern.compile("//\\s*\\#(" + directives + ")").matcher(text).find();
-	}
-
 	@Override
 	public ArrayList<String[]> getTemplates() {
 		return TEMPLATES;
@@ -556,66 +581,12 @@ public class AntennaPreprocessor extends PPComposerExtensionClass {
 
 		featureModel = AdvancedNodeCreator.createNodes(configuration.getFeatureModel());
 
-		// add source files
-		try {
-			// add activated features as definitions to preprocessor
-			final Preprocessor preprocessor = new Preprocessor(new AntennaLogger(), new AntennaLineFilter());
-			preprocessor.addDefines(featureList.toString());
-			// preprocess for all files in source folder
-			preprocessSourceFiles(folder, preprocessor, congurationName);
-		} catch (CoreException | IOException | PPException e) {
-			AntennaCorePlugin.getDefault().logError(e);
-		}
-	}
-
-	/**
-	 * Customized build for buildConfiguration().
-	 */
-	private void preprocessSourceFiles(IFolder sourceFolder, Preprocessor preprocessor, String congurationName)
-			throws CoreException, FileNotFoundException, IOException {
-		for (final IResource res : sourceFolder.members()) {
-			if (res instanceof IFolder) {
-				// for folders do recursively
-				preprocessSourceFiles((IFolder) res, preprocessor, null);
-			} else if (res instanceof IFile) {
-				if (res.getName().equals(congurationName + "." + getConfigurationExtension())) {
-					continue;
-				}
-				// get all lines from file
-				final Vector<String> lines = loadStringsFromFile((IFile) res);
-
-				// do checking and some stuff
-				if (featureModel != null) {// TODO check why the FM is null when generating products
-					processLinesOfFile(lines, (IFile) res);
-				}
-				boolean changed = false;
-				try {
-					// run antenna preprocessor
-					changed = preprocessor.preprocess(lines, ((IFile) res).getCharset());
-
-				} catch (final PPException e) {
-					featureProject.createBuilderMarker(res, e.getMessage().replace("Line #" + e.getLineNumber() + " :", "Antenna:"), e.getLineNumber() + 1,
-							IMarker.SEVERITY_ERROR);
-					AntennaCorePlugin.getDefault().logError(e);
-				}
-
-				// if preprocessor changed file: save & refresh
-				if (changed) {
-					FileOutputStream ostr = null;
-					try {
-						ostr = new FileOutputStream(res.getRawLocation().toOSString());
-						Preprocessor.saveStrings(lines, ostr, ((IFile) res).getCharset());
-					} finally {
-						if (ostr != null) {
-							ostr.close();
-						}
-					}
-					// use touch to support e.g. linux
-					res.touch(null);
-					res.refreshLocal(IResource.DEPTH_ZERO, null);
-				}
-			}
-		}
+		// preprocess for all files in source folder
+		final List<IFile> files = getFiles(folder);
+		files.remove(folder.getFile(congurationName + "." + getConfigurationExtension()));
+		final PreprocessThread preprocessThread = new PreprocessThread(this, files, featureList.toString());
+		preprocessThread.check();
+		applyMarkers(preprocessThread.getFileStates(), false);
 	}
 
 	@Override
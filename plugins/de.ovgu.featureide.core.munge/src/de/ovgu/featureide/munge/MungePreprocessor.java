@@ -59,6 +59,7 @@ import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.builder.IComposerExtensionClass;
 import de.ovgu.featureide.core.builder.IComposerObject;
 import de.ovgu.featureide.core.builder.preprocessor.PPComposerExtensionClass;
+import de.ovgu.featureide.core.builder.preprocessor.PPFileState;
 import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
 import de.ovgu.featureide.core.signature.documentation.base.ADocumentationCommentParser;
 import de.ovgu.featureide.fm.core.FMCorePlugin;
@@ -95,11 +96,6 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 	/** compiled regular expression for instructions and comment symbols */
 	public static final Pattern OP_COM_PATTERN = Pattern.compile("(" + OPERATORS + ")|/\\*|\\*/");
 
-	/**
-	 * is true if actual line is in comment section (between <code>&#47;*</code> and <code>*&#47;</code>)
-	 */
-	private boolean commentSection;
-
 	public MungePreprocessor() {
 		super("Munge");
 	}
@@ -157,7 +153,7 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
-				annotationChecking(featureProject.getSourceFolder());
+				checkSourceFiles(featureProject.getSourceFolder(), false);
 				setModelMarkers();
 				return Status.OK_STATUS;
 			}
@@ -166,22 +162,6 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 		job.schedule();
 	}
 
-	private void annotationChecking(IFolder folder) {
-		try {
-			for (final IResource res : folder.members()) {
-				if (res instanceof IFolder) {
-					annotationChecking((IFolder) res);
-				} else if (res instanceof IFile) {
-					final Vector<String> lines = loadStringsFromFile((IFile) res);
-					// do checking and some stuff
-					processLinesOfFile(lines, (IFile) res);
-				}
-			}
-		} catch (final CoreException e) {
-			MungeCorePlugin.getDefault().logError(e);
-		}
-	}
-
 	/**
 	 * preprocess all files in folder
 	 *
@@ -238,17 +218,16 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 	 * Do checking for all lines of file.
 	 *
 	 * @param lines all lines of file
-	 * @param res file
+	 * @param fileState state of the file
 	 */
-	synchronized private void processLinesOfFile(Vector<String> lines, IFile res) {
-		expressionStack = new Stack<Node>();
-
+	@Override
+	protected void processLinesOfFile(Vector<String> lines, PPFileState fileState) {
 		// count of if, ifelse and else to remove after processing of else from
 		// stack
-		ifelseCountStack = new Stack<Integer>();
-		ifelseCountStack.push(0);
+		fileState.getIfelseCountStack().push(0);
 
-		commentSection = false;
+		// is true if actual line is in comment section (between /* and */)
+		boolean commentSection = false;
 
 		// go line for line
 		for (int j = 0; j < lines.size(); ++j) {
@@ -256,9 +235,9 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 
 			if (line.contains("/*") || line.contains("*/") || commentSection) {
 
-				setMarkersContradictionalFeatures(line, res, j + 1);
+				commentSection = setMarkersContradictionalFeatures(line, commentSection, fileState, j + 1);
 
-				setMarkersNotConcreteFeatures(line, res, j + 1);
+				setMarkersNotConcreteFeatures(line, fileState, j + 1);
 			}
 		}
 	}
@@ -270,10 +249,14 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 	 * feature model</li> </ol>
 	 *
 	 * @param line content of line
-	 * @param res file containing given line
+	 * @param commentSection <code>true</code> if the given line starts in a comment section
+	 * @param fileState state of the file containing given line
 	 * @param lineNumber line number of given line
+	 * @return <code>true</code> if the given line ends in a comment section
 	 */
-	private void setMarkersContradictionalFeatures(String line, IFile res, int lineNumber) {
+	private boolean setMarkersContradictionalFeatures(String line, boolean commentSection, PPFileState fileState, int lineNumber) {
+		final Stack<Node> expressionStack = fileState.getExpressionStack();
+		final Stack<Integer> ifelseCountStack = fileState.getIfelseCountStack();
 
 		final Matcher m = OP_COM_PATTERN.matcher(line);
 
@@ -296,7 +279,7 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 						}
 
 					} else {
-						Node ppExpression = nodereader.stringToNode(m.group(4), featureList);
+						Node ppExpression = fileState.getNodeReader().stringToNode(m.group(4), featureList);
 
 						if (singleElement.equals("if_not")) {
 							ppExpression = new Not(ppExpression.clone());
@@ -309,7 +292,7 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 						ifelseCountStack.push(ifelseCountStack.pop() + 1);
 						expressionStack.push(ppExpression);
 					}
-					checkContradictionOrTautology(lineNumber, res);
+					checkContradictionOrTautology(lineNumber, fileState);
 
 				} else if (singleElement.equals("end")) {
 					for (; ifelseCountStack.peek() > 0; ifelseCountStack.push(ifelseCountStack.pop() - 1)) {
@@ -322,13 +305,14 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 				}
 			}
 		}
+		return commentSection;
 	}
 
-	private void setMarkersNotConcreteFeatures(String line, IFile res, int lineNumber) {
+	private void setMarkersNotConcreteFeatures(String line, PPFileState fileState, int lineNumber) {
 		final Matcher matcherIf = OP_PATTERN.matcher(line);
 
 		if (matcherIf.find()) {
-			setMarkersOnNotExistingOrAbstractFeature(matcherIf.group(3), lineNumber, res);
+			setMarkersOnNotExistingOrAbstractFeature(matcherIf.group(3), lineNumber, fileState);
 		}
 	}
 
@@ -25,7 +25,6 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.IS_NOT_DEFINED
 import static de.ovgu.featureide.fm.core.localization.StringTable.PREPROCESSOR;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -41,13 +40,14 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
-import org.prop4j.And;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.NodeReader;
-import org.prop4j.Not;
-import org.prop4j.SatSolver;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.core.CorePlugin;
@@ -56,6 +56,7 @@ import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.InvariantExpressionChecker;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.InvariantExpressionExplanation;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.InvariantExpressionExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.PreprocessorExplanationCreatorFactory;
@@ -91,6 +92,11 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 */
 	protected Node featureModel;
 
+	/**
+	 * Solver for expression checking. Created for the current {@link #featureModel} on first use and reset in {@link #prepareFullBuild(IFile)}.
+	 */
+	private InvariantExpressionChecker expressionChecker;
+
 	/**
 	 * Preprocessor name used for messages in build markers (must set in subclass).
 	 */
@@ -187,6 +193,7 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 
 		// create expression of feature model
 		featureModel = AdvancedNodeCreator.createNodes(fm);
+		expressionChecker = null;
 
 		featureList = Functional.toList(FeatureUtils.extractFeatureNames(fm.getFeatures()));
 
@@ -199,45 +206,40 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @return {@link #SAT_CONTRADICTION}, {@link #SAT_TAUTOLOGY}, or {@link #SAT_NONE}
 	 */
 	protected int isContradictionOrTautology() {
-		final Node expression = expressionStack.peek();
+		return isContradictionOrTautology(expressionStack);
+	}
 
-		Node nestedExpressions = null;
-		if (expressionStack.size() > 1) {
-			Node[] children = expressionStack.toArray(new Node[expressionStack.size()]);
-			children = Arrays.copyOfRange(children, 0, children.length - 1); // Exclude the topmost expression because it is examined separately.
-			nestedExpressions = new And(children);
-		}
+	/**
+	 * Checks the expression on top of the given expression stack for a contradiction or a tautology. Does not set any markers.
+	 *
+	 * @param expressionStack the stack of nested expressions
+	 * @return {@link #SAT_CONTRADICTION}, {@link #SAT_TAUTOLOGY}, or {@link #SAT_NONE}
+	 */
+	protected int isContradictionOrTautology(List<Node> expressionStack) {
+		final Node expression = expressionStack.get(expressionStack.size() - 1);
+		// Exclude the topmost expression because it is examined separately.
+		final List<Node> nestedExpressions = expressionStack.subList(0, expressionStack.size() - 1);
 
 		try {
-			return isContradictionOrTautology(expression, featureModel, nestedExpressions);
+			switch (getExpressionChecker().check(expression, nestedExpressions)) {
+			case CONTRADICTION:
+				return SAT_CONTRADICTION;
+			case TAUTOLOGY:
+				return SAT_TAUTOLOGY;
+			default:
+				return SAT_NONE;
+			}
 		} catch (final TimeoutException e) {
 			CorePlugin.getDefault().logError(e);
 			return SAT_NONE;
 		}
 	}
 
-	private int isContradictionOrTautology(Node expression, Node featureModel, Node nestedExpressions) throws TimeoutException {
-		Node context = featureModel;
-		if (nestedExpressions != null) {
-			context = new And(context, nestedExpressions);
+	private synchronized InvariantExpressionChecker getExpressionChecker() {
+		if (expressionChecker == null) {
+			expressionChecker = new InvariantExpressionChecker(featureModel, 1000);
 		}
-
-		/*
-		 * -SAT(FM & nestedExpressions & expression)
-		 */
-		if (!new SatSolver(new And(context, expression), 1000).isSatisfiable()) {
-			return SAT_CONTRADICTION;
-		}
-
-		/*
-		 * TAUT(FM & nestedExpressions => expression) = -SAT(-(FM & nestedExpressions => expression)) = -SAT(-(-(FM & nestedExpressions) | expression)) =
-		 * -SAT(-(-FM | -nestedExpressions | expression)) = -SAT(FM & nestedExpressions & -expression)
-		 */
-		if (!new SatSolver(new And(context, new Not(expression)), 1000).isSatisfiable()) {
-			return SAT_TAUTOLOGY;
-		}
-
-		return SAT_NONE;
+		return expressionChecker;
 	}
 
 	/**
@@ -248,31 +250,47 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @param res file path
 	 */
 	protected void setMarkersOnContradictionOrTautology(int status, int lineNumber, IFile res) {
+		final PPFileState fileState = new PPFileState(res, nodereader, expressionStack, ifelseCountStack);
+		setMarkersOnContradictionOrTautology(status, lineNumber, fileState);
+		fileState.createMarkers(featureProject);
+	}
+
+	/**
+	 * Adds a marker for tautology or contradiction on given line to the given file state.
+	 *
+	 * @param status expects {@link #SAT_CONTRADICTION} or {@link #SAT_TAUTOLOGY}.
+	 * @param lineNumber number of line
+	 * @param fileState state of the file containing the expression
+	 */
+	protected void setMarkersOnContradictionOrTautology(int status, int lineNumber, PPFileState fileState) {
 		if ((status != SAT_CONTRADICTION) && (status != SAT_TAUTOLOGY)) {
 			return;
 		}
 		String message = pluginName;
 		message += status == SAT_CONTRADICTION ? MESSAGE_DEAD_CODE : MESSAGE_ALWAYS_TRUE;
-		final InvariantExpressionExplanation explanation = getInvariantExpressionExplanation(status == SAT_TAUTOLOGY);
+		final InvariantExpressionExplanation explanation = getInvariantExpressionExplanation(fileState.getExpressionStack(), status == SAT_TAUTOLOGY);
 		if ((explanation != null) && (explanation.getReasons() != null) && !explanation.getReasons().isEmpty()) {
 			message += String.format("%n%s", explanation);
 		}
-		featureProject.createBuilderMarker(res, message, lineNumber, IMarker.SEVERITY_WARNING);
+		fileState.addMarker(message, lineNumber, IMarker.SEVERITY_WARNING);
 	}
 
 	/**
-	 * Returns an explanation for why the expression currently on top of the expression stack is a contradiction or a tautology.
+	 * Returns an explanation for why the expression currently on top of the given expression stack is a contradiction or a tautology.
 	 *
+	 * @param expressionStack the stack of nested expressions
 	 * @param tautology true if the expression to explain is a tautology; false if it is a contradiction
 	 * @return an explanation
 	 */
-	private InvariantExpressionExplanation getInvariantExpressionExplanation(boolean tautology) {
-		invariantExpressionExplanationCreator.setFeatureModel(featureProject.getFeatureModel());
+	private InvariantExpressionExplanation getInvariantExpressionExplanation(List<Node> expressionStack, boolean tautology) {
 		final List<Node> reverseExpressionStack = new ArrayList<>(expressionStack);
 		Collections.reverse(reverseExpressionStack); // Iteration order of Stack is from bottom to top instead of top to bottom.
-		invariantExpressionExplanationCreator.setExpressionStack(reverseExpressionStack);
-		invariantExpressionExplanationCreator.setTautology(tautology);
-		return invariantExpressionExplanationCreator.getExplanation();
+		synchronized (invariantExpressionExplanationCreator) {
+			invariantExpressionExplanationCreator.setFeatureModel(featureProject.getFeatureModel());
+			invariantExpressionExplanationCreator.setExpressionStack(reverseExpressionStack);
+			invariantExpressionExplanationCreator.setTautology(tautology);
+			return invariantExpressionExplanationCreator.getExplanation();
+		}
 	}
 
 	/**
@@ -284,14 +302,31 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @param res file containing the expression
 	 */
 	protected void checkContradictionOrTautology(int lineNumber, IFile res) {
-		findLiterals(expressionStack.peek());
-		final int status = isContradictionOrTautology();
-		setMarkersOnContradictionOrTautology(status, lineNumber, res);
+		final PPFileState fileState = new PPFileState(res, nodereader, expressionStack, ifelseCountStack);
+		checkContradictionOrTautology(lineNumber, fileState);
+		fileState.createMarkers(featureProject);
+	}
+
+	/**
+	 * <p> Checks whether the expression in the given line is a tautology or a contradiction. If so, a marker is added to the given file state. </p>
+	 *
+	 * <p> It is assumed that the expression to check is on top of the expression stack of the file state. </p>
+	 *
+	 * @param lineNumber line number of the expression
+	 * @param fileState state of the file containing the expression
+	 */
+	protected void checkContradictionOrTautology(int lineNumber, PPFileState fileState) {
+		final Stack<Node> stack = fileState.getExpressionStack();
+		findLiterals(stack.peek());
+		final int status = isContradictionOrTautology(stack);
+		setMarkersOnContradictionOrTautology(status, lineNumber, fileState);
 	}
 
 	private void findLiterals(Node ppExpression) {
 		if (ppExpression instanceof Literal) {
-			usedFeatures.add(((Literal) ppExpression).var.toString());
+			synchronized (usedFeatures) {
+				usedFeatures.add(((Literal) ppExpression).var.toString());
+			}
 		} else {
 			for (final Node child : ppExpression.getChildren()) {
 				findLiterals(child);
@@ -307,6 +342,20 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 * @param res file containing the feature name
 	 */
 	protected boolean setMarkersOnNotExistingOrAbstractFeature(String name, int lineNumber, IFile res) {
+		final PPFileState fileState = new PPFileState(res, nodereader, expressionStack, ifelseCountStack);
+		final boolean result = setMarkersOnNotExistingOrAbstractFeature(name, lineNumber, fileState);
+		fileState.createMarkers(featureProject);
+		return result;
+	}
+
+	/**
+	 * Adds a marker to the given file state if given feature does not exists or is abstract.
+	 *
+	 * @param name feature name
+	 * @param lineNumber current line number
+	 * @param fileState state of the file containing the feature name
+	 */
+	protected boolean setMarkersOnNotExistingOrAbstractFeature(String name, int lineNumber, PPFileState fileState) {
 		if (name == null) {
 			return false;
 		}
@@ -317,7 +366,7 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 		}
 
 		if ((matcherFeature != null) && matcherFeature.matches()) {
-			featureProject.createBuilderMarker(res, pluginName + ": " + name + MESSAGE_ABSTRACT, lineNumber, IMarker.SEVERITY_WARNING);
+			fileState.addMarker(pluginName + ": " + name + MESSAGE_ABSTRACT, lineNumber, IMarker.SEVERITY_WARNING);
 		} else {
 			Matcher matcherConreteFeature = null;
 			if (patternIsConcreteFeature != null) {
@@ -325,13 +374,98 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 			}
 
 			if ((matcherConreteFeature != null) && !matcherConreteFeature.matches()) {
-				featureProject.createBuilderMarker(res, pluginName + ": " + name + MESSAGE_NOT_DEFINED, lineNumber, IMarker.SEVERITY_WARNING);
+				fileState.addMarker(pluginName + ": " + name + MESSAGE_NOT_DEFINED, lineNumber, IMarker.SEVERITY_WARNING);
 				return false;
 			}
 		}
 		return true;
 	}
 
+	/**
+	 * Do checking for all lines of file. Is called by {@link PPFileCheckThread} for several files at the same time and must therefore only use the given
+	 * file state for intermediate results.</br> </br> Default implementation does nothing.
+	 *
+	 * @param lines all lines of file
+	 * @param fileState state of the file
+	 */
+	protected void processLinesOfFile(Vector<String> lines, PPFileState fileState) {}
+
+	/**
+	 * @return a new node reader for parsing expressions in preprocessor annotations
+	 */
+	protected NodeReader createNodeReader() {
+		return new NodeReader();
+	}
+
+	/**
+	 * Checks the preprocessor directives of all files in the given folder (including subfolders) in parallel and creates the resulting markers.
+	 *
+	 * @param folder the folder containing the files
+	 * @param deleteMarkers <code>true</code> if existing builder markers of the files should be deleted
+	 */
+	protected void checkSourceFiles(IFolder folder, boolean deleteMarkers) {
+		final PPFileCheckThread checkThread = new PPFileCheckThread(this, getFiles(folder), null);
+		checkThread.check();
+		applyMarkers(checkThread.getFileStates(), deleteMarkers);
+	}
+
+	/**
+	 * Returns all files in the given folder and its subfolders.
+	 *
+	 * @param folder the folder
+	 * @return list of files
+	 */
+	protected static List<IFile> getFiles(IFolder folder) {
+		final List<IFile> files = new ArrayList<>();
+		addFiles(folder, files);
+		return files;
+	}
+
+	private static void addFiles(IFolder folder, List<IFile> files) {
+		try {
+			for (final IResource res : folder.members()) {
+				if (res instanceof IFolder) {
+					addFiles((IFolder) res, files);
+				} else if (res instanceof IFile) {
+					files.add((IFile) res);
+				}
+			}
+		} catch (final CoreException e) {
+			CorePlugin.getDefault().logError(e);
+		}
+	}
+
+	/**
+	 * Creates the collected markers of all given files in one workspace operation. Changed files are refreshed before.
+	 *
+	 * @param fileStates the states of the checked files
+	 * @param deleteMarkers <code>true</code> if existing builder markers of the files should be deleted
+	 */
+	protected void applyMarkers(final Collection<PPFileState> fileStates, final boolean deleteMarkers) {
+		try {
+			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+
+				@Override
+				public void run(IProgressMonitor monitor) throws CoreException {
+					for (final PPFileState fileState : fileStates) {
+						final IFile file = fileState.getFile();
+						if (deleteMarkers) {
+							featureProject.deleteBuilderMarkers(file, IResource.DEPTH_ZERO);
+						}
+						if (fileState.isChanged()) {
+							// use touch to support e.g. linux
+							file.touch(null);
+							file.refreshLocal(IResource.DEPTH_ZERO, null);
+						}
+						fileState.createMarkers(featureProject);
+					}
+				}
+			}, null, IWorkspace.AVOID_UPDATE, null);
+		} catch (final CoreException e) {
+			CorePlugin.getDefault().logError(e);
+		}
+	}
+
 	/**
 	 * Read all lines of a file into a vector.
 	 *
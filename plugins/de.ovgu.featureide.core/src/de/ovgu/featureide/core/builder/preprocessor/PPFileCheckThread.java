@@ -0,0 +1,105 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.builder.preprocessor;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.resources.IFile;
+import org.prop4j.NodeReader;
+
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Checks the preprocessor directives of several source files in parallel.</br> Each worker has its own {@link NodeReader} and passes a new
+ * {@link PPFileState} for every file to {@link PPComposerExtensionClass#processLinesOfFile(Vector, PPFileState)}. Subclasses can further process the
+ * lines of a file in {@link #postProcess(Vector, PPFileState)}.
+ */
+public class PPFileCheckThread extends AWorkerThread<IFile> {
+
+	private static class SharedObjects {
+
+		private final PPComposerExtensionClass composer;
+		private final int numberOfFiles;
+		private final Queue<PPFileState> fileStates = new ConcurrentLinkedQueue<>();
+
+		public SharedObjects(PPComposerExtensionClass composer, int numberOfFiles) {
+			this.composer = composer;
+			this.numberOfFiles = numberOfFiles;
+		}
+	}
+
+	private final SharedObjects sharedObjects;
+	private final NodeReader nodeReader;
+
+	public PPFileCheckThread(PPComposerExtensionClass composer, List<IFile> files, IMonitor workMonitor) {
+		super(workMonitor);
+		sharedObjects = new SharedObjects(composer, files.size());
+		nodeReader = composer.createNodeReader();
+		addObjects(files);
+	}
+
+	protected PPFileCheckThread(PPFileCheckThread oldThread) {
+		super(oldThread);
+		sharedObjects = oldThread.sharedObjects;
+		nodeReader = sharedObjects.composer.createNodeReader();
+	}
+
+	/**
+	 * Checks all files and waits until all workers are finished.
+	 */
+	public void check() {
+		start(Math.max(1, Math.min(NUMBER_OF_THREADS, sharedObjects.numberOfFiles)));
+	}
+
+	@Override
+	protected void work(IFile file) {
+		final Vector<String> lines = PPComposerExtensionClass.loadStringsFromFile(file);
+		final PPFileState fileState = new PPFileState(file, nodeReader);
+		sharedObjects.composer.processLinesOfFile(lines, fileState);
+		postProcess(lines, fileState);
+		sharedObjects.fileStates.add(fileState);
+	}
+
+	/**
+	 * Is called for each file after its directives were checked.</br> </br> Default implementation does nothing.
+	 *
+	 * @param lines all lines of the file
+	 * @param fileState the state of the file
+	 */
+	protected void postProcess(Vector<String> lines, PPFileState fileState) {}
+
+	@Override
+	protected AWorkerThread<IFile> newThread() {
+		return new PPFileCheckThread(this);
+	}
+
+	/**
+	 * @return the states of all checked files
+	 */
+	public Queue<PPFileState> getFileStates() {
+		return sharedObjects.fileStates;
+	}
+
+}
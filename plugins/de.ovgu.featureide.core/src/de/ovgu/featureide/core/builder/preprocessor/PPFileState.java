@@ -0,0 +1,118 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.builder.preprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+import org.eclipse.core.resources.IFile;
+import org.prop4j.Node;
+import org.prop4j.NodeReader;
+
+import de.ovgu.featureide.core.IFeatureProject;
+
+/**
+ * State for checking the preprocessor directives of a single source file.</br> Holds the stacks for nested directives and collects the markers of the
+ * file, so that several files can be checked at the same time (see {@link PPFileCheckThread}). The markers are created afterwards by
+ * {@link PPComposerExtensionClass#applyMarkers(java.util.Collection, boolean)}.
+ */
+public class PPFileState {
+
+	private static class Marker {
+
+		private final String message;
+		private final int lineNumber;
+		private final int severity;
+
+		public Marker(String message, int lineNumber, int severity) {
+			this.message = message;
+			this.lineNumber = lineNumber;
+			this.severity = severity;
+		}
+	}
+
+	private final IFile file;
+	private final NodeReader nodeReader;
+	private final Stack<Node> expressionStack;
+	private final Stack<Integer> ifelseCountStack;
+	private final List<Marker> markers = new ArrayList<>();
+
+	private boolean changed = false;
+
+	public PPFileState(IFile file, NodeReader nodeReader) {
+		this(file, nodeReader, new Stack<Node>(), new Stack<Integer>());
+	}
+
+	PPFileState(IFile file, NodeReader nodeReader, Stack<Node> expressionStack, Stack<Integer> ifelseCountStack) {
+		this.file = file;
+		this.nodeReader = nodeReader;
+		this.expressionStack = expressionStack;
+		this.ifelseCountStack = ifelseCountStack;
+	}
+
+	public IFile getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the node reader of the current thread for parsing the expressions of this file
+	 */
+	public NodeReader getNodeReader() {
+		return nodeReader;
+	}
+
+	/**
+	 * @return stack for preprocessor directives (for nested expressions)
+	 */
+	public Stack<Node> getExpressionStack() {
+		return expressionStack;
+	}
+
+	/**
+	 * @return stack for count of "if" and "else" instructions for each level
+	 */
+	public Stack<Integer> getIfelseCountStack() {
+		return ifelseCountStack;
+	}
+
+	public void addMarker(String message, int lineNumber, int severity) {
+		markers.add(new Marker(message, lineNumber, severity));
+	}
+
+	/**
+	 * @return {@code true} if the content of the file was written to the file system and the file must be refreshed
+	 */
+	public boolean isChanged() {
+		return changed;
+	}
+
+	public void setChanged(boolean changed) {
+		this.changed = changed;
+	}
+
+	void createMarkers(IFeatureProject featureProject) {
+		for (final Marker marker : markers) {
+			featureProject.createBuilderMarker(file, marker.message, marker.lineNumber, marker.severity);
+		}
+	}
+
+}
@@ -44,11 +44,12 @@ import java.io.FileNotFoundException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
 
 import javax.annotation.CheckForNull;
 
@@ -63,6 +64,8 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -99,13 +102,12 @@ import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
 import de.ovgu.featureide.fm.core.base.impl.ExtendedFeature;
 import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.core.conf.worker.ConfigurationCheckThread;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.SelectionMatrix;
 import de.ovgu.featureide.fm.core.io.FeatureOrderFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
-import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
 import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
 import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
@@ -197,6 +199,13 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 
 	private boolean configurationUpdate = false;
 
+	/**
+	 * The selections of all configuration files. Only rows of configuration files in {@link #changedConfigurationFiles} are reloaded.
+	 */
+	private SelectionMatrix selectionMatrix = null;
+
+	private final Set<IFile> changedConfigurationFiles = new HashSet<>();
+
 	@Override
 	public String getFeaturestubPath() {
 		return featureStubPath;
@@ -254,12 +263,12 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 				next(CALCULATE_CORE_AND_DEAD_FEATURES, workMonitor);
 				final List<String> concreteFeatures = (List<String>) getOptionalConcreteFeatures();
 				next(GET_SELECTION_MATRIX, workMonitor);
-				final boolean[][] selectionMatrix = getSelectionMatrix(concreteFeatures);
+				final SelectionMatrix selectionMatrix = getSelectionMatrix(concreteFeatures);
 				next(GET_FALSE_OPTIONAL_FEATURES, workMonitor);
-				final Collection<String> falseOptionalFeatures = getFalseOptionalConfigurationFeatures(selectionMatrix, concreteFeatures);
+				final Collection<String> falseOptionalFeatures = getFalseOptionalConfigurationFeatures(selectionMatrix);
 				next(GET_UNUSED_FEATURES, workMonitor);
 				workMonitor.checkCancel();
-				final Collection<String> deadFeatures = getUnusedConfigurationFeatures(selectionMatrix, concreteFeatures);
+				final Collection<String> deadFeatures = getUnusedConfigurationFeatures(selectionMatrix);
 				next("create marker: dead features", workMonitor);
 				if (!deadFeatures.isEmpty()) {
 					createConfigurationMarker(folder, MARKER_UNUSED + deadFeatures.size() + (deadFeatures.size() > 1 ? " features are " : " feature is ")
@@ -893,12 +902,13 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 
 		try {
 			final List<IFile> configs = getAllConfigurations();
+			boolean configurationsChanged = false;
 			final IResourceDelta configurationDelta = event.getDelta().findMember(configFolder.getFullPath());
 			if (configurationDelta != null) {
 				for (final IResourceDelta delta : configurationDelta.getAffectedChildren(IResourceDelta.REMOVED)) {
 					CorePlugin.getDefault().logInfo(delta.toString() + " was removed.");
 					// if configuration was removed update warnings
-					checkFeatureCoverage();
+					configurationsChanged = true;
 				}
 			}
 			final List<IFile> changedConfigs = new ArrayList<IFile>();
@@ -906,20 +916,23 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 			for (final IFile config : configs) {
 				final IResourceDelta delta = event.getDelta().findMember(config.getFullPath());
 				if (delta != null) {
-					checkFeatureCoverage();
-					break;
-				}
-			}
-
-			for (final IFile config : configs) {
-				final IResourceDelta delta = event.getDelta().findMember(config.getFullPath());
-				if ((delta != null) && ((delta.getFlags() & IResourceDelta.CONTENT) != 0)) {
-					changedConfigs.add(config);
-					if (config.equals(currentConfig)) {
-						buildRelevantChanges = true;
+					configurationsChanged = true;
+					// a re-created configuration must not keep the row of the old file in the selection matrix
+					if (((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) || (delta.getKind() == IResourceDelta.ADDED)) {
+						synchronized (changedConfigurationFiles) {
+							changedConfigurationFiles.add(config);
+						}
+						changedConfigs.add(config);
+						if (config.equals(currentConfig)) {
+							buildRelevantChanges = true;
+						}
 					}
 				}
 			}
+			// the changed files must be recorded before the coverage check reads them
+			if (configurationsChanged) {
+				checkFeatureCoverage();
+			}
 			if (!configurationUpdate && !changedConfigs.isEmpty()) {
 				LOGGER.fireConfigurationChanged(this);
 				checkConfigurations(changedConfigs);
@@ -1053,36 +1066,45 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 			@Override
 			public Boolean execute(IMonitor workMonitor) throws Exception {
 				workMonitor.setRemainingWork(2);
-				final Configuration config = new Configuration(featureModelManager.getObject(), false, false);
 				try {
+					// check validity
 					IMonitor subTask = workMonitor.subTask(1);
-					subTask.setTaskName(DELETE_CONFIGURATION_MARKERS);
-					subTask.setRemainingWork(files.size());
+					subTask.setTaskName(CHECK_VALIDITY_OF);
+					final List<java.nio.file.Path> paths = new ArrayList<>(files.size());
 					for (final IFile file : files) {
-						deleteConfigurationMarkers(file, IResource.DEPTH_ZERO);
-						subTask.step();
+						paths.add(Paths.get(file.getLocationURI()));
 					}
+					final ConfigurationCheckThread checkThread = new ConfigurationCheckThread(featureModelManager.getObject(), paths, subTask);
+					checkThread.start(Math.min(Runtime.getRuntime().availableProcessors(), files.size()));
 					subTask.done();
+
+					// update all markers in one workspace operation
 					subTask = workMonitor.subTask(1);
-					subTask.setRemainingWork(files.size());
-					// check validity
-					for (final IFile file : files) {
-						subTask.setTaskName(CHECK_VALIDITY_OF + " - " + file.getName());
-						final ProblemList lastProblems = SimpleFileHandler.load(Paths.get(file.getLocationURI()), config, ConfigFormatManager.getInstance());
-						if (!config.isValid()) {
-							String name = file.getName();
-							name = name.substring(0, name.lastIndexOf('.'));
-							final String message = CONFIGURATION_ + name + IS_INVALID;
-							createConfigurationMarker(file, message, 0, IMarker.SEVERITY_ERROR);
+					subTask.setTaskName(DELETE_CONFIGURATION_MARKERS);
+					ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
 
+						@Override
+						public void run(IProgressMonitor monitor) throws CoreException {
+							for (int i = 0; i < files.size(); i++) {
+								final IFile file = files.get(i);
+								deleteConfigurationMarkers(file, IResource.DEPTH_ZERO);
+								if (!checkThread.isValid(i)) {
+									String name = file.getName();
+									name = name.substring(0, name.lastIndexOf('.'));
+									final String message = CONFIGURATION_ + name + IS_INVALID;
+									createConfigurationMarker(file, message, 0, IMarker.SEVERITY_ERROR);
+								}
+								// create warnings (e.g., for features that are not available anymore)
+								for (final Problem warning : checkThread.getProblems(i)) {
+									createConfigurationMarker(file, warning.getMessage(), warning.getLine(), IMarker.SEVERITY_WARNING);
+								}
+							}
 						}
-						// create warnings (e.g., for features that are not available anymore)
-						for (final Problem warning : lastProblems) {
-							createConfigurationMarker(file, warning.getMessage(), warning.getLine(), IMarker.SEVERITY_WARNING);
-						}
-						subTask.step();
-					}
+					}, null, IWorkspace.AVOID_UPDATE, null);
 					subTask.done();
+				} catch (final CoreException e) {
+					LOGGER.logError(e);
+					return false;
 				} catch (final OutOfMemoryError e) {
 					LOGGER.logError(e);
 					return false;
@@ -1106,71 +1128,67 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 
 	@Override
 	public Collection<String> getFalseOptionalConfigurationFeatures() {
-		return getFalseOptionalConfigurationFeatures(getSelectionMatrix(), (List<String>) getOptionalConcreteFeatures());
+		return getFalseOptionalConfigurationFeatures(getSelectionMatrix((List<String>) getOptionalConcreteFeatures()));
 	}
 
-	public Collection<String> getFalseOptionalConfigurationFeatures(boolean[][] selections, final List<String> concreteFeatures) {
-		return checkValidSelections(selections, false, concreteFeatures);
+	public Collection<String> getFalseOptionalConfigurationFeatures(SelectionMatrix selections) {
+		return selections.getAlwaysSelectedFeatures();
 	}
 
 	@Override
 	public Collection<String> getUnusedConfigurationFeatures() {
-		return getUnusedConfigurationFeatures(getSelectionMatrix(), (List<String>) getOptionalConcreteFeatures());
-	}
-
-	public Collection<String> getUnusedConfigurationFeatures(boolean[][] selections, final List<String> concreteFeatures) {
-		return checkValidSelections(selections, true, concreteFeatures);
-	}
-
-	private List<String> checkValidSelections(boolean[][] selections, boolean selectionState, final List<String> concreteFeatures) {
-		if (selections.length == 0) {
-			return Collections.emptyList();
-		}
-		final List<String> falseOptionalFeatures = new LinkedList<String>();
-		for (int column = 0; column < concreteFeatures.size(); column++) {
-			boolean invalid = true;
-			for (int conf = 0; conf < selections.length; conf++) {
-				if (selections[conf][column] == selectionState) {
-					invalid = false;
-					break;
-				}
-			}
-			if (invalid) {
-				falseOptionalFeatures.add(concreteFeatures.get(column));
-			}
-		}
-		return falseOptionalFeatures;
+		return getUnusedConfigurationFeatures(getSelectionMatrix((List<String>) getOptionalConcreteFeatures()));
 	}
 
-	private boolean[][] getSelectionMatrix() {
-		return getSelectionMatrix(getOptionalConcreteFeatures());
+	public Collection<String> getUnusedConfigurationFeatures(SelectionMatrix selections) {
+		return selections.getUnusedFeatures();
 	}
 
-	private boolean[][] getSelectionMatrix(final Collection<String> concreteFeatures) {
+	/**
+	 * Updates the selection matrix for the current configuration files. The matrix is only rebuilt if the given features differ from its columns. Otherwise,
+	 * only removed, added, and changed configuration files are processed.
+	 *
+	 * @param concreteFeatures the columns of the matrix
+	 * @return the (updated) selection matrix
+	 */
+	private synchronized SelectionMatrix getSelectionMatrix(final List<String> concreteFeatures) {
 		final List<IFile> configurations = getAllConfigurations();
+		final Set<IFile> changedFiles;
+		synchronized (changedConfigurationFiles) {
+			changedFiles = new HashSet<>(changedConfigurationFiles);
+			changedConfigurationFiles.clear();
+		}
 
-		final boolean[][] selections = new boolean[configurations.size()][concreteFeatures.size()];
-		final Configuration configuration = new Configuration(featureModelManager.getObject(), Configuration.PARAM_IGNOREABSTRACT);
+		if ((selectionMatrix == null) || !selectionMatrix.getFeatures().equals(concreteFeatures)) {
+			selectionMatrix = new SelectionMatrix(concreteFeatures);
+		}
 
-		int row = 0;
+		final Set<String> keys = new HashSet<>();
 		for (final IFile file : configurations) {
-			final boolean[] currentRow = selections[row++];
-			try {
-				SimpleFileHandler.load(Paths.get(file.getLocationURI()), configuration, ConfigFormatManager.getInstance());
-			} catch (final Exception e) {
-				FMCorePlugin.getDefault().logError(e);
+			keys.add(file.getFullPath().toString());
+		}
+		for (final String key : new ArrayList<>(selectionMatrix.getConfigurations())) {
+			if (!keys.contains(key)) {
+				selectionMatrix.removeConfiguration(key);
 			}
+		}
 
-			int column = 0;
-			for (final String feature : concreteFeatures) {
-				final SelectableFeature selectablefeature = configuration.getSelectablefeature(feature);
-				if (selectablefeature != null) {
-					currentRow[column] = selectablefeature.getSelection() == Selection.SELECTED;
+		Configuration configuration = null;
+		for (final IFile file : configurations) {
+			final String key = file.getFullPath().toString();
+			if (changedFiles.contains(file) || !selectionMatrix.containsConfiguration(key)) {
+				if (configuration == null) {
+					configuration = new Configuration(featureModelManager.getObject(), Configuration.PARAM_IGNOREABSTRACT | Configuration.PARAM_LAZY);
+				}
+				try {
+					SimpleFileHandler.load(Paths.get(file.getLocationURI()), configuration, ConfigFormatManager.getInstance());
+				} catch (final Exception e) {
+					FMCorePlugin.getDefault().logError(e);
 				}
-				column++;
+				selectionMatrix.setConfiguration(key, configuration);
 			}
 		}
-		return selections;
+		return selectionMatrix;
 	}
 
 	private Collection<String> getOptionalConcreteFeatures() {
@@ -46,6 +46,7 @@ import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel.UsedModel;
 import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.io.AnalysisCache;
 import de.ovgu.featureide.fm.core.io.EclipseFileSystem;
 import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.IConfigurationFormat;
@@ -81,6 +82,7 @@ public class FMCorePlugin extends AbstractCorePlugin {
 
 		FileSystem.INSTANCE = new EclipseFileSystem();
 		LongRunningWrapper.INSTANCE = new LongRunningEclipse();
+		AnalysisCache.INSTANCE = new AnalysisCache(getStateLocation().append("analysisCache").toFile().toPath(), AnalysisCache.DEFAULT_MAX_SIZE);
 
 		FMFactoryManager.setExtensionLoader(new EclipseExtensionLoader<>(PluginID.PLUGIN_ID, IFeatureModelFactory.extensionPointID,
 				IFeatureModelFactory.extensionID, IFeatureModelFactory.class));
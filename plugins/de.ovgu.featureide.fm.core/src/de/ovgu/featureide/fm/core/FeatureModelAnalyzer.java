@@ -24,6 +24,7 @@ import static de.ovgu.featureide.fm.core.functional.Functional.map;
 import static de.ovgu.featureide.fm.core.localization.StringTable.ANALYZE;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CALCULATE_INDETRMINATE_HIDDEN_FEATURES;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CALCULATE_INDETRMINATE_HIDDEN_FEATURES_FOR;
+import static de.ovgu.featureide.fm.core.localization.StringTable.EXPLAIN_DEAD_AND_FALSE_OPTIONAL_FEATURES;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,6 +46,8 @@ import org.prop4j.Not;
 import org.prop4j.Or;
 import org.prop4j.SatSolver;
 import org.prop4j.analyses.FeatureModelAnalysis;
+import org.prop4j.analyses.IncrementalFeatureModelAnalysis;
+import org.prop4j.solver.SatInstance;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
@@ -60,15 +63,23 @@ import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.NodeCreator;
 import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureExplanationBatch;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
 import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
 import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
+import de.ovgu.featureide.fm.core.io.AnalysisCache;
+import de.ovgu.featureide.fm.core.job.IJob;
+import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 
 /**
  * A collection of methods for working with {@link IFeatureModel} will replace the corresponding methods in {@link IFeatureModel}
@@ -83,11 +94,11 @@ public class FeatureModelAnalyzer implements IEventListener {
 	/**
 	 * Remembers explanations for dead features.
 	 */
-	private final Map<IFeature, Explanation> deadFeatureExplanations = new HashMap<>();
+	private final Map<IFeature, Explanation> deadFeatureExplanations = Collections.synchronizedMap(new HashMap<IFeature, Explanation>());
 	/**
 	 * Remembers explanations for false-optional features.
 	 */
-	private final Map<IFeature, Explanation> falseOptionalFeatureExplanations = new HashMap<>();
+	private final Map<IFeature, Explanation> falseOptionalFeatureExplanations = Collections.synchronizedMap(new HashMap<IFeature, Explanation>());
 	/**
 	 * Remembers explanations for redundant constraints.
 	 */
@@ -110,6 +121,10 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 */
 	private final RedundantConstraintExplanationCreator redundantConstraintExplanationCreator =
 		explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+	/**
+	 * Explains the remaining dead and false-optional features in the background after the first of them was requested.
+	 */
+	private IRunner<List<Explanation>> featureExplanationRunner = null;
 
 	public static enum Attribute {
 		Mandatory, Optional, Alternative, Or, Abstract, Concrete, Hidden, Dead, FalseOptional, IndetHidden, UnsatisfiableConst, TautologyConst, VoidModelConst, RedundantConst
@@ -154,6 +169,16 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 * Defines whether analysis should be performed automatically.
 	 */
 	public boolean runCalculationAutomatically = true;
+	/**
+	 * Defines whether {@link #analyzeFeatureModel(IMonitor)} reuses the results of its last call and only recomputes the results that are affected by the
+	 * changes of the feature model.
+	 */
+	public boolean runIncrementalAnalysis = true;
+
+	/**
+	 * The analysis that is reused for incremental calculations. Created lazily.
+	 */
+	private IncrementalFeatureModelAnalysis incrementalAnalysis;
 
 	/**
 	 * A flag indicating that the calculation should be canceled.
@@ -533,9 +558,40 @@ public class FeatureModelAnalyzer implements IEventListener {
 	}
 
 	public List<List<IFeature>> getAtomicSets() {
+		return getAtomicSets(1000);
+	}
+
+	/**
+	 * Computes the atomic sets of the feature model. The result is only stored in the {@link AnalysisCache} if the solver did not reach the timeout, as the
+	 * atomic sets are incomplete in this case.
+	 *
+	 * @param timeout the timeout of the solver in milliseconds
+	 * @return the atomic sets
+	 */
+	public List<List<IFeature>> getAtomicSets(long timeout) {
 		final ArrayList<List<IFeature>> result = new ArrayList<>();
 
-		final SatSolver solver = new SatSolver(getCnf(), 1000, false);
+		final Node cnf = getCnf();
+		final AnalysisCache cache = AnalysisCache.INSTANCE;
+		final SatInstance satInstance = (cache != null) ? new SatInstance(cnf) : null;
+		if (cache != null) {
+			final List<List<String>> cachedSets = cache.read(satInstance, AnalysisCache.SECTION_ATOMIC_SETS);
+			if (cachedSets != null) {
+				for (final List<String> names : cachedSets) {
+					final List<IFeature> setList = new ArrayList<>();
+					result.add(setList);
+					for (final String name : names) {
+						final IFeature feature = fm.getFeature(name);
+						if (feature != null) {
+							setList.add(feature);
+						}
+					}
+				}
+				return result;
+			}
+		}
+
+		final SatSolver solver = new SatSolver(cnf, timeout, false);
 
 		for (final List<Literal> literalList : solver.atomicSets()) {
 			final List<IFeature> setList = new ArrayList<>();
@@ -551,6 +607,13 @@ public class FeatureModelAnalyzer implements IEventListener {
 			}
 
 		}
+		if ((cache != null) && !solver.isTimeoutOccurred()) {
+			final List<List<String>> sets = new ArrayList<>(result.size());
+			for (final List<IFeature> setList : result) {
+				sets.add(Functional.mapToList(setList, FeatureUtils.GET_FEATURE_NAME));
+			}
+			cache.write(satInstance, AnalysisCache.SECTION_ATOMIC_SETS, sets);
+		}
 		return result;
 	}
 
@@ -565,18 +628,32 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 */
 	public HashMap<Object, Object> analyzeFeatureModel(IMonitor monitor) {
 		this.monitor = monitor == null ? new NullMonitor() : monitor;
-		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		if (runIncrementalAnalysis) {
+			synchronized (this) {
+				if (incrementalAnalysis == null) {
+					incrementalAnalysis = new IncrementalFeatureModelAnalysis(fm);
+				}
+			}
+			synchronized (incrementalAnalysis) {
+				return analyzeFeatureModel(incrementalAnalysis);
+			}
+		} else {
+			return analyzeFeatureModel(new FeatureModelAnalysis(fm));
+		}
+	}
+
+	private HashMap<Object, Object> analyzeFeatureModel(FeatureModelAnalysis analysis) {
 		analysis.setCalculateFeatures(calculateFeatures);
 		analysis.setCalculateConstraints(calculateConstraints);
 		analysis.setCalculateRedundantConstraints(calculateRedundantConstraints);
 		analysis.setCalculateTautologyConstraints(calculateTautologyConstraints);
 		analysis.setCalculateDeadConstraints(calculateDeadConstraints);
 		analysis.setCalculateFOConstraints(calculateFOConstraints);
-		final HashMap<Object, Object> newAttributes = LongRunningWrapper.runMethod(analysis, this.monitor);
+		final HashMap<Object, Object> newAttributes = LongRunningWrapper.runMethod(analysis, monitor);
 		cachedValidity = analysis.isValid();
-		cachedCoreFeatures = analysis.getCoreFeatures();
-		cachedDeadFeatures = analysis.getDeadFeatures();
-		cachedFalseOptionalFeatures = analysis.getFalseOptionalFeatures();
+		cachedCoreFeatures = new ArrayList<>(analysis.getCoreFeatures());
+		cachedDeadFeatures = new ArrayList<>(analysis.getDeadFeatures());
+		cachedFalseOptionalFeatures = new ArrayList<>(analysis.getFalseOptionalFeatures());
 		clearExplanations();
 		return newAttributes;
 	}
@@ -810,6 +887,10 @@ public class FeatureModelAnalyzer implements IEventListener {
 		default:
 			break;
 		}
+		final IncrementalFeatureModelAnalysis incrementalAnalysis = this.incrementalAnalysis;
+		if (incrementalAnalysis != null) {
+			incrementalAnalysis.propertyChange(event);
+		}
 	}
 
 	/**
@@ -922,6 +1003,9 @@ public class FeatureModelAnalyzer implements IEventListener {
 	public Explanation getDeadFeatureExplanation(IFeatureModel fm, IFeature feature) {
 		if (!deadFeatureExplanations.containsKey(feature)) {
 			addDeadFeatureExplanation(fm, feature);
+			if ((fm == this.fm) && cachedDeadFeatures.contains(feature)) {
+				startFeatureExplanations();
+			}
 		}
 		return deadFeatureExplanations.get(feature);
 	}
@@ -964,6 +1048,9 @@ public class FeatureModelAnalyzer implements IEventListener {
 	public Explanation getFalseOptionalFeatureExplanation(IFeatureModel fm, IFeature feature) {
 		if (!falseOptionalFeatureExplanations.containsKey(feature)) {
 			addFalseOptionalFeatureExplanation(fm, feature);
+			if ((fm == this.fm) && cachedFalseOptionalFeatures.contains(feature)) {
+				startFeatureExplanations();
+			}
 		}
 		return falseOptionalFeatureExplanations.get(feature);
 	}
@@ -1030,10 +1117,141 @@ public class FeatureModelAnalyzer implements IEventListener {
 		redundantConstraintExplanations.put(constraint, creator.getExplanation());
 	}
 
+	/**
+	 * Adds explanations for all dead and false-optional features found by the last analysis that have not been explained yet. The explanations are generated
+	 * in parallel by a {@link FeatureExplanationBatch} and passed to the intermediate function of the given monitor as soon as they are completed.
+	 *
+	 * @param monitor the monitor for the explanations; null to run without a monitor
+	 */
+	public void addFeatureExplanations(IMonitor monitor) {
+		final FeatureExplanationBatch batch = createFeatureExplanationBatch();
+		if (batch != null) {
+			putFeatureExplanations(batch, LongRunningWrapper.runMethod(batch, monitor));
+		}
+	}
+
+	/**
+	 * Starts a background job that explains all dead and false-optional features found by the last analysis that have not been explained yet. This is done
+	 * after the first explanation for a dead or false-optional feature was requested, such that the first request is not delayed and selecting the other
+	 * defects in the editor only reads the cache. Each explanation is stored as soon as it is completed.
+	 */
+	private synchronized void startFeatureExplanations() {
+		if (featureExplanationRunner != null) {
+			return;
+		}
+		final FeatureExplanationBatch batch = createFeatureExplanationBatch();
+		if (batch == null) {
+			return;
+		}
+		final IRunner<List<Explanation>> runner = LongRunningWrapper.getRunner(batch, EXPLAIN_DEAD_AND_FALSE_OPTIONAL_FEATURES);
+		runner.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object explanation) {
+				synchronized (FeatureModelAnalyzer.this) {
+					if (featureExplanationRunner != runner) {
+						return;
+					}
+					if (explanation instanceof DeadFeatureExplanation) {
+						putIfAbsent(deadFeatureExplanations, ((DeadFeatureExplanation) explanation).getSubject(), (Explanation) explanation);
+					} else if (explanation instanceof FalseOptionalFeatureExplanation) {
+						putIfAbsent(falseOptionalFeatureExplanations, ((FalseOptionalFeatureExplanation) explanation).getSubject(), (Explanation) explanation);
+					}
+				}
+			}
+		});
+		runner.addJobFinishedListener(new JobFinishListener<List<Explanation>>() {
+
+			@Override
+			public void jobFinished(IJob<List<Explanation>> finishedJob) {
+				synchronized (FeatureModelAnalyzer.this) {
+					if (featureExplanationRunner == runner) {
+						featureExplanationRunner = null;
+						putFeatureExplanations(batch, finishedJob.getResults());
+					}
+				}
+			}
+		});
+		featureExplanationRunner = runner;
+		runner.schedule();
+	}
+
+	/**
+	 * Waits until the background job started by the first request of an explanation for a dead or false-optional feature has finished.
+	 *
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public void joinFeatureExplanations() throws InterruptedException {
+		final IRunner<List<Explanation>> runner;
+		synchronized (this) {
+			runner = featureExplanationRunner;
+		}
+		if (runner != null) {
+			runner.join();
+		}
+	}
+
+	/**
+	 * Creates a batch for all dead and false-optional features found by the last analysis that have not been explained yet.
+	 *
+	 * @return the batch; null if all features are explained
+	 */
+	private FeatureExplanationBatch createFeatureExplanationBatch() {
+		final List<IFeature> deadFeatures = new ArrayList<>();
+		for (final IFeature feature : cachedDeadFeatures) {
+			if (!deadFeatureExplanations.containsKey(feature)) {
+				deadFeatures.add(feature);
+			}
+		}
+		final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+		for (final IFeature feature : cachedFalseOptionalFeatures) {
+			if (!falseOptionalFeatureExplanations.containsKey(feature)) {
+				falseOptionalFeatures.add(feature);
+			}
+		}
+		if (deadFeatures.isEmpty() && falseOptionalFeatures.isEmpty()) {
+			return null;
+		}
+		return new FeatureExplanationBatch(explanationCreatorFactory, fm, deadFeatures, falseOptionalFeatures);
+	}
+
+	/**
+	 * Stores the result of a batch, including the features that could not be explained.
+	 *
+	 * @param batch the batch
+	 * @param explanations the result of the batch; null if the batch failed
+	 */
+	private void putFeatureExplanations(FeatureExplanationBatch batch, List<Explanation> explanations) {
+		if (explanations == null) {
+			return;
+		}
+		final Iterator<Explanation> it = explanations.iterator();
+		for (final IFeature feature : batch.getDeadFeatures()) {
+			putIfAbsent(deadFeatureExplanations, feature, it.next());
+		}
+		for (final IFeature feature : batch.getFalseOptionalFeatures()) {
+			putIfAbsent(falseOptionalFeatureExplanations, feature, it.next());
+		}
+	}
+
+	private static void putIfAbsent(Map<IFeature, Explanation> explanations, IFeature feature, Explanation explanation) {
+		synchronized (explanations) {
+			if (!explanations.containsKey(feature)) {
+				explanations.put(feature, explanation);
+			}
+		}
+	}
+
 	/**
 	 * Clears all explanations.
 	 */
 	public void clearExplanations() {
+		synchronized (this) {
+			if (featureExplanationRunner != null) {
+				featureExplanationRunner.cancel();
+				featureExplanationRunner = null;
+			}
+		}
 		deadFeatureExplanations.clear();
 		falseOptionalFeatureExplanations.clear();
 		redundantConstraintExplanations.clear();
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.conf;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,6 +31,10 @@ import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.SatSolver;
 import org.prop4j.SatSolver.ValueType;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.Logger;
@@ -130,6 +135,14 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 		}
 	}
 
+	public class ExactCountSolutionsMethod implements LongRunningMethod<BigInteger> {
+
+		@Override
+		public BigInteger execute(IMonitor monitor) {
+			return BigInteger.valueOf(new CountSolutionsMethod().execute(monitor));
+		}
+	}
+
 	public class GetSolutionsMethod implements LongRunningMethod<List<List<String>>> {
 
 		private final int max;
@@ -147,13 +160,49 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 
 	public class IsValidMethod implements LongRunningMethod<Boolean> {
 
+		private final BasicSolver reusedSolver;
+
+		public IsValidMethod() {
+			this(null);
+		}
+
+		/**
+		 * @param reusedSolver a solver created by {@link ConfigurationChanger#createSolver()} or {@code null} to use the solver of this changer
+		 */
+		public IsValidMethod(BasicSolver reusedSolver) {
+			this.reusedSolver = reusedSolver;
+		}
+
 		@Override
 		public Boolean execute(IMonitor monitor) {
+			final SatInstance satInstance = getSatInstance();
+			if ((reusedSolver == null) || (satInstance == null)) {
+				try {
+					return sat(getCurrentLiterals(false));
+				} catch (final Exception e) {
+					Logger.logError(e);
+					return false;
+				}
+			}
+
+			final int assignmentSize = reusedSolver.getAssignment().size();
 			try {
-				return sat(getCurrentLiterals(false));
-			} catch (final Exception e) {
-				Logger.logError(e);
-				return false;
+				for (final Literal literal : getCurrentLiterals(false)) {
+					reusedSolver.assignmentPush(satInstance.getSignedVariable(literal));
+				}
+
+				final SatResult satResult = reusedSolver.isSatisfiable();
+				switch (satResult) {
+				case FALSE:
+				case TIMEOUT:
+					return false;
+				case TRUE:
+					return true;
+				default:
+					throw new AssertionError(satResult);
+				}
+			} finally {
+				reusedSolver.assignmentClear(assignmentSize);
 			}
 		}
 	}
@@ -536,6 +585,8 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 
 	private Node node;
 
+	private SatInstance satInstance;
+
 	private SatSolver satSolver1 = null;
 
 	private final VariableConfiguration variableConfiguration;
@@ -591,6 +642,24 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 		return new IsValidMethod();
 	}
 
+	@Override
+	public IsValidMethod isValid(BasicSolver solver) {
+		return new IsValidMethod(solver);
+	}
+
+	@Override
+	public BasicSolver createSolver() {
+		final SatInstance satInstance = getSatInstance();
+		if (satInstance != null) {
+			try {
+				return new BasicSolver(satInstance);
+			} catch (final ContradictionException e) {
+				Logger.logError(e);
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public IsValidMethod isValidNoHidden() {
 		return new IsValidMethod();
@@ -616,6 +685,11 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 		return new CountSolutionsMethod();
 	}
 
+	@Override
+	public ExactCountSolutionsMethod exactNumber(long timeout) {
+		return new ExactCountSolutionsMethod();
+	}
+
 	@Override
 	public void reset() {
 		Arrays.fill(lastComputedValues, (byte) Variable.UNDEFINED);
@@ -664,6 +738,16 @@ public class ConfigurationChanger implements IConfigurationChanger, IConfigurati
 		return literals;
 	}
 
+	/**
+	 * @return the variable mapping of the solvers created by {@link #createSolver()} or {@code null} if this changer is not loaded
+	 */
+	private synchronized SatInstance getSatInstance() {
+		if ((satInstance == null) && isLoaded()) {
+			satInstance = new SatInstance(AdvancedNodeCreator.createRegularCNF(featureModel), FeatureUtils.getFeatureNamesList(featureModel));
+		}
+		return satInstance;
+	}
+
 	private boolean sat(final Literal[] literals) throws TimeoutException {
 		if (satSolver1 == null) {
 			satSolver1 = new SatSolver(node, 1000, false);
@@ -20,7 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.conf;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import org.prop4j.solver.SatInstance;
 
@@ -44,4 +47,22 @@ public interface IFeatureGraph extends Serializable {
 
 	int getFeatureIndex(String name);
 
+	/**
+	 * Writes the edges of this graph in a binary representation to the given channel.
+	 *
+	 * @param channel the channel to write to
+	 * @throws IOException if the channel cannot be written
+	 *
+	 * @see #readEdges(int[], ByteBuffer)
+	 */
+	void writeEdges(WritableByteChannel channel) throws IOException;
+
+	/**
+	 * Replaces the content of this graph with the given variable index and the edges read from the given buffer.
+	 *
+	 * @param index the variable index of the graph
+	 * @param buffer a buffer containing the edges as written by {@link #writeEdges(WritableByteChannel)}
+	 */
+	void readEdges(int[] index, ByteBuffer buffer);
+
 }
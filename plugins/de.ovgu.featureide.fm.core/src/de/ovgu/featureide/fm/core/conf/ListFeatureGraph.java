@@ -20,6 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.conf;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
 import org.prop4j.solver.SatInstance;
 
 public class ListFeatureGraph extends AFeatureGraph {
@@ -83,4 +87,14 @@ public class ListFeatureGraph extends AFeatureGraph {
 		return 0;
 	}
 
+	@Override
+	public void writeEdges(WritableByteChannel channel) throws IOException {
+		throw new IOException("Edges of a " + ListFeatureGraph.class.getSimpleName() + " cannot be stored");
+	}
+
+	@Override
+	public void readEdges(int[] index, ByteBuffer buffer) {
+		throw new IllegalArgumentException("Edges of a " + ListFeatureGraph.class.getSimpleName() + " cannot be read");
+	}
+
 }
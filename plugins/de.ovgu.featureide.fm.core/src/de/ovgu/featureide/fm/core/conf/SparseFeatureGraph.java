@@ -0,0 +1,211 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Feature graph that only stores non-empty edges and is therefore suited for large models with few dependencies.<br> Each row of the adjacency matrix is
+ * stored as a sorted int array, in which each entry holds the column index (upper 24 bits) and the edge (lower 8 bits).
+ */
+public class SparseFeatureGraph extends AFeatureGraph {
+
+	private static final long serialVersionUID = -3165381209473561049L;
+
+	private static final int[] EMPTY_ROW = new int[0];
+
+	private static final int MIN_ROW_CAPACITY = 4;
+
+	private int[][] rows;
+	private int[] rowLengths;
+
+	public SparseFeatureGraph(SatInstance satInstance, int[] index) {
+		super(satInstance, index);
+		initRows();
+	}
+
+	public SparseFeatureGraph() {
+		super();
+	}
+
+	private void initRows() {
+		rows = new int[size][];
+		Arrays.fill(rows, EMPTY_ROW);
+		rowLengths = new int[size];
+	}
+
+	@Override
+	public void copyValues(IFeatureGraph otherGraph) {
+		super.copyValues(otherGraph);
+		final SparseFeatureGraph sparseGraph = (SparseFeatureGraph) otherGraph;
+		rows = new int[size][];
+		rowLengths = Arrays.copyOf(sparseGraph.rowLengths, size);
+		for (int i = 0; i < size; i++) {
+			rows[i] = (rowLengths[i] == 0) ? EMPTY_ROW : Arrays.copyOf(sparseGraph.rows[i], rowLengths[i]);
+		}
+	}
+
+	/**
+	 * Searches the given column in a row.
+	 *
+	 * @return the position of the column, if it is contained in the row; otherwise, <code>(-(insertion point) - 1)</code>
+	 */
+	private int find(int from, int to) {
+		final int[] row = rows[from];
+		int low = 0;
+		int high = rowLengths[from] - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int column = row[mid] >>> 8;
+			if (column < to) {
+				low = mid + 1;
+			} else if (column > to) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	@Override
+	public boolean setEdge(int from, int to, byte edgeType) {
+		if (from == to) {
+			return false;
+		}
+		final int position = find(from, to);
+		final byte oldValue = (position >= 0) ? (byte) rows[from][position] : EDGE_NONE;
+		final byte newValue = mergeEdge(oldValue, edgeType);
+		if (oldValue == newValue) {
+			return false;
+		}
+
+		final int[] row = rows[from];
+		final int length = rowLengths[from];
+		if (position >= 0) {
+			if (newValue == EDGE_NONE) {
+				System.arraycopy(row, position + 1, row, position, length - position - 1);
+				rowLengths[from] = length - 1;
+			} else {
+				row[position] = (to << 8) | (newValue & 0xff);
+			}
+		} else {
+			final int insertPosition = -(position + 1);
+			if (length == row.length) {
+				final int[] newRow = new int[Math.max(MIN_ROW_CAPACITY, length + (length >>> 1))];
+				System.arraycopy(row, 0, newRow, 0, insertPosition);
+				System.arraycopy(row, insertPosition, newRow, insertPosition + 1, length - insertPosition);
+				rows[from] = newRow;
+				newRow[insertPosition] = (to << 8) | (newValue & 0xff);
+			} else {
+				System.arraycopy(row, insertPosition, row, insertPosition + 1, length - insertPosition);
+				row[insertPosition] = (to << 8) | (newValue & 0xff);
+			}
+			rowLengths[from] = length + 1;
+		}
+		return true;
+	}
+
+	@Override
+	public byte getEdge(int fromIndex, int toIndex) {
+		final int position = find(fromIndex, toIndex);
+		return (position >= 0) ? (byte) rows[fromIndex][position] : EDGE_NONE;
+	}
+
+	@Override
+	public byte getValue(int fromIndex, int toIndex, boolean fromSelected) {
+		final byte edge = getEdge(fromIndex, toIndex);
+		return (byte) (((fromSelected ? (edge >>> 4) : edge)) & 0x0000000f);
+	}
+
+	@Override
+	public byte getValueInternal(int fromIndex, int toIndex, boolean fromSelected) {
+		final int internalFrom = index[fromIndex];
+		final int internalTo = index[toIndex];
+		if ((internalFrom < 0) || (internalTo < 0)) {
+			return -1;
+		}
+		return getValue(internalFrom, internalTo, fromSelected);
+	}
+
+	/**
+	 * @return the number of non-empty edges in this graph
+	 */
+	public long getNumberOfEdges() {
+		long count = 0;
+		for (final int length : rowLengths) {
+			count += length;
+		}
+		return count;
+	}
+
+	@Override
+	public void writeEdges(WritableByteChannel channel) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+		for (int i = 0; i < size; i++) {
+			final int[] row = rows[i];
+			final int length = rowLengths[i];
+			if (buffer.remaining() < 4) {
+				flush(channel, buffer);
+			}
+			buffer.putInt(length);
+			for (int j = 0; j < length; j++) {
+				if (buffer.remaining() < 4) {
+					flush(channel, buffer);
+				}
+				buffer.putInt(row[j]);
+			}
+		}
+		flush(channel, buffer);
+	}
+
+	private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	public void readEdges(int[] index, ByteBuffer buffer) {
+		setIndex(index);
+		initRows();
+		for (int i = 0; i < size; i++) {
+			final int length = buffer.getInt();
+			if ((length < 0) || (length > size)) {
+				throw new IllegalArgumentException("Invalid row length " + length);
+			} else if (length > 0) {
+				final int[] row = new int[length];
+				buffer.asIntBuffer().get(row);
+				buffer.position(buffer.position() + (length << 2));
+				rows[i] = row;
+				rowLengths[i] = length;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf.worker;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.prop4j.solver.BasicSolver;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Loads configuration files and checks whether they are valid.</br> All workers share the formula of the feature model, but each worker has its own
+ * configuration and solver. The selection of a configuration is checked with assumptions on this solver.
+ */
+public class ConfigurationCheckThread extends AWorkerThread<Integer> {
+
+	private static class SharedObjects {
+
+		private final Configuration configuration;
+		private final List<Path> files;
+		private final boolean[] valid;
+		private final ProblemList[] problems;
+
+		public SharedObjects(IFeatureModel featureModel, List<Path> files) {
+			configuration = new Configuration(featureModel, false, false);
+			this.files = files;
+			valid = new boolean[files.size()];
+			problems = new ProblemList[files.size()];
+			for (int i = 0; i < problems.length; i++) {
+				problems[i] = new ProblemList();
+			}
+		}
+	}
+
+	private final SharedObjects sharedObjects;
+	private final Configuration configuration;
+	private final BasicSolver solver;
+
+	public ConfigurationCheckThread(IFeatureModel featureModel, List<Path> files, IMonitor workMonitor) {
+		super(workMonitor);
+		sharedObjects = new SharedObjects(featureModel, files);
+		configuration = sharedObjects.configuration;
+		solver = configuration.getPropagator().createSolver();
+
+		final List<Integer> indices = new ArrayList<>(files.size());
+		for (int i = 0; i < files.size(); i++) {
+			indices.add(i);
+		}
+		addObjects(indices);
+	}
+
+	private ConfigurationCheckThread(ConfigurationCheckThread oldThread) {
+		super(oldThread);
+		sharedObjects = oldThread.sharedObjects;
+		configuration = sharedObjects.configuration.clone();
+		solver = configuration.getPropagator().createSolver();
+	}
+
+	@Override
+	protected void work(Integer i) {
+		sharedObjects.problems[i] = SimpleFileHandler.load(sharedObjects.files.get(i), configuration, ConfigFormatManager.getInstance());
+		// solver is null if the propagator could not create one, which isValid(BasicSolver) handles like isValid()
+		final Boolean valid = LongRunningWrapper.runMethod(configuration.getPropagator().isValid(solver));
+		sharedObjects.valid[i] = (valid != null) && valid;
+	}
+
+	@Override
+	protected AWorkerThread<Integer> newThread() {
+		return new ConfigurationCheckThread(this);
+	}
+
+	/**
+	 * @param index the index of a file in the list of files
+	 * @return {@code true} if the configuration in the file is valid
+	 */
+	public boolean isValid(int index) {
+		return sharedObjects.valid[index];
+	}
+
+	/**
+	 * @param index the index of a file in the list of files
+	 * @return the problems that occurred while loading the file
+	 */
+	public ProblemList getProblems(int index) {
+		return sharedObjects.problems[index];
+	}
+
+}
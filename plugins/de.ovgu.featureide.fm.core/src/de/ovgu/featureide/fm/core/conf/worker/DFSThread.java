@@ -23,7 +23,7 @@ package de.ovgu.featureide.fm.core.conf.worker;
 import java.util.Arrays;
 
 import de.ovgu.featureide.fm.core.conf.AFeatureGraph;
-import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
 import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
@@ -31,10 +31,10 @@ public class DFSThread extends AWorkerThread<String> {
 
 	private static class SharedObjects {
 
-		private final MatrixFeatureGraph featureGraph;
+		private final IFeatureGraph featureGraph;
 		private final boolean[] complete;
 
-		public SharedObjects(MatrixFeatureGraph featureGraph) {
+		public SharedObjects(IFeatureGraph featureGraph) {
 			this.featureGraph = featureGraph;
 			complete = new boolean[featureGraph.getSatInstance().getNumberOfVariables()];
 		}
@@ -43,7 +43,7 @@ public class DFSThread extends AWorkerThread<String> {
 	private final byte[] visited;
 	private final SharedObjects sharedObjects;
 
-	public DFSThread(MatrixFeatureGraph featureGraph, IMonitor workMonitor) {
+	public DFSThread(IFeatureGraph featureGraph, IMonitor workMonitor) {
 		super(workMonitor);
 		sharedObjects = new SharedObjects(featureGraph);
 		visited = new byte[featureGraph.getSatInstance().getNumberOfVariables()];
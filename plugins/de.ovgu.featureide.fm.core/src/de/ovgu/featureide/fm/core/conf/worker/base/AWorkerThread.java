@@ -22,7 +22,9 @@ package de.ovgu.featureide.fm.core.conf.worker.base;
 
 import java.util.Collection;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 
 public abstract class AWorkerThread<T> implements Runnable {
 
@@ -59,7 +61,14 @@ public abstract class AWorkerThread<T> implements Runnable {
 	public final void run() {
 		if (beforeWork()) {
 			for (T object = masterThread.objects.poll(); object != null; object = masterThread.objects.poll()) {
-				work(object);
+				try {
+					work(object);
+				} catch (final MethodCancelException e) {
+					throw e;
+				} catch (final RuntimeException e) {
+					// a failure of a single object must not stop the remaining work
+					Logger.logError(e);
+				}
 				masterThread.workMonitor.step();
 			}
 			afterWork(true);
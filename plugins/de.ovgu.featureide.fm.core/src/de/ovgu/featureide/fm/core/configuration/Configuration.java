@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -327,6 +328,17 @@ public class Configuration implements Cloneable {
 		return LongRunningWrapper.runMethod(propagator.number(timeout));
 	}
 
+	/**
+	 * Counts the number of possible solutions exactly.
+	 *
+	 * @return a positive value equal to the number of solutions (if the method terminated in time)</br> or a negative value (if a timeout occured) that
+	 *         indicates that there are more solutions than the absolute value
+	 * @see IConfigurationPropagator#exactNumber(long)
+	 */
+	public BigInteger exactNumber(long timeout) {
+		return LongRunningWrapper.runMethod(getPropagator().exactNumber(timeout));
+	}
+
 	public void resetValues() {
 		for (final SelectableFeature feature : features) {
 			feature.setManual(Selection.UNDEFINED);
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -39,7 +40,9 @@ import org.prop4j.SatSolver;
 import org.prop4j.analyses.ConditionallyCoreDeadAnalysis;
 import org.prop4j.solver.BasicSolver;
 import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.ModelCounter;
 import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.SolverPool;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
@@ -72,10 +75,19 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 		private final boolean includeUndefinedFeatures;
 		private final boolean includeHiddenFeatures;
+		private final BasicSolver reusedSolver;
 
 		public IsValidMethod(boolean includeUndefinedFeatures, boolean includeHiddenFeatures) {
+			this(includeUndefinedFeatures, includeHiddenFeatures, null);
+		}
+
+		/**
+		 * @param reusedSolver a solver created by {@link ConfigurationPropagator#createSolver()} or {@code null} to create a new solver
+		 */
+		public IsValidMethod(boolean includeUndefinedFeatures, boolean includeHiddenFeatures, BasicSolver reusedSolver) {
 			this.includeUndefinedFeatures = includeUndefinedFeatures;
 			this.includeHiddenFeatures = includeHiddenFeatures;
+			this.reusedSolver = reusedSolver;
 		}
 
 		@Override
@@ -84,32 +96,38 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 				return false;
 			}
 
-			final BasicSolver solver;
-			try {
-				solver = new BasicSolver(rootNode);
-			} catch (final ContradictionException e) {
-				Logger.logError(e);
+			final BasicSolver solver = (reusedSolver != null) ? reusedSolver : solverPool.acquire();
+			if (solver == null) {
 				return false;
 			}
+			final int assignmentSize = solver.getAssignment().size();
 
-			for (final SelectableFeature feature : configuration.features) {
-				final IFeatureStructure structure = feature.getFeature().getStructure();
-				if ((includeUndefinedFeatures || (feature.getSelection() != Selection.UNDEFINED)) && (includeHiddenFeatures || !structure.hasHiddenParent())
-					&& (configuration.ignoreAbstractFeatures || structure.isConcrete())) {
-					final int variable = rootNode.getVariable(feature.getFeature().getName());
-					solver.assignmentPush((feature.getSelection() == Selection.SELECTED) ? variable : -variable);
+			try {
+				for (final SelectableFeature feature : configuration.features) {
+					final IFeatureStructure structure = feature.getFeature().getStructure();
+					if ((includeUndefinedFeatures || (feature.getSelection() != Selection.UNDEFINED))
+						&& (includeHiddenFeatures || !structure.hasHiddenParent()) && (configuration.ignoreAbstractFeatures || structure.isConcrete())) {
+						final int variable = rootNode.getVariable(feature.getFeature().getName());
+						solver.assignmentPush((feature.getSelection() == Selection.SELECTED) ? variable : -variable);
+					}
 				}
-			}
 
-			final SatResult satResult = solver.isSatisfiable();
-			switch (satResult) {
-			case FALSE:
-			case TIMEOUT:
-				return false;
-			case TRUE:
-				return true;
-			default:
-				throw new AssertionError(satResult);
+				final SatResult satResult = solver.isSatisfiable();
+				switch (satResult) {
+				case FALSE:
+				case TIMEOUT:
+					return false;
+				case TRUE:
+					return true;
+				default:
+					throw new AssertionError(satResult);
+				}
+			} finally {
+				if (reusedSolver != null) {
+					solver.assignmentClear(assignmentSize);
+				} else {
+					solverPool.release(solver);
+				}
 			}
 		}
 	}
@@ -133,53 +151,56 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 			workMonitor.setRemainingWork(oldManualSelected.size() + configuration.features.size() + 1);
 
-			final SatSolver manualSolver = new SatSolver(rootNode.getCnf(), ConfigurationPropagator.TIMEOUT);
-
-			workMonitor.worked();
-
-			final LinkedList<Node> newManualSelected = new LinkedList<>();
-			for (final Iterator<SelectableFeature> iterator = oldManualSelected.iterator(); iterator.hasNext();) {
-				final SelectableFeature next = iterator.next();
-				final Literal l = new Literal(next.getFeature().getName(), next.getManual() == Selection.SELECTED);
-				newManualSelected.addFirst(l);
-
-				boolean satisfiable = false;
-				try {
-					satisfiable = manualSolver.isSatisfiable(newManualSelected);
-				} catch (final TimeoutException e) {}
-				if (!satisfiable) {
-					next.setManual(Selection.UNDEFINED);
-					iterator.remove();
-					newManualSelected.removeFirst();
-				}
-				workMonitor.worked();
+			final BasicSolver solver = solverPool.acquire();
+			if (solver == null) {
+				return null;
 			}
+			try {
+				workMonitor.worked();
 
-			final Node[] nodeArray = createNodeArray(newManualSelected, rootNode.getCnf());
-			final SatSolver automaticSolver = new SatSolver(new And(nodeArray), ConfigurationPropagator.TIMEOUT);
+				// manual selections remain as assumptions, if they do not contradict previous ones
+				for (final Iterator<SelectableFeature> iterator = oldManualSelected.iterator(); iterator.hasNext();) {
+					final SelectableFeature next = iterator.next();
+					final int literal = getLiteral(next, next.getManual() == Selection.SELECTED);
+					if (literal != 0) {
+						solver.assignmentPush(literal);
+						if (solver.isSatisfiable() != SatResult.TRUE) {
+							next.setManual(Selection.UNDEFINED);
+							iterator.remove();
+							solver.assignmentPop();
+						}
+					}
+					workMonitor.worked();
+				}
 
-			final ListIterator<SelectableFeature> it = configuration.features.listIterator();
-			while (it.hasNext()) {
-				final SelectableFeature feature = it.next();
-				if (feature.getManual() == Selection.UNDEFINED) {
-					Literal l = new Literal(feature.getFeature().getName(), true);
-					try {
-						if (!automaticSolver.isSatisfiable(l)) {
-							feature.setAutomatic(Selection.UNSELECTED);
-						} else {
-							l = new Literal(feature.getFeature().getName(), false);
-							if (!automaticSolver.isSatisfiable(l)) {
+				final ListIterator<SelectableFeature> it = configuration.features.listIterator();
+				while (it.hasNext()) {
+					final SelectableFeature feature = it.next();
+					if (feature.getManual() == Selection.UNDEFINED) {
+						final int variable = getLiteral(feature, true);
+						if (variable != 0) {
+							solver.assignmentPush(variable);
+							final SatResult selectedResult = solver.isSatisfiable();
+							solver.assignmentReplaceLast(-variable);
+							final SatResult unselectedResult = (selectedResult == SatResult.TRUE) ? solver.isSatisfiable() : SatResult.TIMEOUT;
+							solver.assignmentPop();
+
+							if (selectedResult == SatResult.FALSE) {
+								feature.setAutomatic(Selection.UNSELECTED);
+							} else if (unselectedResult == SatResult.FALSE) {
 								feature.setAutomatic(Selection.SELECTED);
-							} else {
+							} else if (unselectedResult == SatResult.TRUE) {
 								feature.setAutomatic(Selection.UNDEFINED);
 							}
+						} else {
+							feature.setAutomatic(Selection.UNDEFINED);
 						}
-					} catch (final TimeoutException e) {
-						Logger.logError(e);
 					}
+					workMonitor.invoke(feature);
+					workMonitor.worked();
 				}
-				workMonitor.invoke(feature);
-				workMonitor.worked();
+			} finally {
+				solverPool.release(solver);
 			}
 			return null;
 		}
@@ -188,16 +209,32 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 	public class CountSolutionsMethod implements LongRunningMethod<Long> {
 
-		private final long timeout;
+		private final ExactCountSolutionsMethod method;
 
 		public CountSolutionsMethod(long timeout) {
-			this.timeout = timeout;
+			method = new ExactCountSolutionsMethod(timeout);
 		}
 
 		@Override
 		public Long execute(IMonitor monitor) {
+			final BigInteger number = method.execute(monitor);
+			// numbers beyond the range of long are reported as lower bound
+			return (number.bitLength() < Long.SIZE) ? number.longValue() : -Long.MAX_VALUE;
+		}
+	}
+
+	public class ExactCountSolutionsMethod implements LongRunningMethod<BigInteger> {
+
+		private final long timeout;
+
+		public ExactCountSolutionsMethod(long timeout) {
+			this.timeout = timeout;
+		}
+
+		@Override
+		public BigInteger execute(IMonitor monitor) {
 			if (rootNode == null) {
-				return 0L;
+				return BigInteger.ZERO;
 			}
 			final List<Node> children = new ArrayList<Node>();
 
@@ -209,8 +246,13 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 				}
 			}
 
-			final Node[] nodeArray = createNodeArray(children, rootNodeWithoutHidden.getCnf());
-			return new SatSolver(new And(nodeArray), timeout).countSolutions();
+			try {
+				return modelCounter.count(rootNodeWithoutHidden.convertToInt(children.toArray(new Node[0])), timeout);
+			} catch (final TimeoutException e) {
+				// fall back to a lower bound
+				final Node[] nodeArray = createNodeArray(children, rootNodeWithoutHidden.getCnf());
+				return BigInteger.valueOf(new SatSolver(new And(nodeArray), timeout).countSolutions());
+			}
 		}
 	}
 
@@ -341,25 +383,70 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			if (rootNode == null) {
 				return null;
 			}
-			final List<Node> children = new ArrayList<Node>(configuration.features.size());
+			final List<Literal> children = new ArrayList<Literal>(configuration.features.size());
 			for (final SelectableFeature feature : configuration.features) {
 				if ((feature.getSelection() != Selection.UNDEFINED)
 					&& (configuration.ignoreAbstractFeatures || FeatureUtils.isConcrete(feature.getFeature()))) {
 					children.add(new Literal(feature.getFeature().getName(), feature.getSelection() == Selection.SELECTED));
 				}
 			}
-			final Node[] allFeatures = new Node[children.size() + 1];
-			children.toArray(allFeatures);
-			allFeatures[children.size()] = rootNode.getCnf().clone();
 
-			final SatSolver satSolver = new SatSolver(new And(allFeatures), TIMEOUT);
-			final List<List<String>> solutions = new LinkedList<>();
-			while (!features.isEmpty()) {
-				solutions.add(satSolver.coverFeatures(features, selection, monitor));
-				monitor.checkCancel();
-				monitor.setRemainingWork(features.size());
+			final BasicSolver solver = solverPool.acquire();
+			if (solver == null) {
+				return null;
+			}
+			try {
+				for (final int literal : rootNode.convertToInt(children)) {
+					if (literal != 0) {
+						solver.assignmentPush(literal);
+					}
+				}
+				final int assignmentSize = solver.getAssignment().size();
+
+				final List<List<String>> solutions = new LinkedList<>();
+				while (!features.isEmpty()) {
+					solutions.add(coverFeatures(solver, monitor));
+					solver.assignmentClear(assignmentSize);
+					monitor.checkCancel();
+					monitor.setRemainingWork(features.size());
+				}
+				return solutions;
+			} finally {
+				solverPool.release(solver);
+			}
+		}
+
+		/**
+		 * Creates one solution to cover the given features.
+		 */
+		private List<String> coverFeatures(BasicSolver solver, IMonitor monitor) throws TimeoutException {
+			final List<String> coveredFeatures = new LinkedList<>();
+			for (final String feature : features) {
+				final int literal = (selection ? 1 : -1) * rootNode.getVariable(feature);
+				solver.assignmentPush(literal);
+				switch (solver.isSatisfiable()) {
+				case TRUE:
+					monitor.worked();
+					coveredFeatures.add(feature);
+					break;
+				case FALSE:
+					solver.assignmentReplaceLast(-literal);
+					break;
+				case TIMEOUT:
+					throw new TimeoutException();
+				default:
+					break;
+				}
 			}
-			return solutions;
+			features.removeAll(coveredFeatures);
+			if (coveredFeatures.isEmpty()) {
+				throw new RuntimeException("Something went wrong! No features are covered.");
+			}
+			final int[] model = solver.findModel();
+			if (model == null) {
+				throw new RuntimeException("Unexpected solver exception");
+			}
+			return rootNode.convertToString(model);
 		}
 	}
 
@@ -589,8 +676,11 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			final Iterable<IFeature> features = featureModel.getFeatures();
 			rootNodeWithoutHidden =
 				new SatInstance(buildThread1.getResults(), Functional.mapToList(features, new InverseFilter<>(filter1), FeatureUtils.GET_FEATURE_NAME));
-			rootNode = new SatInstance(buildThread2.getResults(),
+			modelCounter = new ModelCounter(rootNodeWithoutHidden);
+			final SatInstance satInstance = new SatInstance(buildThread2.getResults(),
 					Functional.mapToList(features, filter2 == null ? null : new InverseFilter<>(filter2), FeatureUtils.GET_FEATURE_NAME));
+			solverPool = new SolverPool(satInstance);
+			rootNode = satInstance;
 			return null;
 		}
 	}
@@ -637,10 +727,16 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			workMonitor.setRemainingWork(manualLiterals.size() + 1);
 			Collections.reverse(manualLiterals);
 
-			final ConditionallyCoreDeadAnalysis analysis = new ConditionallyCoreDeadAnalysis(rootNode);
+			final BasicSolver analysisSolver = solverPool.acquire();
+			final ConditionallyCoreDeadAnalysis analysis = new ConditionallyCoreDeadAnalysis(analysisSolver);
 			final int[] intLiterals = rootNode.convertToInt(manualLiterals);
 			analysis.setAssumptions(intLiterals);
-			final int[] impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			final int[] impliedFeatures;
+			try {
+				impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			} finally {
+				solverPool.release(analysisSolver);
+			}
 
 			// if there is a contradiction within the configuration
 			if (impliedFeatures == null) {
@@ -661,44 +757,48 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			}
 
 			if (redundantManual) {
-				final BasicSolver solver;
-				try {
-					solver = new BasicSolver(rootNode);
-				} catch (final ContradictionException e) {
-					Logger.logError(e);
+				final BasicSolver solver = solverPool.acquire();
+				if (solver == null) {
 					return null;
 				}
-
-				for (final int feature : intLiterals) {
-					solver.assignmentPush(feature);
+				try {
+					checkRedundantManual(solver, intLiterals, workMonitor);
+				} finally {
+					solverPool.release(solver);
 				}
+			}
+			return null;
+		}
 
-				int literalCount = intLiterals.length;
-				final IVecInt assignment = solver.getAssignment();
-				for (int i = 0; i < assignment.size(); i++) {
-					final int oLiteral = intLiterals[i];
-					final SelectableFeature feature = configuration.getSelectablefeature((String) rootNode.getVariableObject(oLiteral));
-					assignment.set(i, -oLiteral);
-					final SatResult satResult = solver.isSatisfiable();
-					switch (satResult) {
-					case FALSE:
-						configuration.setAutomatic(feature, oLiteral > 0 ? Selection.SELECTED : Selection.UNSELECTED);
-						workMonitor.invoke(feature);
-						intLiterals[i] = intLiterals[--literalCount];
-						assignment.delete(i--);
-						break;
-					case TIMEOUT:
-					case TRUE:
-						assignment.set(i, oLiteral);
-						workMonitor.invoke(feature);
-						break;
-					default:
-						throw new AssertionError(satResult);
-					}
-					workMonitor.worked();
+		private void checkRedundantManual(BasicSolver solver, int[] intLiterals, IMonitor workMonitor) {
+			for (final int feature : intLiterals) {
+				solver.assignmentPush(feature);
+			}
+
+			int literalCount = intLiterals.length;
+			final IVecInt assignment = solver.getAssignment();
+			for (int i = 0; i < assignment.size(); i++) {
+				final int oLiteral = intLiterals[i];
+				final SelectableFeature feature = configuration.getSelectablefeature((String) rootNode.getVariableObject(oLiteral));
+				assignment.set(i, -oLiteral);
+				final SatResult satResult = solver.isSatisfiable();
+				switch (satResult) {
+				case FALSE:
+					configuration.setAutomatic(feature, oLiteral > 0 ? Selection.SELECTED : Selection.UNSELECTED);
+					workMonitor.invoke(feature);
+					intLiterals[i] = intLiterals[--literalCount];
+					assignment.delete(i--);
+					break;
+				case TIMEOUT:
+				case TRUE:
+					assignment.set(i, oLiteral);
+					workMonitor.invoke(feature);
+					break;
+				default:
+					throw new AssertionError(satResult);
 				}
+				workMonitor.worked();
 			}
-			return null;
 		}
 
 	}
@@ -711,6 +811,16 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 	private SatInstance rootNode = null, rootNodeWithoutHidden = null;
 
+	/**
+	 * Initialized solvers for {@link #rootNode}. Shared by all clones of this propagator.
+	 */
+	private SolverPool solverPool = null;
+
+	/**
+	 * Model counter for {@link #rootNodeWithoutHidden}. Shared by all clones of this propagator, such that its cache survives changes of the selection.
+	 */
+	private ModelCounter modelCounter = null;
+
 	/**
 	 * This method creates a clone of the given {@link ConfigurationPropagator}
 	 *
@@ -727,8 +837,10 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 	ConfigurationPropagator(ConfigurationPropagator propagator, Configuration configuration) {
 		this.configuration = configuration;
 		if (propagator.isLoaded()) {
+			solverPool = propagator.solverPool;
 			rootNode = propagator.rootNode;
 			rootNodeWithoutHidden = propagator.rootNodeWithoutHidden;
+			modelCounter = propagator.modelCounter;
 		}
 	}
 
@@ -772,6 +884,23 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return new IsValidMethod(true, true);
 	}
 
+	@Override
+	public IsValidMethod isValid(BasicSolver solver) {
+		return new IsValidMethod(true, true, solver);
+	}
+
+	@Override
+	public BasicSolver createSolver() {
+		if (rootNode != null) {
+			try {
+				return new BasicSolver(rootNode);
+			} catch (final ContradictionException e) {
+				Logger.logError(e);
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Ignores hidden features. Use this, when propgate is disabled (hidden features are not updated).
 	 */
@@ -806,6 +935,11 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return new CountSolutionsMethod(timeout);
 	}
 
+	@Override
+	public ExactCountSolutionsMethod exactNumber(long timeout) {
+		return new ExactCountSolutionsMethod(timeout);
+	}
+
 	@Override
 	public UpdateMethod update(boolean redundantManual, List<SelectableFeature> featureOrder) {
 		return new UpdateMethod(redundantManual, featureOrder);
@@ -834,6 +968,13 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return nodeArray;
 	}
 
+	/**
+	 * @return the literal of the given feature in {@link #rootNode} or {@code 0}, if the feature is not contained in the formula
+	 */
+	private int getLiteral(SelectableFeature feature, boolean selected) {
+		return rootNode.convertToInt(new Literal[] { new Literal(feature.getFeature().getName(), selected) })[0];
+	}
+
 	private List<Node> createNodeList() {
 		final List<Node> children = new ArrayList<Node>();
 
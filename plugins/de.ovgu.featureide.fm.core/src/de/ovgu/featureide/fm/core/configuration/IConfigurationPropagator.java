@@ -20,9 +20,11 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.List;
 
 import org.prop4j.Node;
+import org.prop4j.solver.BasicSolver;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
@@ -44,6 +46,24 @@ public interface IConfigurationPropagator {
 	 */
 	LongRunningMethod<Boolean> isValid();
 
+	/**
+	 * Checks that all manual and automatic selections are valid like {@link #isValid()}, but uses the given solver instead of creating a new one.<br> The
+	 * solver can be shared by the propagators of all clones of a configuration, but not by multiple threads.
+	 *
+	 * @param solver a solver created by {@link #createSolver()} of a propagator for the same feature model, or {@code null} to behave exactly like
+	 *        {@link #isValid()}
+	 * @return {@code true} if the current selection is a valid configuration
+	 */
+	LongRunningMethod<Boolean> isValid(BasicSolver solver);
+
+	/**
+	 * Creates a new solver for the formula of the feature model, which can be passed to {@link #isValid(BasicSolver)}.
+	 *
+	 * @return the solver or {@code null} if the propagator is not loaded or the formula is contradictory (callers should then pass {@code null} to
+	 *         {@link #isValid(BasicSolver)} or use {@link #isValid()})
+	 */
+	BasicSolver createSolver();
+
 	boolean isLoaded();
 
 	LongRunningMethod<Void> resolve();
@@ -69,6 +89,15 @@ public interface IConfigurationPropagator {
 	 */
 	LongRunningMethod<Long> number(long timeout);
 
+	/**
+	 * Counts the number of possible solutions like {@link #number(long)}, but uses a model counter instead of enumerating the solutions and is not limited
+	 * to the range of {@code long}.
+	 *
+	 * @return a positive value equal to the number of solutions (if the method terminated in time)</br> or a negative value (if a timeout occurred) that
+	 *         indicates that there are more solutions than the absolute value
+	 */
+	LongRunningMethod<BigInteger> exactNumber(long timeout);
+
 	LongRunningMethod<Void> update(boolean redundantManual, List<SelectableFeature> featureOrder);
 
 	LongRunningMethod<Void> update(boolean redundantManual);
@@ -0,0 +1,198 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores which features are selected in a set of configurations.<br> Each feature is represented by a bit column of 64-bit words, such that features that
+ * are selected in no or in all configurations can be determined word by word. Single configurations can be added, replaced, or removed without rebuilding
+ * the matrix.
+ */
+public class SelectionMatrix {
+
+	private static final int WORD_SIZE = Long.SIZE;
+
+	private final List<String> features;
+
+	private final Map<String, Integer> rowIndex = new HashMap<>();
+	private final List<String> rowKeys = new ArrayList<>();
+
+	private final long[][] columns;
+
+	public SelectionMatrix(List<String> features) {
+		this.features = new ArrayList<>(features);
+		columns = new long[this.features.size()][1];
+	}
+
+	public List<String> getFeatures() {
+		return Collections.unmodifiableList(features);
+	}
+
+	public int getNumberOfConfigurations() {
+		return rowKeys.size();
+	}
+
+	public List<String> getConfigurations() {
+		return Collections.unmodifiableList(rowKeys);
+	}
+
+	public boolean containsConfiguration(String key) {
+		return rowIndex.containsKey(key);
+	}
+
+	/**
+	 * Adds a configuration to the matrix or replaces the selection of an already contained configuration with the same key.
+	 *
+	 * @param key the identifier of the configuration (e.g., its file path)
+	 * @param configuration the configuration
+	 */
+	public void setConfiguration(String key, Configuration configuration) {
+		Integer row = rowIndex.get(key);
+		if (row == null) {
+			row = rowKeys.size();
+			ensureCapacity(row + 1);
+			rowIndex.put(key, row);
+			rowKeys.add(key);
+		}
+		final int word = row / WORD_SIZE;
+		final long bit = 1L << (row % WORD_SIZE);
+		for (int i = 0; i < columns.length; i++) {
+			final SelectableFeature feature = configuration.getSelectablefeature(features.get(i));
+			if ((feature != null) && (feature.getSelection() == Selection.SELECTED)) {
+				columns[i][word] |= bit;
+			} else {
+				columns[i][word] &= ~bit;
+			}
+		}
+	}
+
+	/**
+	 * Removes a configuration from the matrix. The last configuration is moved to the freed row.
+	 *
+	 * @param key the identifier of the configuration
+	 * @return {@code true} if the matrix contained the configuration
+	 */
+	public boolean removeConfiguration(String key) {
+		final Integer row = rowIndex.remove(key);
+		if (row == null) {
+			return false;
+		}
+		final int lastRow = rowKeys.size() - 1;
+		final String lastKey = rowKeys.remove(lastRow);
+
+		final int lastWord = lastRow / WORD_SIZE;
+		final long lastBit = 1L << (lastRow % WORD_SIZE);
+		if (row != lastRow) {
+			rowKeys.set(row, lastKey);
+			rowIndex.put(lastKey, row);
+
+			final int word = row / WORD_SIZE;
+			final long bit = 1L << (row % WORD_SIZE);
+			for (final long[] column : columns) {
+				if ((column[lastWord] & lastBit) != 0) {
+					column[word] |= bit;
+				} else {
+					column[word] &= ~bit;
+				}
+			}
+		}
+		for (final long[] column : columns) {
+			column[lastWord] &= ~lastBit;
+		}
+		return true;
+	}
+
+	public boolean isSelected(String key, String feature) {
+		final Integer row = rowIndex.get(key);
+		final int column = features.indexOf(feature);
+		if ((row == null) || (column < 0)) {
+			return false;
+		}
+		return (columns[column][row / WORD_SIZE] & (1L << (row % WORD_SIZE))) != 0;
+	}
+
+	/**
+	 * @return all features that are selected in none of the configurations (empty, if the matrix contains no configuration)
+	 */
+	public List<String> getUnusedFeatures() {
+		final List<String> result = new ArrayList<>();
+		if (rowKeys.isEmpty()) {
+			return result;
+		}
+		final int numberOfWords = getNumberOfWords();
+		columnLoop: for (int i = 0; i < columns.length; i++) {
+			final long[] column = columns[i];
+			for (int j = 0; j < numberOfWords; j++) {
+				if (column[j] != 0) {
+					continue columnLoop;
+				}
+			}
+			result.add(features.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * @return all features that are selected in every configuration (empty, if the matrix contains no configuration)
+	 */
+	public List<String> getAlwaysSelectedFeatures() {
+		final List<String> result = new ArrayList<>();
+		if (rowKeys.isEmpty()) {
+			return result;
+		}
+		final int numberOfWords = getNumberOfWords();
+		final int remainder = rowKeys.size() % WORD_SIZE;
+		final long lastMask = (remainder == 0) ? -1L : ((1L << remainder) - 1);
+		columnLoop: for (int i = 0; i < columns.length; i++) {
+			final long[] column = columns[i];
+			for (int j = 0; j < (numberOfWords - 1); j++) {
+				if (column[j] != -1L) {
+					continue columnLoop;
+				}
+			}
+			if ((column[numberOfWords - 1] & lastMask) == lastMask) {
+				result.add(features.get(i));
+			}
+		}
+		return result;
+	}
+
+	private int getNumberOfWords() {
+		return ((rowKeys.size() - 1) / WORD_SIZE) + 1;
+	}
+
+	private void ensureCapacity(int numberOfRows) {
+		final int numberOfWords = ((numberOfRows - 1) / WORD_SIZE) + 1;
+		if ((columns.length > 0) && (columns[0].length < numberOfWords)) {
+			final int newLength = Math.max(numberOfWords, columns[0].length << 1);
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], newLength);
+			}
+		}
+	}
+
+}
@@ -20,16 +20,29 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
+import org.xml.sax.InputSource;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.io.IConfigurationFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.IStreamFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
 import de.ovgu.featureide.fm.core.io.xml.AXMLFormat;
 import de.ovgu.featureide.fm.core.io.xml.PositionalXMLHandler;
@@ -40,7 +53,7 @@ import de.ovgu.featureide.fm.core.localization.StringTable;
  *
  * @author Sebastian Krieter
  */
-public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigurationFormat {
+public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigurationFormat, IStreamFormat<Configuration> {
 
 	private static final String NODE_FEATURE = "feature";
 	private static final String ATTRIBUTE_NAME = "name";
@@ -163,17 +176,46 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 		}
 	}
 
+	@Override
+	public ProblemList read(Configuration object, InputStream source) {
+		return read(object, new InputSource(source));
+	}
+
+	@Override
+	public String write(Configuration object) {
+		final StringWriter writer = new StringWriter();
+		try {
+			write(object, writer);
+		} catch (final IOException e) {
+			Logger.logError(e);
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public void write(Configuration object, OutputStream target) throws IOException {
+		write(object, new BufferedWriter(new OutputStreamWriter(target, CHARSET)));
+	}
+
+	/**
+	 * Configurations are written to an {@link XMLStreamWriter} (see {@link #write(Configuration, OutputStream)}), which builds the given document here.
+	 */
 	@Override
 	protected void writeDocument(Document doc) {
-		final Element root = doc.createElement("configuration");
-		doc.appendChild(root);
+		writeDocumentFromStream(doc);
+	}
+
+	@Override
+	protected void writeDocument(XMLStreamWriter writer) throws XMLStreamException {
+		writer.writeStartElement("configuration");
 		for (final SelectableFeature feature : object.getFeatures()) {
-			final Element featureNode = doc.createElement(NODE_FEATURE);
-			featureNode.setAttribute(ATTRIBUTE_NAME, feature.getName());
-			featureNode.setAttribute(ATTRIBUTE_MANUAL, getSelectionString(feature.getManual()));
-			featureNode.setAttribute(ATTRIBUTE_AUTOMATIC, getSelectionString(feature.getAutomatic()));
-			root.appendChild(featureNode);
+			writer.writeStartElement(NODE_FEATURE);
+			writer.writeAttribute(ATTRIBUTE_NAME, feature.getName());
+			writer.writeAttribute(ATTRIBUTE_MANUAL, getSelectionString(feature.getManual()));
+			writer.writeAttribute(ATTRIBUTE_AUTOMATIC, getSelectionString(feature.getAutomatic()));
+			writer.writeEndElement();
 		}
+		writer.writeEndElement();
 	}
 
 	@Override
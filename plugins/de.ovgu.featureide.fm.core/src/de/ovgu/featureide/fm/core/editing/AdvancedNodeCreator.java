@@ -24,15 +24,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import org.prop4j.And;
+import org.prop4j.AuxiliaryVariable;
 import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.Not;
 import org.prop4j.Or;
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
 
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -54,8 +59,14 @@ import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
  */
 public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 
+	/**
+	 * The form of the created formula. <b>Regular</b> creates a conjunction of clauses, <b>Compact</b> additionally allows single literals instead of clauses.
+	 * <b>Tseitin</b> creates the same form as <b>Regular</b>, but abbreviates sub-formulas of constraints with {@link AuxiliaryVariable auxiliary variables}
+	 * if their distribution would create more than {@link AdvancedNodeCreator#getMaxClausesPerConstraint() a certain number} of clauses. The resulting formula
+	 * is equisatisfiable, but not equivalent, to the feature model.
+	 */
 	public static enum CNFType {
-		None, Compact, Regular
+		None, Compact, Regular, Tseitin
 	}
 
 	public static enum ModelType {
@@ -91,6 +102,11 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 
 	private CNFType cnfType = CNFType.None;
 
+	/**
+	 * The maximum number of clauses a sub-formula of a constraint may be distributed into when using {@link CNFType#Tseitin}.
+	 */
+	private int maxClausesPerConstraint = 64;
+
 	private ModelType modelType = ModelType.All;
 
 	/**
@@ -174,7 +190,7 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 	 */
 	public Node createConstraintNode(IConstraint constraint, boolean positive) {
 		final List<Node> clauses = createConstraintNodes(constraint, new LinkedList<Node>(), positive);
-		if ((cnfType != CNFType.Regular) && (clauses.size() == 1)) {
+		if (!isRegular() && (clauses.size() == 1)) {
 			return clauses.get(0);
 		}
 		return new And(clauses.toArray(new Node[clauses.size()]));
@@ -202,6 +218,17 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 				traceModel.addTraceConstraint(constraint);
 			}
 			break;
+		case Tseitin:
+			if (!positive) {
+				clause = new Not(clause);
+			}
+			for (final Node andChild : Node.buildTseitinCNF(clause, maxClausesPerConstraint).getChildren()) {
+				clauses.add(andChild);
+				if (isRecordingTraceModel()) {
+					traceModel.addTraceConstraint(constraint);
+				}
+			}
+			break;
 		case Regular:
 			compact = false;
 		case Compact:
@@ -239,6 +266,7 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 			final Or emptyNode = includeBooleanValues ? new Or(new Literal(NodeCreator.varTrue), new Literal(NodeCreator.varFalse, false)) : new Or();
 			switch (cnfType) {
 			case Regular:
+			case Tseitin:
 				return new And(emptyNode);
 			case None:
 			case Compact:
@@ -287,6 +315,7 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 
 			switch (cnfType) {
 			case Regular:
+			case Tseitin:
 				nodeArray[length] = new Or(new Literal[] { new Literal(NodeCreator.varTrue) });
 				nodeArray[length + 1] = new Or(new Literal[] { new Literal(NodeCreator.varFalse, false) });
 				break;
@@ -309,13 +338,148 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 
 	private Node removeFeatures(final Node[] nodeArray, IMonitor monitor) {
 		if ((excludedFeatureNames != null) && !excludedFeatureNames.isEmpty()) {
-			final FeatureRemover remover = new FeatureRemover(new And(nodeArray), excludedFeatureNames, includeBooleanValues, cnfType == CNFType.Regular);
+			final FeatureRemover remover = new FeatureRemover(new And(nodeArray), excludedFeatureNames, includeBooleanValues, isRegular());
 			return remover.createNewClauseList(LongRunningWrapper.runMethod(remover, monitor));
 		} else {
 			return new And(nodeArray);
 		}
 	}
 
+	/**
+	 * Creates a {@link SatInstance} for the feature model. The variables of the instance are the features in preorder (followed by the boolean values and
+	 * {@link AuxiliaryVariable auxiliary variables}, if any).</br> The structural clauses are written directly into an {@link IntCNF} without creating a
+	 * {@link Node} for each clause. If features are excluded or a trace model is recorded, the instance is created from {@link #createNodes()} instead.
+	 * Requires {@link CNFType#Regular} or {@link CNFType#Tseitin}.
+	 *
+	 * @return the instance
+	 */
+	public SatInstance createSatInstance() {
+		if (!isRegular()) {
+			throw new IllegalStateException("A SAT instance requires a regular CNF.");
+		}
+		if ((featureModel == null) || ((excludedFeatureNames != null) && !excludedFeatureNames.isEmpty()) || isRecordingTraceModel()) {
+			final Node cnf = createNodes();
+			final List<Object> variables = new ArrayList<>();
+			if (featureModel != null) {
+				for (final IFeature feature : featureModel.getStructure().getFeaturesPreorder()) {
+					if ((excludedFeatureNames == null) || !excludedFeatureNames.contains(feature.getName())) {
+						variables.add(getVariable(feature));
+					}
+				}
+			}
+			if (includeBooleanValues) {
+				variables.add(NodeCreator.varTrue);
+				variables.add(NodeCreator.varFalse);
+			}
+			return new SatInstance(cnf, variables);
+		}
+
+		final List<Object> variables = new ArrayList<>(featureModel.getNumberOfFeatures() + 2);
+		final Map<Object, Integer> varToInt = new HashMap<>();
+		for (final IFeature feature : featureModel.getStructure().getFeaturesPreorder()) {
+			addVariable(getVariable(feature), variables, varToInt);
+		}
+
+		final List<Node> constraintClauses = new ArrayList<>();
+		if (modelType != ModelType.OnlyStructure) {
+			for (final IConstraint constraint : featureModel.getConstraints()) {
+				createConstraintNodes(constraint, constraintClauses, true);
+			}
+		}
+		// variables of constraints that are not part of the feature tree
+		for (final Node clause : constraintClauses) {
+			for (final Node literal : clause.getChildren()) {
+				final Object var = ((Literal) literal).var;
+				if (!(var instanceof AuxiliaryVariable)) {
+					addVariable(var, variables, varToInt);
+				}
+			}
+		}
+		if (includeBooleanValues) {
+			addVariable(NodeCreator.varTrue, variables, varToInt);
+			addVariable(NodeCreator.varFalse, variables, varToInt);
+		}
+
+		final IntCNF clauses = new IntCNF(featureModel.getNumberOfFeatures() * 2, featureModel.getNumberOfFeatures() * 4);
+		if (modelType != ModelType.OnlyConstraints) {
+			createStructuralClauses(clauses, varToInt);
+		}
+		for (final Node clause : constraintClauses) {
+			final Node[] clauseLiterals = clause.getChildren();
+			final int[] intClause = new int[clauseLiterals.length];
+			for (int i = 0; i < clauseLiterals.length; i++) {
+				final Literal literal = (Literal) clauseLiterals[i];
+				final int var = addVariable(literal.var, variables, varToInt);
+				intClause[i] = literal.positive ? var : -var;
+			}
+			clauses.addClause(intClause);
+		}
+		if (includeBooleanValues) {
+			clauses.addClause(varToInt.get(NodeCreator.varTrue));
+			clauses.addClause(-varToInt.get(NodeCreator.varFalse));
+		}
+		clauses.trimToSize();
+		return new SatInstance(clauses, variables);
+	}
+
+	private static int addVariable(Object var, List<Object> variables, Map<Object, Integer> varToInt) {
+		final Integer index = varToInt.get(var);
+		if (index != null) {
+			return index;
+		}
+		variables.add(var);
+		varToInt.put(var, variables.size());
+		return variables.size();
+	}
+
+	/**
+	 * Creates the same clauses as {@link #createStructuralNodes()}.
+	 */
+	private void createStructuralClauses(IntCNF clauses, Map<Object, Integer> varToInt) {
+		final IFeature root = FeatureUtils.getRoot(featureModel);
+		if (root == null) {
+			return;
+		}
+		if (!optionalRoot) {
+			clauses.addClause(varToInt.get(getVariable(root)));
+		}
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final IFeatureStructure structure = feature.getStructure();
+			final int parentVar = varToInt.get(getVariable(feature));
+			final List<IFeatureStructure> children = structure.getChildren();
+			final int[] childVars = new int[children.size()];
+			int i = 0;
+			for (final IFeatureStructure child : children) {
+				final int childVar = varToInt.get(getVariable(child.getFeature()));
+				childVars[i++] = childVar;
+				clauses.addClause(parentVar, -childVar);
+			}
+
+			if (structure.hasChildren()) {
+				if (structure.isAnd()) {
+					i = 0;
+					for (final IFeatureStructure child : children) {
+						if (child.isMandatory()) {
+							clauses.addClause(childVars[i], -parentVar);
+						}
+						i++;
+					}
+				} else if (structure.isOr() || structure.isAlternative()) {
+					final int[] clause = Arrays.copyOf(childVars, childVars.length + 1);
+					clause[childVars.length] = -parentVar;
+					clauses.addClause(clause);
+					if (structure.isAlternative()) {
+						for (int j = 0; j < childVars.length; j++) {
+							for (int k = j + 1; k < childVars.length; k++) {
+								clauses.addClause(-childVars[j], -childVars[k]);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
 	private And createStructuralNodes() {
 		final IFeature root = FeatureUtils.getRoot(featureModel);
 		if (root != null) {
@@ -326,6 +490,7 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 				clause = getLiteral(root, true);
 				switch (cnfType) {
 				case Regular:
+				case Tseitin:
 					clause = new Or(clause);
 					break;
 				case None:
@@ -415,6 +580,10 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 		return new And(new Node[0]);
 	}
 
+	private boolean isRegular() {
+		return (cnfType == CNFType.Regular) || (cnfType == CNFType.Tseitin);
+	}
+
 	private Literal getLiteral(IFeature feature, boolean positive) {
 		return new Literal(getVariable(feature), positive);
 	}
@@ -432,6 +601,14 @@ public class AdvancedNodeCreator implements LongRunningMethod<Node> {
 		return cnfType;
 	}
 
+	public int getMaxClausesPerConstraint() {
+		return maxClausesPerConstraint;
+	}
+
+	public void setMaxClausesPerConstraint(int maxClausesPerConstraint) {
+		this.maxClausesPerConstraint = maxClausesPerConstraint;
+	}
+
 	public Collection<String> getExcludedFeatureNames() {
 		return excludedFeatureNames;
 	}
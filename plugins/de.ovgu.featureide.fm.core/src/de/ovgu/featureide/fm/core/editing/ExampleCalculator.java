@@ -33,6 +33,8 @@ import org.sat4j.specs.TimeoutException;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.DefaultFormat;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
  * Calculates added or deleted products for a feature model edit.
@@ -81,6 +83,10 @@ public class ExampleCalculator {
 		bIndex = -1;
 	}
 
+	public int getNumberOfChildren() {
+		return bChildren == null ? 0 : bChildren.length;
+	}
+
 	public boolean hasNextChild() {
 		if (bChildren == null) {
 			return false;
@@ -122,8 +128,22 @@ public class ExampleCalculator {
 	}
 
 	public boolean findSatisfiable(boolean stopEarly) throws TimeoutException {
+		return findSatisfiable(stopEarly, new NullMonitor());
+	}
+
+	/**
+	 * Checks the remaining clauses of the right formula one after another. Each checked clause is reported to the monitor.
+	 *
+	 * @param stopEarly whether to stop at the first clause that is not implied by the left formula
+	 * @param monitor the monitor
+	 * @return {@code true} if at least one checked clause is not implied by the left formula
+	 *
+	 * @throws TimeoutException if the solver times out
+	 */
+	public boolean findSatisfiable(boolean stopEarly, IMonitor monitor) throws TimeoutException {
 		boolean sat = false;
 		while (hasNextChild()) {
+			monitor.step();
 			Node child = nextChild();
 			if (!(child instanceof Or)) {
 				child = new Or(child);
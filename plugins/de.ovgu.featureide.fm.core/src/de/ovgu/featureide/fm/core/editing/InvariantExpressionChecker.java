@@ -0,0 +1,114 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.AuxiliaryVariable;
+import org.prop4j.Equals;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * Checks whether expressions (e.g., of preprocessor directives) are contradictions or tautologies with respect to a feature model and a context of
+ * enclosing expressions.<br> The feature model is added to one incremental {@link SatSolver} only once. Each distinct expression is defined by an
+ * {@link AuxiliaryVariable auxiliary variable} (<code>selector &lt;=&gt; expression</code>), such that an expression and its context can be checked by
+ * assuming the respective selectors. The results for an expression in a context are cached.
+ */
+public class InvariantExpressionChecker {
+
+	public static enum Invariance {
+		/** The expression is satisfiable but not a tautology. */
+		NONE,
+		/** The expression is a contradiction. */
+		CONTRADICTION,
+		/** The expression is a tautology. */
+		TAUTOLOGY
+	}
+
+	/**
+	 * The maximum number of clauses a sub-formula may be distributed into before it is abbreviated by an auxiliary variable.
+	 */
+	private static final int MAX_CLAUSES = 64;
+
+	private final SatSolver solver;
+
+	private final Map<Node, Literal> selectors = new HashMap<>();
+	private final Map<List<Node>, Invariance> results = new HashMap<>();
+
+	/**
+	 * @param featureModel the formula of the feature model
+	 * @param timeout the timeout for each satisfiability check in milliseconds
+	 */
+	public InvariantExpressionChecker(Node featureModel, long timeout) {
+		solver = new SatSolver(featureModel, timeout);
+	}
+
+	/**
+	 * Checks whether the given expression is a contradiction or a tautology with respect to the feature model and the given context.
+	 *
+	 * @param expression the expression to check
+	 * @param context the enclosing expressions that are assumed to be true
+	 * @return the invariance of the expression
+	 *
+	 * @throws TimeoutException if the solver times out
+	 */
+	public synchronized Invariance check(Node expression, List<Node> context) throws TimeoutException {
+		final List<Node> key = new ArrayList<>(context.size() + 1);
+		key.addAll(context);
+		key.add(expression);
+		Invariance result = results.get(key);
+		if (result == null) {
+			final Node[] assumptions = new Node[key.size()];
+			for (int i = 0; i < assumptions.length; i++) {
+				assumptions[i] = getSelector(key.get(i));
+			}
+
+			// -SAT(FM & context & expression)
+			if (!solver.isSatisfiable(assumptions)) {
+				result = Invariance.CONTRADICTION;
+			} else {
+				// -SAT(FM & context & -expression)
+				final Literal selector = (Literal) assumptions[assumptions.length - 1];
+				assumptions[assumptions.length - 1] = new Literal(selector.var, false);
+				result = solver.isSatisfiable(assumptions) ? Invariance.NONE : Invariance.TAUTOLOGY;
+			}
+			results.put(key, result);
+		}
+		return result;
+	}
+
+	private Literal getSelector(Node expression) {
+		Literal selector = selectors.get(expression);
+		if (selector == null) {
+			selector = new Literal(new AuxiliaryVariable());
+			solver.addClauses(Node.buildTseitinCNF(new Equals(selector, expression.clone()), MAX_CLAUSES));
+			selectors.put(expression, selector);
+		}
+		return selector;
+	}
+
+}
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.prop4j.And;
 import org.prop4j.Literal;
@@ -38,6 +40,10 @@ import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.SyncMonitor;
 
 /**
  * Compares two feature models based on a satisfiability solver. The result is a classification of the edit that transforms one model into the second model.
@@ -46,12 +52,137 @@ import de.ovgu.featureide.fm.core.configuration.Configuration;
  */
 public class ModelComparator {
 
+	/**
+	 * The maximum number of clauses a sub-formula may be distributed into before it is abbreviated by an auxiliary variable.
+	 */
+	private static final int MAX_CLAUSES = 64;
+
 	private final long timeout;
 
 	private enum Strategy {
 		WithoutIdenticalRules, SingleTesting, SingleTestingAborted
 	};
 
+	/**
+	 * Pool for the second direction of all comparisons. The first direction is checked by the calling thread.
+	 */
+	private static final ForkJoinPool POOL = new ForkJoinPool();
+
+	/**
+	 * Monitor that is shared by both directions of a comparison. The first failure of either direction is recorded and stops the other direction at its next
+	 * step.
+	 */
+	private static final class ComparisonMonitor extends SyncMonitor {
+
+		private volatile Throwable failure;
+
+		public ComparisonMonitor(IMonitor monitor) {
+			super(monitor);
+		}
+
+		public synchronized void abort(Throwable failure) {
+			if (this.failure == null) {
+				this.failure = failure;
+			}
+		}
+
+		public void rethrowFailure() throws TimeoutException {
+			final Throwable failure = this.failure;
+			if (failure instanceof TimeoutException) {
+				throw (TimeoutException) failure;
+			} else if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			} else if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+
+		@Override
+		public void checkCancel() throws MethodCancelException {
+			if (failure != null) {
+				throw new MethodCancelException();
+			}
+			super.checkCancel();
+		}
+
+		@Override
+		public void step() throws MethodCancelException {
+			checkCancel();
+			super.step();
+		}
+
+		@Override
+		public void step(Object t) throws MethodCancelException {
+			checkCancel();
+			super.step(t);
+		}
+
+	}
+
+	/**
+	 * Checks whether one formula implies the other. The formulas are prepared in the constructor, the solver is called in {@link #compute()}, such that both
+	 * directions of a comparison can be checked in parallel.
+	 */
+	private final class Implication extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Node a;
+		private final Node b;
+		private final ExampleCalculator example;
+		private final ComparisonMonitor monitor;
+
+		private boolean result;
+
+		public Implication(Node a, Node b, ExampleCalculator example, ComparisonMonitor monitor) {
+			this.a = a;
+			this.b = b;
+			this.example = example;
+			this.monitor = monitor;
+			if ((b != null) && strategy.contains(Strategy.SingleTesting)) {
+				example.setLeft(a);
+				example.setRight(b);
+			}
+		}
+
+		public int getWork() {
+			if (b == null) {
+				return 0;
+			}
+			return strategy.contains(Strategy.SingleTesting) ? example.getNumberOfChildren() : 1;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				result = check();
+			} catch (final TimeoutException | RuntimeException | Error e) {
+				monitor.abort(e);
+			}
+		}
+
+		public boolean check() throws TimeoutException {
+			if (b == null) {
+				return true;
+			}
+
+			if (!strategy.contains(Strategy.SingleTesting)) {
+				monitor.step();
+				// only satisfiability matters here, thus, an equisatisfiable CNF suffices
+				final Node node = Node.buildTseitinCNF(new And(a.clone(), new Not(b.clone())), MAX_CLAUSES);
+				final SatSolver solver = new SatSolver(node, timeout, false);
+				return !solver.isSatisfiable();
+			}
+
+			return !example.findSatisfiable(strategy.contains(Strategy.SingleTestingAborted), monitor);
+		}
+
+		public boolean getResult() {
+			return result;
+		}
+
+	}
+
 	private final Set<Strategy> strategy = new HashSet<Strategy>();
 
 	private IFeatureModel oldModel;
@@ -98,6 +229,22 @@ public class ModelComparator {
 	}
 
 	public Comparison compare(IFeatureModel oldModel, IFeatureModel newModel) {
+		return compare(oldModel, newModel, new NullMonitor());
+	}
+
+	/**
+	 * Compares two feature models. Both directions of the comparison (removed and added products) are checked in parallel. If one direction fails (e.g., by a
+	 * timeout or a cancel request), the other one stops at its next step. The monitor receives one step for each checked clause and can be used to cancel the
+	 * comparison.
+	 *
+	 * @param oldModel the model before the edit
+	 * @param newModel the model after the edit
+	 * @param monitor the monitor
+	 * @return the classification of the edit
+	 *
+	 * @throws MethodCancelException if the monitor was canceled
+	 */
+	public Comparison compare(IFeatureModel oldModel, IFeatureModel newModel, IMonitor monitor) {
 		this.oldModel = oldModel;
 		this.newModel = newModel;
 		try {
@@ -117,11 +264,19 @@ public class ModelComparator {
 			oldRootUpdated = removeIdenticalNodes(oldRoot, newRoot);
 			newRootUpdated = removeIdenticalNodes(newRoot, oldRoot);
 
+			final ComparisonMonitor syncMonitor = new ComparisonMonitor(monitor);
 			removedProducts = new ExampleCalculator(oldModel, timeout);
-			implies = implies(oldRoot, newRootUpdated, removedProducts);
-
+			final Implication removedImplication = new Implication(oldRoot, newRootUpdated, removedProducts, syncMonitor);
 			addedProducts = new ExampleCalculator(newModel, timeout);
-			isImplied = implies(newRoot, oldRootUpdated, addedProducts);
+			final Implication addedImplication = new Implication(newRoot, oldRootUpdated, addedProducts, syncMonitor);
+			monitor.setRemainingWork(removedImplication.getWork() + addedImplication.getWork());
+
+			POOL.execute(addedImplication);
+			removedImplication.invoke();
+			addedImplication.join();
+			syncMonitor.rethrowFailure();
+			implies = removedImplication.getResult();
+			isImplied = addedImplication.getResult();
 
 			if (implies) {
 				if (isImplied) {
@@ -138,6 +293,8 @@ public class ModelComparator {
 			result = Comparison.OUTOFMEMORY;
 		} catch (final TimeoutException e) {
 			result = Comparison.TIMEOUT;
+		} catch (final MethodCancelException e) {
+			throw e;
 		} catch (final Exception e) {
 			Logger.logError(e);
 			result = Comparison.ERROR;
@@ -209,19 +366,7 @@ public class ModelComparator {
 	}
 
 	public boolean implies(Node a, Node b, ExampleCalculator example) throws TimeoutException {
-		if (b == null) {
-			return true;
-		}
-
-		if (!strategy.contains(Strategy.SingleTesting)) {
-			final Node node = new And(a.clone(), new Not(b.clone()));
-			final SatSolver solver = new SatSolver(node, timeout);
-			return !solver.isSatisfiable();
-		}
-
-		example.setLeft(a);
-		example.setRight(b);
-		return !example.findSatisfiable(strategy.contains(Strategy.SingleTestingAborted));
+		return new Implication(a, b, example, new ComparisonMonitor(new NullMonitor())).check();
 	}
 
 	private boolean containedIn(Node node, Node[] nodes) {
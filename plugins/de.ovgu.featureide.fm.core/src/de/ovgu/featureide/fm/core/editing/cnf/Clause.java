@@ -40,9 +40,9 @@ public class Clause {
 		this.literals = literals;
 		Arrays.sort(this.literals);
 
-		int literalHash = 0;
+		long literalHash = 0;
 		for (final int literal : literals) {
-			literalHash |= (1 << (Math.abs(literal) % HASHSIZE));
+			literalHash |= (1L << (Math.abs(literal) % HASHSIZE));
 		}
 		hashValue = literalHash;
 		hashCode = Arrays.hashCode(literals);
@@ -0,0 +1,178 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing.remove;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.editing.cnf.Clause;
+
+/**
+ * Occurrence lists of the clauses used by {@link FeatureRemover}. For each literal, the index holds all clauses that contain it and uses these lists to
+ * detect subsumed clauses when a new clause is added. Additionally, each clause is watched by exactly one of its literals (the one with the fewest
+ * occurrences at the time the clause is added), which suffices to find all clauses that subsume a new clause.<br> Removed clauses are only marked and
+ * dropped from the lists the next time a list is traversed.
+ */
+public class ClauseIndex {
+
+	private final List<DeprecatedClause> clauses = new ArrayList<>();
+	private final List<List<DeprecatedClause>> occurrences;
+	private final List<List<DeprecatedClause>> watches;
+
+	public ClauseIndex(int numberOfVariables) {
+		final int size = (numberOfVariables + 1) << 1;
+		occurrences = new ArrayList<>(size);
+		watches = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			occurrences.add(new ArrayList<DeprecatedClause>());
+			watches.add(new ArrayList<DeprecatedClause>());
+		}
+	}
+
+	private static int getIndex(int literal) {
+		return literal > 0 ? (literal << 1) : ((-literal << 1) + 1);
+	}
+
+	private List<DeprecatedClause> getOccurrences(int literal) {
+		final List<DeprecatedClause> list = occurrences.get(getIndex(literal));
+		compact(list);
+		return list;
+	}
+
+	private static void compact(List<DeprecatedClause> list) {
+		int size = 0;
+		for (int i = 0; i < list.size(); i++) {
+			final DeprecatedClause clause = list.get(i);
+			if (!clause.isRemoved()) {
+				list.set(size++, clause);
+			}
+		}
+		if (size < list.size()) {
+			list.subList(size, list.size()).clear();
+		}
+	}
+
+	/**
+	 * Adds a clause to the index. The clause must not be subsumed by any clause in the index (see {@link #isSubsumed(Clause)}).
+	 *
+	 * @param clause the new clause
+	 */
+	public void add(DeprecatedClause clause) {
+		clauses.add(clause);
+		int watchIndex = -1;
+		int minSize = Integer.MAX_VALUE;
+		for (final int literal : clause.getLiterals()) {
+			final int index = getIndex(literal);
+			final List<DeprecatedClause> list = occurrences.get(index);
+			if (list.size() < minSize) {
+				minSize = list.size();
+				watchIndex = index;
+			}
+			list.add(clause);
+		}
+		if (watchIndex >= 0) {
+			watches.get(watchIndex).add(clause);
+		}
+	}
+
+	public void remove(DeprecatedClause clause) {
+		clause.setRemoved();
+	}
+
+	/**
+	 * Forward subsumption. Checks whether a clause in the index is a subset of the given clause (this includes equal clauses).
+	 *
+	 * @param clause the clause to check
+	 * @return {@code true} if the clause is subsumed by a clause in the index
+	 */
+	public boolean isSubsumed(Clause clause) {
+		final int length = clause.getLiterals().length;
+		for (final int literal : clause.getLiterals()) {
+			final List<DeprecatedClause> list = watches.get(getIndex(literal));
+			compact(list);
+			for (final DeprecatedClause other : list) {
+				if ((other.getLiterals().length <= length) && (Clause.contained(other, clause) != null)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Backward subsumption. Removes all clauses from the index that are proper supersets of the given clause.
+	 *
+	 * @param clause the subsuming clause
+	 * @param subsumedClauses the list to which all removed clauses are added
+	 */
+	public void removeSubsumed(Clause clause, List<DeprecatedClause> subsumedClauses) {
+		final int[] literals = clause.getLiterals();
+		if (literals.length == 0) {
+			return;
+		}
+		// Every superset contains all literals of the clause, so it suffices to traverse the shortest occurrence list
+		List<DeprecatedClause> shortestList = occurrences.get(getIndex(literals[0]));
+		for (int i = 1; i < literals.length; i++) {
+			final List<DeprecatedClause> list = occurrences.get(getIndex(literals[i]));
+			if (list.size() < shortestList.size()) {
+				shortestList = list;
+			}
+		}
+		compact(shortestList);
+		for (final DeprecatedClause other : shortestList) {
+			if ((other.getLiterals().length > literals.length) && (Clause.contained(clause, other) != null)) {
+				other.setRemoved();
+				subsumedClauses.add(other);
+			}
+		}
+	}
+
+	/**
+	 * Returns all clauses in the index that contain the given literal.
+	 *
+	 * @param literal the literal
+	 * @return a new list of clauses
+	 */
+	public List<DeprecatedClause> getClauses(int literal) {
+		return new ArrayList<>(getOccurrences(literal));
+	}
+
+	/**
+	 * Returns all clauses in the index.
+	 *
+	 * @return a new list of clauses
+	 */
+	public List<DeprecatedClause> getClauses() {
+		compact(clauses);
+		return new ArrayList<>(clauses);
+	}
+
+	public void clear() {
+		clauses.clear();
+		for (final List<DeprecatedClause> list : occurrences) {
+			list.clear();
+		}
+		for (final List<DeprecatedClause> list : watches) {
+			list.clear();
+		}
+	}
+
+}
@@ -32,6 +32,7 @@ import de.ovgu.featureide.fm.core.editing.cnf.Clause;
 public class DeprecatedClause extends Clause {
 
 	private int relevance;
+	private boolean removed;
 
 	public static DeprecatedClause createClause(int[] newLiterals, int curFeature) {
 		final HashSet<Integer> literalSet = new HashSet<>(newLiterals.length << 1);
@@ -166,4 +167,12 @@ public class DeprecatedClause extends Clause {
 		return relevance;
 	}
 
+	boolean isRemoved() {
+		return removed;
+	}
+
+	void setRemoved() {
+		removed = true;
+	}
+
 }
@@ -70,12 +70,9 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 	protected final boolean includeBooleanValues;
 	protected final boolean regularCNF;
 
-	protected final List<DeprecatedClause> newDirtyClauseList = new ArrayList<>();
 	protected final List<DeprecatedClause> newCleanClauseList = new ArrayList<>();
-	protected final List<DeprecatedClause> dirtyClauseList = new ArrayList<>();
 	protected final List<DeprecatedClause> cleanClauseList = new ArrayList<>();
-	protected final Set<DeprecatedClause> dirtyClauseSet = new HashSet<>();
-	protected final Set<DeprecatedClause> cleanClauseSet = new HashSet<>();
+	protected final List<DeprecatedClause> subsumedClauseList = new ArrayList<>();
 
 	protected final Collection<String> cleanFeatures = new HashSet<>();
 	protected final Collection<String> dirtyfeatures;
@@ -86,16 +83,11 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 	protected int[] helper;
 	protected DeprecatedFeature[] map;
 	protected AFeatureOrderHeuristic heuristic;
+	protected ClauseIndex clauseIndex;
 	private ICNFSolver newSolver;
 
-	private boolean first = false;
-
 	protected int globalMixedClauseCount = 0;
 
-	protected int dirtyListPosIndex = 0;
-	protected int dirtyListNegIndex = 0;
-	protected int newDirtyListDelIndex = 0;
-
 	public FeatureRemover(Node cnf, Collection<String> features) {
 		this(cnf, features, true, false);
 	}
@@ -173,23 +165,17 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 	}
 
 	private void addNewClause(final DeprecatedClause curClause) {
-		if (curClause != null) {
+		if ((curClause != null) && !clauseIndex.isSubsumed(curClause)) {
+			clauseIndex.removeSubsumed(curClause, subsumedClauseList);
+			for (final DeprecatedClause subsumedClause : subsumedClauseList) {
+				deleteClause(subsumedClause);
+			}
+			subsumedClauseList.clear();
+
 			if (curClause.computeRelevance(map)) {
 				globalMixedClauseCount++;
 			}
-			if (curClause.getRelevance() == 0) {
-				if (cleanClauseSet.add(curClause)) {
-					newCleanClauseList.add(curClause);
-				} else {
-					deleteClause(curClause);
-				}
-			} else {
-				if (dirtyClauseSet.add(curClause)) {
-					newDirtyClauseList.add(curClause);
-				} else {
-					deleteClause(curClause);
-				}
-			}
+			clauseIndex.add(curClause);
 		}
 	}
 
@@ -229,13 +215,11 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 			addNewClause(getClause(andChildren[i]));
 		}
 
-		cleanClauseList.addAll(newCleanClauseList);
-		dirtyClauseList.addAll(newDirtyClauseList);
-		newDirtyClauseList.clear();
-		newCleanClauseList.clear();
-
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
+		for (final DeprecatedClause clause : clauseIndex.getClauses()) {
+			if (clause.getRelevance() == 0) {
+				cleanClauseList.add(clause);
+			}
+		}
 	}
 
 	protected final void deleteClause(final DeprecatedClause curClause) {
@@ -244,27 +228,6 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 		}
 	}
 
-	protected final void deleteOldDirtyClauses() {
-		if (dirtyListPosIndex < dirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = dirtyClauseList.subList(dirtyListPosIndex, dirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
-			}
-			subList.clear();
-		}
-	}
-
-	protected final void deleteNewDirtyClauses() {
-		if (newDirtyListDelIndex < newDirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = newDirtyClauseList.subList(newDirtyListDelIndex, newDirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
-			}
-		}
-	}
-
 	private DeprecatedClause getClause(Node andChild) {
 		if (andChild instanceof Or) {
 			int absoluteValueCount = 0;
@@ -337,8 +300,9 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 			map[id] = new DeprecatedFeature(curFeature, id);
 		}
 		helper = new int[featureNameArray.length];
+		clauseIndex = new ClauseIndex(featureNameArray.length - 1);
 
-		// Initialize lists and sets
+		// Initialize occurrence lists
 		createClauseLists(fmNode.getChildren());
 
 		prepareHeuristics();
@@ -350,27 +314,27 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 				break;
 			}
 
-			// Remove redundant dirty clauses
-			firstRedundancyCheck(nextFeature);
-
-			// Partition dirty list into clauses that contain the current variable and clauses that don't
-			partitionDirtyList(nextFeature);
-
-			// Remove variable & create transitive clauses
+			// Remove variable & create transitive clauses (subsumed clauses are removed on the fly)
 			resolution(nextFeature);
 
-			// Remove redundant clauses
-			detectRedundancy(nextFeature);
-
-			// Merge new dirty list into the old list
-			updateLists();
-
 			// If ALL dirty clauses exclusively consists of dirty features, they can just be removed without applying resolution
 			if (globalMixedClauseCount == 0) {
 				break;
 			}
 		}
 
+		// Collect all remaining clauses that only consist of clean features (initial clean clauses may have been subsumed by new ones)
+		final Set<DeprecatedClause> initialCleanClauseSet = new HashSet<>(cleanClauseList);
+		cleanClauseList.clear();
+		for (final DeprecatedClause clause : clauseIndex.getClauses()) {
+			if (clause.getRelevance() == 0) {
+				if (initialCleanClauseSet.contains(clause)) {
+					cleanClauseList.add(clause);
+				} else {
+					newCleanClauseList.add(clause);
+				}
+			}
+		}
 		addCleanClauses();
 
 		release();
@@ -422,10 +386,21 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 
 	private void resolution(DeprecatedFeature nextFeature) {
 		final int curFeatureID = nextFeature.getId();
-		for (int i = dirtyListPosIndex; i < dirtyListNegIndex; i++) {
-			final int[] posOrChildren = dirtyClauseList.get(i).getLiterals();
-			for (int j = dirtyListNegIndex; j < dirtyClauseList.size(); j++) {
-				final int[] negOrChildren = dirtyClauseList.get(j).getLiterals();
+		final List<DeprecatedClause> posClauses = clauseIndex.getClauses(curFeatureID);
+		final List<DeprecatedClause> negClauses = clauseIndex.getClauses(-curFeatureID);
+		for (final DeprecatedClause clause : posClauses) {
+			clauseIndex.remove(clause);
+			deleteClause(clause);
+		}
+		for (final DeprecatedClause clause : negClauses) {
+			clauseIndex.remove(clause);
+			deleteClause(clause);
+		}
+
+		for (final DeprecatedClause posClause : posClauses) {
+			final int[] posOrChildren = posClause.getLiterals();
+			for (final DeprecatedClause negClause : negClauses) {
+				final int[] negOrChildren = negClause.getLiterals();
 				final int[] newChildren = new int[posOrChildren.length + negOrChildren.length];
 
 				System.arraycopy(posOrChildren, 0, newChildren, 0, posOrChildren.length);
@@ -434,45 +409,6 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 				addNewClause(DeprecatedClause.createClause(newChildren, curFeatureID, helper));
 			}
 		}
-		newDirtyListDelIndex = newDirtyClauseList.size();
-	}
-
-	private void partitionDirtyList(DeprecatedFeature nextFeature) {
-		final int curFeatureID = nextFeature.getId();
-		for (int i = 0; i < dirtyListNegIndex; i++) {
-			final Clause clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == -curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListNegIndex);
-					break;
-				}
-			}
-		}
-		dirtyListPosIndex = dirtyListNegIndex;
-		for (int i = 0; i < dirtyListPosIndex; i++) {
-			final Clause clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListPosIndex);
-					break;
-				}
-			}
-		}
-	}
-
-	private void updateLists() {
-		// delete old & redundant dirty clauses
-		deleteOldDirtyClauses();
-
-		// delete new & redundant dirty clauses
-		deleteNewDirtyClauses();
-
-		dirtyClauseList.addAll(newDirtyClauseList.subList(0, newDirtyListDelIndex));
-		newDirtyClauseList.clear();
-
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
-		newDirtyListDelIndex = 0;
 	}
 
 	protected final boolean isRedundant(ICNFSolver solver, Clause curClause) {
@@ -490,26 +426,6 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 		return remove;
 	}
 
-	protected void detectRedundancy(DeprecatedFeature nextFeature) {
-		if (nextFeature.getClauseCount() > 0) {
-			addCleanClauses();
-
-			final CNFSolver solver = new CNFSolver(featureNameArray.length - 1);
-			solver.addClauses(cleanClauseList);
-			solver.addClauses(dirtyClauseList.subList(0, dirtyListPosIndex));
-
-			Collections.sort(newDirtyClauseList.subList(0, newDirtyListDelIndex), lengthComparator);
-			for (int i = newDirtyListDelIndex - 1; i >= 0; --i) {
-				final DeprecatedClause curClause = newDirtyClauseList.get(i);
-				if (isRedundant(solver, curClause)) {
-					Collections.swap(newDirtyClauseList, i, --newDirtyListDelIndex);
-				} else {
-					solver.addClause(curClause);
-				}
-			}
-		}
-	}
-
 	protected void addCleanClauses() {
 		Collections.sort(newCleanClauseList, lengthComparator);
 
@@ -525,42 +441,17 @@ public class FeatureRemover implements LongRunningMethod<List<? extends Clause>>
 		newCleanClauseList.clear();
 	}
 
-	protected void firstRedundancyCheck(DeprecatedFeature nextFeature) {
-		if (first && (nextFeature.getClauseCount() > 0)) {
-			first = false;
-			Collections.sort(dirtyClauseList, lengthComparator);
-
-			addCleanClauses();
-			final CNFSolver solver = new CNFSolver(cleanClauseList, featureNameArray.length - 1);
-
-			// SAT Relevant
-			for (int i = dirtyListPosIndex - 1; i >= 0; --i) {
-				final DeprecatedClause mainClause = dirtyClauseList.get(i);
-				if (isRedundant(solver, mainClause)) {
-					Collections.swap(dirtyClauseList, i, --dirtyListPosIndex);
-				} else {
-					solver.addClause(mainClause);
-				}
-			}
-			deleteOldDirtyClauses();
-
-			dirtyListPosIndex = dirtyClauseList.size();
-			dirtyListNegIndex = dirtyClauseList.size();
-		}
-	}
-
 	protected void prepareHeuristics() {
 		heuristic = new MinimumClauseHeuristic(map, dirtyfeatures.size());
-		first = true;
 		newSolver = new CNFSolver(cleanClauseList, featureNameArray.length - 1);
 	}
 
 	protected void release() {
-		newDirtyClauseList.clear();
 		newCleanClauseList.clear();
-		dirtyClauseSet.clear();
-		cleanClauseSet.clear();
-		dirtyClauseList.clear();
+		subsumedClauseList.clear();
+		if (clauseIndex != null) {
+			clauseIndex.clear();
+		}
 
 		if (newSolver != null) {
 			newSolver.reset();
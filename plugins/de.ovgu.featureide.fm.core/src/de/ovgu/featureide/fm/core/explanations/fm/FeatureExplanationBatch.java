@@ -0,0 +1,174 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.fm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.SyncMonitor;
+
+/**
+ * Generates explanations for many dead and false-optional features of one feature model at once, for instance for all defects found by a
+ * {@link org.prop4j.analyses.FeatureModelAnalysis}.<br> The subjects are distributed among several workers running on a fork-join pool. As the explanation
+ * creators are not thread-safe, each worker creates its own {@link DeadFeatureExplanationCreator} and {@link FalseOptionalFeatureExplanationCreator} and
+ * explains its subjects one after another via {@link de.ovgu.featureide.fm.core.explanations.ExplanationCreator#setSubject(Object) setSubject} and
+ * {@link de.ovgu.featureide.fm.core.explanations.ExplanationCreator#getExplanation() getExplanation}. Every explanation is passed to the intermediate
+ * function of the monitor as soon as it is completed.
+ */
+public class FeatureExplanationBatch implements LongRunningMethod<List<Explanation>> {
+
+	/**
+	 * Minimal number of subjects each worker should explain. Prevents the creation of additional oracles for few defects.
+	 */
+	private static final int MIN_SUBJECTS_PER_THREAD = 4;
+
+	private final FeatureModelExplanationCreatorFactory factory;
+	private final IFeatureModel fm;
+	private final List<IFeature> deadFeatures;
+	private final List<IFeature> falseOptionalFeatures;
+
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	private final class Worker extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Explanation[] result;
+		private final AtomicInteger nextSubject;
+		private final IMonitor monitor;
+
+		private DeadFeatureExplanationCreator deadFeatureExplanationCreator;
+		private FalseOptionalFeatureExplanationCreator falseOptionalFeatureExplanationCreator;
+
+		public Worker(Explanation[] result, AtomicInteger nextSubject, IMonitor monitor) {
+			this.result = result;
+			this.nextSubject = nextSubject;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			final int numberOfDeadFeatures = deadFeatures.size();
+			for (int i = nextSubject.getAndIncrement(); i < result.length; i = nextSubject.getAndIncrement()) {
+				monitor.checkCancel();
+				final Explanation explanation;
+				if (i < numberOfDeadFeatures) {
+					if (deadFeatureExplanationCreator == null) {
+						deadFeatureExplanationCreator = factory.getDeadFeatureExplanationCreator();
+						deadFeatureExplanationCreator.setFeatureModel(fm);
+					}
+					deadFeatureExplanationCreator.setSubject(deadFeatures.get(i));
+					explanation = deadFeatureExplanationCreator.getExplanation();
+				} else {
+					if (falseOptionalFeatureExplanationCreator == null) {
+						falseOptionalFeatureExplanationCreator = factory.getFalseOptionalFeatureExplanationCreator();
+						falseOptionalFeatureExplanationCreator.setFeatureModel(fm);
+					}
+					falseOptionalFeatureExplanationCreator.setSubject(falseOptionalFeatures.get(i - numberOfDeadFeatures));
+					explanation = falseOptionalFeatureExplanationCreator.getExplanation();
+				}
+				result[i] = explanation;
+				monitor.step(explanation);
+			}
+		}
+
+	}
+
+	/**
+	 * Constructs a new instance of this class.
+	 *
+	 * @param factory provides the explanation creators for each worker
+	 * @param fm the feature model containing the features
+	 * @param deadFeatures the dead features to explain
+	 * @param falseOptionalFeatures the false-optional features to explain
+	 */
+	public FeatureExplanationBatch(FeatureModelExplanationCreatorFactory factory, IFeatureModel fm, Collection<IFeature> deadFeatures,
+			Collection<IFeature> falseOptionalFeatures) {
+		this.factory = factory;
+		this.fm = fm;
+		this.deadFeatures = new ArrayList<>(deadFeatures);
+		this.falseOptionalFeatures = new ArrayList<>(falseOptionalFeatures);
+	}
+
+	/**
+	 * Returns the explanations of all given features in the order of the dead features followed by the false-optional features. An explanation is null if the
+	 * respective feature could not be explained.
+	 */
+	@Override
+	public List<Explanation> execute(IMonitor monitor) throws Exception {
+		final Explanation[] result = new Explanation[deadFeatures.size() + falseOptionalFeatures.size()];
+		final SyncMonitor syncMonitor = new SyncMonitor(monitor);
+		syncMonitor.setRemainingWork(result.length);
+
+		final AtomicInteger nextSubject = new AtomicInteger();
+		final int threads = Math.min(numberOfThreads, result.length / MIN_SUBJECTS_PER_THREAD);
+		if (threads <= 1) {
+			new Worker(result, nextSubject, syncMonitor).compute();
+		} else {
+			final List<Worker> workers = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				workers.add(new Worker(result, nextSubject, syncMonitor));
+			}
+
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for (final Worker worker : workers) {
+					pool.execute(worker);
+				}
+				for (final Worker worker : workers) {
+					worker.join();
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		return Arrays.asList(result);
+	}
+
+	public List<IFeature> getDeadFeatures() {
+		return Collections.unmodifiableList(deadFeatures);
+	}
+
+	public List<IFeature> getFalseOptionalFeatures() {
+		return Collections.unmodifiableList(falseOptionalFeatures);
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+}
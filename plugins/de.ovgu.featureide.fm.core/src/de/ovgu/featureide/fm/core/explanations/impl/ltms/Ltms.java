@@ -21,9 +21,7 @@
 package de.ovgu.featureide.fm.core.explanations.impl.ltms;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -43,6 +41,9 @@ import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator
  * for managing logical implications. BCP expects two parameters: initial truth values (premises) and a propositional formula in CNF (conjunctive normal form).
  * </p>
  *
+ * <p> Internally, variables are numbered from 1 and clauses are identified by their index in the CNF. For each clause, the number of literals that evaluate to
+ * true and to false is maintained incrementally, such that unit-open and violated clauses are detected without evaluating all of their literals. </p>
+ *
  * @author Sofia Ananieva
  * @author Timo G&uuml;nther
  * @see {@link FeatureModelExplanationCreator} for using the LTMS with feature models
@@ -50,48 +51,74 @@ import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator
 public class Ltms {
 
 	/**
-	 * A feature model transformed into a propositional formula in conjunctive normal form for easier reasoning.
+	 * The variables mapped to their indices.
+	 */
+	private final Map<Object, Integer> variableIndices = new HashMap<>();
+	/**
+	 * The unique literals of each clause as signed variable indices. Clauses equal to a preceding one are represented by that one and have no literals.
 	 */
-	private final Node cnf;
+	private final int[][] clauseLiterals;
 	/**
-	 * Nodes mapped to the literals they contain. Redundant map for the sake of performance.
+	 * The indices of all clauses that are not equal to a preceding one, in the order of the CNF.
 	 */
-	private final Map<Node, Set<Literal>> clauseLiterals = new LinkedHashMap<>();
+	private final int[] distinctClauses;
 	/**
-	 * Variables mapped to the clauses they are contained in. Redundant map for the sake of performance.
+	 * For each variable, the indices of the clauses containing it (each clause at most once, in the order of the CNF). Redundant for the sake of performance.
 	 */
-	private final Map<Object, Set<Node>> variableClauses = new LinkedHashMap<>();
+	private final int[][] variableClauses;
+	/**
+	 * For each variable, the indices of the clauses containing it as positive literal and, after that, as negative literal.
+	 */
+	private final int[][] variableOccurrences;
+	/**
+	 * For each variable, the number of positive literals in {@link #variableOccurrences}.
+	 */
+	private final int[] positiveOccurrences;
 	/**
 	 * The truth value assignments that are initially set and not derived.
 	 */
 	private final Map<Object, Boolean> premises = new LinkedHashMap<>();
 	/**
-	 * The truth value assignments of the variables. If the truth value is true, all positive literals containing the variable evaluate to true and negated ones
-	 * to false. If the truth value is false, all positive literals containing the variable evaluate to false and negated ones to true. If the variable is not
-	 * contained in this map, its truth value is considered unknown.
+	 * The truth value assignments of the variables (<code>1</code> for true, <code>-1</code> for false, and <code>0</code> for unknown). If the truth value is
+	 * true, all positive literals containing the variable evaluate to true and negated ones to false. If the truth value is false, all positive literals
+	 * containing the variable evaluate to false and negated ones to true.
+	 */
+	private final byte[] variableValues;
+	/**
+	 * The number of literals of each clause that evaluate to true.
+	 */
+	private final int[] trueLiterals;
+	/**
+	 * The number of literals of each clause that evaluate to false.
 	 */
-	private final Map<Object, Boolean> variableValues = new LinkedHashMap<>();
+	private final int[] falseLiterals;
 	/**
-	 * The reason for a derived truth value, represented by a node (which is clause in CNF). The literals of this clause are the antecedents of the variable.
-	 * The antecedents are the literals whose values were referenced when deriving a new truth value.
+	 * The variables with a known truth value in the order of their assignment.
 	 */
-	private final Map<Object, Node> reasons = new LinkedHashMap<>();
+	private final int[] trail;
+	private int trailSize = 0;
+	/**
+	 * The reason for a derived truth value, represented by the index of a clause (<code>-1</code> for none). The literals of this clause are the antecedents of
+	 * the variable. The antecedents are the literals whose values were referenced when deriving a new truth value.
+	 */
+	private final int[] reasons;
 	/**
 	 * The stack to collect unit-open clauses.
 	 */
-	private final Deque<Node> unitOpenClauses = new LinkedList<>();
+	private int[] unitOpenClauses = new int[16];
+	private int unitOpenClausesSize = 0;
 	/**
 	 * The clause that was violated during the most recent contradiction check.
 	 */
-	private Node violatedClause;
+	private int violatedClause;
 	/**
 	 * The clause containing the derived literal.
 	 */
-	private Node derivedClause;
+	private int derivedClause;
 	/**
-	 * The literal whose truth value was derived during the most recent propagation.
+	 * The literal whose truth value was derived during the most recent propagation (<code>0</code> for none).
 	 */
-	private Literal derivedLiteral;
+	private int derivedLiteral;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -99,32 +126,86 @@ public class Ltms {
 	 * @param cnf the conjunctive normal form of the feature model
 	 */
 	public Ltms(Node cnf) {
-		this.cnf = cnf;
-		setClauseLiterals();
+		final Node[] cnfClauses = cnf.getChildren();
+		final Map<Node, Integer> clauseIndices = new HashMap<>();
+		clauseLiterals = new int[cnfClauses.length][];
+		int[] distinctClauses = new int[cnfClauses.length];
+		int numberOfDistinctClauses = 0;
+		for (int i = 0; i < cnfClauses.length; i++) {
+			if (clauseIndices.containsKey(cnfClauses[i])) {
+				continue;
+			}
+			clauseIndices.put(cnfClauses[i], i);
+			distinctClauses[numberOfDistinctClauses++] = i;
+			final Set<Literal> literals = cnfClauses[i].getUniqueLiterals();
+			final int[] clause = new int[literals.size()];
+			int j = 0;
+			for (final Literal literal : literals) {
+				Integer index = variableIndices.get(literal.var);
+				if (index == null) {
+					index = variableIndices.size() + 1;
+					variableIndices.put(literal.var, index);
+				}
+				clause[j++] = literal.positive ? index : -index;
+			}
+			clauseLiterals[i] = clause;
+		}
+		if (numberOfDistinctClauses < distinctClauses.length) {
+			distinctClauses = Arrays.copyOf(distinctClauses, numberOfDistinctClauses);
+		}
+		this.distinctClauses = distinctClauses;
+
+		final int numberOfVariables = variableIndices.size();
+		variableClauses = new int[numberOfVariables + 1][];
+		variableOccurrences = new int[numberOfVariables + 1][];
+		positiveOccurrences = new int[numberOfVariables + 1];
 		setVariableClauses();
-	}
 
-	/**
-	 * Sets the map from CNF clauses to the literals they contain.
-	 */
-	private void setClauseLiterals() {
-		for (final Node cnfClause : cnf.getChildren()) {
-			clauseLiterals.put(cnfClause, cnfClause.getUniqueLiterals());
-		}
+		variableValues = new byte[numberOfVariables + 1];
+		trueLiterals = new int[clauseLiterals.length];
+		falseLiterals = new int[clauseLiterals.length];
+		trail = new int[numberOfVariables];
+		reasons = new int[numberOfVariables + 1];
+		Arrays.fill(reasons, -1);
 	}
 
 	/**
-	 * Sets the map from variables to the CNF clauses containing them.
+	 * Sets the arrays from variables to the CNF clauses containing them.
 	 */
 	private void setVariableClauses() {
-		for (final Node cnfClause : cnf.getChildren()) {
-			for (final Literal literal : clauseLiterals.get(cnfClause)) {
-				Set<Node> clauses = variableClauses.get(literal.var);
-				if (clauses == null) {
-					clauses = new LinkedHashSet<>();
-					variableClauses.put(literal.var, clauses);
+		final int[] clauseCounts = new int[variableClauses.length];
+		final int[] occurrenceCounts = new int[variableClauses.length];
+		final int[] lastClause = new int[variableClauses.length];
+		Arrays.fill(lastClause, -1);
+		for (final int i : distinctClauses) {
+			for (final int literal : clauseLiterals[i]) {
+				final int var = Math.abs(literal);
+				occurrenceCounts[var]++;
+				if (literal > 0) {
+					positiveOccurrences[var]++;
+				}
+				if (lastClause[var] != i) {
+					lastClause[var] = i;
+					clauseCounts[var]++;
+				}
+			}
+		}
+		for (int var = 1; var < variableClauses.length; var++) {
+			variableClauses[var] = new int[clauseCounts[var]];
+			variableOccurrences[var] = new int[occurrenceCounts[var]];
+		}
+		final int[] positiveIndices = new int[variableClauses.length];
+		final int[] negativeIndices = Arrays.copyOf(positiveOccurrences, positiveOccurrences.length);
+		Arrays.fill(clauseCounts, 0);
+		Arrays.fill(lastClause, -1);
+		for (final int i : distinctClauses) {
+			for (final int literal : clauseLiterals[i]) {
+				final int var = Math.abs(literal);
+				variableOccurrences[var][literal > 0 ? positiveIndices[var]++ : negativeIndices[var]++] = i;
+				if (lastClause[var] != i) {
+					lastClause[var] = i;
+					variableClauses[var][clauseCounts[var]++] = i;
 				}
-				clauses.add(cnfClause);
 			}
 		}
 	}
@@ -179,12 +260,12 @@ public class Ltms {
 			explanations.add(getContradictionExplanation()); // ... explain immediately.
 			return explanations;
 		}
-		unitOpenClauses.clear();
+		unitOpenClausesSize = 0;
 		pushUnitOpenClauses(); // Start iterating over the first unit-open clauses using the initial truth value assumptions.
-		while (!unitOpenClauses.isEmpty()) {
-			derivedClause = unitOpenClauses.removeLast();
+		while (unitOpenClausesSize > 0) {
+			derivedClause = unitOpenClauses[--unitOpenClausesSize];
 			derivedLiteral = getUnboundLiteral(derivedClause);
-			if (derivedLiteral == null) { // not actually unit-open
+			if (derivedLiteral == 0) { // not actually unit-open
 				continue;
 			}
 			propagate(); // Propagate the truth values by deriving a new truth value.
@@ -205,68 +286,94 @@ public class Ltms {
 	 * Clears the internal state for a new explanation. Adds the premises to the variable values.
 	 */
 	private void reset() {
-		variableValues.clear();
-		reasons.clear();
-		derivedLiteral = null;
-		variableValues.putAll(premises);
+		while (trailSize > 0) {
+			final int var = trail[--trailSize];
+			setValue(var, variableValues[var], -1);
+			variableValues[var] = 0;
+			reasons[var] = -1;
+		}
+		derivedLiteral = 0;
+		for (final Entry<Object, Boolean> premise : premises.entrySet()) {
+			final Integer var = variableIndices.get(premise.getKey());
+			if ((var != null) && (premise.getValue() != null) && (variableValues[var] == 0)) {
+				assign(premise.getValue() ? var : -var);
+			}
+		}
 	}
 
 	/**
-	 * Pushes the unit-open clauses to stack.
+	 * Assigns the truth value that makes the given literal evaluate to true.
+	 *
+	 * @param literal signed variable index
 	 */
-	private void pushUnitOpenClauses() {
-		unitOpenClauses.addAll(getUnitOpenClauses());
+	private void assign(int literal) {
+		final int var = Math.abs(literal);
+		final byte value = (byte) (literal > 0 ? 1 : -1);
+		variableValues[var] = value;
+		trail[trailSize++] = var;
+		setValue(var, value, 1);
 	}
 
 	/**
-	 * Returns the unit-open clauses.
+	 * Updates the literal counters of all clauses containing the given variable.
 	 *
-	 * @return the unit-open clauses
+	 * @param var variable index
+	 * @param value truth value of the variable
+	 * @param delta <code>1</code> if the value is assigned and <code>-1</code> if it is removed
 	 */
-	private Set<Node> getUnitOpenClauses() {
-		final Collection<Node> dirtyClauses = derivedLiteral == null ? Arrays.asList(cnf.getChildren()) : variableClauses.get(derivedLiteral.var);
-		final Set<Node> unitOpenClauses = new LinkedHashSet<>();
-		for (final Node dirtyClause : dirtyClauses) {
+	private void setValue(int var, byte value, int delta) {
+		final int[] occurrences = variableOccurrences[var];
+		final int positive = positiveOccurrences[var];
+		final int[] positiveCounter = value > 0 ? trueLiterals : falseLiterals;
+		final int[] negativeCounter = value > 0 ? falseLiterals : trueLiterals;
+		for (int i = 0; i < positive; i++) {
+			positiveCounter[occurrences[i]] += delta;
+		}
+		for (int i = positive; i < occurrences.length; i++) {
+			negativeCounter[occurrences[i]] += delta;
+		}
+	}
+
+	/**
+	 * Pushes the unit-open clauses to stack.
+	 */
+	private void pushUnitOpenClauses() {
+		for (final int dirtyClause : derivedLiteral == 0 ? distinctClauses : variableClauses[Math.abs(derivedLiteral)]) {
 			if (isUnitOpenClause(dirtyClause)) {
-				unitOpenClauses.add(dirtyClause);
+				if (unitOpenClausesSize == unitOpenClauses.length) {
+					unitOpenClauses = Arrays.copyOf(unitOpenClauses, unitOpenClausesSize << 1);
+				}
+				unitOpenClauses[unitOpenClausesSize++] = dirtyClause;
 			}
 		}
-		return unitOpenClauses;
 	}
 
 	/**
 	 * Returns true iff the given clause is unit-open. A CNF clause is unit-open iff one of the contained literals evaluates to unknown and all others to false.
 	 *
-	 * @param cnfClause clause in conjunctive normal form
+	 * @param cnfClause index of a clause in conjunctive normal form
 	 * @return true iff the given clause is unit-open
 	 */
-	private boolean isUnitOpenClause(Node cnfClause) {
-		return getUnboundLiteral(cnfClause) != null;
+	private boolean isUnitOpenClause(int cnfClause) {
+		return (trueLiterals[cnfClause] == 0) && (falseLiterals[cnfClause] == (clauseLiterals[cnfClause].length - 1));
 	}
 
 	/**
-	 * Returns the unbound literal in the given clause or null if no such literal exists. A literal is unbound iff it evaluates to unknown while all other
-	 * literals in the same CNF clause evaluate to false. Such a literal is critical for the satisfiability of the clause and as such the entire CNF.
+	 * Returns the unbound literal in the given clause or 0 if no such literal exists. A literal is unbound iff it evaluates to unknown while all other literals
+	 * in the same CNF clause evaluate to false. Such a literal is critical for the satisfiability of the clause and as such the entire CNF.
 	 *
-	 * @param cnfClause clause in conjunctive normal form
-	 * @return the unbound literal in the given clause or null if no such literal exists
-	 */
-	private Literal getUnboundLiteral(Node cnfClause) {
-		Literal unboundLiteral = null;
-		for (final Literal literal : clauseLiterals.get(cnfClause)) {
-			if (!variableValues.containsKey(literal.var)) { // unknown value
-				if (unboundLiteral == null) {
-					unboundLiteral = literal;
-				} else { // more than one unknown literal found, thus actually a non-unit-open clause
-					return null;
+	 * @param cnfClause index of a clause in conjunctive normal form
+	 * @return the unbound literal in the given clause or 0 if no such literal exists
+	 */
+	private int getUnboundLiteral(int cnfClause) {
+		if (isUnitOpenClause(cnfClause)) {
+			for (final int literal : clauseLiterals[cnfClause]) {
+				if (variableValues[Math.abs(literal)] == 0) {
+					return literal;
 				}
-			} else if (literal.getValue(variableValues)) { // true value
-				return null;
-			} else { // false value
-				// irrelevant
 			}
 		}
-		return unboundLiteral;
+		return 0;
 	}
 
 	/**
@@ -275,8 +382,7 @@ public class Ltms {
 	 * @return true iff the conjunctive normal form evaluates to false
 	 */
 	private boolean isContradicted() {
-		final Collection<Node> dirtyClauses = derivedLiteral == null ? Arrays.asList(cnf.getChildren()) : variableClauses.get(derivedLiteral.var);
-		for (final Node dirtyClause : dirtyClauses) {
+		for (final int dirtyClause : derivedLiteral == 0 ? distinctClauses : variableClauses[Math.abs(derivedLiteral)]) {
 			if (isViolatedClause(dirtyClause)) {
 				violatedClause = dirtyClause;
 				return true;
@@ -288,20 +394,11 @@ public class Ltms {
 	/**
 	 * Returns true iff the given CNF clause evaluates to false. A CNF clause evaluates to false iff all of its literals evaluate to false.
 	 *
-	 * @param cnfClause clause in conjunctive normal form
+	 * @param cnfClause index of a clause in conjunctive normal form
 	 * @return true iff the given CNF clause evaluates to false
 	 */
-	private boolean isViolatedClause(Node cnfClause) {
-		for (final Literal literal : clauseLiterals.get(cnfClause)) {
-			if (!variableValues.containsKey(literal.var)) { // unknown value
-				return false;
-			} else if (literal.getValue(variableValues)) { // true value
-				return false;
-			} else { // false value
-				// irrelevant
-			}
-		}
-		return true;
+	private boolean isViolatedClause(int cnfClause) {
+		return falseLiterals[cnfClause] == clauseLiterals[cnfClause].length;
 	}
 
 	/**
@@ -309,29 +406,13 @@ public class Ltms {
 	 * sets its reason and antecedents.
 	 */
 	private void propagate() {
-		deriveValue();
-		justify(derivedLiteral.var, derivedClause);
-	}
-
-	/**
-	 * Satisfies the current unit-open clause by making its unbound literal true or negated false.
-	 */
-	private void deriveValue() {
-		variableValues.put(derivedLiteral.var, derivedLiteral.positive);
-	}
-
-	/**
-	 * Sets a variable's reason and antecedents.
-	 *
-	 * @param variable variable to set
-	 * @param cnfClause clause containing the literal
-	 */
-	private void justify(Object variable, Node cnfClause) {
-		reasons.put(variable, cnfClause);
+		assign(derivedLiteral);
+		reasons[Math.abs(derivedLiteral)] = derivedClause;
 	}
 
 	/**
-	 * Returns an explanation why the premises lead to a contradiction.
+	 * Returns an explanation why the premises lead to a contradiction. The explanation consists of the violated clause and the reasons of the derived literal
+	 * and all of its antecedents (recursively).
 	 *
 	 * @return indexes of clauses that serve as an explanation
 	 */
@@ -339,76 +420,33 @@ public class Ltms {
 		final Set<Integer> explanation = new TreeSet<>();
 
 		// Include literals from the violated clause so it shows up in the explanation.
-		explanation.add(getClauseIndex(violatedClause));
+		explanation.add(violatedClause);
 
 		// Get all antecedents of the derived literal.
-		if (derivedLiteral == null) { // immediate contradiction, thus no propagations, thus no antecedents
+		if (derivedLiteral == 0) { // immediate contradiction, thus no propagations, thus no antecedents
 			return explanation;
 		}
-		final Map<Literal, Node> allAntecedents = new LinkedHashMap<>();
-		allAntecedents.put(derivedLiteral, derivedClause);
-		for (final Entry<Literal, Node> e : getAllAntecedents(derivedLiteral).entrySet()) {
-			final Node value = allAntecedents.get(e.getKey());
-			if (value == null) {
-				allAntecedents.put(e.getKey(), e.getValue());
-			}
-		}
 
 		// Explain every antecedent and its reason.
-		for (final Entry<Literal, Node> e : allAntecedents.entrySet()) {
-			final Literal antecedentLiteral = e.getKey();
-			final Node antecedentClause = e.getValue();
-			explanation.add(getClauseIndex(antecedentClause));
-			final Node reason = reasons.get(antecedentLiteral.var);
-			if (reason == null) { // premise, thus no reason to explain
+		final Set<Integer> visited = new LinkedHashSet<>();
+		final int[] stack = new int[trailSize];
+		int stackSize = 0;
+		stack[stackSize++] = Math.abs(derivedLiteral);
+		visited.add(Math.abs(derivedLiteral));
+		while (stackSize > 0) {
+			final int var = stack[--stackSize];
+			final int reason = reasons[var];
+			if (reason < 0) { // premise, thus no reason to explain
 				continue;
 			}
-			explanation.add(getClauseIndex(reason));
-		}
-		return explanation;
-	}
-
-	/**
-	 * Returns all antecedents of the given variable recursively.
-	 *
-	 * @param literal literal with possible antecedents
-	 * @return all antecedents of the given variable recursively
-	 */
-	private Map<Literal, Node> getAllAntecedents(Literal literal) {
-		final Node reason = reasons.get(literal.var);
-		if (reason == null) {
-			return Collections.emptyMap();
-		}
-		final Map<Literal, Node> allAntecedents = new LinkedHashMap<>();
-		for (final Literal antecedent : clauseLiterals.get(reason)) {
-			if (antecedent.var.equals(literal.var) || allAntecedents.containsKey(antecedent)) {
-				continue;
-			}
-			allAntecedents.put(antecedent, reason);
-			for (final Entry<Literal, Node> e : getAllAntecedents(antecedent).entrySet()) {
-				final Node value = allAntecedents.get(e.getKey());
-				if (value == null) {
-					allAntecedents.put(e.getKey(), e.getValue());
+			explanation.add(reason);
+			for (final int antecedent : clauseLiterals[reason]) {
+				final int antecedentVar = Math.abs(antecedent);
+				if (visited.add(antecedentVar)) {
+					stack[stackSize++] = antecedentVar;
 				}
 			}
 		}
-		return allAntecedents;
-	}
-
-	/**
-	 * Returns the index of the given CNF clause.
-	 *
-	 * @param cnfClause CNF clause to look up
-	 * @return the index of the given CNF clause
-	 * @throws IllegalStateException if the CNF clause is not contained in the CNF
-	 */
-	private int getClauseIndex(Node cnfClause) throws IllegalStateException {
-		final Node[] cnfClauses = cnf.getChildren();
-		for (int i = 0; i < cnfClauses.length; i++) {
-			if (cnfClause == cnfClauses[i]) {
-				return i;
-			}
-		}
-		throw new IllegalStateException("CNF clause not contained in CNF");
+		return explanation;
 	}
 }
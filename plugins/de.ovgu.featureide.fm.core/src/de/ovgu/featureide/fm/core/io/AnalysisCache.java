@@ -0,0 +1,285 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+
+/**
+ * Stores results of feature model analyses on disk, such that they do not have to be recomputed when a model is opened again.<br> Each entry is identified
+ * by the {@link SatInstance#getContentHash() content hash} of the analyzed formula and the name of a section (e.g., the feature or constraint analysis). A
+ * section consists of lists of strings. Callers should store the inputs of an analysis that are not part of the formula (e.g., the hidden features) in the
+ * section as well and compare them when reading.<br> The total size of the cache is bounded. If it is exceeded, the least recently used entries are
+ * removed.<br> The cache that is used by default is {@link #INSTANCE}, which is {@code null} (i.e., no caching) unless it is set by the environment.
+ */
+public class AnalysisCache {
+
+	public static AnalysisCache INSTANCE = null;
+
+	public static final long DEFAULT_MAX_SIZE = 64L << 20;
+
+	public static final String SECTION_FEATURES = "features";
+	public static final String SECTION_CONSTRAINTS = "constraints";
+	public static final String SECTION_ATOMIC_SETS = "atomicsets";
+
+	private static final String SUFFIX = ".cache";
+
+	private static final int MAGIC_NUMBER = 0x46494143; // "FIAC"
+	private static final int VERSION = 1;
+
+	private final Path directory;
+	private final long maxSize;
+
+	/**
+	 * @param directory the directory of the cache (is created if it does not exist)
+	 * @param maxSize the maximum total size of all entries in bytes
+	 */
+	public AnalysisCache(Path directory, long maxSize) {
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Reads a section.
+	 *
+	 * @param satInstance the analyzed formula
+	 * @param section the name of the section
+	 * @return the stored lists or {@code null} if there is no such entry
+	 */
+	public List<List<String>> read(SatInstance satInstance, String section) {
+		final Path path = getPath(satInstance, section);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if ((in.readInt() != MAGIC_NUMBER) || (in.readInt() != VERSION)) {
+				return null;
+			}
+			final int numberOfLists = in.readInt();
+			final List<List<String>> lists = new ArrayList<>(numberOfLists);
+			for (int i = 0; i < numberOfLists; i++) {
+				final int size = in.readInt();
+				final List<String> list = new ArrayList<>(size);
+				for (int j = 0; j < size; j++) {
+					list.add(in.readUTF());
+				}
+				lists.add(list);
+			}
+			touch(path);
+			return lists;
+		} catch (final NoSuchFileException e) {
+			return null;
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a section and removes old entries if the cache is too large.
+	 *
+	 * @param satInstance the analyzed formula
+	 * @param section the name of the section
+	 * @param lists the lists to store
+	 */
+	public void write(SatInstance satInstance, String section, List<List<String>> lists) {
+		final Path path = getPath(satInstance, section);
+		try {
+			Files.createDirectories(directory);
+			final Path tempPath = Files.createTempFile(directory, null, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				out.writeInt(MAGIC_NUMBER);
+				out.writeInt(VERSION);
+				out.writeInt(lists.size());
+				for (final List<String> list : lists) {
+					out.writeInt(list.size());
+					for (final String string : list) {
+						out.writeUTF(string);
+					}
+				}
+			}
+			move(tempPath, path);
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return;
+		}
+		evict();
+	}
+
+	/**
+	 * Reads a feature graph.
+	 *
+	 * @param satInstance the formula from which the graph was built
+	 * @return the graph or {@code null} if there is no such entry
+	 */
+	public IFeatureGraph readFeatureGraph(SatInstance satInstance) {
+		final Path path = getPath(satInstance, "fg");
+		if (!Files.exists(path)) {
+			return null;
+		}
+		final ProblemList problems = new ProblemList();
+		final IFeatureGraph graph = new FeatureGraphFormat().read(path, problems);
+		if (problems.containsError()) {
+			return null;
+		}
+		touch(path);
+		return graph;
+	}
+
+	/**
+	 * Writes a feature graph and removes old entries if the cache is too large.
+	 *
+	 * @param satInstance the formula from which the graph was built
+	 * @param graph the graph
+	 */
+	public void writeFeatureGraph(SatInstance satInstance, IFeatureGraph graph) {
+		final Path path = getPath(satInstance, "fg");
+		try {
+			Files.createDirectories(directory);
+			final Path tempPath = Files.createTempFile(directory, null, ".tmp");
+			if (new FeatureGraphFormat().write(graph, tempPath).containsError()) {
+				Files.deleteIfExists(tempPath);
+				return;
+			}
+			move(tempPath, path);
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return;
+		}
+		evict();
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		for (final Path path : getEntries()) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (final IOException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+	private Path getPath(SatInstance satInstance, String section) {
+		return directory.resolve(satInstance.getContentHash() + "." + section + SUFFIX);
+	}
+
+	private List<Path> getEntries() {
+		final List<Path> entries = new ArrayList<>();
+		if (Files.isDirectory(directory)) {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+				for (final Path path : stream) {
+					entries.add(path);
+				}
+			} catch (final IOException e) {
+				Logger.logError(e);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Removes the least recently used entries until the total size is within the bound.
+	 */
+	private synchronized void evict() {
+		final List<Path> entries = getEntries();
+		final List<BasicFileAttributes> attributes = new ArrayList<>(entries.size());
+		final List<Integer> order = new ArrayList<>(entries.size());
+		long totalSize = 0;
+		for (final Path path : entries) {
+			try {
+				final BasicFileAttributes fileAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+				totalSize += fileAttributes.size();
+				order.add(attributes.size());
+				attributes.add(fileAttributes);
+			} catch (final IOException e) {
+				attributes.add(null);
+			}
+		}
+		if (totalSize <= maxSize) {
+			return;
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return attributes.get(o1).lastModifiedTime().compareTo(attributes.get(o2).lastModifiedTime());
+			}
+		});
+		for (final Integer index : order) {
+			if (totalSize <= maxSize) {
+				break;
+			}
+			try {
+				Files.deleteIfExists(entries.get(index));
+				totalSize -= attributes.get(index).size();
+			} catch (final IOException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Marks an entry as recently used.
+	 */
+	private static void touch(Path path) {
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (final IOException e) {
+			// the entry was removed concurrently
+		}
+	}
+
+}
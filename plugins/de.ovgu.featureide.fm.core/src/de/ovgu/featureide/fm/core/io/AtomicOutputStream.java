@@ -0,0 +1,132 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stream that writes to a temporary file and replaces the target file only when {@link #commit()} is called.<br> Closing the stream without a commit
+ * discards the written content, such that a failure during writing leaves the target file untouched. Typical usage:
+ *
+ * <pre>
+ * try (AtomicOutputStream out = FileSystem.newOutputStream(path)) {
+ * 	format.write(object, out);
+ * 	out.commit();
+ * }
+ * </pre>
+ */
+public class AtomicOutputStream extends FilterOutputStream {
+
+	protected final Path path;
+	protected final Path tempPath;
+
+	private boolean closed = false;
+
+	/**
+	 * Creates a stream that writes to a temporary file in the directory of the target file, which is moved over the target file on commit.
+	 *
+	 * @param path the target file
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public AtomicOutputStream(Path path) throws IOException {
+		this(path, Files.createTempFile(path.toAbsolutePath().getParent(), null, ".tmp"));
+	}
+
+	/**
+	 * Creates a stream that writes to the given temporary file.
+	 *
+	 * @param path the target file
+	 * @param tempPath the temporary file; deleted when the stream is closed
+	 * @throws IOException if the temporary file cannot be opened
+	 */
+	protected AtomicOutputStream(Path path, Path tempPath) throws IOException {
+		super(open(tempPath));
+		this.path = path;
+		this.tempPath = tempPath;
+	}
+
+	private static OutputStream open(Path tempPath) throws IOException {
+		try {
+			return Files.newOutputStream(tempPath);
+		} catch (final IOException e) {
+			Files.deleteIfExists(tempPath);
+			throw e;
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+	}
+
+	/**
+	 * Flushes and closes the stream and replaces the target file with the written content.
+	 *
+	 * @throws IOException if the stream is already closed or the target file cannot be replaced
+	 */
+	public void commit() throws IOException {
+		if (closed) {
+			throw new IOException("Stream is already closed");
+		}
+		closed = true;
+		try {
+			super.close();
+			replace();
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * Closes the stream. If {@link #commit()} was not called before, the written content is discarded and the target file remains unchanged.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				super.close();
+			} finally {
+				Files.deleteIfExists(tempPath);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the target file with the content of the (already closed) temporary file.
+	 *
+	 * @throws IOException if the target file cannot be replaced
+	 */
+	protected void replace() throws IOException {
+		try {
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.core.io;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedList;
@@ -57,6 +58,7 @@ public class EclipseFileSystem implements IFileSystem {
 		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path));
 		if (file == null) {
 			JAVA.write(path, content);
+			return;
 		}
 		try {
 			if (file.exists()) {
@@ -74,6 +76,7 @@ public class EclipseFileSystem implements IFileSystem {
 		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path));
 		if (file == null) {
 			JAVA.append(path, content);
+			return;
 		}
 		try {
 			file.appendContents(new ByteArrayInputStream(content), true, true, null);
@@ -87,11 +90,45 @@ public class EclipseFileSystem implements IFileSystem {
 		return Files.readAllBytes(path);
 	}
 
+	@Override
+	public InputStream newInputStream(Path path) throws IOException {
+		return Files.newInputStream(path);
+	}
+
+	/**
+	 * Writes to a temporary file outside of the workspace. On commit, the content is streamed into the workspace resource via
+	 * {@link IFile#setContents(InputStream, boolean, boolean, org.eclipse.core.runtime.IProgressMonitor) setContents} (or
+	 * {@link IFile#create(InputStream, boolean, org.eclipse.core.runtime.IProgressMonitor) create}), which keeps the local history of the file.
+	 */
+	@Override
+	public AtomicOutputStream newOutputStream(Path path) throws IOException {
+		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path));
+		if (file == null) {
+			return JAVA.newOutputStream(path);
+		}
+		return new AtomicOutputStream(path, Files.createTempFile(null, ".tmp")) {
+
+			@Override
+			protected void replace() throws IOException {
+				try (InputStream inputStream = Files.newInputStream(tempPath)) {
+					if (file.exists()) {
+						file.setContents(inputStream, true, true, null);
+					} else {
+						file.create(inputStream, true, null);
+					}
+				} catch (final CoreException e) {
+					throw new IOException(e);
+				}
+			}
+		};
+	}
+
 	@Override
 	public void mkDir(Path path) throws IOException {
 		IContainer container = ResourcesPlugin.getWorkspace().getRoot().getContainerForLocation(getIPath(path));
 		if (container == null) {
 			JAVA.mkDir(path);
+			return;
 		}
 		try {
 			if (container instanceof IFolder) {
@@ -114,7 +151,7 @@ public class EclipseFileSystem implements IFileSystem {
 		final IResource res = getResource(path);
 		try {
 			if (res == null) {
-				JAVA.exists(path);
+				JAVA.delete(path);
 			} else if (res.exists()) {
 				res.delete(true, null);
 			}
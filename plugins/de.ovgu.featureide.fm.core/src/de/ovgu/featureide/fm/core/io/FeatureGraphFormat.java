@@ -20,19 +20,26 @@
  */
 package de.ovgu.featureide.fm.core.io;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
 
 /**
- * Reads / Writes a feature graph.
+ * Reads / Writes a feature graph.<br> The graph is stored in a binary format consisting of a header (magic number, version, and a tag for the graph type), the variable
+ * index, and the edges of the graph. Use {@link #write(IFeatureGraph, Path)} and {@link #read(IFeatureGraph, Path)} to access a file, as the character
+ * representation of the format maps each byte to one character and is not suitable for text files.
  *
  * @author Sebastian Krieter
  */
@@ -40,29 +47,197 @@ public class FeatureGraphFormat implements IFeatureGraphFormat {
 
 	public static final String ID = PluginID.PLUGIN_ID + ".format.fg." + FeatureGraphFormat.class.getSimpleName();
 
+	private static final int MAGIC_NUMBER = 0x46494647; // "FIFG"
+	private static final int VERSION = 2;
+
+	private static final int TYPE_MATRIX = 1;
+	private static final int TYPE_SPARSE = 2;
+
+	private static final Charset BINARY_CHARSET = Charset.forName("ISO-8859-1");
+
+	/**
+	 * Reads a feature graph from a file.
+	 *
+	 * @param object the graph to fill; must be of the same type as the stored graph
+	 * @param path the file to read from
+	 * @return a list of problems that occurred during reading
+	 */
+	public ProblemList read(IFeatureGraph object, Path path) {
+		final ProblemList problems = new ProblemList();
+		read(object, path, problems);
+		return problems;
+	}
+
+	/**
+	 * Reads a feature graph from a file and creates a graph of the stored type.
+	 *
+	 * @param path the file to read from
+	 * @param problems the list to which all problems that occur during reading are added
+	 * @return the graph or {@code null}, if the file could not be read
+	 */
+	public IFeatureGraph read(Path path, ProblemList problems) {
+		return read(null, path, problems);
+	}
+
+	private IFeatureGraph read(IFeatureGraph object, Path path, ProblemList problems) {
+		final byte[] content;
+		try {
+			content = FileSystem.read(path);
+		} catch (final IOException e) {
+			problems.add(new Problem(e));
+			return null;
+		}
+		return read(object, ByteBuffer.wrap(content), problems);
+	}
+
+	private IFeatureGraph read(IFeatureGraph object, ByteBuffer buffer, ProblemList problems) {
+		try {
+			if ((buffer.remaining() < 8) || (buffer.getInt() != MAGIC_NUMBER)) {
+				problems.add(new Problem("No feature graph file", 0, Severity.ERROR));
+				return null;
+			}
+			final int version = buffer.getInt();
+			if (version != VERSION) {
+				problems.add(new Problem("Unsupported feature graph version " + version, 0, Severity.ERROR));
+				return null;
+			}
+			final int type = buffer.getInt();
+			final IFeatureGraph graph;
+			if (object == null) {
+				graph = createGraph(type);
+				if (graph == null) {
+					problems.add(new Problem("Unknown feature graph type " + type, 0, Severity.ERROR));
+					return null;
+				}
+			} else if (type == getType(object)) {
+				graph = object;
+			} else {
+				problems.add(new Problem("Cannot read feature graph of type " + type + " into " + object.getClass().getName(), 0, Severity.ERROR));
+				return null;
+			}
+			final int[] index = new int[buffer.getInt()];
+			buffer.asIntBuffer().get(index);
+			buffer.position(buffer.position() + (index.length << 2));
+
+			graph.readEdges(index, buffer);
+			return graph;
+		} catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+			problems.add(new Problem(e));
+			return null;
+		}
+	}
+
+	private static IFeatureGraph createGraph(int type) {
+		switch (type) {
+		case TYPE_MATRIX:
+			return new MatrixFeatureGraph();
+		case TYPE_SPARSE:
+			return new SparseFeatureGraph();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return the type tag of the given graph or {@code -1}, if the graph type cannot be stored
+	 */
+	private static int getType(IFeatureGraph object) {
+		if (object instanceof SparseFeatureGraph) {
+			return TYPE_SPARSE;
+		} else if (object instanceof MatrixFeatureGraph) {
+			return TYPE_MATRIX;
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Writes a feature graph to a file. The edges are written directly to the file, which is only replaced if the whole graph was written.
+	 *
+	 * @param object the graph to write
+	 * @param path the file to write to
+	 * @return a list of problems that occurred during writing
+	 */
+	public ProblemList write(IFeatureGraph object, Path path) {
+		final ProblemList problems = new ProblemList();
+		if (isSupported(object, problems)) {
+			try (final AtomicOutputStream outputStream = FileSystem.newOutputStream(path)) {
+				write(object, Channels.newChannel(outputStream));
+				outputStream.commit();
+			} catch (final IOException e) {
+				problems.add(new Problem(e));
+			}
+		}
+		return problems;
+	}
+
+	private static boolean isSupported(IFeatureGraph object, ProblemList problems) {
+		if (getType(object) >= 0) {
+			return true;
+		}
+		problems.add(new Problem("Cannot write feature graph of type " + object.getClass().getName(), 0, Severity.ERROR));
+		return false;
+	}
+
+	private void write(IFeatureGraph object, WritableByteChannel channel) throws IOException {
+		final int[] index = object.getIndex();
+
+		final ByteBuffer header = ByteBuffer.allocate(16 + (index.length << 2));
+		header.putInt(MAGIC_NUMBER);
+		header.putInt(VERSION);
+		header.putInt(getType(object));
+		header.putInt(index.length);
+		for (final int i : index) {
+			header.putInt(i);
+		}
+		header.flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+
+		object.writeEdges(channel);
+	}
+
+	/**
+	 * Reads a feature graph from a character sequence in which each character represents one byte of the binary format (see {@link #write(IFeatureGraph)}).
+	 */
 	@Override
 	public ProblemList read(IFeatureGraph object, CharSequence source) {
 		final ProblemList problems = new ProblemList();
-		try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(source.toString().getBytes(Charset.forName("UTF-8"))))) {
-			final IFeatureGraph featureGraph = (IFeatureGraph) in.readObject();
-			object.copyValues(featureGraph);
-		} catch (IOException | ClassNotFoundException e) {
-			problems.add(new Problem(e));
+		final byte[] content = new byte[source.length()];
+		for (int i = 0; i < content.length; i++) {
+			final char c = source.charAt(i);
+			if (c > 0xff) {
+				problems.add(new Problem("No feature graph file", 0, Severity.ERROR));
+				return problems;
+			}
+			content[i] = (byte) c;
 		}
+		read(object, ByteBuffer.wrap(content), problems);
 		return problems;
 	}
 
+	/**
+	 * Writes a feature graph to a string in which each character represents one byte of the binary format. The string must not be stored with a multi-byte
+	 * encoding, use {@link #write(IFeatureGraph, Path)} to write a file.
+	 *
+	 * @return the binary representation of the graph or {@code null}, if the graph cannot be written
+	 */
 	@Override
 	public String write(IFeatureGraph object) {
-		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-		String ret = null;
-		try (final ObjectOutputStream out = new ObjectOutputStream(byteArrayOutputStream)) {
-			out.writeObject(object);
-			ret = byteArrayOutputStream.toString("UTF-8");
+		final ProblemList problems = new ProblemList();
+		if (!isSupported(object, problems)) {
+			Logger.logWarning(problems.getErrors().get(0).getMessage());
+			return null;
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			write(object, Channels.newChannel(out));
 		} catch (final IOException e) {
 			Logger.logError(e);
+			return null;
 		}
-		return ret;
+		return new String(out.toByteArray(), BINARY_CHARSET);
 	}
 
 	@Override
@@ -77,12 +252,12 @@ public class FeatureGraphFormat implements IFeatureGraphFormat {
 
 	@Override
 	public boolean supportsRead() {
-		return true;
+		return false;
 	}
 
 	@Override
 	public boolean supportsWrite() {
-		return true;
+		return false;
 	}
 
 	@Override
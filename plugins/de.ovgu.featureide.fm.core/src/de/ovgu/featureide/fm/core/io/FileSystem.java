@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -38,6 +39,18 @@ public final class FileSystem {
 
 		byte[] read(Path path) throws IOException;
 
+		InputStream newInputStream(Path path) throws IOException;
+
+		/**
+		 * Opens a stream that replaces the given file when {@link AtomicOutputStream#commit()} is called. Closing the stream without a commit leaves the file
+		 * unchanged.
+		 *
+		 * @param path the file to write to
+		 * @return the stream
+		 * @throws IOException if the stream cannot be opened
+		 */
+		AtomicOutputStream newOutputStream(Path path) throws IOException;
+
 		void mkDir(Path path) throws IOException;
 
 		void delete(Path path) throws IOException;
@@ -59,6 +72,14 @@ public final class FileSystem {
 		return INSTANCE.read(path);
 	}
 
+	public static InputStream newInputStream(Path path) throws IOException {
+		return INSTANCE.newInputStream(path);
+	}
+
+	public static AtomicOutputStream newOutputStream(Path path) throws IOException {
+		return INSTANCE.newOutputStream(path);
+	}
+
 	public static void mkDir(Path path) throws IOException {
 		INSTANCE.mkDir(path);
 	}
@@ -0,0 +1,50 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://www.fosd.de/featureide/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@link IPersistentFormat format} that can read and write an object directly from and to a stream, without holding the whole content in memory.
+ */
+public interface IStreamFormat<T> extends IPersistentFormat<T> {
+
+	/**
+	 * Reads an object from a stream. The stream is not closed by this method.
+	 *
+	 * @param object the object to fill
+	 * @param source the stream to read from
+	 * @return a list of problems that occurred during reading
+	 */
+	ProblemList read(T object, InputStream source);
+
+	/**
+	 * Writes an object to a stream. The output is the same as the one of {@link #write(Object)}. The stream is not closed by this method.
+	 *
+	 * @param object the object to write
+	 * @param target the stream to write to
+	 * @throws IOException if the stream cannot be written
+	 */
+	void write(T object, OutputStream target) throws IOException;
+
+}
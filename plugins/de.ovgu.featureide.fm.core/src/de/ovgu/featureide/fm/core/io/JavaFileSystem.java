@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -44,6 +45,16 @@ public class JavaFileSystem implements IFileSystem {
 		return Files.readAllBytes(path);
 	}
 
+	@Override
+	public InputStream newInputStream(Path path) throws IOException {
+		return Files.newInputStream(path);
+	}
+
+	@Override
+	public AtomicOutputStream newOutputStream(Path path) throws IOException {
+		return new AtomicOutputStream(path);
+	}
+
 	@Override
 	public void mkDir(Path path) throws IOException {
 		Files.createDirectories(path);
@@ -20,6 +20,13 @@
  */
 package de.ovgu.featureide.fm.core.io.dimacs;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Collections;
@@ -29,8 +36,13 @@ import java.util.Set;
 
 import org.prop4j.And;
 import org.prop4j.Node;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
 import org.prop4j.transform.DimacsReader;
 import org.prop4j.transform.DimacsWriter;
+import org.prop4j.transform.IntDimacsReader;
+import org.prop4j.transform.IntDimacsWriter;
 
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -40,13 +52,16 @@ import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.io.AtomicOutputStream;
+import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
 
 /**
- * Reads and writes feature models in the DIMACS CNF format.
+ * Reads and writes feature models in the DIMACS CNF format. Large formulas can be read and written as {@link SatInstance} via {@link #read(Path, ProblemList)}
+ * and {@link #write(SatInstance, Path)}, which do not create a feature model.
  *
  * @author Sebastian Krieter
  * @author Timo G&uuml;nther
@@ -55,6 +70,8 @@ public class DIMACSFormat implements IFeatureModelFormat {
 
 	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + DIMACSFormat.class.getSimpleName();
 
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
 	@Override
 	public ProblemList read(IFeatureModel featureModel, CharSequence source) {
 		final ProblemList problemList = new ProblemList();
@@ -115,6 +132,52 @@ public class DIMACSFormat implements IFeatureModelFormat {
 		return w.write();
 	}
 
+	/**
+	 * Reads a formula in DIMACS CNF from a file without creating a feature model. The content of the file is read into memory at once and parsed directly into
+	 * an {@link IntCNF}. The resulting instance can be passed to a {@link BasicSolver} for analysis.
+	 *
+	 * @param path the file to read from
+	 * @param problems the list to which all problems that occur during reading are added
+	 * @return the instance or {@code null}, if the file could not be read
+	 */
+	public SatInstance read(Path path, ProblemList problems) {
+		try {
+			final IntDimacsReader r = new IntDimacsReader(ByteBuffer.wrap(FileSystem.read(path)));
+			r.setReadingVariableDirectory(true);
+			try {
+				return r.read();
+			} catch (final ParseException e) {
+				problems.add(new Problem(e, r.getLineNumber()));
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			problems.add(new Problem(e));
+		}
+		return null;
+	}
+
+	/**
+	 * Writes a formula in DIMACS CNF to a file. The clauses are written directly to the file, including a variable directory with the names of all variables.
+	 * The file is only replaced if the whole formula was written.
+	 *
+	 * @param satInstance the instance to write
+	 * @param path the file to write to
+	 * @return a list of problems that occurred during writing
+	 */
+	public ProblemList write(SatInstance satInstance, Path path) {
+		final ProblemList problems = new ProblemList();
+		try (final AtomicOutputStream outputStream = FileSystem.newOutputStream(path)) {
+			final Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, CHARSET));
+			final IntDimacsWriter w = new IntDimacsWriter(satInstance);
+			w.setWritingVariableDirectory(true);
+			w.write(out);
+			out.flush();
+			outputStream.commit();
+		} catch (final IOException e) {
+			problems.add(new Problem(e));
+		}
+		return problems;
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
@@ -234,8 +234,7 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 
 		if (FileSystem.exists(path)) {
 			try {
-				final String content = new String(FileSystem.read(path), DEFAULT_CHARSET);
-				final ProblemList problems = format.getInstance().read(variableObject, content);
+				final List<Problem> problems = SimpleFileHandler.read(format.getInstance(), variableObject, path);
 				if (problems != null) {
 					lastProblems.addAll(problems);
 				}
@@ -301,8 +300,7 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 			lastProblems.clear();
 			final T tempObject = copyObject(emptyObject);
 			try {
-				final String content = new String(FileSystem.read(path), DEFAULT_CHARSET);
-				final List<Problem> problemList = format.getInstance().read(tempObject, content);
+				final List<Problem> problemList = SimpleFileHandler.read(format.getInstance(), tempObject, path);
 				if (problemList != null) {
 					lastProblems.addAll(problemList);
 				}
@@ -366,8 +364,7 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 				}
 				modifying = true;
 				final T tempObject = copyObject(variableObject);
-				final byte[] content = format.getInstance().write(tempObject).getBytes(DEFAULT_CHARSET);
-				FileSystem.write(path, content);
+				SimpleFileHandler.write(format.getInstance(), tempObject, path);
 				persistentObject = copyObject(tempObject);
 			} catch (final Exception e) {
 				handleException(e);
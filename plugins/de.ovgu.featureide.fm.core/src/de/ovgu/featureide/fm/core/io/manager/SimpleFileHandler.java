@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.core.io.manager;
 
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
@@ -30,8 +31,10 @@ import java.nio.file.Path;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.base.impl.FormatManager;
+import de.ovgu.featureide.fm.core.io.AtomicOutputStream;
 import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.IStreamFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
 
@@ -149,12 +152,73 @@ public class SimpleFileHandler<T> {
 
 	public boolean read() {
 		problemList.clear();
-		return parse(getContent());
+		if (!Files.exists(path)) {
+			problemList.add(new Problem(new FileNotFoundException(path.toString())));
+			return false;
+		}
+		try {
+			problemList.addAll(read(format.getInstance(), object, path));
+		} catch (final Exception e) {
+			problemList.add(new Problem(e));
+		}
+		return !problemList.containsError();
 	}
 
+	@SuppressWarnings("unchecked")
 	public boolean read(InputStream inputStream) {
 		problemList.clear();
-		return parse(getContent(inputStream));
+		final IPersistentFormat<T> instance = format.getInstance();
+		if (!(instance instanceof IStreamFormat)) {
+			return parse(getContent(inputStream));
+		}
+		try (InputStream source = inputStream) {
+			problemList.addAll(((IStreamFormat<T>) instance).read(object, source));
+		} catch (final Exception e) {
+			problemList.add(new Problem(e));
+		}
+		return !problemList.containsError();
+	}
+
+	/**
+	 * Reads an object from a file. Formats that implement {@link IStreamFormat} read directly from the file, all other formats get the file's content as a
+	 * string.
+	 *
+	 * @param format the format of the file
+	 * @param object the object to fill
+	 * @param path the file to read from
+	 * @return the problems that occurred during reading
+	 * @throws IOException if the file could not be read
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> List<Problem> read(IPersistentFormat<T> format, T object, Path path) throws IOException {
+		if (format instanceof IStreamFormat) {
+			try (InputStream inputStream = FileSystem.newInputStream(path)) {
+				return ((IStreamFormat<T>) format).read(object, inputStream);
+			}
+		} else {
+			return format.read(object, new String(FileSystem.read(path), DEFAULT_CHARSET));
+		}
+	}
+
+	/**
+	 * Writes an object to a file. Formats that implement {@link IStreamFormat} write directly to the file, all other formats are written as a string. The
+	 * file is only replaced after the whole content was written, such that a failure during serialization leaves the file untouched.
+	 *
+	 * @param format the format of the file
+	 * @param object the object to write
+	 * @param path the file to write to
+	 * @throws IOException if the file could not be written
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> void write(IPersistentFormat<T> format, T object, Path path) throws IOException {
+		if (format instanceof IStreamFormat) {
+			try (AtomicOutputStream outputStream = FileSystem.newOutputStream(path)) {
+				((IStreamFormat<T>) format).write(object, outputStream);
+				outputStream.commit();
+			}
+		} else {
+			FileSystem.write(path, format.write(object).getBytes(DEFAULT_CHARSET));
+		}
 	}
 
 	String getContent() {
@@ -205,8 +269,7 @@ public class SimpleFileHandler<T> {
 	public boolean write() {
 		problemList.clear();
 		try {
-			final byte[] content = format.getInstance().write(object).getBytes(DEFAULT_CHARSET);
-			FileSystem.write(path, content);
+			write(format.getInstance(), object, path);
 		} catch (final Exception e) {
 			problemList.add(new Problem(e));
 		}
@@ -22,10 +22,11 @@ package de.ovgu.featureide.fm.core.io.xml;
 
 import static de.ovgu.featureide.fm.core.localization.StringTable.YES;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,17 +34,22 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -64,12 +70,16 @@ public abstract class AXMLFormat<T> implements IPersistentFormat<T>, XMLFeatureM
 
 	private static final String SUFFIX = "xml";
 
+	protected static final Charset CHARSET = Charset.forName("UTF-8");
+
 	protected T object;
 
 	public static Document readXML(CharSequence source) throws IOException, SAXException, ParserConfigurationException {
-		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		return readXML(new InputSource(new StringReader(source.toString())));
+	}
 
-		final InputSource inputSource = new InputSource(new StringReader(source.toString()));
+	public static Document readXML(InputSource inputSource) throws IOException, SAXException, ParserConfigurationException {
+		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
 		SAXParserFactory.newInstance().newSAXParser().parse(inputSource, new PositionalXMLHandler(doc));
 		return doc;
 	}
@@ -97,38 +107,11 @@ public abstract class AXMLFormat<T> implements IPersistentFormat<T>, XMLFeatureM
 	 * @return
 	 */
 	private static String prettyPrint(String text) {
-		final StringBuilder result = new StringBuilder();
-		String line;
-		int indentLevel = 0;
-		final BufferedReader reader = new BufferedReader(new StringReader(text));
+		final StringWriter result = new StringWriter();
+		final PrettyPrintWriter writer = new PrettyPrintWriter(result);
 		try {
-			line = reader.readLine();
-			while (line != null) {
-				if (line.startsWith("</")) {
-					indentLevel--;
-					for (int i = 0; i < indentLevel; i++) {
-						result.append("\t");
-					}
-				}
-
-				else if (line.startsWith("<")) {
-					for (int i = 0; i < indentLevel; i++) {
-						result.append("\t");
-					}
-					if (!line.contains("</")) {
-						indentLevel++;
-					}
-				} else {
-					for (int i = 0; i < indentLevel; i++) {
-						result.append("\t");
-					}
-				}
-				result.append(line + "\n");
-				if (line.contains("/>")) {
-					indentLevel--;
-				}
-				line = reader.readLine();
-			}
+			writer.write(text);
+			writer.finish();
 		} catch (final IOException e) {
 			Logger.logError(e);
 		}
@@ -142,6 +125,17 @@ public abstract class AXMLFormat<T> implements IPersistentFormat<T>, XMLFeatureM
 
 	@Override
 	public ProblemList read(T object, CharSequence source) {
+		return read(object, new InputSource(new StringReader(source.toString())));
+	}
+
+	/**
+	 * Reads an object from the given input source by building a DOM and calling {@link #readDocument(Document, List)}.
+	 *
+	 * @param object the object to read into
+	 * @param source the input source to parse
+	 * @return the problems found while reading
+	 */
+	protected ProblemList read(T object, InputSource source) {
 		this.object = object;
 		final ProblemList lastWarnings = new ProblemList();
 		try {
@@ -202,6 +196,27 @@ public abstract class AXMLFormat<T> implements IPersistentFormat<T>, XMLFeatureM
 		return prettyPrint(result.getWriter().toString());
 	}
 
+	/**
+	 * Writes an object directly to a writer by calling {@link #writeDocument(XMLStreamWriter)}. No DOM is built and the output is the same as the one of
+	 * {@link #write(Object)}. The writer is flushed, but not closed.
+	 *
+	 * @param object the object to write
+	 * @param target the writer to write to
+	 */
+	protected void write(T object, Writer target) throws IOException {
+		this.object = object;
+		final PrettyPrintWriter writer = new PrettyPrintWriter(target);
+		try {
+			final XMLStreamWriter xmlWriter = new FormattingXMLStreamWriter(writer);
+			xmlWriter.writeStartDocument(CHARSET.name(), "1.0");
+			writeDocument(xmlWriter);
+			xmlWriter.writeEndDocument();
+		} catch (final XMLStreamException e) {
+			throw new IOException(e);
+		}
+		writer.finish();
+	}
+
 	/**
 	 * Reads an XML-Document.
 	 *
@@ -217,4 +232,80 @@ public abstract class AXMLFormat<T> implements IPersistentFormat<T>, XMLFeatureM
 	 */
 	protected abstract void writeDocument(Document doc);
 
+	/**
+	 * Writes an XML-Document to a stream writer. By default, the document is built by {@link #writeDocument(Document)} and then passed to the stream writer.
+	 * Formats that write large documents should override this method to avoid building the DOM.
+	 *
+	 * @param writer stream writer to write to
+	 */
+	protected void writeDocument(XMLStreamWriter writer) throws XMLStreamException {
+		final Document doc;
+		try {
+			doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		} catch (final ParserConfigurationException e) {
+			throw new XMLStreamException(e);
+		}
+		writeDocument(doc);
+		writeNodes(writer, doc.getChildNodes());
+	}
+
+	/**
+	 * Builds an XML-Document by calling {@link #writeDocument(XMLStreamWriter)}. Formats that override the stream variant can implement
+	 * {@link #writeDocument(Document)} with this method. The DOM stream writer of the JDK adds the attributes that follow
+	 * {@link XMLStreamWriter#writeEmptyElement(String)} to the parent element, thus, such formats must close elements with
+	 * {@link XMLStreamWriter#writeEndElement()}.
+	 *
+	 * @param doc document to write
+	 */
+	protected final void writeDocumentFromStream(Document doc) {
+		try {
+			final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(new DOMResult(doc));
+			writeDocument(writer);
+			writer.flush();
+		} catch (final XMLStreamException e) {
+			Logger.logError(e);
+		}
+	}
+
+	private static void writeNodes(XMLStreamWriter writer, NodeList nodes) throws XMLStreamException {
+		for (int i = 0; i < nodes.getLength(); i++) {
+			final org.w3c.dom.Node node = nodes.item(i);
+			switch (node.getNodeType()) {
+			case org.w3c.dom.Node.ELEMENT_NODE:
+				if (node.hasChildNodes()) {
+					writer.writeStartElement(node.getNodeName());
+				} else {
+					writer.writeEmptyElement(node.getNodeName());
+				}
+				final NamedNodeMap attributes = node.getAttributes();
+				for (int j = 0; j < attributes.getLength(); j++) {
+					final org.w3c.dom.Node attribute = attributes.item(j);
+					writer.writeAttribute(attribute.getNodeName(), attribute.getNodeValue());
+				}
+				if (node.hasChildNodes()) {
+					writeNodes(writer, node.getChildNodes());
+					writer.writeEndElement();
+				}
+				break;
+			case org.w3c.dom.Node.TEXT_NODE:
+				writer.writeCharacters(node.getNodeValue());
+				break;
+			case org.w3c.dom.Node.CDATA_SECTION_NODE:
+				writer.writeCData(node.getNodeValue());
+				break;
+			case org.w3c.dom.Node.COMMENT_NODE:
+				writer.writeComment(node.getNodeValue());
+				break;
+			case org.w3c.dom.Node.PROCESSING_INSTRUCTION_NODE:
+				writer.writeProcessingInstruction(node.getNodeName(), node.getNodeValue());
+				break;
+			case org.w3c.dom.Node.ENTITY_REFERENCE_NODE:
+				writer.writeEntityRef(node.getNodeName());
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
 }
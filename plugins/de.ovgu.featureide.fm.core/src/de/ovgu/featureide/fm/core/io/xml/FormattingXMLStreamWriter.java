@@ -0,0 +1,420 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes XML in the layout of the DOM serializer used by {@link AXMLFormat#write(Object)}. Each element starts on a new line unless it follows character
+ * data, attributes are sorted by name, elements without content are closed with {@code />}, and characters are escaped in the same way. Comments and
+ * processing instructions are placed on their own line like empty elements. Namespaces are not repaired, that is, namespace declarations are only written
+ * by {@link #writeNamespace(String, String)} and {@link #writeDefaultNamespace(String)}.
+ */
+class FormattingXMLStreamWriter implements XMLStreamWriter {
+
+	private final Writer out;
+
+	private final Deque<String> openElements = new ArrayDeque<>();
+
+	private final Map<String, String> attributes = new TreeMap<>();
+
+	/**
+	 * The prefixes bound by the open elements (the last element first) and by the document itself (last).
+	 */
+	private final Deque<Map<String, String>> namespaceScopes = new ArrayDeque<>();
+
+	private NamespaceContext rootNamespaceContext = null;
+
+	private final NamespaceContext namespaceContext = new NamespaceContext() {
+
+		@Override
+		public String getNamespaceURI(String prefix) {
+			for (final Map<String, String> scope : namespaceScopes) {
+				final String namespaceURI = scope.get(prefix);
+				if (namespaceURI != null) {
+					return namespaceURI;
+				}
+			}
+			return (rootNamespaceContext != null) ? rootNamespaceContext.getNamespaceURI(prefix) : null;
+		}
+
+		@Override
+		public String getPrefix(String namespaceURI) {
+			for (final Map<String, String> scope : namespaceScopes) {
+				for (final Map.Entry<String, String> binding : scope.entrySet()) {
+					if (binding.getValue().equals(namespaceURI) && namespaceURI.equals(getNamespaceURI(binding.getKey()))) {
+						return binding.getKey();
+					}
+				}
+			}
+			return (rootNamespaceContext != null) ? rootNamespaceContext.getPrefix(namespaceURI) : null;
+		}
+
+		@Override
+		public Iterator<String> getPrefixes(String namespaceURI) {
+			final Set<String> prefixes = new LinkedHashSet<>();
+			for (final Map<String, String> scope : namespaceScopes) {
+				for (final String prefix : scope.keySet()) {
+					if (namespaceURI.equals(getNamespaceURI(prefix))) {
+						prefixes.add(prefix);
+					}
+				}
+			}
+			return prefixes.iterator();
+		}
+	};
+
+	private boolean startTagOpen = false;
+
+	private boolean emptyElement = false;
+
+	private boolean previousText = false;
+
+	FormattingXMLStreamWriter(Writer out) {
+		this.out = out;
+		namespaceScopes.push(new HashMap<String, String>());
+	}
+
+	@Override
+	public void writeStartDocument() throws XMLStreamException {
+		writeStartDocument("UTF-8", "1.0");
+	}
+
+	@Override
+	public void writeStartDocument(String version) throws XMLStreamException {
+		writeStartDocument("UTF-8", version);
+	}
+
+	@Override
+	public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+		write("<?xml version=\"" + version + "\" encoding=\"" + encoding + "\" standalone=\"no\"?>\n");
+	}
+
+	@Override
+	public void writeStartElement(String localName) throws XMLStreamException {
+		closeStartTag();
+		if (!openElements.isEmpty() && !previousText) {
+			write("\n");
+		}
+		write("<" + localName);
+		openElements.push(localName);
+		namespaceScopes.push(new HashMap<String, String>());
+		startTagOpen = true;
+		previousText = false;
+	}
+
+	@Override
+	public void writeEmptyElement(String localName) throws XMLStreamException {
+		writeStartElement(localName);
+		emptyElement = true;
+	}
+
+	@Override
+	public void writeAttribute(String localName, String value) throws XMLStreamException {
+		if (!startTagOpen) {
+			throw new XMLStreamException("Attribute " + localName + " is not written after a start tag");
+		}
+		attributes.put(localName, value);
+	}
+
+	@Override
+	public void writeCharacters(String text) throws XMLStreamException {
+		if (!text.isEmpty()) {
+			closeStartTag();
+			writeEscaped(text, false);
+			previousText = true;
+		}
+	}
+
+	@Override
+	public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+		writeCharacters(new String(text, start, len));
+	}
+
+	@Override
+	public void writeEndElement() throws XMLStreamException {
+		if (emptyElement) {
+			closeStartTag();
+		}
+		final String localName = openElements.pop();
+		namespaceScopes.pop();
+		if (startTagOpen) {
+			writeAttributes();
+			write("/>");
+			startTagOpen = false;
+		} else {
+			if (!previousText) {
+				write("\n");
+			}
+			write("</" + localName + ">");
+		}
+		previousText = false;
+	}
+
+	@Override
+	public void writeEndDocument() throws XMLStreamException {
+		if (emptyElement) {
+			closeStartTag();
+		}
+		while (!openElements.isEmpty()) {
+			writeEndElement();
+		}
+		write("\n");
+	}
+
+	@Override
+	public void flush() throws XMLStreamException {
+		try {
+			out.flush();
+		} catch (final IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	/**
+	 * Flushes the writer, but does not close the underlying writer.
+	 */
+	@Override
+	public void close() throws XMLStreamException {
+		flush();
+	}
+
+	private void closeStartTag() throws XMLStreamException {
+		if (startTagOpen) {
+			writeAttributes();
+			startTagOpen = false;
+			if (emptyElement) {
+				emptyElement = false;
+				openElements.pop();
+				namespaceScopes.pop();
+				write("/>");
+			} else {
+				write(">");
+			}
+		}
+	}
+
+	private void writeAttributes() throws XMLStreamException {
+		for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+			write(" " + attribute.getKey() + "=\"");
+			writeEscaped(attribute.getValue(), true);
+			write("\"");
+		}
+		attributes.clear();
+	}
+
+	private void writeEscaped(String text, boolean attribute) throws XMLStreamException {
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '&':
+				sb.append("&amp;");
+				break;
+			case '<':
+				sb.append("&lt;");
+				break;
+			case '>':
+				sb.append("&gt;");
+				break;
+			case '"':
+				sb.append(attribute ? "&quot;" : "\"");
+				break;
+			case '\n':
+				sb.append(attribute ? "&#10;" : "\n");
+				break;
+			case '\t':
+				sb.append(attribute ? "&#9;" : "\t");
+				break;
+			case '\r':
+				sb.append("&#13;");
+				break;
+			default:
+				if (Character.isHighSurrogate(c) && ((i + 1) < text.length()) && Character.isLowSurrogate(text.charAt(i + 1))) {
+					sb.append("&#").append(Character.toCodePoint(c, text.charAt(++i))).append(';');
+				} else if ((c < 0x20) || (!attribute && (c >= 0x7F) && (c <= 0x9F))) {
+					sb.append("&#").append((int) c).append(';');
+				} else {
+					sb.append(c);
+				}
+				break;
+			}
+		}
+		write(sb.toString());
+	}
+
+	private void write(String text) throws XMLStreamException {
+		try {
+			out.write(text);
+		} catch (final IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+		writeStartElement(getBoundPrefix(namespaceURI), localName, namespaceURI);
+	}
+
+	@Override
+	public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+		writeStartElement(getQualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+		writeEmptyElement(getBoundPrefix(namespaceURI), localName, namespaceURI);
+	}
+
+	@Override
+	public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+		writeEmptyElement(getQualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+		writeAttribute(getQualifiedName(prefix, localName), value);
+	}
+
+	@Override
+	public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+		writeAttribute(getBoundPrefix(namespaceURI), namespaceURI, localName, value);
+	}
+
+	@Override
+	public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+		if ((prefix == null) || prefix.isEmpty() || prefix.equals(XMLConstants.XMLNS_ATTRIBUTE)) {
+			writeDefaultNamespace(namespaceURI);
+		} else {
+			writeAttribute(XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, namespaceURI);
+			setPrefix(prefix, namespaceURI);
+		}
+	}
+
+	@Override
+	public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+		writeAttribute(XMLConstants.XMLNS_ATTRIBUTE, namespaceURI);
+		setDefaultNamespace(namespaceURI);
+	}
+
+	@Override
+	public void writeComment(String data) throws XMLStreamException {
+		writeMarkup("<!--" + data + "-->");
+	}
+
+	@Override
+	public void writeProcessingInstruction(String target) throws XMLStreamException {
+		writeMarkup("<?" + target + "?>");
+	}
+
+	@Override
+	public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+		writeMarkup("<?" + target + " " + data + "?>");
+	}
+
+	@Override
+	public void writeCData(String data) throws XMLStreamException {
+		closeStartTag();
+		write("<![CDATA[" + data.replace("]]>", "]]]]><![CDATA[>") + "]]>");
+		previousText = true;
+	}
+
+	@Override
+	public void writeDTD(String dtd) throws XMLStreamException {
+		write(dtd + "\n");
+	}
+
+	@Override
+	public void writeEntityRef(String name) throws XMLStreamException {
+		closeStartTag();
+		write("&" + name + ";");
+		previousText = true;
+	}
+
+	@Override
+	public String getPrefix(String uri) throws XMLStreamException {
+		return namespaceContext.getPrefix(uri);
+	}
+
+	@Override
+	public void setPrefix(String prefix, String uri) throws XMLStreamException {
+		namespaceScopes.peek().put(prefix, uri);
+	}
+
+	@Override
+	public void setDefaultNamespace(String uri) throws XMLStreamException {
+		setPrefix(XMLConstants.DEFAULT_NS_PREFIX, uri);
+	}
+
+	@Override
+	public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+		rootNamespaceContext = context;
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return namespaceContext;
+	}
+
+	/**
+	 * Writes a comment or processing instruction on its own line, like an empty element.
+	 */
+	private void writeMarkup(String markup) throws XMLStreamException {
+		closeStartTag();
+		if (!openElements.isEmpty() && !previousText) {
+			write("\n");
+		}
+		write(markup);
+		previousText = false;
+	}
+
+	private String getBoundPrefix(String namespaceURI) throws XMLStreamException {
+		final String prefix = getPrefix(namespaceURI);
+		if (prefix == null) {
+			throw new XMLStreamException("Namespace " + namespaceURI + " is not bound to a prefix");
+		}
+		return prefix;
+	}
+
+	private static String getQualifiedName(String prefix, String localName) {
+		return ((prefix == null) || prefix.isEmpty()) ? localName : prefix + ":" + localName;
+	}
+
+	@Override
+	public Object getProperty(String name) throws IllegalArgumentException {
+		throw new IllegalArgumentException(name);
+	}
+
+}
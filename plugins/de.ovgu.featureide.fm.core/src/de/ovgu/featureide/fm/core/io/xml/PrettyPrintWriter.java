@@ -0,0 +1,127 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Inserts indentations into XML text that contains one tag per line. Lines are processed as soon as they are complete, so the whole text is never held
+ * in memory.
+ */
+class PrettyPrintWriter extends Writer {
+
+	private final Writer out;
+
+	private final StringBuilder line = new StringBuilder();
+
+	private int indentLevel = 0;
+
+	private boolean skipLineFeed = false;
+
+	PrettyPrintWriter(Writer out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		for (int i = off; i < (off + len); i++) {
+			final char c = cbuf[i];
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			switch (c) {
+			case '\r':
+				skipLineFeed = true;
+				writeLine();
+				break;
+			case '\n':
+				writeLine();
+				break;
+			default:
+				line.append(c);
+				break;
+			}
+		}
+	}
+
+	private void writeLine() throws IOException {
+		if ((line.length() > 0) && (line.charAt(0) == '<')) {
+			if ((line.length() > 1) && (line.charAt(1) == '/')) {
+				indentLevel--;
+				indent();
+			} else if (isMarkup()) {
+				indent();
+			} else {
+				indent();
+				if (line.indexOf("</") < 0) {
+					indentLevel++;
+				}
+			}
+		} else {
+			indent();
+		}
+		out.append(line).append('\n');
+		if (line.indexOf("/>") >= 0) {
+			indentLevel--;
+		}
+		line.setLength(0);
+	}
+
+	/**
+	 * @return whether the current line is a comment, a document type declaration, or a processing instruction other than the XML declaration, which do not
+	 *         open an element
+	 */
+	private boolean isMarkup() {
+		return (line.length() > 1) && ((line.charAt(1) == '!') || ((line.charAt(1) == '?') && !line.toString().startsWith("<?xml ")));
+	}
+
+	private void indent() throws IOException {
+		for (int i = 0; i < indentLevel; i++) {
+			out.write('\t');
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Writes the last line, even if it is not terminated by a line break, and flushes the underlying writer without closing it.
+	 */
+	void finish() throws IOException {
+		if (line.length() > 0) {
+			writeLine();
+		}
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		finish();
+		out.close();
+	}
+
+}
@@ -28,13 +28,35 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
 import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
 import org.prop4j.And;
 import org.prop4j.AtMost;
 import org.prop4j.Equals;
@@ -43,12 +65,8 @@ import org.prop4j.Literal;
 import org.prop4j.Not;
 import org.prop4j.Or;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -59,9 +77,10 @@ import de.ovgu.featureide.fm.core.base.IPropertyContainer.Entry;
 import de.ovgu.featureide.fm.core.base.IPropertyContainer.Type;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.IStreamFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
-import de.ovgu.featureide.fm.core.io.xml.XmlPropertyLoader.PropertiesParser;
 
 /**
  * Reads / Writes a feature model in the FeatureIDE XML format
@@ -70,14 +89,27 @@ import de.ovgu.featureide.fm.core.io.xml.XmlPropertyLoader.PropertiesParser;
  * @author Marcus Pinnecke
  * @author Sebastian Krieter
  */
-public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements IFeatureModelFormat {
+public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements IFeatureModelFormat, IStreamFormat<IFeatureModel> {
 
 	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + XmlFeatureModelFormat.class.getSimpleName();
 
 	private static final Pattern CONTENT_REGEX = Pattern.compile("\\A\\s*(<[?]xml\\s.*[?]>\\s*)?<featureModel[\\s>]");
 
+	private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+	static {
+		INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
 	private IFeatureModelFactory factory;
 
+	// Constraints, the feature order, and properties may refer to features that occur later in the file.
+	// Therefore, they are collected and added to the model after the whole file was read.
+	private final List<org.prop4j.Node> constraints = new ArrayList<>();
+	private final Map<String, Integer> constraintFeatures = new LinkedHashMap<>();
+	private final Map<String, Integer> orderedFeatures = new LinkedHashMap<>();
+	private final Map<String, Set<Entry<String, Type, Object>>> featureProperties = new LinkedHashMap<>();
+
 	@Override
 	public boolean supportsRead() {
 		return true;
@@ -89,74 +121,156 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	}
 
 	@Override
-	protected void readDocument(Document doc, List<Problem> warnings) throws UnsupportedModelException {
-		object.reset();
+	public ProblemList read(IFeatureModel object, CharSequence source) {
+		return read(object, new StreamSource(new StringReader(source.toString())));
+	}
 
-		factory = FMFactoryManager.getFactory(object);
+	@Override
+	public ProblemList read(IFeatureModel object, InputStream source) {
+		return read(object, new StreamSource(source));
+	}
 
-		final Collection<PropertiesParser> customProperties = new ArrayList<>();
+	/**
+	 * Reads the feature model with a {@link XMLStreamReader}, creating features and constraints directly from the parser events instead of building a DOM
+	 * first.
+	 */
+	private ProblemList read(IFeatureModel object, Source source) {
+		this.object = object;
+		final ProblemList lastWarnings = new ProblemList();
+		XMLStreamReader reader = null;
+		try {
+			reader = INPUT_FACTORY.createXMLStreamReader(source);
+			readDocument(reader);
+		} catch (final XMLStreamException e) {
+			lastWarnings.add(new Problem(e, (e.getLocation() != null) ? e.getLocation().getLineNumber() : 1));
+		} catch (final UnsupportedModelException e) {
+			lastWarnings.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			lastWarnings.add(new Problem(e));
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (final XMLStreamException e) {
+					Logger.logError(e);
+				}
+			}
+		}
+		return lastWarnings;
+	}
 
-		for (final Element e : getElements(doc.getElementsByTagName(FEATURE_MODEL))) {
-			parseStruct(e.getElementsByTagName(STRUCT));
-			parseConstraints(e.getElementsByTagName(CONSTRAINTS));
-			parseCalculations(e.getElementsByTagName(CALCULATIONS));
-			parseComments(e.getElementsByTagName(COMMENTS));
-			parseFeatureOrder(e.getElementsByTagName(FEATURE_ORDER));
+	private void readDocument(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		object.reset();
 
-			final XmlPropertyLoader propertyLoader = new XmlPropertyLoader(e.getElementsByTagName(PROPERTIES));
-			customProperties.addAll(propertyLoader.parseProperties());
+		factory = FMFactoryManager.getFactory(object);
+		constraints.clear();
+		constraintFeatures.clear();
+		orderedFeatures.clear();
+		featureProperties.clear();
+
+		while (reader.hasNext()) {
+			if ((reader.next() == XMLStreamConstants.START_ELEMENT) && reader.getLocalName().equals(FEATURE_MODEL)) {
+				parseFeatureModel(reader);
+			}
 		}
 
 		if (object.getStructure().getRoot() == null) {
 			throw new UnsupportedModelException(WRONG_SYNTAX, 1);
 		}
 
-		importCustomProperties(customProperties, object);
+		checkFeatures(constraintFeatures);
+		for (final org.prop4j.Node node : constraints) {
+			object.addConstraint(factory.createConstraint(object, node));
+		}
+
+		checkFeatures(orderedFeatures);
+		if (!orderedFeatures.isEmpty()) {
+			object.setFeatureOrderList(new ArrayList<>(orderedFeatures.keySet()));
+		}
+
+		for (final Map.Entry<String, Set<Entry<String, Type, Object>>> properties : featureProperties.entrySet()) {
+			object.getFeature(properties.getKey()).getCustomProperties().setEntrySet(properties.getValue());
+		}
+	}
+
+	/**
+	 * Feature models are read with an {@link XMLStreamReader} (see {@link #read(IFeatureModel, InputStream)}). Therefore, the given document is serialized
+	 * and read again.
+	 */
+	@Override
+	protected void readDocument(Document doc, List<Problem> warnings) throws UnsupportedModelException {
+		final StringWriter source = new StringWriter();
+		try {
+			TransformerFactory.newInstance().newTransformer().transform(new DOMSource(doc), new StreamResult(source));
+		} catch (final TransformerException e) {
+			warnings.add(new Problem(e));
+			return;
+		}
+		warnings.addAll(read(object, new StreamSource(new StringReader(source.toString()))));
+	}
+
+	@Override
+	public String write(IFeatureModel object) {
+		final StringWriter writer = new StringWriter();
+		try {
+			write(object, writer);
+		} catch (final IOException e) {
+			Logger.logError(e);
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public void write(IFeatureModel object, OutputStream target) throws IOException {
+		write(object, new BufferedWriter(new OutputStreamWriter(target, CHARSET)));
 	}
 
+	/**
+	 * Feature models are written to an {@link XMLStreamWriter} (see {@link #write(IFeatureModel, OutputStream)}), which builds the given document here.
+	 */
 	@Override
 	protected void writeDocument(Document doc) {
-		final Element root = doc.createElement(FEATURE_MODEL);
-		final Element struct = doc.createElement(STRUCT);
-		final Element properties = doc.createElement(PROPERTIES);
-		final Element constraints = doc.createElement(CONSTRAINTS);
-		final Element calculations = doc.createElement(CALCULATIONS);
-		final Element comments = doc.createElement(COMMENTS);
-		final Element order = doc.createElement(FEATURE_ORDER);
-
-		doc.appendChild(root);
-		root.appendChild(properties);
-		createXmlPropertiesPart(doc, properties, object);
-
-		root.appendChild(struct);
-		createXmlDocRec(doc, struct, FeatureUtils.getRoot(object));
-
-		root.appendChild(constraints);
-		for (int i = 0; i < object.getConstraints().size(); i++) {
-			Element rule;
-			rule = doc.createElement(RULE);
-
-			constraints.appendChild(rule);
-			createPropositionalConstraints(doc, rule, object.getConstraints().get(i).getNode());
-		}
-
-		root.appendChild(calculations);
-		calculations.setAttribute(CALCULATE_AUTO, "" + object.getAnalyser().runCalculationAutomatically);
-		calculations.setAttribute(CALCULATE_FEATURES, "" + object.getAnalyser().calculateFeatures);
-		calculations.setAttribute(CALCULATE_CONSTRAINTS, "" + object.getAnalyser().calculateConstraints);
-		calculations.setAttribute(CALCULATE_REDUNDANT, "" + object.getAnalyser().calculateRedundantConstraints);
-		calculations.setAttribute(CALCULATE_TAUTOLOGY, "" + object.getAnalyser().calculateTautologyConstraints);
-
-		root.appendChild(comments);
+		writeDocumentFromStream(doc);
+	}
+
+	@Override
+	protected void writeDocument(XMLStreamWriter writer) throws XMLStreamException {
+		writer.writeStartElement(FEATURE_MODEL);
+
+		writer.writeStartElement(PROPERTIES);
+		writeProperties(writer, object);
+		writer.writeEndElement();
+
+		writer.writeStartElement(STRUCT);
+		writeFeature(writer, FeatureUtils.getRoot(object));
+		writer.writeEndElement();
+
+		writer.writeStartElement(CONSTRAINTS);
+		for (final IConstraint constraint : object.getConstraints()) {
+			writer.writeStartElement(RULE);
+			writePropositionalConstraints(writer, constraint.getNode());
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+
+		writer.writeStartElement(CALCULATIONS);
+		writer.writeAttribute(CALCULATE_AUTO, "" + object.getAnalyser().runCalculationAutomatically);
+		writer.writeAttribute(CALCULATE_FEATURES, "" + object.getAnalyser().calculateFeatures);
+		writer.writeAttribute(CALCULATE_CONSTRAINTS, "" + object.getAnalyser().calculateConstraints);
+		writer.writeAttribute(CALCULATE_REDUNDANT, "" + object.getAnalyser().calculateRedundantConstraints);
+		writer.writeAttribute(CALCULATE_TAUTOLOGY, "" + object.getAnalyser().calculateTautologyConstraints);
+		writer.writeEndElement();
+
+		writer.writeStartElement(COMMENTS);
 		for (final String comment : object.getProperty().getComments()) {
-			final Element c = doc.createElement(C);
-			comments.appendChild(c);
-			final Text text = doc.createTextNode(comment);
-			c.appendChild(text);
+			writer.writeStartElement(C);
+			writer.writeCharacters(comment);
+			writer.writeEndElement();
 		}
-		order.setAttribute(USER_DEFINED, Boolean.toString(object.isFeatureOrderUserDefined()));
-		root.appendChild(order);
+		writer.writeEndElement();
 
+		writer.writeStartElement(FEATURE_ORDER);
+		writer.writeAttribute(USER_DEFINED, Boolean.toString(object.isFeatureOrderUserDefined()));
 		if (object.isFeatureOrderUserDefined()) {
 			Collection<String> featureOrderList = object.getFeatureOrderList();
 
@@ -165,150 +279,122 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			}
 
 			for (final String featureName : featureOrderList) {
-				final Element feature = doc.createElement(FEATURE);
-				feature.setAttribute(NAME, featureName);
-				order.appendChild(feature);
+				writer.writeStartElement(FEATURE);
+				writer.writeAttribute(NAME, featureName);
+				writer.writeEndElement();
 			}
 		}
-	}
+		writer.writeEndElement();
 
-	private Node createFeaturePropertyContainerNode(Document doc, String featureName, Set<Entry<String, Type, Object>> propertyEntries) {
-		final Element result = doc.createElement(FEATURE);
-		result.setAttribute(NAME, featureName);
-		for (final Entry<String, Type, Object> entry : propertyEntries) {
-			result.appendChild(createPropertyEntriesNode(doc, entry));
-		}
-		return result;
-	}
-
-	private Node createPropertyEntriesNode(Document doc, Entry<String, Type, Object> entry) {
-		final Element propertyElement = doc.createElement(XmlPropertyLoader.PROPERTY);
-		propertyElement.setAttribute(XmlPropertyLoader.KEY, entry.getKey());
-		propertyElement.setAttribute(XmlPropertyLoader.VALUE, entry.getValue().toString());
-		propertyElement.setAttribute(XmlPropertyLoader.TYPE, entry.getType().toString());
-		return propertyElement;
+		writer.writeEndElement();
 	}
 
 	/**
-	 * Inserts the tags concerning propositional constraints into the DOM document representation
+	 * Writes the tags concerning propositional constraints
 	 *
-	 * @param doc
-	 * @param FeatMod Parent node for the propositional nodes
+	 * @param writer
+	 * @param node the constraint's node
 	 */
-	private void createPropositionalConstraints(Document doc, Element xmlNode, org.prop4j.Node node) {
+	private void writePropositionalConstraints(XMLStreamWriter writer, org.prop4j.Node node) throws XMLStreamException {
 		if (node == null) {
 			return;
 		}
 
-		Element op;
 		if (node instanceof Literal) {
 			Literal literal = (Literal) node;
 			if (literal.positive) {
-				op = doc.createElement(VAR);
-				xmlNode.appendChild(op);
-				op.appendChild(doc.createTextNode(node.toString()));
+				writer.writeStartElement(VAR);
+				writer.writeCharacters(node.toString());
+				writer.writeEndElement();
 			} else {
-				op = doc.createElement(NOT);
-				xmlNode.appendChild(op);
+				writer.writeStartElement(NOT);
 				literal = literal.clone();
 				literal.positive = true;
-				createPropositionalConstraints(doc, op, literal);
+				writePropositionalConstraints(writer, literal);
+				writer.writeEndElement();
 			}
 			return;
 		}
 
 		if (node instanceof And) {
-			op = doc.createElement(CONJ);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(CONJ);
 		} else if (node instanceof Or) {
-			op = doc.createElement(DISJ);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(DISJ);
 		} else if (node instanceof Not) {
-			op = doc.createElement(NOT);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(NOT);
 		} else if (node instanceof Equals) {
-			op = doc.createElement(EQ);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(EQ);
 		} else if (node instanceof Implies) {
-			op = doc.createElement(IMP);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(IMP);
 		} else if (node instanceof AtMost) {
-			op = doc.createElement(ATMOST1);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(ATMOST1);
 		} else {
-			op = doc.createElement(UNKNOWN);
-			xmlNode.appendChild(op);
+			writer.writeStartElement(UNKNOWN);
 		}
 
-		final org.prop4j.Node[] children = node.getChildren();
-
-		for (int i = 0; i < children.length; i++) {
-			createPropositionalConstraints(doc, op, children[i]);
+		for (final org.prop4j.Node child : node.getChildren()) {
+			writePropositionalConstraints(writer, child);
 		}
+		writer.writeEndElement();
 	}
 
 	/**
-	 * Creates document based on feature model step by step
+	 * Writes the feature model step by step
 	 *
-	 * @param doc document to write
-	 * @param node parent node
+	 * @param writer
 	 * @param feat current feature
 	 */
-	private void createXmlDocRec(Document doc, Element node, IFeature feat) {
+	private void writeFeature(XMLStreamWriter writer, IFeature feat) throws XMLStreamException {
 		if (feat == null) {
 			return;
 		}
 
 		final List<IFeature> children = FeatureUtils.convertToFeatureList(feat.getStructure().getChildren());
 
-		final Element fnod;
 		if (children.isEmpty()) {
-			fnod = doc.createElement(FEATURE);
-			addDescription(doc, feat, fnod);
-			writeAttributes(node, fnod, feat);
+			writer.writeStartElement(FEATURE);
+		} else if (feat.getStructure().isAnd()) {
+			writer.writeStartElement(AND);
+		} else if (feat.getStructure().isOr()) {
+			writer.writeStartElement(OR);
+		} else if (feat.getStructure().isAlternative()) {
+			writer.writeStartElement(ALT);
 		} else {
-			if (feat.getStructure().isAnd()) {
-				fnod = doc.createElement(AND);
-			} else if (feat.getStructure().isOr()) {
-				fnod = doc.createElement(OR);
-			} else if (feat.getStructure().isAlternative()) {
-				fnod = doc.createElement(ALT);
-			} else {
-				fnod = doc.createElement(UNKNOWN);// Logger.logInfo("creatXMlDockRec: Unexpected error!");
-			}
-
-			addDescription(doc, feat, fnod);
-			writeAttributes(node, fnod, feat);
-
-			for (final IFeature feature : children) {
-				createXmlDocRec(doc, fnod, feature);
-			}
-
+			writer.writeStartElement(UNKNOWN);
 		}
+		writeAttributes(writer, feat);
+		writeDescription(writer, feat);
 
+		for (final IFeature feature : children) {
+			writeFeature(writer, feature);
+		}
+		writer.writeEndElement();
 	}
 
-	protected void addDescription(Document doc, IFeature feat, Element fnod) {
+	protected void writeDescription(XMLStreamWriter writer, IFeature feat) throws XMLStreamException {
 		final String description = feat.getProperty().getDescription();
 		if ((description != null) && !description.trim().isEmpty()) {
-			final Element descr = doc.createElement(DESCRIPTION);
-			descr.setTextContent("\n" + description.replace("\r", "") + "\n");
-			fnod.appendChild(descr);
+			writer.writeStartElement(DESCRIPTION);
+			writer.writeCharacters("\n" + description.replace("\r", "") + "\n");
+			writer.writeEndElement();
 		}
 	}
 
-	private void createXmlPropertiesPart(Document doc, Element propertiesNode, IFeatureModel featureModel) {
-
-		if ((featureModel == null) || (propertiesNode == null)) {
-			throw new RuntimeException();
-		}
-
+	private void writeProperties(XMLStreamWriter writer, IFeatureModel featureModel) throws XMLStreamException {
 		// Store per-feature properties
 		for (final IFeature feature : featureModel.getFeatures()) {
-			final String featureName = feature.getName();
 			final Set<Entry<String, Type, Object>> propertyEntries = feature.getCustomProperties().entrySet();
 			if (!propertyEntries.isEmpty()) {
-				propertiesNode.appendChild(createFeaturePropertyContainerNode(doc, featureName, propertyEntries));
+				writer.writeStartElement(FEATURE);
+				writer.writeAttribute(NAME, feature.getName());
+				for (final Entry<String, Type, Object> entry : propertyEntries) {
+					writer.writeStartElement(XmlPropertyLoader.PROPERTY);
+					writer.writeAttribute(XmlPropertyLoader.KEY, entry.getKey());
+					writer.writeAttribute(XmlPropertyLoader.VALUE, entry.getValue().toString());
+					writer.writeAttribute(XmlPropertyLoader.TYPE, entry.getType().toString());
+					writer.writeEndElement();
+				}
+				writer.writeEndElement();
 			}
 		}
 
@@ -316,260 +402,304 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 		// ...
 	}
 
-	private void importCustomProperties(Collection<PropertiesParser> customProperties, IFeatureModel object) {
-		for (final PropertiesParser parser : customProperties) {
-			switch (parser.getType()) {
-			case FEATURE_PROPERTIES_PARSER: {
-				for (final String featureName : parser.getIdentifier()) {
-					object.getFeature(featureName).getCustomProperties().setEntrySet(parser.getPropertyEntries(featureName));
-				}
-			}
-				break;
+	/**
+	 * Moves the reader to the next child element of the current element.
+	 *
+	 * @return {@code true} if the reader is at the start of a child element, {@code false} if it reached the end of the current element
+	 */
+	private static boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				return true;
+			case XMLStreamConstants.END_ELEMENT:
+				return false;
 			default:
-				throw new UnsupportedOperationException("Unkown property container parser type " + parser.getType());
+				break;
 			}
 		}
+		return false;
+	}
+
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		while (nextElement(reader)) {
+			skipElement(reader);
+		}
+	}
+
+	private static void addReference(Map<String, Integer> references, String featureName, int line) {
+		if (!references.containsKey(featureName)) {
+			references.put(featureName, line);
+		}
 	}
 
 	/**
-	 * Parses the calculations.
+	 * Checks whether all features referenced by constraints or the feature order exist, after the whole struct section was read.
 	 */
-	private void parseCalculations(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String nodeName = node.getNodeName();
-					final boolean value = node.getNodeValue().equals(TRUE);
-					if (nodeName.equals(CALCULATE_AUTO)) {
-						object.getAnalyser().runCalculationAutomatically = value;
-					} else if (nodeName.equals(CALCULATE_CONSTRAINTS)) {
-						object.getAnalyser().calculateConstraints = value;
-					} else if (nodeName.equals(CALCULATE_REDUNDANT)) {
-						object.getAnalyser().calculateRedundantConstraints = value;
-					} else if (nodeName.equals(CALCULATE_FEATURES)) {
-						object.getAnalyser().calculateFeatures = value;
-					} else if (nodeName.equals(CALCULATE_TAUTOLOGY)) {
-						object.getAnalyser().calculateTautologyConstraints = value;
-					} else {
-						throwError("Unknown calculations attribute: " + nodeName, e);
-					}
-
-				}
+	private void checkFeatures(Map<String, Integer> references) throws UnsupportedModelException {
+		for (final Map.Entry<String, Integer> reference : references.entrySet()) {
+			if (object.getFeature(reference.getKey()) == null) {
+				throwError("Feature \"" + reference.getKey() + "\" does not exists", reference.getValue());
 			}
 		}
 	}
 
 	/**
-	 * Parses the comment section.
+	 * Parses the calculations.
 	 */
-	private void parseComments(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasChildNodes()) {
-				parseComments2(e.getChildNodes());
+	private void parseCalculations(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String nodeName = reader.getAttributeLocalName(i);
+			final boolean value = reader.getAttributeValue(i).equals(TRUE);
+			if (nodeName.equals(CALCULATE_AUTO)) {
+				object.getAnalyser().runCalculationAutomatically = value;
+			} else if (nodeName.equals(CALCULATE_CONSTRAINTS)) {
+				object.getAnalyser().calculateConstraints = value;
+			} else if (nodeName.equals(CALCULATE_REDUNDANT)) {
+				object.getAnalyser().calculateRedundantConstraints = value;
+			} else if (nodeName.equals(CALCULATE_FEATURES)) {
+				object.getAnalyser().calculateFeatures = value;
+			} else if (nodeName.equals(CALCULATE_TAUTOLOGY)) {
+				object.getAnalyser().calculateTautologyConstraints = value;
+			} else {
+				throwError("Unknown calculations attribute: " + nodeName, reader.getLocation().getLineNumber());
 			}
 		}
+		skipElement(reader);
 	}
 
-	private void parseComments2(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.getNodeName().equals(C)) {
-				object.getProperty().addComment(e.getTextContent());
+	/**
+	 * Parses the comment section.
+	 */
+	private void parseComments(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(C)) {
+				object.getProperty().addComment(reader.getElementText());
 			} else {
-				throwError("Unknown comment attribute: " + e.getNodeName(), e);
+				throwError("Unknown comment attribute: " + nodeName, reader.getLocation().getLineNumber());
 			}
 		}
 	}
 
 	/**
-	 * Parses the constraint section.
+	 * Parses the constraint section. The constraints are added to the model after the whole file was read.
 	 */
-	private void parseConstraints(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			for (final Element child : getElements(e.getChildNodes())) {
-				final String nodeName = child.getNodeName();
-				if (nodeName.equals(RULE)) {
-					final IConstraint c = factory.createConstraint(object, parseConstraints2(child.getChildNodes()).getFirst());
-					if (child.hasAttributes()) {
-						final NamedNodeMap nodeMap = child.getAttributes();
-						for (int i = 0; i < nodeMap.getLength(); i++) {
-							final org.w3c.dom.Node node = nodeMap.item(i);
-							final String attributeName = node.getNodeName();
-							if (attributeName.equals(COORDINATES)) {
-								// Legacy case, for backwards compatibility
-							} else {
-								throwError("Unknown constraint attribute: " + attributeName, node);
-							}
-						}
+	private void parseConstraints(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(RULE)) {
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					final String attributeName = reader.getAttributeLocalName(i);
+					if (attributeName.equals(COORDINATES)) {
+						// Legacy case, for backwards compatibility
+					} else {
+						throwError("Unknown constraint attribute: " + attributeName, reader.getLocation().getLineNumber());
 					}
-					object.addConstraint(c);
-				} else {
-					throwError("Unknown constraint node: " + nodeName, child);
 				}
+				constraints.add(parseConstraints2(reader).getFirst());
+			} else {
+				throwError("Unknown constraint node: " + nodeName, reader.getLocation().getLineNumber());
 			}
 		}
 	}
 
-	private LinkedList<org.prop4j.Node> parseConstraints2(NodeList nodeList) throws UnsupportedModelException {
+	private LinkedList<org.prop4j.Node> parseConstraints2(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
 		final LinkedList<org.prop4j.Node> nodes = new LinkedList<>();
 		LinkedList<org.prop4j.Node> children;
-		for (final Element e : getElements(nodeList)) {
-			final String nodeName = e.getNodeName();
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
 			if (nodeName.equals(DISJ)) {
-				nodes.add(new Or(parseConstraints2(e.getChildNodes())));
+				nodes.add(new Or(parseConstraints2(reader)));
 			} else if (nodeName.equals(CONJ)) {
-				nodes.add(new And(parseConstraints2(e.getChildNodes())));
+				nodes.add(new And(parseConstraints2(reader)));
 			} else if (nodeName.equals(EQ)) {
-				children = parseConstraints2(e.getChildNodes());
+				children = parseConstraints2(reader);
 				nodes.add(new Equals(children.get(0), children.get(1)));
 			} else if (nodeName.equals(IMP)) {
-				children = parseConstraints2(e.getChildNodes());
+				children = parseConstraints2(reader);
 				nodes.add(new Implies(children.get(0), children.get(1)));
 			} else if (nodeName.equals(NOT)) {
-				nodes.add(new Not((parseConstraints2(e.getChildNodes())).getFirst()));
+				nodes.add(new Not((parseConstraints2(reader)).getFirst()));
 			} else if (nodeName.equals(ATMOST1)) {
-				nodes.add(new AtMost(1, parseConstraints2(e.getChildNodes())));
+				nodes.add(new AtMost(1, parseConstraints2(reader)));
 			} else if (nodeName.equals(VAR)) {
-				final String featureName = e.getTextContent();
-				if (object.getFeature(featureName) != null) {
-					nodes.add(new Literal(featureName));
-				} else {
-					throwError("Feature \"" + featureName + "\" does not exists", e);
-				}
+				final int line = reader.getLocation().getLineNumber();
+				final String featureName = reader.getElementText();
+				addReference(constraintFeatures, featureName, line);
+				nodes.add(new Literal(featureName));
 			} else {
-				throwError("Unknown constraint type: " + nodeName, e);
+				throwError("Unknown constraint type: " + nodeName, reader.getLocation().getLineNumber());
 			}
 		}
 		return nodes;
 	}
 
 	/**
-	 * Parses the feature order section.
+	 * Parses the sections of a feature model. Like in a DOM search by tag name, sections nested in unknown elements are found as well.
 	 */
-	private void parseFeatureOrder(NodeList nodeList) throws UnsupportedModelException {
-		final ArrayList<String> order = new ArrayList<>(object.getNumberOfFeatures());
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String attributeName = node.getNodeName();
-					final String attributeValue = node.getNodeValue();
-					if (attributeName.equals(USER_DEFINED)) {
-						object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
-					} else if (attributeName.equals(NAME)) {
-						if (object.getFeature(attributeValue) != null) {
-							order.add(attributeValue);
-						} else {
-							throwError("Feature \"" + attributeValue + "\" does not exists", e);
-						}
-					} else {
-						throwError("Unknown feature order attribute: " + attributeName, e);
-					}
-
-				}
+	private void parseFeatureModel(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(STRUCT)) {
+				parseStruct(reader);
+			} else if (nodeName.equals(CONSTRAINTS)) {
+				parseConstraints(reader);
+			} else if (nodeName.equals(CALCULATIONS)) {
+				parseCalculations(reader);
+			} else if (nodeName.equals(COMMENTS)) {
+				parseComments(reader);
+			} else if (nodeName.equals(FEATURE_ORDER)) {
+				parseFeatureOrder(reader);
+			} else if (nodeName.equals(PROPERTIES)) {
+				parseProperties(reader);
+			} else {
+				parseFeatureModel(reader);
 			}
-			if (e.hasChildNodes()) {
-				parseFeatureOrder(e.getChildNodes());
+		}
+	}
+
+	/**
+	 * Parses the feature order section. The order is set after the whole file was read.
+	 */
+	private void parseFeatureOrder(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		final int line = reader.getLocation().getLineNumber();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(USER_DEFINED)) {
+				object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
+			} else if (attributeName.equals(NAME)) {
+				addReference(orderedFeatures, attributeValue, line);
+			} else {
+				throwError("Unknown feature order attribute: " + attributeName, line);
 			}
 		}
-		if (!order.isEmpty()) {
-			object.setFeatureOrderList(order);
+		while (nextElement(reader)) {
+			parseFeatureOrder(reader);
 		}
 	}
 
-	private void parseFeatures(NodeList nodeList, IFeature parent) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			final String nodeName = e.getNodeName();
-			if (nodeName.equals(DESCRIPTION)) {
-				/* case: description */
-				String nodeValue = e.getFirstChild().getNodeValue();
-				if ((nodeValue != null) && !nodeValue.isEmpty()) {
-					nodeValue = nodeValue.replace("\t", "");
-					nodeValue = nodeValue.substring(1, nodeValue.length() - 1);
-					nodeValue = nodeValue.trim();
-				}
-				parent.getProperty().setDescription(nodeValue);
-				continue;
+	private void parseFeatures(XMLStreamReader reader, IFeature parent) throws XMLStreamException, UnsupportedModelException {
+		final String nodeName = reader.getLocalName();
+		final int line = reader.getLocation().getLineNumber();
+		if (nodeName.equals(DESCRIPTION)) {
+			/* case: description */
+			String nodeValue = reader.getElementText();
+			if (!nodeValue.isEmpty()) {
+				nodeValue = nodeValue.replace("\t", "");
+				nodeValue = nodeValue.substring(1, nodeValue.length() - 1);
+				nodeValue = nodeValue.trim();
 			}
-			boolean mandatory = false;
-			boolean _abstract = false;
-			boolean hidden = false;
-			String name = "";
-			// FMPoint featureLocation = null;
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String attributeName = node.getNodeName();
-					final String attributeValue = node.getNodeValue();
-					if (attributeName.equals(ABSTRACT)) {
-						_abstract = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(MANDATORY)) {
-						mandatory = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(NAME)) {
-						name = attributeValue;
-					} else if (attributeName.equals(HIDDEN)) {
-						hidden = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(COORDINATES)) {
-						// Legacy case, for backwards compatibility
-					} else {
-						throwError("Unknown feature attribute: " + attributeName, e);
-					}
-
-				}
+			parent.getProperty().setDescription(nodeValue);
+			return;
+		}
+		boolean mandatory = false;
+		boolean _abstract = false;
+		boolean hidden = false;
+		String name = "";
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(ABSTRACT)) {
+				_abstract = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(MANDATORY)) {
+				mandatory = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(NAME)) {
+				name = attributeValue;
+			} else if (attributeName.equals(HIDDEN)) {
+				hidden = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(COORDINATES)) {
+				// Legacy case, for backwards compatibility
+			} else {
+				throwError("Unknown feature attribute: " + attributeName, line);
 			}
+		}
 
-			if (object.getFeature(name) != null) {
-				throwError("Duplicate entry for feature: " + name, e);
-			}
-			// TODO Consider feature name validity in all readers
-			// if (!object.getFMComposerExtension().isValidFeatureName(name)) {
-			// throwError(name + IS_NO_VALID_FEATURE_NAME, e);
-			// }
-			final IFeature f = factory.createFeature(object, name);
-			f.getStructure().setMandatory(true);
-			if (nodeName.equals(AND)) {
-				f.getStructure().setAnd();
-			} else if (nodeName.equals(ALT)) {
-				f.getStructure().setAlternative();
-			} else if (nodeName.equals(OR)) {
-				f.getStructure().setOr();
-			} else if (nodeName.equals(FEATURE)) {
+		if (object.getFeature(name) != null) {
+			throwError("Duplicate entry for feature: " + name, line);
+		}
+		// TODO Consider feature name validity in all readers
+		// if (!object.getFMComposerExtension().isValidFeatureName(name)) {
+		// throwError(name + IS_NO_VALID_FEATURE_NAME, line);
+		// }
+		final IFeature f = factory.createFeature(object, name);
+		f.getStructure().setMandatory(true);
+		if (nodeName.equals(AND)) {
+			f.getStructure().setAnd();
+		} else if (nodeName.equals(ALT)) {
+			f.getStructure().setAlternative();
+		} else if (nodeName.equals(OR)) {
+			f.getStructure().setOr();
+		} else if (nodeName.equals(FEATURE)) {
 
-			} else {
-				throwError("Unknown feature type: " + nodeName, e);
-			}
-			f.getStructure().setAbstract(_abstract);
-			f.getStructure().setMandatory(mandatory);
-			f.getStructure().setHidden(hidden);
+		} else {
+			throwError("Unknown feature type: " + nodeName, line);
+		}
+		f.getStructure().setAbstract(_abstract);
+		f.getStructure().setMandatory(mandatory);
+		f.getStructure().setHidden(hidden);
 
-			object.addFeature(f);
-			if (parent == null) {
-				object.getStructure().setRoot(f.getStructure());
+		object.addFeature(f);
+		if (parent == null) {
+			object.getStructure().setRoot(f.getStructure());
+		} else {
+			parent.getStructure().addChild(f.getStructure());
+		}
+		while (nextElement(reader)) {
+			parseFeatures(reader, f);
+		}
+	}
+
+	/**
+	 * Parses the properties section. The properties are set after the whole file was read, as the section precedes the struct section.
+	 */
+	private void parseProperties(XMLStreamReader reader) throws XMLStreamException {
+		while (nextElement(reader)) {
+			final String tagName = reader.getLocalName();
+			if (tagName.equals(XmlPropertyLoader.FEATURE)) {
+				final String featureName = reader.getAttributeValue(null, XmlPropertyLoader.NAME);
+				if (featureName == null) {
+					throw new UnsupportedOperationException("Property container of type feature is missing required name attribute");
+				}
+				final Set<Entry<String, Type, Object>> propertyEntries = new HashSet<>();
+				parsePropertyEntries(reader, featureName, propertyEntries);
+				featureProperties.put(featureName, propertyEntries);
 			} else {
-				parent.getStructure().addChild(f.getStructure());
-			}
-			if (e.hasChildNodes()) {
-				parseFeatures(e.getChildNodes(), f);
+				throw new UnsupportedOperationException("Unkown domain which contains properties. Don't know where to attach them:" + tagName);
 			}
 		}
+	}
 
-		// Check that there are only OR connections when the parent has more than one feature
-		for (final IFeature f : object.getFeatures()) {
-			if (f.getStructure().isOr() && (f.getStructure().getChildrenCount() <= 1)) {
-				f.getStructure().setAnd();
+	private void parsePropertyEntries(XMLStreamReader reader, String featureName, Set<Entry<String, Type, Object>> propertyEntries) throws XMLStreamException {
+		while (nextElement(reader)) {
+			if (reader.getLocalName().equals(XmlPropertyLoader.PROPERTY)) {
+				final String key = reader.getAttributeValue(null, XmlPropertyLoader.KEY);
+				final String value = reader.getAttributeValue(null, XmlPropertyLoader.VALUE);
+				final String type = reader.getAttributeValue(null, XmlPropertyLoader.TYPE);
+				if ((key == null) || (value == null) || (type == null)) {
+					throw new UnsupportedOperationException("One property of container " + featureName + " is missing one of the required attributes: "
+						+ XmlPropertyLoader.KEY + ", " + XmlPropertyLoader.VALUE + "," + XmlPropertyLoader.TYPE);
+				}
+				XmlPropertyLoader.addPropertyEntry(propertyEntries, key, type, value);
 			}
+			parsePropertyEntries(reader, featureName, propertyEntries);
 		}
 	}
 
 	/**
 	 * Parse the struct section to add features to the model.
 	 */
-	private void parseStruct(NodeList struct) throws UnsupportedModelException {
-		for (final Element e : getElements(struct)) {
-			parseFeatures(e.getChildNodes(), null);
+	private void parseStruct(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			parseFeatures(reader, null);
+		}
+
+		// Check that there are only OR connections when the parent has more than one feature
+		for (final IFeature f : object.getFeatures()) {
+			if (f.getStructure().isOr() && (f.getStructure().getChildrenCount() <= 1)) {
+				f.getStructure().setAnd();
+			}
 		}
 	}
 
@@ -577,35 +707,27 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	 * Throws an error that will be used for error markers
 	 *
 	 * @param message The error message
-	 * @param tempNode The node that causes the error. this node is used for positioning.
+	 * @param line The line of the element that causes the error
 	 */
-	private void throwError(String message, org.w3c.dom.Node node) throws UnsupportedModelException {
-		throw new UnsupportedModelException(message, Integer.parseInt(node.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME).toString()));
-	}
-
-	// TODO implement warnings
-	@SuppressWarnings("unused")
-	private void throwWarning(String message, org.w3c.dom.Node node) throws UnsupportedModelException {
-		throw new UnsupportedModelException(message, Integer.parseInt(node.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME).toString()));
+	private void throwError(String message, int line) throws UnsupportedModelException {
+		throw new UnsupportedModelException(message, line);
 	}
 
-	private void writeAttributes(Element node, Element fnod, IFeature feat) {
-		fnod.setAttribute(NAME, feat.getName());
+	private void writeAttributes(XMLStreamWriter writer, IFeature feat) throws XMLStreamException {
+		writer.writeAttribute(NAME, feat.getName());
 		if (feat.getStructure().isHidden()) {
-			fnod.setAttribute(HIDDEN, TRUE);
+			writer.writeAttribute(HIDDEN, TRUE);
 		}
 		if (feat.getStructure().isMandatory()) {
 			if ((feat.getStructure().getParent() != null) && feat.getStructure().getParent().isAnd()) {
-				fnod.setAttribute(MANDATORY, TRUE);
+				writer.writeAttribute(MANDATORY, TRUE);
 			} else if (feat.getStructure().getParent() == null) {
-				fnod.setAttribute(MANDATORY, TRUE);
+				writer.writeAttribute(MANDATORY, TRUE);
 			}
 		}
 		if (feat.getStructure().isAbstract()) {
-			fnod.setAttribute(ABSTRACT, TRUE);
+			writer.writeAttribute(ABSTRACT, TRUE);
 		}
-
-		node.appendChild(fnod);
 	}
 
 	@Override
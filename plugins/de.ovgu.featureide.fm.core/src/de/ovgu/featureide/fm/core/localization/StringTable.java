@@ -271,6 +271,7 @@ public class StringTable {
 	public static final String ANALYZE_FEATURES_ = "Analyze features.";
 	public static final String GET_DEAD_FEATURES_ = "Get dead features.";
 	public static final String GET_FALSE_OPTIONAL_FEATURES_ = "Get false-optional features.";
+	public static final String EXPLAIN_DEAD_AND_FALSE_OPTIONAL_FEATURES = "Explain dead and false-optional features";
 	public static final String CALCULATE_INDETRMINATE_HIDDEN_FEATURES = "calculate indetrminate hidden features";
 	public static final String HIDDEN_FEATURE = "hidden feature";
 	public static final String CALCULATE_INDETRMINATE_HIDDEN_FEATURES_FOR = "calculate indetrminate hidden features for ";
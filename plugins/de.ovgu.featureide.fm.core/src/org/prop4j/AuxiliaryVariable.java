@@ -0,0 +1,40 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A variable that is introduced by {@link Node#buildTseitinCNF(Node, int)} as an abbreviation of a sub-formula. Auxiliary variables do not correspond to any
+ * feature. Two auxiliary variables are only equal if they are the same object.
+ */
+public final class AuxiliaryVariable {
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private final int id = COUNTER.incrementAndGet();
+
+	@Override
+	public String toString() {
+		return "_aux" + id;
+	}
+
+}
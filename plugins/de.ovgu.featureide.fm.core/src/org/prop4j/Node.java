@@ -138,6 +138,96 @@ public abstract class Node {
 		return cnf;
 	}
 
+	/**
+	 * Transforms the given node into an equisatisfiable conjunction of clauses. Sub-formulas whose distribution would result in more than
+	 * <code>maxClauses</code> clauses are abbreviated by {@link AuxiliaryVariable auxiliary variables} (Plaisted-Greenbaum transformation). All other
+	 * sub-formulas are distributed as in {@link #buildCNF(Node)}.
+	 *
+	 * @param node the node to transform
+	 * @param maxClauses the maximum number of clauses a sub-formula may be distributed into
+	 * @return the transformed node in regular CNF (i.e., each clause is an {@link Or})
+	 */
+	public static And buildTseitinCNF(Node node, int maxClauses) {
+		Node nnf = node.eliminateNonCNFOperators();
+		nnf = deMorgan(nnf);
+		final List<Node> clauses = new ArrayList<>();
+		buildTseitinCNF_rec(nnf, null, maxClauses, clauses);
+		return new And(clauses.toArray(new Node[clauses.size()]));
+	}
+
+	/**
+	 * Adds clauses for the implication <code>guard => node</code> to the given list.
+	 */
+	private static void buildTseitinCNF_rec(Node node, Literal guard, int maxClauses, List<Node> clauses) {
+		if (countCNFClauses(node, maxClauses) <= maxClauses) {
+			final Node cnf = buildCNF_rec(node);
+			if (cnf instanceof And) {
+				for (final Node clause : cnf.getChildren()) {
+					addGuardedClause(clause, guard, clauses);
+				}
+			} else {
+				addGuardedClause(cnf, guard, clauses);
+			}
+		} else if (node instanceof And) {
+			for (final Node child : node.getChildren()) {
+				buildTseitinCNF_rec(child, guard, maxClauses, clauses);
+			}
+		} else {
+			final List<Node> literals = new ArrayList<>();
+			if (guard != null) {
+				literals.add(new Literal(guard.var, !guard.positive));
+			}
+			collectTseitinLiterals(node, maxClauses, literals, clauses);
+			clauses.add(new Or(literals.toArray(new Node[literals.size()])));
+		}
+	}
+
+	private static void collectTseitinLiterals(Node orNode, int maxClauses, List<Node> literals, List<Node> clauses) {
+		for (final Node child : orNode.getChildren()) {
+			if (child instanceof Literal) {
+				literals.add(child);
+			} else if (child instanceof Or) {
+				collectTseitinLiterals(child, maxClauses, literals, clauses);
+			} else {
+				final Literal auxiliaryLiteral = new Literal(new AuxiliaryVariable());
+				literals.add(auxiliaryLiteral);
+				buildTseitinCNF_rec(child, auxiliaryLiteral, maxClauses, clauses);
+			}
+		}
+	}
+
+	private static void addGuardedClause(Node clause, Literal guard, List<Node> clauses) {
+		if (guard == null) {
+			clauses.add((clause instanceof Or) ? clause : new Or(clause));
+		} else {
+			final Node[] literals = (clause instanceof Or) ? clause.getChildren() : new Node[] { clause };
+			final Node[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+			guardedLiterals[literals.length] = new Literal(guard.var, !guard.positive);
+			clauses.add(new Or(guardedLiterals));
+		}
+	}
+
+	/**
+	 * Computes the number of clauses that {@link #buildCNF_rec(Node)} would create for the given node in negation normal form.
+	 *
+	 * @return the number of clauses or <code>limit + 1</code>, if it exceeds the given limit
+	 */
+	private static long countCNFClauses(Node node, int limit) {
+		if (node instanceof Literal) {
+			return 1;
+		}
+		final boolean or = node instanceof Or;
+		long count = or ? 1 : 0;
+		for (final Node child : node.getChildren()) {
+			final long childCount = countCNFClauses(child, limit);
+			count = or ? count * childCount : count + childCount;
+			if (count > limit) {
+				return limit + 1;
+			}
+		}
+		return count;
+	}
+
 	protected final Node eliminateNonCNFOperators() {
 		if (children != null) {
 			final Node[] newChildren = new Node[children.length];
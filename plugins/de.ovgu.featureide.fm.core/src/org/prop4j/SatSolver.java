@@ -72,6 +72,8 @@ public class SatSolver {
 
 	protected boolean contradiction = false;
 
+	protected boolean timeoutOccurred = false;
+
 	protected HashMap<Object, Integer> varToInt;
 
 	protected HashMap<Integer, Object> intToVar;
@@ -117,6 +119,15 @@ public class SatSolver {
 		solver.setTimeoutMs(timeout);
 	}
 
+	/**
+	 * Returns whether the timeout was reached in one of the previous queries, whose results are then incomplete (e.g., the result of {@link #atomicSets()}).
+	 *
+	 * @return {@code true} if a timeout occurred
+	 */
+	public boolean isTimeoutOccurred() {
+		return timeoutOccurred;
+	}
+
 	/**
 	 * Adds clauses to the SatSolver. Assumes that the given node is in CNF.
 	 *
@@ -182,6 +193,7 @@ public class SatSolver {
 		try {
 			contradiction = contradiction || !solver.isSatisfiable();
 		} catch (final TimeoutException e) {
+			timeoutOccurred = true;
 			Logger.logError(e);
 			return false;
 		}
@@ -211,6 +223,7 @@ public class SatSolver {
 							backbone.pop().push(x);
 						}
 					} catch (final TimeoutException e) {
+						timeoutOccurred = true;
 						Logger.logError(e);
 						backbone.pop();
 					}
@@ -259,6 +272,7 @@ public class SatSolver {
 			try {
 				return !solver.isSatisfiable(backbone);
 			} catch (final TimeoutException e) {
+				timeoutOccurred = true;
 				Logger.logError(e);
 			}
 		}
@@ -418,6 +432,7 @@ public class SatSolver {
 		try {
 			return (solver.isSatisfiable(backbone, false));
 		} catch (final TimeoutException e) {
+			timeoutOccurred = true;
 			Logger.logError(e);
 			return false;
 		} finally {
@@ -58,6 +58,19 @@ public class CoreDeadAnalysis extends AbstractAnalysis<int[]> {
 
 	@Override
 	public int[] analyze(IMonitor monitor) throws Exception {
+		final int[] model1 = findCandidates();
+		if (model1 != null) {
+			testCandidates(model1, monitor);
+		}
+		return solver.getAssignmentArray(0, solver.getAssignment().size());
+	}
+
+	/**
+	 * Computes the variables that may be core or dead by merging two models that select as many and as few features as possible.
+	 *
+	 * @return a model containing the remaining candidates (all other entries are 0) or {@code null}, if the formula is not satisfiable
+	 */
+	protected int[] findCandidates() {
 		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
 		int[] model1 = solver.findModel();
 
@@ -77,31 +90,45 @@ public class CoreDeadAnalysis extends AbstractAnalysis<int[]> {
 			}
 
 			SatInstance.updateModel(model1, model2);
-			((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), solver.getOrder()));
-
-			for (int i = 0; i < model1.length; i++) {
-				final int varX = model1[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					switch (solver.isSatisfiable()) {
-					case FALSE:
-						solver.assignmentReplaceLast(varX);
-						monitor.invoke(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						SatInstance.updateModel(model1, solver.getModel());
-						solver.shuffleOrder();
-						break;
-					}
-				}
+
+			// auxiliary variables are no candidates
+			final int numberOfFeatureVariables = solver.getSatInstance().getNumberOfFeatureVariables();
+			for (int i = numberOfFeatureVariables; i < model1.length; i++) {
+				model1[i] = 0;
 			}
 		}
+		return model1;
+	}
 
-		return solver.getAssignmentArray(0, solver.getAssignment().size());
+	/**
+	 * Tests each remaining candidate. Core and dead variables are added to the assignment of the solver.
+	 *
+	 * @param model1 the candidates as computed by {@link #findCandidates()}
+	 * @param monitor the monitor that is invoked for each core or dead variable
+	 */
+	protected void testCandidates(int[] model1, IMonitor monitor) {
+		((Solver<?>) solver.getInternalSolver()).setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), solver.getOrder()));
+
+		for (int i = 0; i < model1.length; i++) {
+			final int varX = model1[i];
+			if (varX != 0) {
+				solver.assignmentPush(-varX);
+				switch (solver.isSatisfiable()) {
+				case FALSE:
+					solver.assignmentReplaceLast(varX);
+					monitor.invoke(varX);
+					break;
+				case TIMEOUT:
+					solver.assignmentPop();
+					break;
+				case TRUE:
+					solver.assignmentPop();
+					SatInstance.updateModel(model1, solver.getModel());
+					solver.shuffleOrder();
+					break;
+				}
+			}
+		}
 	}
 
 	public int[] getFeatures() {
@@ -33,6 +33,7 @@ import org.prop4j.solver.SatInstance;
 import de.ovgu.featureide.fm.core.conf.AFeatureGraph;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
 import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
@@ -42,6 +43,22 @@ import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
  */
 public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 
+	/**
+	 * Largest number of features for which a {@link MatrixFeatureGraph} can be allocated.
+	 */
+	private static final int MAX_MATRIX_SIZE = (int) Math.sqrt(Integer.MAX_VALUE);
+
+	/**
+	 * Number of features from which on a {@link SparseFeatureGraph} is considered.
+	 */
+	private static final int SPARSE_MIN_SIZE = 2000;
+
+	/**
+	 * Maximal ratio of the edges induced by the clauses to all possible edges for which a {@link SparseFeatureGraph} is used.<br> As the transitive edges
+	 * are added later on, this ratio is chosen considerably lower than the break-even point of both representations.
+	 */
+	private static final double SPARSE_MAX_DENSITY = 0.01;
+
 	private byte[] core = new byte[0];
 
 	private final Deque<Integer> parentStack = new LinkedList<>();
@@ -125,7 +142,7 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 			}
 
 			final SatInstance satInstance = solver.getSatInstance();
-			featureGraph = new MatrixFeatureGraph(satInstance, index);
+			featureGraph = createFeatureGraph(satInstance, index.length - count);
 
 			final Node cnf = satInstance.getCnf();
 			outer: for (final Node clause : cnf.getChildren()) {
@@ -226,6 +243,23 @@ public class FGBuilder extends AbstractAnalysis<IFeatureGraph> {
 		return null;
 	}
 
+	private IFeatureGraph createFeatureGraph(SatInstance satInstance, int size) {
+		if (size > MAX_MATRIX_SIZE) {
+			return new SparseFeatureGraph(satInstance, index);
+		}
+		if (size >= SPARSE_MIN_SIZE) {
+			long clauseEdges = 0;
+			for (final Node clause : satInstance.getCnf().getChildren()) {
+				final long length = clause.getChildren().length;
+				clauseEdges += length * (length - 1);
+			}
+			if (clauseEdges <= (SPARSE_MAX_DENSITY * size * size)) {
+				return new SparseFeatureGraph(satInstance, index);
+			}
+		}
+		return new MatrixFeatureGraph(satInstance, index);
+	}
+
 	private void addRelation(final int x, final int y) {
 		final int indexX = index[Math.abs(x) - 1];
 		final int indexY = index[Math.abs(y) - 1];
@@ -21,6 +21,7 @@
 package org.prop4j.analyses;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -47,6 +48,7 @@ import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
 import de.ovgu.featureide.fm.core.filter.HiddenFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.io.AnalysisCache;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -86,17 +88,28 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	 */
 	public boolean calculateTautologyConstraints = true;
 
-	private final HashMap<Object, Object> changedAttributes = new HashMap<>();
+	protected final HashMap<Object, Object> changedAttributes = new HashMap<>();
 
-	private boolean valid;
-	private final List<IFeature> coreFeatures;
-	private final List<IFeature> deadFeatures;
-	private final List<IFeature> falseOptionalFeatures;
+	protected boolean valid;
+	protected final List<IFeature> coreFeatures;
+	protected final List<IFeature> deadFeatures;
+	protected final List<IFeature> falseOptionalFeatures;
+	protected final List<IFeature> indeterminedHiddenFeatures;
 
-	private final IFeatureModel fm;
-	private final AdvancedNodeCreator nodeCreator;
+	protected final IFeatureModel fm;
+	protected final AdvancedNodeCreator nodeCreator;
 
-	private IMonitor monitor = new NullMonitor();
+	protected IMonitor monitor = new NullMonitor();
+
+	/**
+	 * Stores the results of this analysis for the formula of the feature model. May be {@code null}.
+	 */
+	protected AnalysisCache cache = AnalysisCache.INSTANCE;
+
+	/**
+	 * The formula of the complete feature model, which identifies the results in the {@link #cache}.
+	 */
+	private SatInstance satInstance = null;
 
 	public FeatureModelAnalysis(IFeatureModel fm) {
 		this.fm = fm;
@@ -104,9 +117,10 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		deadFeatures = new ArrayList<>();
 		coreFeatures = new ArrayList<>();
 		falseOptionalFeatures = new ArrayList<>();
+		indeterminedHiddenFeatures = new ArrayList<>();
 
 		nodeCreator = new AdvancedNodeCreator(fm);
-		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setCnfType(CNFType.Tseitin);
 		nodeCreator.setIncludeBooleanValues(false);
 		nodeCreator.setUseOldNames(false);
 	}
@@ -143,6 +157,10 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		return falseOptionalFeatures;
 	}
 
+	public List<IFeature> getIndeterminedHiddenFeatures() {
+		return indeterminedHiddenFeatures;
+	}
+
 	public void setCalculateConstraints(boolean calculateConstraints) {
 		this.calculateConstraints = calculateConstraints;
 	}
@@ -163,6 +181,14 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		this.calculateFOConstraints = calculateFOConstraints;
 	}
 
+	public AnalysisCache getCache() {
+		return cache;
+	}
+
+	public void setCache(AnalysisCache cache) {
+		this.cache = cache;
+	}
+
 	public void setCalculateDeadConstraints(boolean calculateDeadConstraints) {
 		this.calculateDeadConstraints = calculateDeadConstraints;
 	}
@@ -187,6 +213,7 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		deadFeatures.clear();
 		coreFeatures.clear();
 		falseOptionalFeatures.clear();
+		indeterminedHiddenFeatures.clear();
 
 		// put root always in so it will be refreshed (void/non-void)
 		changedAttributes.put(fm.getStructure().getRoot().getFeature(), FeatureStatus.NORMAL);
@@ -215,7 +242,13 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		monitor.step();
 
 		nodeCreator.setModelType(ModelType.All);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = nodeCreator.createSatInstance();
+		satInstance = si;
+
+		final List<List<String>> inputs = Arrays.asList(getFalseOptionalInputs(features), getHiddenInputs(features));
+		if (readCachedFeatureResults(inputs)) {
+			return;
+		}
 
 		checkValidity(si);
 		monitor.step();
@@ -230,6 +263,99 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 			checkFeatureHidden(features);
 			monitor.step();
 		}
+
+		if (cache != null) {
+			final List<List<String>> results = new ArrayList<>(inputs);
+			results.add(Arrays.asList(Boolean.toString(valid)));
+			results.add(Functional.mapToList(coreFeatures, FeatureUtils.GET_FEATURE_NAME));
+			results.add(Functional.mapToList(deadFeatures, FeatureUtils.GET_FEATURE_NAME));
+			results.add(Functional.mapToList(falseOptionalFeatures, FeatureUtils.GET_FEATURE_NAME));
+			results.add(Functional.mapToList(indeterminedHiddenFeatures, FeatureUtils.GET_FEATURE_NAME));
+			cache.write(si, AnalysisCache.SECTION_FEATURES, results);
+		}
+	}
+
+	/**
+	 * Applies the results of the feature analysis from the {@link #cache}, if the cache contains results for the same formula and inputs.
+	 *
+	 * @return {@code true} if the cached results were applied
+	 */
+	private boolean readCachedFeatureResults(List<List<String>> inputs) {
+		if (cache == null) {
+			return false;
+		}
+		final List<List<String>> results = cache.read(satInstance, AnalysisCache.SECTION_FEATURES);
+		if ((results == null) || (results.size() != 7) || !results.subList(0, 2).equals(inputs)) {
+			return false;
+		}
+		final List<IFeature> core = getFeatures(results.get(3));
+		final List<IFeature> dead = getFeatures(results.get(4));
+		final List<IFeature> falseOptional = getFeatures(results.get(5));
+		final List<IFeature> hidden = getFeatures(results.get(6));
+		if ((core == null) || (dead == null) || (falseOptional == null) || (hidden == null)) {
+			return false;
+		}
+
+		valid = Boolean.parseBoolean(results.get(2).get(0));
+		coreFeatures.addAll(core);
+		for (final IFeature feature : falseOptional) {
+			setFeatureAttribute(feature, FeatureStatus.FALSE_OPTIONAL);
+			falseOptionalFeatures.add(feature);
+		}
+		for (final IFeature feature : dead) {
+			setFeatureAttribute(feature, FeatureStatus.DEAD);
+			deadFeatures.add(feature);
+		}
+		for (final IFeature feature : hidden) {
+			setFeatureAttribute(feature, FeatureStatus.INDETERMINATE_HIDDEN);
+			indeterminedHiddenFeatures.add(feature);
+		}
+		return true;
+	}
+
+	/**
+	 * @return the features with the given names or {@code null} if a feature does not exist
+	 */
+	private List<IFeature> getFeatures(List<String> names) {
+		final List<IFeature> features = new ArrayList<>(names.size());
+		for (final String name : names) {
+			final IFeature feature = fm.getFeature(name);
+			if (feature == null) {
+				return null;
+			}
+			features.add(feature);
+		}
+		return features;
+	}
+
+	private List<IFeature> getFalseOptionalCandidates(final Iterable<IFeature> features) {
+		final List<IFeature> candidates = new ArrayList<>();
+		for (final IFeature feature : features) {
+			final IFeature parent = FeatureUtils.getParent(feature);
+			if ((parent != null) && (!feature.getStructure().isMandatorySet() || !parent.getStructure().isAnd())) {
+				candidates.add(feature);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return the names of all candidates for false-optional features and their parents, as these are not part of the formula
+	 */
+	private List<String> getFalseOptionalInputs(final Iterable<IFeature> features) {
+		final List<String> inputs = new ArrayList<>();
+		for (final IFeature feature : getFalseOptionalCandidates(features)) {
+			inputs.add(FeatureUtils.getParent(feature).getName());
+			inputs.add(feature.getName());
+		}
+		return inputs;
+	}
+
+	private List<String> getHiddenInputs(final Iterable<IFeature> features) {
+		if (!fm.getStructure().hasHidden()) {
+			return Collections.emptyList();
+		}
+		return Functional.mapToList(features, new HiddenFeatureFilter(), FeatureUtils.GET_FEATURE_NAME);
 	}
 
 	public void updateConstraints() {
@@ -242,7 +368,14 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		}
 
 		if (!calculateFeatures) {
-			checkValidity(new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm)));
+			nodeCreator.setModelType(ModelType.All);
+			satInstance = nodeCreator.createSatInstance();
+			checkValidity(satInstance);
+		}
+
+		final List<List<String>> inputs = getConstraintInputs(constraints);
+		if (readCachedConstraintResults(constraints, inputs)) {
+			return;
 		}
 
 		try {
@@ -258,7 +391,82 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 			}
 		} catch (final ContradictionException e) {
 			Logger.logError(e);
+			return;
+		}
+
+		if (cache != null) {
+			final List<List<String>> results = new ArrayList<>(inputs);
+			final List<String> attributes = new ArrayList<>(constraints.size());
+			for (final IConstraint constraint : constraints) {
+				attributes.add(constraint.getConstraintAttribute().name());
+			}
+			results.add(attributes);
+			for (final IConstraint constraint : constraints) {
+				results.add(Functional.mapToList(constraint.getDeadFeatures(), FeatureUtils.GET_FEATURE_NAME));
+				results.add(Functional.mapToList(constraint.getFalseOptional(), FeatureUtils.GET_FEATURE_NAME));
+			}
+			cache.write(satInstance, AnalysisCache.SECTION_CONSTRAINTS, results);
+		}
+	}
+
+	/**
+	 * @return the settings of this analysis, the constraints, and the candidates for false-optional features, as these are not part of the formula
+	 */
+	private List<List<String>> getConstraintInputs(final List<IConstraint> constraints) {
+		final List<String> settings = Arrays.asList(Boolean.toString(valid), Boolean.toString(calculateFeatures),
+				Boolean.toString(calculateRedundantConstraints), Boolean.toString(calculateTautologyConstraints), Boolean.toString(calculateFOConstraints),
+				Boolean.toString(calculateDeadConstraints));
+		final List<String> constraintNodes = new ArrayList<>(constraints.size());
+		for (final IConstraint constraint : constraints) {
+			constraintNodes.add(constraint.getNode().toString());
 		}
+		return Arrays.asList(settings, constraintNodes, getFalseOptionalInputs(fm.getFeatures()));
+	}
+
+	/**
+	 * Applies the results of the constraint analysis from the {@link #cache}, if the cache contains results for the same formula and inputs.
+	 *
+	 * @return {@code true} if the cached results were applied
+	 */
+	private boolean readCachedConstraintResults(final List<IConstraint> constraints, List<List<String>> inputs) {
+		if (cache == null) {
+			return false;
+		}
+		final List<List<String>> results = cache.read(satInstance, AnalysisCache.SECTION_CONSTRAINTS);
+		if ((results == null) || (results.size() != (4 + (2 * constraints.size()))) || !results.subList(0, 3).equals(inputs)) {
+			return false;
+		}
+		final List<ConstraintAttribute> attributes = new ArrayList<>(constraints.size());
+		final List<List<IFeature>> constraintFeatures = new ArrayList<>(2 * constraints.size());
+		try {
+			for (final String attribute : results.get(3)) {
+				attributes.add(ConstraintAttribute.valueOf(attribute));
+			}
+		} catch (final IllegalArgumentException e) {
+			return false;
+		}
+		for (final List<String> names : results.subList(4, results.size())) {
+			final List<IFeature> features = getFeatures(names);
+			if (features == null) {
+				return false;
+			}
+			constraintFeatures.add(features);
+		}
+		if (attributes.size() != constraints.size()) {
+			return false;
+		}
+
+		int i = 0;
+		for (final IConstraint constraint : constraints) {
+			final ConstraintAttribute attribute = attributes.get(i);
+			if (attribute != ConstraintAttribute.NORMAL) {
+				setConstraintAttribute(constraint, attribute);
+			}
+			constraint.setDeadFeatures(constraintFeatures.get(2 * i));
+			constraint.setFalseOptionalFeatures(constraintFeatures.get((2 * i) + 1));
+			i++;
+		}
+		return true;
 	}
 
 	private boolean checkConstraintContradiction(Node constraintNode) {
@@ -270,7 +478,7 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 			return;
 		}
 		nodeCreator.setModelType(ModelType.OnlyStructure);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = nodeCreator.createSatInstance();
 		final BasicSolver modSat = new BasicSolver(si);
 
 		final List<IFeature> deadList = new LinkedList<>(deadFeatures);
@@ -315,7 +523,7 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	private void checkConstraintRedundant(final List<IConstraint> constraints) throws ContradictionException {
 		if (calculateRedundantConstraints) {
 			nodeCreator.setModelType(ModelType.OnlyStructure);
-			final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+			final SatInstance si = nodeCreator.createSatInstance();
 			final ModifiableSolver redundantSat = new ModifiableSolver(si);
 
 			final List<List<IConstr>> constraintMarkers = new ArrayList<>();
@@ -373,13 +581,13 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		}
 	}
 
-	private boolean checkConstraintTautology(Node constraintNode) {
+	protected boolean checkConstraintTautology(Node constraintNode) {
 		return checkConstraintContradiction(new Not(constraintNode).toRegularCNF());
 	}
 
 	private void checkConstraintUnsatisfiable(final List<IConstraint> constraints) throws ContradictionException {
 		nodeCreator.setModelType(ModelType.OnlyStructure);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance si = nodeCreator.createSatInstance();
 		final ModifiableSolver unsat = new ModifiableSolver(si);
 		monitor.checkCancel();
 
@@ -419,7 +627,7 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	private void checkFeatureDead(final SatInstance si) {
 		deadFeatures.clear();
 		coreFeatures.clear();
-		final int[] solution2 = LongRunningWrapper.runMethod(new CoreDeadAnalysis(si), monitor.subTask(0));
+		final int[] solution2 = LongRunningWrapper.runMethod(new ParallelCoreDeadAnalysis(si), monitor.subTask(0));
 		monitor.checkCancel();
 		for (int i = 0; i < solution2.length; i++) {
 			monitor.checkCancel();
@@ -456,11 +664,9 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 
 	private void checkFeatureFalseOptional(final Iterable<IFeature> features, final SatInstance si) {
 		final List<int[]> possibleFOFeatures = new ArrayList<>();
-		for (final IFeature feature : features) {
+		for (final IFeature feature : getFalseOptionalCandidates(features)) {
 			final IFeature parent = FeatureUtils.getParent(feature);
-			if ((parent != null) && (!feature.getStructure().isMandatorySet() || !parent.getStructure().isAnd())) {
-				possibleFOFeatures.add(new int[] { -si.getVariable(parent.getName()), si.getVariable(feature.getName()) });
-			}
+			possibleFOFeatures.add(new int[] { -si.getVariable(parent.getName()), si.getVariable(feature.getName()) });
 		}
 		final List<int[]> solution3 = LongRunningWrapper.runMethod(new ImplicationAnalysis(si, possibleFOFeatures), monitor.subTask(0));
 		monitor.checkCancel();
@@ -498,13 +704,21 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 	 *
 	 * @param changedAttributes
 	 */
-	private void checkFeatureHidden(final Iterable<IFeature> features) {
+	protected void checkFeatureHidden(final Iterable<IFeature> features) {
+		indeterminedHiddenFeatures.clear();
 		if (!fm.getStructure().hasHidden()) {
 			return;
 		}
 
+		// the slicing in IndeterminedAnalysis can only remove feature variables, so auxiliary variables must not be introduced
 		nodeCreator.setModelType(ModelType.All);
-		final SatInstance si = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		nodeCreator.setCnfType(CNFType.Regular);
+		final SatInstance si;
+		try {
+			si = nodeCreator.createSatInstance();
+		} finally {
+			nodeCreator.setCnfType(CNFType.Tseitin);
+		}
 
 		final Iterable<IFeature> hiddenFeatures = Functional.filter(features, new HiddenFeatureFilter());
 		final List<String> hiddenLiterals = Functional.toList(Functional.map(hiddenFeatures, new Functional.IFunction<IFeature, String>() {
@@ -517,7 +731,9 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 
 		final int[] determinedHidden = LongRunningWrapper.runMethod(new IndeterminedAnalysis(si, hiddenLiterals));
 		for (final int feature : determinedHidden) {
-			setFeatureAttribute(fm.getFeature(si.getVariableObject(feature).toString()), FeatureStatus.INDETERMINATE_HIDDEN);
+			final IFeature hiddenFeature = fm.getFeature(si.getVariableObject(feature).toString());
+			setFeatureAttribute(hiddenFeature, FeatureStatus.INDETERMINATE_HIDDEN);
+			indeterminedHiddenFeatures.add(hiddenFeature);
 		}
 	}
 
@@ -525,12 +741,12 @@ public class FeatureModelAnalysis implements LongRunningMethod<HashMap<Object, O
 		valid = LongRunningWrapper.runMethod(new ValidAnalysis(si)) != null;
 	}
 
-	private void setFeatureAttribute(IFeature feature, FeatureStatus featureAttribute) {
+	protected void setFeatureAttribute(IFeature feature, FeatureStatus featureAttribute) {
 		changedAttributes.put(feature, featureAttribute);
 		feature.getProperty().setFeatureStatus(featureAttribute, false);
 	}
 
-	private void setConstraintAttribute(IConstraint constraint, ConstraintAttribute constraintAttribute) {
+	protected void setConstraintAttribute(IConstraint constraint, ConstraintAttribute constraintAttribute) {
 		changedAttributes.put(constraint, constraintAttribute);
 		constraint.setConstraintAttribute(constraintAttribute, false);
 	}
@@ -0,0 +1,634 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.ConstraintAttribute;
+import de.ovgu.featureide.fm.core.FeatureStatus;
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.IEventListener;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * A {@link FeatureModelAnalysis} that can be executed repeatedly for the same feature model and only recomputes the results that are affected by the changes
+ * since its last execution.<br> <br> The analysis keeps one solver for the feature tree, in which the clauses of each constraint are guarded by a selector
+ * variable. Adding, removing, or modifying a constraint only changes the clauses of this constraint in the solver. Analyses that consider a subset of the
+ * constraints assume the respective selector variables instead of building new solvers. Feature analyses (false-optional, core, dead, and indeterminate
+ * hidden features) are only recomputed if the changed constraints alter the formula of the feature model. Changes to the feature tree, which are reported
+ * via {@link FeatureIDEEvent}s, lead to a complete analysis.
+ */
+public class IncrementalFeatureModelAnalysis extends FeatureModelAnalysis implements IEventListener {
+
+	/**
+	 * Prefix for the names of the selector variables. Cannot occur in a feature name.
+	 */
+	private static final String SELECTOR_PREFIX = "\u0000selector";
+
+	/**
+	 * Number of selector variables that are reserved for constraints that are added after the solver was created.
+	 */
+	private static final int ADDITIONAL_SELECTORS = 32;
+
+	private static final class ConstraintEntry {
+
+		private final Node node;
+		private final Node cnf;
+		private final int[][] clauses;
+		private final int selector;
+
+		private boolean redundant = false;
+		private Boolean tautology = null;
+
+		public ConstraintEntry(Node node, Node cnf, int[][] clauses, int selector) {
+			this.node = node;
+			this.cnf = cnf;
+			this.clauses = clauses;
+			this.selector = selector;
+		}
+
+	}
+
+	private Map<IConstraint, ConstraintEntry> entries = new IdentityHashMap<>();
+	private List<IConstraint> analyzedConstraints = Collections.emptyList();
+	private List<String> featureNames = Collections.emptyList();
+	private Set<String> featureNameSet = Collections.emptySet();
+
+	private BasicSolver solver = null;
+	private int numberOfFeatures = 0;
+	private int nextSelector = 0;
+	private byte[] structureAssignment = new byte[0];
+	private int lastSettings = -1;
+
+	private volatile boolean structureChanged = true;
+	private volatile boolean hiddenChanged = false;
+
+	public IncrementalFeatureModelAnalysis(IFeatureModel fm) {
+		super(fm);
+	}
+
+	@Override
+	public void propertyChange(FeatureIDEEvent event) {
+		switch (event.getEventType()) {
+		case ALL_FEATURES_CHANGED_NAME_TYPE:
+		case CHILDREN_CHANGED:
+		case FEATURE_ADD:
+		case FEATURE_ADD_ABOVE:
+		case FEATURE_DELETE:
+		case FEATURE_MODIFY:
+		case FEATURE_NAME_CHANGED:
+		case GROUP_TYPE_CHANGED:
+		case MANDATORY_CHANGED:
+		case MODEL_DATA_CHANGED:
+		case MODEL_DATA_LOADED:
+		case MODEL_DATA_OVERRIDDEN:
+		case PARENT_CHANGED:
+		case STRUCTURE_CHANGED:
+			structureChanged = true;
+			break;
+		case HIDDEN_CHANGED:
+			hiddenChanged = true;
+			break;
+		default:
+			// Changes of constraints are determined when the analysis is executed.
+			break;
+		}
+	}
+
+	@Override
+	public HashMap<Object, Object> execute(IMonitor monitor) throws Exception {
+		if ((solver == null) || structureChanged || (lastSettings != getSettings()) || !featureNames.equals(FeatureUtils.getFeatureNamesPreorder(fm))) {
+			return analyzeCompletely(monitor);
+		}
+		this.monitor = monitor;
+		monitor.setRemainingWork(3);
+		final boolean hiddenChanged = this.hiddenChanged;
+		this.hiddenChanged = false;
+
+		final List<IConstraint> constraints = new ArrayList<>(fm.getConstraints());
+		final Map<IConstraint, ConstraintEntry> newEntries = new IdentityHashMap<>();
+		final List<ConstraintEntry> addedEntries = new ArrayList<>();
+		boolean formulaChanged = false;
+		for (final IConstraint constraint : constraints) {
+			final ConstraintEntry oldEntry = entries.remove(constraint);
+			if ((oldEntry != null) && oldEntry.node.equals(constraint.getNode())) {
+				newEntries.put(constraint, oldEntry);
+			} else {
+				if (oldEntry != null) {
+					formulaChanged |= !oldEntry.redundant;
+					removeConstraint(oldEntry);
+				}
+				final ConstraintEntry newEntry = addConstraint(constraint);
+				if (newEntry == null) {
+					return analyzeCompletely(monitor);
+				}
+				newEntries.put(constraint, newEntry);
+				addedEntries.add(newEntry);
+			}
+		}
+		for (final ConstraintEntry oldEntry : entries.values()) {
+			formulaChanged |= !oldEntry.redundant;
+			removeConstraint(oldEntry);
+		}
+		final boolean constraintsChanged = !constraints.equals(analyzedConstraints) || !addedEntries.isEmpty();
+		entries = newEntries;
+		analyzedConstraints = constraints;
+
+		if (!formulaChanged && !addedEntries.isEmpty()) {
+			formulaChanged = !isImplied(addedEntries);
+		}
+		monitor.step();
+
+		if (formulaChanged) {
+			valid = LongRunningWrapper.runMethod(createAnalysis(new ValidAnalysis(solver), constraints.size())) != null;
+			if (!valid) {
+				return analyzeCompletely(monitor);
+			}
+			updateFeatureResults();
+		}
+		if (formulaChanged || hiddenChanged || constraintsChanged) {
+			applyFeatureResults(formulaChanged || hiddenChanged);
+		}
+		monitor.step();
+
+		if (constraintsChanged || formulaChanged) {
+			updateConstraintResults();
+		}
+		monitor.step();
+
+		return collectAttributes();
+	}
+
+	private int getSettings() {
+		int settings = 0;
+		settings |= calculateConstraints ? 1 << 0 : 0;
+		settings |= calculateFeatures ? 1 << 1 : 0;
+		settings |= calculateRedundantConstraints ? 1 << 2 : 0;
+		settings |= calculateFOConstraints ? 1 << 3 : 0;
+		settings |= calculateDeadConstraints ? 1 << 4 : 0;
+		settings |= calculateTautologyConstraints ? 1 << 5 : 0;
+		return settings;
+	}
+
+	private HashMap<Object, Object> analyzeCompletely(IMonitor monitor) throws Exception {
+		solver = null;
+		entries = new IdentityHashMap<>();
+		analyzedConstraints = new ArrayList<>(fm.getConstraints());
+		featureNames = FeatureUtils.getFeatureNamesPreorder(fm);
+		featureNameSet = new HashSet<>(featureNames);
+		lastSettings = getSettings();
+		structureChanged = false;
+		hiddenChanged = false;
+
+		final HashMap<Object, Object> result = super.execute(monitor);
+		if (valid && calculateFeatures && calculateConstraints) {
+			initSolver();
+		}
+		return result;
+	}
+
+	private void initSolver() {
+		numberOfFeatures = featureNames.size();
+		final int numberOfSelectors = analyzedConstraints.size() + ADDITIONAL_SELECTORS;
+		final List<String> variables = new ArrayList<>(numberOfFeatures + numberOfSelectors);
+		variables.addAll(featureNames);
+		for (int i = 0; i < numberOfSelectors; i++) {
+			variables.add(SELECTOR_PREFIX + i);
+		}
+
+		nodeCreator.setModelType(ModelType.OnlyStructure);
+		try {
+			solver = new BasicSolver(new SatInstance(nodeCreator.createNodes(), variables));
+		} catch (final ContradictionException e) {
+			solver = null;
+			return;
+		}
+		nextSelector = numberOfFeatures + 1;
+
+		final SatInstance satInstance = solver.getSatInstance();
+		structureAssignment = new byte[satInstance.getNumberOfVariables() + 1];
+		for (final Node clause : satInstance.getCnf().getChildren()) {
+			isSatisfiedAtRoot(satInstance.convertToInt(clause.getChildren()), structureAssignment);
+		}
+
+		for (final IConstraint constraint : analyzedConstraints) {
+			final ConstraintEntry entry = addConstraint(constraint);
+			if (entry == null) {
+				solver = null;
+				return;
+			}
+			final ConstraintAttribute attribute = constraint.getConstraintAttribute();
+			entry.redundant = (attribute == ConstraintAttribute.REDUNDANT) || (attribute == ConstraintAttribute.TAUTOLOGY);
+			if (attribute == ConstraintAttribute.TAUTOLOGY) {
+				entry.tautology = Boolean.TRUE;
+			}
+			entries.put(constraint, entry);
+		}
+	}
+
+	/**
+	 * Adds the clauses of a constraint to the solver. Each clause is extended by the negated selector variable of the constraint.
+	 *
+	 * @return the entry for the constraint or {@code null}, if the constraint cannot be added to the current solver
+	 */
+	private ConstraintEntry addConstraint(IConstraint constraint) {
+		final SatInstance satInstance = solver.getSatInstance();
+		if (nextSelector > satInstance.getNumberOfVariables()) {
+			return null;
+		}
+		final Node cnf = constraint.getNode().toRegularCNF();
+		final Node[] cnfChildren = cnf.getChildren();
+		final int[][] clauses = new int[cnfChildren.length][];
+		for (int i = 0; i < cnfChildren.length; i++) {
+			final Node[] literals = cnfChildren[i].getChildren();
+			final int[] clause = new int[literals.length];
+			for (int j = 0; j < literals.length; j++) {
+				final Literal literal = (Literal) literals[j];
+				if (!featureNameSet.contains(literal.var)) {
+					return null;
+				}
+				clause[j] = satInstance.getSignedVariable(literal);
+			}
+			clauses[i] = clause;
+		}
+
+		final int selector = nextSelector++;
+		try {
+			for (final int[] clause : clauses) {
+				final int[] guardedClause = Arrays.copyOf(clause, clause.length + 1);
+				guardedClause[clause.length] = -selector;
+				solver.getInternalSolver().addClause(new VecInt(guardedClause));
+			}
+		} catch (final ContradictionException e) {
+			return null;
+		}
+		return new ConstraintEntry(constraint.getNode().clone(), cnf, clauses, selector);
+	}
+
+	/**
+	 * Permanently disables the clauses of a constraint by adding the negated selector variable as unit clause.
+	 */
+	private void removeConstraint(ConstraintEntry entry) {
+		try {
+			solver.getInternalSolver().addClause(new VecInt(new int[] { -entry.selector }));
+		} catch (final ContradictionException e) {
+			// Cannot happen, as selector variables are never assigned to true.
+			Logger.logError(e);
+		}
+	}
+
+	private int[] getSelectors(int numberOfConstraints) {
+		final int[] selectors = new int[numberOfConstraints];
+		for (int i = 0; i < numberOfConstraints; i++) {
+			selectors[i] = entries.get(analyzedConstraints.get(i)).selector;
+		}
+		return selectors;
+	}
+
+	private <T extends AbstractAnalysis<?>> T createAnalysis(T analysis, int numberOfConstraints) {
+		analysis.setAssumptions(getSelectors(numberOfConstraints));
+		return analysis;
+	}
+
+	/**
+	 * Checks whether the given constraints are implied by the feature tree and all other constraints.
+	 */
+	private boolean isImplied(List<ConstraintEntry> addedEntries) {
+		final VecInt assumptions = new VecInt();
+		for (final ConstraintEntry entry : entries.values()) {
+			if (!addedEntries.contains(entry)) {
+				assumptions.push(entry.selector);
+			}
+		}
+		for (final ConstraintEntry entry : addedEntries) {
+			for (final Node clause : entry.cnf.getChildren()) {
+				if (!isImplied(clause, assumptions)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isImplied(Node clause, VecInt assumptions) {
+		final SatInstance satInstance = solver.getSatInstance();
+		final VecInt backbone = new VecInt(assumptions.size() + clause.getChildren().length);
+		assumptions.copyTo(backbone);
+		for (final Node literal : clause.getChildren()) {
+			backbone.push(-satInstance.getSignedVariable((Literal) literal));
+		}
+		try {
+			return !solver.getInternalSolver().isSatisfiable(backbone);
+		} catch (final TimeoutException e) {
+			Logger.logError(e);
+		}
+		return false;
+	}
+
+	/**
+	 * Recomputes false-optional, core, and dead features.
+	 */
+	private void updateFeatureResults() {
+		final SatInstance satInstance = solver.getSatInstance();
+		final int numberOfConstraints = analyzedConstraints.size();
+
+		final List<int[]> possibleFOFeatures = new ArrayList<>();
+		for (final IFeature feature : fm.getFeatures()) {
+			final IFeature parent = FeatureUtils.getParent(feature);
+			if ((parent != null) && (!feature.getStructure().isMandatorySet() || !parent.getStructure().isAnd())) {
+				possibleFOFeatures.add(new int[] { -satInstance.getVariable(parent.getName()), satInstance.getVariable(feature.getName()) });
+			}
+		}
+		final List<int[]> foPairs =
+			LongRunningWrapper.runMethod(createAnalysis(new ImplicationAnalysis(solver, possibleFOFeatures), numberOfConstraints), monitor.subTask(0));
+		falseOptionalFeatures.clear();
+		for (final int[] pair : foPairs) {
+			falseOptionalFeatures.add(fm.getFeature((CharSequence) satInstance.getVariableObject(pair[1])));
+		}
+		monitor.checkCancel();
+
+		final int[] features = new int[numberOfFeatures];
+		for (int i = 0; i < numberOfFeatures; i++) {
+			features[i] = i + 1;
+		}
+		final int[] coreDead = LongRunningWrapper.runMethod(createAnalysis(new CoreDeadAnalysis(solver, features), numberOfConstraints), monitor.subTask(0));
+		coreFeatures.clear();
+		deadFeatures.clear();
+		for (final int var : coreDead) {
+			if (Math.abs(var) <= numberOfFeatures) {
+				final IFeature feature = fm.getFeature((String) satInstance.getVariableObject(var));
+				if (var < 0) {
+					deadFeatures.add(feature);
+				} else {
+					coreFeatures.add(feature);
+				}
+			}
+		}
+		monitor.checkCancel();
+	}
+
+	/**
+	 * Sets the status of all features according to the current results.
+	 *
+	 * @param updateHidden whether indeterminate hidden features must be recomputed
+	 */
+	private void applyFeatureResults(boolean updateHidden) {
+		final Iterable<IFeature> features = fm.getFeatures();
+		for (final IFeature feature : features) {
+			feature.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
+			FeatureUtils.setRelevantConstraints(feature);
+		}
+		for (final IFeature feature : falseOptionalFeatures) {
+			feature.getProperty().setFeatureStatus(FeatureStatus.FALSE_OPTIONAL, false);
+		}
+		for (final IFeature feature : deadFeatures) {
+			feature.getProperty().setFeatureStatus(FeatureStatus.DEAD, false);
+		}
+		if (updateHidden) {
+			checkFeatureHidden(features);
+		} else {
+			for (final IFeature feature : indeterminedHiddenFeatures) {
+				feature.getProperty().setFeatureStatus(FeatureStatus.INDETERMINATE_HIDDEN, false);
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the attributes of all constraints in the same order as {@link FeatureModelAnalysis#updateConstraints()}.
+	 */
+	private void updateConstraintResults() {
+		for (final IConstraint constraint : analyzedConstraints) {
+			constraint.setConstraintAttribute(ConstraintAttribute.NORMAL, false);
+			constraint.setContainedFeatures();
+			constraint.setFalseOptionalFeatures(Collections.<IFeature> emptyList());
+			constraint.setDeadFeatures(Collections.<IFeature> emptyList());
+		}
+
+		updateRedundantConstraints();
+		monitor.checkCancel();
+		updateDeadAndFalseOptionalConstraints();
+
+		for (final IConstraint constraint : analyzedConstraints) {
+			final ConstraintAttribute attribute = constraint.getConstraintAttribute();
+			entries.get(constraint).redundant = (attribute == ConstraintAttribute.REDUNDANT) || (attribute == ConstraintAttribute.TAUTOLOGY);
+		}
+	}
+
+	/**
+	 * Simulates how the solver of a complete analysis simplifies a clause when it is added. Literals that are assigned to false are removed and a clause
+	 * that is reduced to a single literal assigns this literal. This has to be reproduced, because the complete analysis considers constraints whose clauses
+	 * are all satisfied in this way as redundant without checking them.
+	 *
+	 * @param clause the clause to add
+	 * @param assignment the assignment of all variables at the root level; in-out variable
+	 * @return {@code true} if the clause is a tautology or contains a literal that is assigned to true
+	 */
+	private static boolean isSatisfiedAtRoot(int[] clause, byte[] assignment) {
+		int unitLiteral = 0;
+		int numberOfLiterals = 0;
+		for (int i = 0; i < clause.length; i++) {
+			final int literal = clause[i];
+			final byte value = assignment[Math.abs(literal)];
+			if (value == 0) {
+				boolean duplicate = false;
+				for (int j = 0; j < i; j++) {
+					if (clause[j] == -literal) {
+						return true;
+					}
+					duplicate |= clause[j] == literal;
+				}
+				if (!duplicate) {
+					unitLiteral = literal;
+					numberOfLiterals++;
+				}
+			} else if ((value > 0) == (literal > 0)) {
+				return true;
+			}
+		}
+		if (numberOfLiterals == 1) {
+			assignment[Math.abs(unitLiteral)] = (byte) ((unitLiteral > 0) ? 1 : -1);
+		}
+		return false;
+	}
+
+	private boolean isTautology(IConstraint constraint) {
+		final ConstraintEntry entry = entries.get(constraint);
+		if (entry.tautology == null) {
+			entry.tautology = checkConstraintTautology(constraint.getNode());
+		}
+		return entry.tautology;
+	}
+
+	private void updateRedundantConstraints() {
+		if (calculateRedundantConstraints) {
+			final int[] selectors = getSelectors(analyzedConstraints.size());
+			final boolean[] active = new boolean[selectors.length];
+			final byte[] assignment = Arrays.copyOf(structureAssignment, structureAssignment.length);
+			for (int i = 0; i < selectors.length; i++) {
+				for (final int[] clause : entries.get(analyzedConstraints.get(i)).clauses) {
+					active[i] |= !isSatisfiedAtRoot(clause, assignment);
+				}
+			}
+
+			for (int i = 0; i < selectors.length; i++) {
+				final boolean satisfiedAtRoot = !active[i];
+				active[i] = false;
+				final VecInt assumptions = new VecInt(selectors.length);
+				for (int j = 0; j < selectors.length; j++) {
+					if (active[j]) {
+						assumptions.push(selectors[j]);
+					}
+				}
+
+				final IConstraint constraint = analyzedConstraints.get(i);
+				boolean redundant = true;
+				if (!satisfiedAtRoot) {
+					for (final Node clause : entries.get(constraint).cnf.getChildren()) {
+						if (!isImplied(clause, assumptions)) {
+							redundant = false;
+							active[i] = true;
+							break;
+						}
+					}
+				}
+
+				if (redundant) {
+					if (isTautology(constraint)) {
+						setConstraintAttribute(constraint, ConstraintAttribute.TAUTOLOGY);
+					} else {
+						setConstraintAttribute(constraint, ConstraintAttribute.REDUNDANT);
+					}
+				}
+				monitor.checkCancel();
+			}
+		} else if (calculateTautologyConstraints) {
+			for (final IConstraint constraint : analyzedConstraints) {
+				if (isTautology(constraint)) {
+					setConstraintAttribute(constraint, ConstraintAttribute.TAUTOLOGY);
+				}
+				monitor.checkCancel();
+			}
+		}
+	}
+
+	private void updateDeadAndFalseOptionalConstraints() {
+		if (!calculateFOConstraints && !calculateDeadConstraints) {
+			return;
+		}
+		final SatInstance satInstance = solver.getSatInstance();
+		final List<IFeature> deadList = new LinkedList<>(deadFeatures);
+		final List<IFeature> foList = new LinkedList<>(falseOptionalFeatures);
+
+		for (int i = 0; i < analyzedConstraints.size(); i++) {
+			final IConstraint constraint = analyzedConstraints.get(i);
+			if (constraint.getConstraintAttribute() == ConstraintAttribute.NORMAL) {
+				if (calculateDeadConstraints && !deadList.isEmpty()) {
+					final int[] deadVar = new int[deadList.size()];
+					int j = 0;
+					for (final IFeature deadFeature : deadList) {
+						deadVar[j++] = satInstance.getVariable(deadFeature.getName());
+					}
+					final int[] coreDead = LongRunningWrapper.runMethod(createAnalysis(new CoreDeadAnalysis(solver, deadVar), i + 1));
+					final List<IFeature> newDeadFeature = new ArrayList<>();
+					for (final int var : coreDead) {
+						if ((var < 0) && (-var <= numberOfFeatures)) {
+							newDeadFeature.add(fm.getFeature((String) satInstance.getVariableObject(var)));
+						}
+					}
+					if (!newDeadFeature.isEmpty()) {
+						constraint.setDeadFeatures(newDeadFeature);
+						deadList.removeAll(newDeadFeature);
+						setConstraintAttribute(constraint, ConstraintAttribute.DEAD);
+					}
+				}
+
+				if (calculateFOConstraints && !foList.isEmpty()) {
+					final List<int[]> possibleFOFeatures = new ArrayList<>();
+					for (final IFeature feature : foList) {
+						final IFeature parent = FeatureUtils.getParent(feature);
+						if ((parent != null) && (!feature.getStructure().isMandatorySet() || !parent.getStructure().isAnd())) {
+							possibleFOFeatures.add(new int[] { -satInstance.getVariable(parent.getName()), satInstance.getVariable(feature.getName()) });
+						}
+					}
+					final List<int[]> foPairs = LongRunningWrapper.runMethod(createAnalysis(new ImplicationAnalysis(solver, possibleFOFeatures), i + 1));
+					final List<IFeature> newFOFeature = new ArrayList<>();
+					for (final int[] pair : foPairs) {
+						newFOFeature.add(fm.getFeature((CharSequence) satInstance.getVariableObject(pair[1])));
+					}
+					if (!newFOFeature.isEmpty()) {
+						constraint.setFalseOptionalFeatures(newFOFeature);
+						foList.removeAll(newFOFeature);
+						if (constraint.getConstraintAttribute() == ConstraintAttribute.NORMAL) {
+							setConstraintAttribute(constraint, ConstraintAttribute.FALSE_OPTIONAL);
+						}
+					}
+				}
+			}
+			monitor.checkCancel();
+		}
+	}
+
+	/**
+	 * Collects the attributes of all features and constraints in the same way as a complete analysis.
+	 */
+	private HashMap<Object, Object> collectAttributes() {
+		changedAttributes.clear();
+		changedAttributes.put(fm.getStructure().getRoot().getFeature(), FeatureStatus.NORMAL);
+		for (final IFeature feature : fm.getFeatures()) {
+			final FeatureStatus status = feature.getProperty().getFeatureStatus();
+			if (status != FeatureStatus.NORMAL) {
+				changedAttributes.put(feature, status);
+			}
+		}
+		for (final IConstraint constraint : analyzedConstraints) {
+			final ConstraintAttribute attribute = constraint.getConstraintAttribute();
+			if (attribute != ConstraintAttribute.NORMAL) {
+				changedAttributes.put(constraint, attribute);
+			}
+		}
+		return changedAttributes;
+	}
+
+}
@@ -0,0 +1,175 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.prop4j.solver.FixedLiteralSelectionStrategy;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+import org.prop4j.solver.VarOrderHeap2;
+import org.sat4j.minisat.core.Solver;
+
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds core and dead features using multiple solvers in parallel.<br> The candidate variables are distributed among several clones of the solver, which
+ * run on a fork-join pool. All workers share one candidate model, such that each model found by one solver removes candidates for all other solvers. The
+ * result is the same as the result of {@link CoreDeadAnalysis}.
+ */
+public class ParallelCoreDeadAnalysis extends CoreDeadAnalysis {
+
+	/**
+	 * Minimal number of candidates each worker should test. Prevents the creation of solver clones for small models.
+	 */
+	private static final int MIN_CANDIDATES_PER_THREAD = 8;
+
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	private final class Worker extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] model1;
+		private final int[] candidates;
+		private final int[] result;
+		private final AtomicInteger nextCandidate;
+		private final IMonitor monitor;
+
+		public Worker(int[] model1, int[] candidates, int[] result, AtomicInteger nextCandidate, IMonitor monitor) {
+			this.model1 = model1;
+			this.candidates = candidates;
+			this.result = result;
+			this.nextCandidate = nextCandidate;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			final ISatSolver workerSolver = solver.clone();
+			((Solver<?>) workerSolver.getInternalSolver())
+					.setOrder(new VarOrderHeap2(new FixedLiteralSelectionStrategy(model1, true), workerSolver.getOrder()));
+
+			for (int i = nextCandidate.getAndIncrement(); i < candidates.length; i = nextCandidate.getAndIncrement()) {
+				monitor.checkCancel();
+				final int varIndex = candidates[i];
+				final int varX;
+				synchronized (model1) {
+					varX = model1[varIndex];
+				}
+				if (varX != 0) {
+					workerSolver.assignmentPush(-varX);
+					switch (workerSolver.isSatisfiable()) {
+					case FALSE:
+						workerSolver.assignmentReplaceLast(varX);
+						result[varIndex] = varX;
+						break;
+					case TIMEOUT:
+						workerSolver.assignmentPop();
+						break;
+					case TRUE:
+						workerSolver.assignmentPop();
+						synchronized (model1) {
+							SatInstance.updateModel(model1, workerSolver.getModel());
+						}
+						workerSolver.shuffleOrder();
+						break;
+					}
+				}
+			}
+		}
+
+	}
+
+	public ParallelCoreDeadAnalysis(SatInstance satInstance) {
+		super(satInstance);
+	}
+
+	public ParallelCoreDeadAnalysis(SatInstance satInstance, int[] features) {
+		super(satInstance, features);
+	}
+
+	public ParallelCoreDeadAnalysis(ISatSolver solver, int[] features) {
+		super(solver, features);
+	}
+
+	@Override
+	protected void testCandidates(int[] model1, IMonitor monitor) {
+		int numberOfCandidates = 0;
+		for (final int varX : model1) {
+			if (varX != 0) {
+				numberOfCandidates++;
+			}
+		}
+		final int threads = Math.min(numberOfThreads, numberOfCandidates / MIN_CANDIDATES_PER_THREAD);
+		if (threads <= 1) {
+			super.testCandidates(model1, monitor);
+			return;
+		}
+
+		final int[] candidates = new int[numberOfCandidates];
+		for (int i = 0, j = 0; i < model1.length; i++) {
+			if (model1[i] != 0) {
+				candidates[j++] = i;
+			}
+		}
+
+		final int[] result = new int[model1.length];
+		final AtomicInteger nextCandidate = new AtomicInteger();
+		final List<Worker> workers = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			workers.add(new Worker(model1, candidates, result, nextCandidate, monitor));
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			for (final Worker worker : workers) {
+				pool.execute(worker);
+			}
+			for (final Worker worker : workers) {
+				worker.join();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		// add results in variable order to get the same result as the sequential analysis
+		for (final int varX : result) {
+			if (varX != 0) {
+				solver.assignmentPush(varX);
+				monitor.invoke(varX);
+			}
+		}
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+}
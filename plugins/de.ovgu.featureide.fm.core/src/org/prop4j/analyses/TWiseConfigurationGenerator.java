@@ -0,0 +1,489 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Creates a sample of configurations that covers all valid t-wise interactions of features (t >= 1).<br> An interaction is a combination of t literals of
+ * different features. Features that are core or dead and {@link SatInstance#isAuxiliaryVariable(int) auxiliary variables} are not part of any interaction.
+ * The sample is built greedily: each uncovered interaction is added to the first partial configuration that remains satisfiable, or starts a new one if
+ * none does. Interactions that are not satisfiable are skipped.<br> The coverage is tracked by one bitset over the partial configurations per literal. An
+ * interaction is covered iff the bitsets of its literals intersect. Thus, the memory does not depend on the number of interactions.<br> The interactions
+ * are distributed among several threads by their first feature. Each thread uses its own clone of the solver. With more than one thread, the result may
+ * differ between runs.
+ * The generation stops early when the maximum number of configurations is reached (remaining interactions that would require a new configuration are
+ * skipped) or when the timeout has passed.
+ */
+public class TWiseConfigurationGenerator extends AbstractAnalysis<List<List<String>>> {
+
+	/**
+	 * A partial configuration of the sample.
+	 */
+	private static final class Sample {
+
+		/**
+		 * The literals that were assigned to cover interactions.
+		 */
+		private int[] literals;
+
+		/**
+		 * A complete model that satisfies all {@link #literals}.
+		 */
+		private int[] model;
+
+		/**
+		 * Incremented with each change, used to detect concurrent modifications.
+		 */
+		private int version = 0;
+
+		private Sample(int[] literals, int[] model) {
+			this.literals = literals;
+			this.model = model;
+		}
+
+	}
+
+	/**
+	 * A snapshot of a sample that can be checked without holding the lock.
+	 */
+	private static final class Candidate {
+
+		private final int index;
+		private final int[] literals;
+		private final int[] model;
+		private final int version;
+
+		private Candidate(int index, Sample sample) {
+			this.index = index;
+			literals = sample.literals;
+			model = sample.model;
+			version = sample.version;
+		}
+
+	}
+
+	private final class Worker extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ISatSolver workerSolver;
+		private final int[] candidateVariables;
+		private final AtomicInteger nextFirstVariable;
+		private final IMonitor monitor;
+
+		private final int fixedAssignmentSize;
+		private final int[] combination = new int[t];
+		private final int[] interaction = new int[t];
+
+		public Worker(ISatSolver workerSolver, int[] candidateVariables, AtomicInteger nextFirstVariable, IMonitor monitor) {
+			this.workerSolver = workerSolver;
+			this.candidateVariables = candidateVariables;
+			this.nextFirstVariable = nextFirstVariable;
+			this.monitor = monitor;
+			fixedAssignmentSize = workerSolver.getAssignment().size();
+		}
+
+		@Override
+		protected void compute() {
+			final int n = candidateVariables.length;
+			for (int first = nextFirstVariable.getAndIncrement(); first <= (n - t); first = nextFirstVariable.getAndIncrement()) {
+				monitor.checkCancel();
+				if (isTimeout()) {
+					return;
+				}
+
+				// enumerate all combinations with the given first variable in lexicographic order
+				combination[0] = first;
+				for (int i = 1; i < t; i++) {
+					combination[i] = first + i;
+				}
+				while (true) {
+					for (int signs = 0; signs < (1 << t); signs++) {
+						for (int i = 0; i < t; i++) {
+							final int var = candidateVariables[combination[i]];
+							interaction[i] = ((signs >> i) & 1) == 0 ? -var : var;
+						}
+						cover(interaction);
+					}
+
+					int i = t - 1;
+					while ((i > 0) && (combination[i] == ((n - t) + i))) {
+						i--;
+					}
+					if (i == 0) {
+						break;
+					}
+					combination[i]++;
+					for (int j = i + 1; j < t; j++) {
+						combination[j] = combination[j - 1] + 1;
+					}
+				}
+			}
+		}
+
+		private void cover(int[] interaction) {
+			candidateLoop: while (true) {
+				final List<Candidate> candidates;
+				final int numberOfSamples;
+				lock.readLock().lock();
+				try {
+					if (isCovered(interaction)) {
+						return;
+					}
+					candidates = getCompatibleSamples(interaction);
+					numberOfSamples = samples.size();
+				} finally {
+					lock.readLock().unlock();
+				}
+
+				for (final Candidate candidate : candidates) {
+					final int[] model = containsAll(candidate.model, interaction) ? candidate.model : findModel(candidate.literals, interaction);
+					if (model != null) {
+						lock.writeLock().lock();
+						try {
+							final Sample sample = samples.get(candidate.index);
+							if (sample.version != candidate.version) {
+								continue candidateLoop;
+							}
+							addToSample(candidate.index, interaction, model);
+							return;
+						} finally {
+							lock.writeLock().unlock();
+						}
+					}
+				}
+
+				if (numberOfSamples >= maxSampleSize) {
+					return;
+				}
+				final int[] model = findModel(new int[0], interaction);
+				if (model == null) {
+					return;
+				}
+				lock.writeLock().lock();
+				try {
+					if (samples.size() != numberOfSamples) {
+						// another thread created a sample in the meantime, which may cover the interaction or be compatible to it
+						continue candidateLoop;
+					}
+					addNewSample(interaction, model);
+					return;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+		}
+
+		/**
+		 * @return a model that satisfies the given literals or <code>null</code> if there is none (or the solver timed out)
+		 */
+		private int[] findModel(int[] sampleLiterals, int[] interaction) {
+			for (final int literal : sampleLiterals) {
+				workerSolver.assignmentPush(literal);
+			}
+			for (final int literal : interaction) {
+				workerSolver.assignmentPush(literal);
+			}
+			try {
+				switch (workerSolver.isSatisfiable()) {
+				case TRUE:
+					return workerSolver.getModel();
+				case FALSE:
+				case TIMEOUT:
+				default:
+					return null;
+				}
+			} finally {
+				workerSolver.assignmentClear(fixedAssignmentSize);
+			}
+		}
+
+	}
+
+	private final int t;
+	private final int maxSampleSize;
+
+	private long timeout = 0;
+	private long deadline;
+
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The samples in order of their creation. Guarded by {@link #lock}.
+	 */
+	private final List<Sample> samples = new ArrayList<>();
+
+	/**
+	 * For each literal, a bitset over the samples whose partial configuration contains it. The index of a literal <code>x</code> is
+	 * <code>2 * |x| + (x < 0 ? 1 : 0)</code>. Guarded by {@link #lock}.
+	 */
+	private long[][] literalSamples;
+
+	/**
+	 * @param satInstance the formula
+	 * @param t the strength of the interactions
+	 * @param maxSampleSize the maximum number of configurations
+	 */
+	public TWiseConfigurationGenerator(SatInstance satInstance, int t, int maxSampleSize) {
+		super(satInstance);
+		if (t < 1) {
+			throw new IllegalArgumentException("t must be positive: " + t);
+		}
+		this.t = t;
+		this.maxSampleSize = maxSampleSize;
+	}
+
+	@Override
+	protected List<List<String>> analyze(IMonitor monitor) throws Exception {
+		samples.clear();
+		if (maxSampleSize <= 0) {
+			return new ArrayList<>();
+		}
+		deadline = (timeout > 0) ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+		final SatInstance satInstance = solver.getSatInstance();
+
+		// core and dead features are added to the assignment of the solver
+		final ParallelCoreDeadAnalysis coreDeadAnalysis = new ParallelCoreDeadAnalysis(solver, null);
+		coreDeadAnalysis.setNumberOfThreads(numberOfThreads);
+		final int[] coreDead = LongRunningWrapper.runMethod(coreDeadAnalysis, monitor.subTask(0));
+		if (coreDead == null) {
+			return new ArrayList<>();
+		}
+		final boolean[] fixed = new boolean[satInstance.getNumberOfVariables() + 1];
+		for (final int literal : coreDead) {
+			fixed[Math.abs(literal)] = true;
+		}
+		solver.assignmentClear(0);
+		for (final int literal : coreDead) {
+			solver.assignmentPush(literal);
+		}
+		solver.setSelectionStrategy(SelectionStrategy.ORG);
+
+		final int numberOfFeatures = satInstance.getNumberOfFeatureVariables();
+		final List<Integer> candidates = new ArrayList<>(numberOfFeatures);
+		for (int var = 1; var <= numberOfFeatures; var++) {
+			if (!fixed[var]) {
+				candidates.add(var);
+			}
+		}
+		final int[] candidateVariables = new int[candidates.size()];
+		for (int i = 0; i < candidateVariables.length; i++) {
+			candidateVariables[i] = candidates.get(i);
+		}
+
+		literalSamples = new long[2 * (satInstance.getNumberOfVariables() + 1)][(Math.min(maxSampleSize, 1024) + 63) >> 6];
+
+		final AtomicInteger nextFirstVariable = new AtomicInteger();
+		final int threads = Math.max(1, Math.min(numberOfThreads, candidateVariables.length - t + 1));
+		if (threads <= 1) {
+			new Worker(solver, candidateVariables, nextFirstVariable, monitor).compute();
+		} else {
+			final List<Worker> workers = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				workers.add(new Worker(solver.clone(), candidateVariables, nextFirstVariable, monitor));
+			}
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for (final Worker worker : workers) {
+					pool.execute(worker);
+				}
+				for (final Worker worker : workers) {
+					worker.join();
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		if (samples.isEmpty()) {
+			// no interaction (e.g., all features are core or dead)
+			final int[] model = solver.findModel();
+			if (model != null) {
+				samples.add(new Sample(new int[0], model));
+			}
+		}
+
+		final List<List<String>> result = new ArrayList<>(samples.size());
+		for (final Sample sample : samples) {
+			result.add(satInstance.convertToString(sample.model));
+		}
+		return result;
+	}
+
+	private boolean isTimeout() {
+		return System.currentTimeMillis() > deadline;
+	}
+
+	private static int getLiteralIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	/**
+	 * Requires the (read) lock.
+	 */
+	private boolean isCovered(int[] interaction) {
+		final long[] first = literalSamples[getLiteralIndex(interaction[0])];
+		for (int w = 0; w < first.length; w++) {
+			long word = first[w];
+			for (int i = 1; (i < interaction.length) && (word != 0); i++) {
+				word &= literalSamples[getLiteralIndex(interaction[i])][w];
+			}
+			if (word != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns all samples whose partial configuration does not contradict the given interaction. Requires the (read) lock.
+	 */
+	private List<Candidate> getCompatibleSamples(int[] interaction) {
+		final List<Candidate> candidates = new ArrayList<>();
+		final int numberOfSamples = samples.size();
+		for (int w = 0, words = (numberOfSamples + 63) >> 6; w < words; w++) {
+			long incompatible = 0;
+			for (final int literal : interaction) {
+				incompatible |= literalSamples[getLiteralIndex(-literal)][w];
+			}
+			long compatible = ~incompatible;
+			if (w == (words - 1)) {
+				final int lastBits = numberOfSamples & 63;
+				if (lastBits != 0) {
+					compatible &= (1L << lastBits) - 1;
+				}
+			}
+			while (compatible != 0) {
+				final int index = (w << 6) + Long.numberOfTrailingZeros(compatible);
+				candidates.add(new Candidate(index, samples.get(index)));
+				compatible &= compatible - 1;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Requires the write lock.
+	 */
+	private void addToSample(int index, int[] interaction, int[] model) {
+		final Sample sample = samples.get(index);
+		final int[] literals = Arrays.copyOf(sample.literals, sample.literals.length + interaction.length);
+		int size = sample.literals.length;
+		for (final int literal : interaction) {
+			if (!contains(sample.literals, literal)) {
+				literals[size++] = literal;
+			}
+		}
+		sample.literals = Arrays.copyOf(literals, size);
+		sample.model = model;
+		sample.version++;
+		addLiterals(index, interaction);
+	}
+
+	/**
+	 * Requires the write lock.
+	 */
+	private void addNewSample(int[] interaction, int[] model) {
+		final int index = samples.size();
+		final int words = (index >> 6) + 1;
+		if (words > literalSamples[0].length) {
+			for (int i = 0; i < literalSamples.length; i++) {
+				literalSamples[i] = Arrays.copyOf(literalSamples[i], Math.max(words, literalSamples[i].length << 1));
+			}
+		}
+		samples.add(new Sample(Arrays.copyOf(interaction, interaction.length), model));
+		addLiterals(index, interaction);
+	}
+
+	/**
+	 * Updates the coverage bitsets. Requires the write lock.
+	 */
+	private void addLiterals(int index, int[] literals) {
+		final int word = index >> 6;
+		final long bit = 1L << (index & 63);
+		for (final int literal : literals) {
+			literalSamples[getLiteralIndex(literal)][word] |= bit;
+		}
+	}
+
+	private static boolean containsAll(int[] model, int[] literals) {
+		for (final int literal : literals) {
+			if (model[Math.abs(literal) - 1] != literal) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean contains(int[] literals, int literal) {
+		for (final int l : literals) {
+			if (l == literal) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int getT() {
+		return t;
+	}
+
+	public int getMaxSampleSize() {
+		return maxSampleSize;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout the maximum time for the generation in milliseconds (0 for no limit)
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+}
@@ -20,31 +20,78 @@
  */
 package org.prop4j.explain.solvers.impl.sat4j;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.prop4j.Node;
 import org.prop4j.explain.solvers.MusExtractor;
-import org.sat4j.specs.ISolver;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.IteratorInt;
 import org.sat4j.specs.TimeoutException;
-import org.sat4j.tools.xplain.Xplain;
 
 /**
- * A MUS extractor using a Sat4J oracle.
+ * <p> A MUS extractor using a Sat4J oracle. </p>
+ *
+ * <p> Each clause is guarded by a selector variable, such that it is only active if its selector is among the assumptions. This way, the same oracle is used
+ * for all queries. A clause that is popped remains in the oracle and its selector is reused when an equal clause is added again. Minimal unsatisfiable
+ * subsets are computed by deletion, refining the remaining clauses by the unsatisfiable core of the oracle after each unsatisfiable call and finding further
+ * necessary clauses by model rotation after each satisfiable call. </p>
  *
  * @author Timo G&uuml;nther
  */
 public class Sat4jMusExtractor extends Sat4jMutableSatSolver implements MusExtractor {
 
+	/** State of a clause that is not part of the minimal unsatisfiable subset. */
+	private static final byte REMOVED = 0;
+	/** State of a clause that may be part of the minimal unsatisfiable subset. */
+	private static final byte CANDIDATE = 1;
+	/** State of a clause that is part of the minimal unsatisfiable subset. */
+	private static final byte NECESSARY = 2;
+
+	/** Maps each clause that was ever added to its selector variable. */
+	private final Map<Node, Integer> clauseSelectors = new HashMap<>();
+
 	@Override
-	protected Xplain<ISolver> createOracle() {
-		return new Xplain<ISolver>(super.createOracle());
+	protected IConstr addConstraint(Node clause) throws ContradictionException {
+		if (clauseSelectors.containsKey(clause)) {
+			return null; // The clause was added and popped before and is still in the oracle.
+		}
+		final int selector = getOracle().nextFreeVarId(true);
+		clauseSelectors.put(clause, selector);
+		final IVecInt literals = getVectorFromClause(clause);
+		literals.push(-selector);
+		return getOracle().addClause(literals);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
-	public Xplain<ISolver> getOracle() {
-		return (Xplain<ISolver>) super.getOracle();
+	protected void removeConstraint(Node clause) {
+		/*
+		 * Keep the constraint in the oracle. It is disabled as long as its selector is not assumed, and it can be reused if the clause is added again. This
+		 * also keeps all learned clauses sound.
+		 */
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Also contains the selectors of all current clauses. </p>
+	 */
+	@Override
+	public IVecInt getVectorFromAssumptions() {
+		final IVecInt vector = super.getVectorFromAssumptions();
+		for (final Node clause : getClauses()) {
+			vector.push(clauseSelectors.get(clause));
+		}
+		return vector;
 	}
 
 	@Override
@@ -54,20 +101,204 @@ public class Sat4jMusExtractor extends Sat4jMutableSatSolver implements MusExtra
 
 	@Override
 	public Set<Integer> getMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
-		if (isSatisfiable()) {
+		final List<Node> clauses = getClauses();
+		final int[] selectors = new int[clauses.size()];
+		final int[][] clauseLiterals = new int[clauses.size()][];
+		final Map<Integer, Integer> selectorClauses = new HashMap<>();
+		for (int i = 0; i < selectors.length; i++) {
+			final Node clause = clauses.get(i);
+			selectors[i] = clauseSelectors.get(clause);
+			clauseLiterals[i] = getVectorFromClause(clause).toArray();
+			selectorClauses.put(selectors[i], i);
+		}
+		final IVecInt assumptions = super.getVectorFromAssumptions();
+		final byte[] states = new byte[selectors.length];
+		Arrays.fill(states, CANDIDATE);
+
+		if (isSatisfiable(assumptions, selectors, states)) {
 			throw new IllegalStateException("Problem is satisfiable");
 		}
-		final int[] indexes;
+		refine(selectorClauses, states);
+
+		int numberOfVariables = getVariableCount();
+		for (final IteratorInt it = assumptions.iterator(); it.hasNext();) {
+			numberOfVariables = Math.max(numberOfVariables, Math.abs(it.next()));
+		}
+		for (final int[] literals : clauseLiterals) {
+			for (final int literal : literals) {
+				numberOfVariables = Math.max(numberOfVariables, Math.abs(literal));
+			}
+		}
+		final int[][] variableClauses = getVariableClauses(clauseLiterals, numberOfVariables);
+		final boolean[] assumed = new boolean[numberOfVariables + 1];
+		for (final IteratorInt it = assumptions.iterator(); it.hasNext();) {
+			assumed[Math.abs(it.next())] = true;
+		}
+
+		for (int i = states.length - 1; i >= 0; i--) {
+			if (states[i] != CANDIDATE) {
+				continue;
+			}
+			states[i] = REMOVED;
+			if (isSatisfiable(assumptions, selectors, states)) {
+				states[i] = NECESSARY;
+				rotateModel(i, getOracle().model(), clauseLiterals, variableClauses, assumed, states);
+			} else {
+				refine(selectorClauses, states);
+			}
+		}
+
+		final Set<Integer> set = new LinkedHashSet<>();
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == NECESSARY) {
+				set.add(i);
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * Checks whether the clauses that are not removed are satisfiable under the given assumptions.
+	 *
+	 * @param assumptions the assumptions of this problem
+	 * @param selectors the selector of each clause
+	 * @param states the state of each clause
+	 * @return true iff the clauses are satisfiable
+	 * @throws IllegalStateException if the oracle times out
+	 */
+	private boolean isSatisfiable(IVecInt assumptions, int[] selectors, byte[] states) throws IllegalStateException {
+		final IVecInt vector = new VecInt(assumptions.size() + selectors.length);
+		assumptions.copyTo(vector);
+		for (int i = 0; i < selectors.length; i++) {
+			if (states[i] != REMOVED) {
+				vector.push(selectors[i]);
+			}
+		}
 		try {
-			indexes = getOracle().minimalExplanation();
+			return getOracle().isSatisfiable(vector);
 		} catch (final TimeoutException e) {
 			throw new IllegalStateException(e);
 		}
-		final Set<Integer> set = new LinkedHashSet<>(indexes.length);
-		for (final int index : indexes) {
-			set.add(getClauseIndexFromIndex(index));
+	}
+
+	/**
+	 * Removes all candidate clauses whose selectors are not part of the unsatisfiable core of the last call of the oracle.
+	 *
+	 * @param selectorClauses maps selectors to clause indexes
+	 * @param states the state of each clause
+	 */
+	private void refine(Map<Integer, Integer> selectorClauses, byte[] states) {
+		final IVecInt core = getOracle().unsatExplanation();
+		if (core == null) {
+			return;
 		}
-		return set;
+		final boolean[] inCore = new boolean[states.length];
+		for (final IteratorInt it = core.iterator(); it.hasNext();) {
+			final Integer clauseIndex = selectorClauses.get(it.next());
+			if (clauseIndex != null) {
+				inCore[clauseIndex] = true;
+			}
+		}
+		for (int i = 0; i < states.length; i++) {
+			if ((states[i] == CANDIDATE) && !inCore[i]) {
+				states[i] = REMOVED;
+			}
+		}
+	}
+
+	/**
+	 * Returns the indexes of the clauses containing each variable.
+	 *
+	 * @param clauseLiterals the literals of each clause
+	 * @param numberOfVariables the number of variables in the oracle
+	 * @return the indexes of the clauses containing each variable
+	 */
+	private static int[][] getVariableClauses(int[][] clauseLiterals, int numberOfVariables) {
+		final int[] counts = new int[numberOfVariables + 1];
+		for (final int[] literals : clauseLiterals) {
+			for (final int literal : literals) {
+				counts[Math.abs(literal)]++;
+			}
+		}
+		final int[][] variableClauses = new int[numberOfVariables + 1][];
+		for (int var = 0; var <= numberOfVariables; var++) {
+			variableClauses[var] = new int[counts[var]];
+		}
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < clauseLiterals.length; i++) {
+			for (final int literal : clauseLiterals[i]) {
+				final int var = Math.abs(literal);
+				variableClauses[var][counts[var]++] = i;
+			}
+		}
+		return variableClauses;
+	}
+
+	/**
+	 * Finds further necessary clauses by model rotation. The given model satisfies all clauses that are not removed except the given necessary one. If
+	 * flipping a variable of this clause falsifies exactly one other clause, that clause is necessary as well.
+	 *
+	 * @param necessaryClause index of a necessary clause
+	 * @param model a model falsifying only the necessary clause
+	 * @param clauseLiterals the literals of each clause
+	 * @param variableClauses the indexes of the clauses containing each variable
+	 * @param assumed whether a variable is assumed and must not be flipped
+	 * @param states the state of each clause
+	 */
+	private static void rotateModel(int necessaryClause, int[] model, int[][] clauseLiterals, int[][] variableClauses, boolean[] assumed, byte[] states) {
+		final boolean[] values = new boolean[assumed.length];
+		for (final int literal : model) {
+			if (Math.abs(literal) < values.length) {
+				values[Math.abs(literal)] = literal > 0;
+			}
+		}
+		final Deque<Integer> clauseStack = new ArrayDeque<>();
+		final Deque<boolean[]> modelStack = new ArrayDeque<>();
+		clauseStack.push(necessaryClause);
+		modelStack.push(values);
+		while (!clauseStack.isEmpty()) {
+			final int clause = clauseStack.pop();
+			final boolean[] clauseModel = modelStack.pop();
+			for (final int literal : clauseLiterals[clause]) {
+				final int var = Math.abs(literal);
+				if (assumed[var]) {
+					continue;
+				}
+				clauseModel[var] = !clauseModel[var];
+				int falsifiedClause = -1;
+				for (final int otherClause : variableClauses[var]) {
+					if ((states[otherClause] != REMOVED) && (otherClause != falsifiedClause) && isFalsified(clauseLiterals[otherClause], clauseModel)) {
+						if (falsifiedClause >= 0) {
+							falsifiedClause = -1;
+							break;
+						}
+						falsifiedClause = otherClause;
+					}
+				}
+				if ((falsifiedClause >= 0) && (states[falsifiedClause] == CANDIDATE)) {
+					states[falsifiedClause] = NECESSARY;
+					clauseStack.push(falsifiedClause);
+					modelStack.push(Arrays.copyOf(clauseModel, clauseModel.length));
+				}
+				clauseModel[var] = !clauseModel[var];
+			}
+		}
+	}
+
+	/**
+	 * Returns true iff all literals of the given clause are false in the given model.
+	 *
+	 * @param literals the literals of the clause
+	 * @param values the value of each variable
+	 * @return true iff the clause is falsified
+	 */
+	private static boolean isFalsified(int[] literals, boolean[] values) {
+		for (final int literal : literals) {
+			if (values[Math.abs(literal)] == (literal > 0)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -77,9 +308,10 @@ public class Sat4jMusExtractor extends Sat4jMutableSatSolver implements MusExtra
 	 * @return the clauses for the given clause indexes
 	 */
 	private Set<Node> getClauses(Set<Integer> indexes) {
+		final List<Node> allClauses = getClauses();
 		final Set<Node> clauses = new LinkedHashSet<>(indexes.size());
 		for (final int index : indexes) {
-			clauses.add(getClause(index));
+			clauses.add(allClauses.get(index));
 		}
 		return clauses;
 	}
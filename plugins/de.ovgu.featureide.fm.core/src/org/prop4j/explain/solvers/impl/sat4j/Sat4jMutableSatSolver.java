@@ -123,11 +123,20 @@ public class Sat4jMutableSatSolver extends Sat4jSatSolver implements MutableSatS
 			}
 		}
 
+		removeConstraint(clause);
+		return clause;
+	}
+
+	/**
+	 * Removes the constraint of the given clause from the oracle.
+	 *
+	 * @param clause the removed clause
+	 */
+	protected void removeConstraint(Node clause) {
 		final IConstr constraint = clauseConstraints.remove(clause);
 		if (constraint != null) {
 			getOracle().removeSubsumedConstr(constraint);
 		}
-		return clause;
 	}
 
 	@Override
@@ -80,7 +80,7 @@ public class Sat4jSatSolver extends AbstractSatSolver {
 		}
 		addVariables(clause.getUniqueVariables());
 		try {
-			final IConstr constraint = getOracle().addClause(getVectorFromClause(clause));
+			final IConstr constraint = addConstraint(clause);
 			if (constraint != null) {
 				clauseConstraints.put(clause, constraint);
 			}
@@ -91,6 +91,17 @@ public class Sat4jSatSolver extends AbstractSatSolver {
 		return true;
 	}
 
+	/**
+	 * Adds the given clause to the oracle. The variables of the clause must have been added already.
+	 *
+	 * @param clause clause to add; not null
+	 * @return the constraint in the oracle; null if the oracle did not create one
+	 * @throws ContradictionException if the clause leads to an immediate contradiction
+	 */
+	protected IConstr addConstraint(Node clause) throws ContradictionException {
+		return getOracle().addClause(getVectorFromClause(clause));
+	}
+
 	/**
 	 * Adds the given variables to the solver and oracle. Ignores any that have already been added.
 	 *
@@ -134,7 +145,9 @@ public class Sat4jSatSolver extends AbstractSatSolver {
 		final Map<Object, Boolean> model = new LinkedHashMap<>();
 		for (final int index : indexes) {
 			final Literal l = getLiteralFromIndex(index);
-			model.put(l.var, l.positive);
+			if (l != null) { // ignore auxiliary variables of the oracle
+				model.put(l.var, l.positive);
+			}
 		}
 		return model;
 	}
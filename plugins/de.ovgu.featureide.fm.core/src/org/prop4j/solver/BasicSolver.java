@@ -87,8 +87,9 @@ public class BasicSolver implements ISatSolver {
 		final int size = satInstance.getNumberOfVariables();
 		if (size > 0) {
 			solver.newVar(size);
-			solver.setExpectedNumberOfClauses(satInstance.getCnf().getChildren().length + 1);
-			addCNF(satInstance.getCnf().getChildren());
+			final IntCNF clauses = satInstance.getClauses();
+			solver.setExpectedNumberOfClauses(clauses.getNumberOfClauses() + 1);
+			addCNF(clauses);
 			final VecInt pseudoClause = new VecInt(size + 1);
 			for (int i = 1; i <= size; i++) {
 				pseudoClause.push(i);
@@ -121,6 +122,20 @@ public class BasicSolver implements ISatSolver {
 		return result;
 	}
 
+	protected List<IConstr> addCNF(final IntCNF clauses) throws ContradictionException {
+		final int numberOfClauses = clauses.getNumberOfClauses();
+		final int[] literals = clauses.getLiterals();
+		final List<IConstr> result = new ArrayList<>(numberOfClauses);
+		for (int i = 0; i < numberOfClauses; i++) {
+			result.add(addClause(literals, clauses.getOffset(i), clauses.getOffset(i + 1)));
+		}
+		return result;
+	}
+
+	protected IConstr addClause(final int[] literals, int start, int end) throws ContradictionException {
+		return solver.addClause(new VecInt(Arrays.copyOfRange(literals, start, end)));
+	}
+
 	protected IConstr addClause(final Node node) throws ContradictionException {
 		final Node[] children = node.getChildren();
 		final int[] clause = new int[children.length];
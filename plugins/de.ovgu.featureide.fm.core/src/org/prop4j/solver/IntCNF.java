@@ -0,0 +1,179 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.Arrays;
+
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+/**
+ * A formula in CNF that stores its clauses as variable indices in one flat array (similar to the DIMACS format).</br> The literals of the
+ * <code>i</code>-th clause are stored at the indices <code>offsets[i]</code> (inclusive) to <code>offsets[i + 1]</code> (exclusive) of the literal array.
+ * Positive numbers denote positive literals and negative numbers denote negated literals.
+ *
+ * @see SatInstance
+ */
+public class IntCNF {
+
+	private int[] literals;
+	private int[] offsets;
+
+	private int numberOfLiterals = 0;
+	private int numberOfClauses = 0;
+
+	public IntCNF() {
+		this(16, 64);
+	}
+
+	/**
+	 * @param expectedNumberOfClauses the expected number of clauses (the store grows if necessary)
+	 * @param expectedNumberOfLiterals the expected total number of literals in all clauses (the store grows if necessary)
+	 */
+	public IntCNF(int expectedNumberOfClauses, int expectedNumberOfLiterals) {
+		literals = new int[Math.max(1, expectedNumberOfLiterals)];
+		offsets = new int[Math.max(1, expectedNumberOfClauses) + 1];
+	}
+
+	/**
+	 * Converts the given formula in regular CNF (i.e., a conjunction of {@link Or clauses}).
+	 *
+	 * @param cnf the formula
+	 * @param satInstance the instance that maps the variables of the formula to indices
+	 */
+	public IntCNF(Node cnf, SatInstance satInstance) {
+		this(cnf.getChildren().length, cnf.getChildren().length * 2);
+		for (final Node clause : cnf.getChildren()) {
+			final Node[] clauseLiterals = clause.getChildren();
+			ensureLiteralCapacity(clauseLiterals.length);
+			for (final Node literal : clauseLiterals) {
+				literals[numberOfLiterals++] = satInstance.getSignedVariable((Literal) literal);
+			}
+			finishClause();
+		}
+	}
+
+	public void addClause(int literal) {
+		ensureLiteralCapacity(1);
+		literals[numberOfLiterals++] = literal;
+		finishClause();
+	}
+
+	public void addClause(int literal1, int literal2) {
+		ensureLiteralCapacity(2);
+		literals[numberOfLiterals++] = literal1;
+		literals[numberOfLiterals++] = literal2;
+		finishClause();
+	}
+
+	public void addClause(int... clause) {
+		addClause(clause, 0, clause.length);
+	}
+
+	/**
+	 * Adds a clause that consists of the literals <code>clause[offset]</code> to <code>clause[offset + length - 1]</code>.
+	 */
+	public void addClause(int[] clause, int offset, int length) {
+		ensureLiteralCapacity(length);
+		System.arraycopy(clause, offset, literals, numberOfLiterals, length);
+		numberOfLiterals += length;
+		finishClause();
+	}
+
+	private void ensureLiteralCapacity(int additionalLiterals) {
+		final int minCapacity = numberOfLiterals + additionalLiterals;
+		if (minCapacity > literals.length) {
+			literals = Arrays.copyOf(literals, Math.max(minCapacity, literals.length << 1));
+		}
+	}
+
+	private void finishClause() {
+		if ((numberOfClauses + 2) > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length << 1);
+		}
+		offsets[++numberOfClauses] = numberOfLiterals;
+	}
+
+	/**
+	 * Releases unused capacity.
+	 */
+	public void trimToSize() {
+		literals = Arrays.copyOf(literals, numberOfLiterals);
+		offsets = Arrays.copyOf(offsets, numberOfClauses + 1);
+	}
+
+	public int getNumberOfClauses() {
+		return numberOfClauses;
+	}
+
+	public int getNumberOfLiterals() {
+		return numberOfLiterals;
+	}
+
+	public int getClauseLength(int clauseIndex) {
+		return offsets[clauseIndex + 1] - offsets[clauseIndex];
+	}
+
+	public int getLiteral(int clauseIndex, int literalIndex) {
+		return literals[offsets[clauseIndex] + literalIndex];
+	}
+
+	/**
+	 * @return a copy of the literals of the given clause
+	 */
+	public int[] getClause(int clauseIndex) {
+		return Arrays.copyOfRange(literals, offsets[clauseIndex], offsets[clauseIndex + 1]);
+	}
+
+	/**
+	 * Returns the underlying literal array. The literals of the <code>i</code>-th clause start at {@link #getOffset(int) getOffset(i)}. The array must not be
+	 * modified.
+	 */
+	public int[] getLiterals() {
+		return literals;
+	}
+
+	public int getOffset(int clauseIndex) {
+		return offsets[clauseIndex];
+	}
+
+	/**
+	 * Creates a {@link Node} representation of this formula.
+	 *
+	 * @param satInstance the instance that maps the indices to variables
+	 * @return a conjunction of {@link Or clauses}
+	 */
+	public Node toNode(SatInstance satInstance) {
+		final Node[] clauses = new Node[numberOfClauses];
+		for (int i = 0; i < numberOfClauses; i++) {
+			final int start = offsets[i];
+			final Node[] clauseLiterals = new Node[offsets[i + 1] - start];
+			for (int j = 0; j < clauseLiterals.length; j++) {
+				clauseLiterals[j] = satInstance.getLiteral(literals[start + j]);
+			}
+			clauses[i] = new Or(clauseLiterals);
+		}
+		return new And(clauses);
+	}
+
+}
@@ -0,0 +1,376 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * Counts the models of a {@link SatInstance} exactly (#SAT) without enumerating them.<br> The counter is an exhaustive DPLL search with unit propagation
+ * that splits the remaining formula into independent components (variables connected by unsatisfied clauses) and multiplies their counts. The count of
+ * each component is cached, such that recurring components are counted only once. As the cache key only depends on the clauses and variables of a
+ * component, the cache is kept between calls of {@link #count(int[], long)}, which makes repeated counting under different assumptions cheap.<br> All variables
+ * of the instance are counted, including variables that do not occur in any clause. Hence, instances with {@link SatInstance#isAuxiliaryVariable(int)
+ * auxiliary variables} are not supported.<br> This class is thread-safe, but counting is not done in parallel.
+ */
+public class ModelCounter {
+
+	private static final int MAX_CACHE_SIZE = 1 << 18;
+
+	/**
+	 * The variables and clauses of a component. Used as cache key.
+	 */
+	private static final class Component {
+
+		private final int[] variables;
+		private final int[] clauses;
+		private final int hashCode;
+
+		private Component(int[] variables, int[] clauses) {
+			this.variables = variables;
+			this.clauses = clauses;
+			hashCode = (31 * Arrays.hashCode(variables)) + Arrays.hashCode(clauses);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final Component other = (Component) obj;
+			return (hashCode == other.hashCode) && Arrays.equals(variables, other.variables) && Arrays.equals(clauses, other.clauses);
+		}
+
+	}
+
+	private final IntCNF cnf;
+	private final int numberOfVariables;
+
+	/**
+	 * For each literal, the indices of the clauses that contain it. The index of a literal <code>x</code> is <code>2 * |x| + (x < 0 ? 1 : 0)</code>.
+	 */
+	private final int[][] occurrences;
+
+	private final HashMap<Component, BigInteger> cache = new HashMap<>();
+
+	/**
+	 * The current value of each variable (<code>1</code>, <code>-1</code>, or <code>0</code> if unassigned).
+	 */
+	private final byte[] values;
+	private final int[] trail;
+	private int trailSize = 0;
+
+	private final int[] variableCounts;
+	private final int[] variableMarks;
+	private final int[] clauseMarks;
+	private int mark = 0;
+
+	private long endTime;
+
+	/**
+	 * @param satInstance the instance to count
+	 *
+	 * @throws IllegalArgumentException if the instance contains auxiliary variables
+	 */
+	public ModelCounter(SatInstance satInstance) {
+		if (satInstance.getNumberOfFeatureVariables() < satInstance.getNumberOfVariables()) {
+			throw new IllegalArgumentException("Auxiliary variables are not supported");
+		}
+		cnf = satInstance.getClauses();
+		numberOfVariables = satInstance.getNumberOfVariables();
+
+		final int numberOfClauses = cnf.getNumberOfClauses();
+		final int[] literals = cnf.getLiterals();
+		final int[] occurrenceCounts = new int[(numberOfVariables + 1) << 1];
+		for (int i = 0, end = cnf.getOffset(numberOfClauses); i < end; i++) {
+			occurrenceCounts[getLiteralIndex(literals[i])]++;
+		}
+		occurrences = new int[occurrenceCounts.length][];
+		for (int i = 0; i < occurrences.length; i++) {
+			occurrences[i] = new int[occurrenceCounts[i]];
+		}
+		Arrays.fill(occurrenceCounts, 0);
+		for (int clause = 0; clause < numberOfClauses; clause++) {
+			for (int i = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); i < end; i++) {
+				final int literalIndex = getLiteralIndex(literals[i]);
+				occurrences[literalIndex][occurrenceCounts[literalIndex]++] = clause;
+			}
+		}
+
+		values = new byte[numberOfVariables + 1];
+		trail = new int[numberOfVariables];
+		variableCounts = new int[numberOfVariables + 1];
+		variableMarks = new int[numberOfVariables + 1];
+		clauseMarks = new int[numberOfClauses];
+	}
+
+	/**
+	 * Removes all cached component counts.
+	 */
+	public synchronized void clearCache() {
+		cache.clear();
+	}
+
+	/**
+	 * Counts all models that satisfy the given assumptions.
+	 *
+	 * @param assumptions literals that must hold in each model (<code>0</code> is ignored)
+	 * @param timeout the timeout in milliseconds (<code>0</code> means no timeout)
+	 * @return the number of models
+	 *
+	 * @throws TimeoutException if the timeout is reached
+	 */
+	public synchronized BigInteger count(int[] assumptions, long timeout) throws TimeoutException {
+		endTime = (timeout > 0) ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+		try {
+			for (final int literal : assumptions) {
+				if ((literal != 0) && !propagate(literal)) {
+					return BigInteger.ZERO;
+				}
+			}
+			for (int clause = 0, numberOfClauses = cnf.getNumberOfClauses(); clause < numberOfClauses; clause++) {
+				switch (cnf.getClauseLength(clause)) {
+				case 0:
+					return BigInteger.ZERO;
+				case 1:
+					if (!propagate(cnf.getLiteral(clause, 0))) {
+						return BigInteger.ZERO;
+					}
+					break;
+				default:
+					break;
+				}
+			}
+
+			final int[] allVariables = new int[numberOfVariables];
+			for (int i = 0; i < allVariables.length; i++) {
+				allVariables[i] = i + 1;
+			}
+			final int[] allClauses = new int[cnf.getNumberOfClauses()];
+			for (int i = 0; i < allClauses.length; i++) {
+				allClauses[i] = i;
+			}
+			return countComponents(allVariables, allClauses);
+		} finally {
+			undo(0);
+		}
+	}
+
+	/**
+	 * Splits the unassigned variables of the given component into independent components and multiplies their counts.
+	 */
+	private BigInteger countComponents(int[] variables, int[] clauses) throws TimeoutException {
+		if (mark >= (Integer.MAX_VALUE - 1)) {
+			Arrays.fill(variableMarks, 0);
+			Arrays.fill(clauseMarks, 0);
+			mark = 0;
+		}
+		final int activeMark = ++mark;
+		final int visitedMark = ++mark;
+
+		// mark all clauses that are not satisfied yet
+		for (final int clause : clauses) {
+			if (!isSatisfied(clause)) {
+				clauseMarks[clause] = activeMark;
+			}
+		}
+
+		final int[] literals = cnf.getLiterals();
+		int freeVariables = 0;
+		final List<Component> components = new ArrayList<>();
+		final int[] variableQueue = new int[variables.length];
+		final int[] clauseQueue = new int[clauses.length];
+		for (final int variable : variables) {
+			if ((values[variable] != 0) || (variableMarks[variable] == visitedMark)) {
+				continue;
+			}
+			int variableCount = 0;
+			int clauseCount = 0;
+			variableMarks[variable] = visitedMark;
+			variableQueue[variableCount++] = variable;
+			for (int i = 0; i < variableCount; i++) {
+				final int var = variableQueue[i];
+				for (int sign = 0; sign < 2; sign++) {
+					for (final int clause : occurrences[(var << 1) + sign]) {
+						if (clauseMarks[clause] != activeMark) {
+							continue;
+						}
+						clauseMarks[clause] = visitedMark;
+						clauseQueue[clauseCount++] = clause;
+						for (int j = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); j < end; j++) {
+							final int otherVar = Math.abs(literals[j]);
+							if ((values[otherVar] == 0) && (variableMarks[otherVar] != visitedMark)) {
+								variableMarks[otherVar] = visitedMark;
+								variableQueue[variableCount++] = otherVar;
+							}
+						}
+					}
+				}
+			}
+			if (clauseCount == 0) {
+				freeVariables++;
+			} else {
+				final int[] componentVariables = Arrays.copyOf(variableQueue, variableCount);
+				final int[] componentClauses = Arrays.copyOf(clauseQueue, clauseCount);
+				Arrays.sort(componentVariables);
+				Arrays.sort(componentClauses);
+				components.add(new Component(componentVariables, componentClauses));
+			}
+		}
+
+		BigInteger result = BigInteger.ONE.shiftLeft(freeVariables);
+		for (final Component component : components) {
+			result = result.multiply(countComponent(component));
+			if (result.signum() == 0) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts the models of a connected component by branching on its most frequent variable.
+	 */
+	private BigInteger countComponent(Component component) throws TimeoutException {
+		final BigInteger cachedResult = cache.get(component);
+		if (cachedResult != null) {
+			return cachedResult;
+		}
+		if (System.currentTimeMillis() > endTime) {
+			throw new TimeoutException();
+		}
+
+		// branch on the variable that occurs most often within the clauses of the component
+		final int[] literals = cnf.getLiterals();
+		for (final int clause : component.clauses) {
+			for (int j = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); j < end; j++) {
+				variableCounts[Math.abs(literals[j])]++;
+			}
+		}
+		int branchVariable = component.variables[0];
+		for (final int var : component.variables) {
+			if (variableCounts[var] > variableCounts[branchVariable]) {
+				branchVariable = var;
+			}
+		}
+		for (final int clause : component.clauses) {
+			for (int j = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); j < end; j++) {
+				variableCounts[Math.abs(literals[j])] = 0;
+			}
+		}
+
+		BigInteger result = BigInteger.ZERO;
+		final int trailMark = trailSize;
+		if (propagate(branchVariable)) {
+			result = result.add(countComponents(component.variables, component.clauses));
+		}
+		undo(trailMark);
+		if (propagate(-branchVariable)) {
+			result = result.add(countComponents(component.variables, component.clauses));
+		}
+		undo(trailMark);
+
+		if (cache.size() >= MAX_CACHE_SIZE) {
+			cache.clear();
+		}
+		cache.put(component, result);
+		return result;
+	}
+
+	/**
+	 * Assigns the given literal and propagates all resulting unit clauses.
+	 *
+	 * @return {@code false} if a conflict occurred (the assignments remain on the trail and must be undone by the caller)
+	 */
+	private boolean propagate(int literal) {
+		final int var = Math.abs(literal);
+		if (values[var] != 0) {
+			return values[var] == Integer.signum(literal);
+		}
+		int queueStart = trailSize;
+		assign(literal);
+		final int[] literals = cnf.getLiterals();
+		while (queueStart < trailSize) {
+			final int falseLiteral = -trail[queueStart++];
+			clauseLoop: for (final int clause : occurrences[getLiteralIndex(falseLiteral)]) {
+				int unassignedLiteral = 0;
+				int unassignedCount = 0;
+				for (int j = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); j < end; j++) {
+					final int clauseLiteral = literals[j];
+					final byte value = values[Math.abs(clauseLiteral)];
+					if (value == 0) {
+						unassignedLiteral = clauseLiteral;
+						if (++unassignedCount > 1) {
+							continue clauseLoop;
+						}
+					} else if (value == Integer.signum(clauseLiteral)) {
+						continue clauseLoop;
+					}
+				}
+				if (unassignedCount == 0) {
+					return false;
+				}
+				assign(unassignedLiteral);
+			}
+		}
+		return true;
+	}
+
+	private void assign(int literal) {
+		values[Math.abs(literal)] = (byte) Integer.signum(literal);
+		trail[trailSize++] = literal;
+	}
+
+	private void undo(int trailMark) {
+		while (trailSize > trailMark) {
+			values[Math.abs(trail[--trailSize])] = 0;
+		}
+	}
+
+	private boolean isSatisfied(int clause) {
+		final int[] literals = cnf.getLiterals();
+		for (int j = cnf.getOffset(clause), end = cnf.getOffset(clause + 1); j < end; j++) {
+			final int literal = literals[j];
+			if (values[Math.abs(literal)] == Integer.signum(literal)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int getLiteralIndex(int literal) {
+		return (Math.abs(literal) << 1) + (literal < 0 ? 1 : 0);
+	}
+
+}
@@ -79,6 +79,24 @@ public class ModifiableSolver extends BasicSolver {
 		return new ArrayList<>(constrList.subList(oldSize, constrList.size()));
 	}
 
+	@Override
+	protected List<IConstr> addCNF(final IntCNF clauses) throws ContradictionException {
+		if (constrList == null) {
+			constrList = new ArrayList<>();
+		}
+		final int oldSize = constrList.size();
+		try {
+			final int[] literals = clauses.getLiterals();
+			for (int i = 0; i < clauses.getNumberOfClauses(); i++) {
+				constrList.add(addClause(literals, clauses.getOffset(i), clauses.getOffset(i + 1)));
+			}
+		} catch (final ContradictionException e) {
+			removeLastClauses(constrList.size() - oldSize);
+			throw e;
+		}
+		return new ArrayList<>(constrList.subList(oldSize, constrList.size()));
+	}
+
 	@Override
 	protected List<IConstr> addCNF(final Node[] cnfChildren) throws ContradictionException {
 		if (constrList == null) {
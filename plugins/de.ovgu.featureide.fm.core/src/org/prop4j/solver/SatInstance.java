@@ -20,14 +20,21 @@
  */
 package org.prop4j.solver;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.prop4j.AuxiliaryVariable;
 import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.sat4j.specs.IVecInt;
@@ -74,14 +81,41 @@ public class SatInstance {
 
 	protected final HashMap<Object, Integer> varToInt = new HashMap<>();
 	protected final Object[] intToVar;
-	protected final Node cnf;
+
+	/**
+	 * The formula as {@link Node}. Created lazily if this instance was created from an {@link IntCNF}.
+	 */
+	protected Node cnf;
+
+	/**
+	 * The formula as {@link IntCNF}. Created lazily if this instance was created from a {@link Node}.
+	 */
+	protected IntCNF clauses;
+
+	/**
+	 * The number of feature variables. All variables with a greater index are {@link AuxiliaryVariable auxiliary variables}.
+	 */
+	protected final int numberOfFeatureVariables;
+
+	private String contentHash = null;
 
 	public SatInstance(Node root, Collection<?> featureList) {
-		intToVar = new Object[featureList.size() + 1];
+		final List<AuxiliaryVariable> auxiliaryVariables = getAuxiliaryVariables(root);
+		int numberOfFeatures = featureList.size();
+		for (final Object feature : featureList) {
+			if (feature instanceof AuxiliaryVariable) {
+				numberOfFeatures--;
+			}
+		}
+		intToVar = new Object[numberOfFeatures + auxiliaryVariables.size() + 1];
+		numberOfFeatureVariables = numberOfFeatures;
 		cnf = root;
 
 		int index = 0;
 		for (final Object feature : featureList) {
+			if (feature instanceof AuxiliaryVariable) {
+				continue;
+			}
 			final String name = feature.toString();
 			if (name == null) {
 				throw new RuntimeException();
@@ -89,6 +123,39 @@ public class SatInstance {
 			varToInt.put(name, ++index);
 			intToVar[index] = name;
 		}
+		for (final AuxiliaryVariable auxiliaryVariable : auxiliaryVariables) {
+			varToInt.put(auxiliaryVariable, ++index);
+			intToVar[index] = auxiliaryVariable;
+		}
+	}
+
+	/**
+	 * Creates an instance directly from the given clauses.
+	 *
+	 * @param clauses the formula
+	 * @param variables the variables, where the <code>i</code>-th element corresponds to the index <code>i + 1</code>. {@link AuxiliaryVariable Auxiliary
+	 *        variables} must be placed after all other variables.
+	 */
+	public SatInstance(IntCNF clauses, List<?> variables) {
+		intToVar = new Object[variables.size() + 1];
+		this.clauses = clauses;
+
+		int index = 0;
+		int numberOfFeatures = 0;
+		for (final Object variable : variables) {
+			final Object var;
+			if (variable instanceof AuxiliaryVariable) {
+				var = variable;
+			} else {
+				var = variable.toString();
+				if (numberOfFeatures++ != index) {
+					throw new IllegalArgumentException("Auxiliary variables must be placed after all other variables.");
+				}
+			}
+			varToInt.put(var, ++index);
+			intToVar[index] = var;
+		}
+		numberOfFeatureVariables = numberOfFeatures;
 	}
 
 	public SatInstance(Node root) {
@@ -106,6 +173,18 @@ public class SatInstance {
 		return result;
 	}
 
+	private static List<AuxiliaryVariable> getAuxiliaryVariables(Node cnf) {
+		final LinkedHashSet<AuxiliaryVariable> result = new LinkedHashSet<>();
+		if (cnf != null) {
+			for (final Literal literal : cnf.getLiterals()) {
+				if (literal.var instanceof AuxiliaryVariable) {
+					result.add((AuxiliaryVariable) literal.var);
+				}
+			}
+		}
+		return new ArrayList<>(result);
+	}
+
 	public List<String> convertToString(int[] model) {
 		return convertToString(model, true, false);
 	}
@@ -113,6 +192,9 @@ public class SatInstance {
 	public List<String> convertToString(int[] model, boolean includePositive, boolean includeNegative) {
 		final List<String> resultList = new ArrayList<>();
 		for (final int var : model) {
+			if (isAuxiliaryVariable(var)) {
+				continue;
+			}
 			if (var > 0) {
 				if (includePositive) {
 					resultList.add(intToVar[Math.abs(var)].toString());
@@ -167,19 +249,114 @@ public class SatInstance {
 		final List<String> resultList = new ArrayList<>(model.size());
 		final IteratorInt modelIt = model.iterator();
 		while (modelIt.hasNext()) {
-			resultList.add(intToVar[Math.abs(modelIt.next())].toString());
+			final int var = modelIt.next();
+			if (!isAuxiliaryVariable(var)) {
+				resultList.add(intToVar[Math.abs(var)].toString());
+			}
 		}
 		return resultList;
 	}
 
-	public Node getCnf() {
+	public synchronized Node getCnf() {
+		if (cnf == null) {
+			cnf = clauses.toNode(this);
+		}
 		return cnf;
 	}
 
+	/**
+	 * @return the formula of this instance as {@link IntCNF}
+	 */
+	public synchronized IntCNF getClauses() {
+		if (clauses == null) {
+			clauses = new IntCNF(cnf, this);
+		}
+		return clauses;
+	}
+
+	/**
+	 * Returns a stable hash of the variable order and the clauses of this instance. The hash does not depend on the order of the clauses or of the literals
+	 * within a clause. {@link AuxiliaryVariable Auxiliary variables} are only identified by their index. Thus, two instances that are created from the same
+	 * feature model in different sessions have the same hash.
+	 *
+	 * @return the SHA-256 hash as hexadecimal string
+	 */
+	public synchronized String getContentHash() {
+		if (contentHash == null) {
+			final IntCNF intCNF = getClauses();
+			final int[][] sortedClauses = new int[intCNF.getNumberOfClauses()][];
+			for (int i = 0; i < sortedClauses.length; i++) {
+				sortedClauses[i] = intCNF.getClause(i);
+				Arrays.sort(sortedClauses[i]);
+			}
+			Arrays.sort(sortedClauses, new Comparator<int[]>() {
+				@Override
+				public int compare(int[] clause1, int[] clause2) {
+					final int length = Math.min(clause1.length, clause2.length);
+					for (int i = 0; i < length; i++) {
+						if (clause1[i] != clause2[i]) {
+							return clause1[i] < clause2[i] ? -1 : 1;
+						}
+					}
+					return clause1.length - clause2.length;
+				}
+			});
+
+			final MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (final NoSuchAlgorithmException e) {
+				throw new RuntimeException(e);
+			}
+			final Charset charset = Charset.forName("UTF-8");
+			for (int i = 1; i < intToVar.length; i++) {
+				digest.update(isAuxiliaryVariable(i) ? new byte[] { 1 } : intToVar[i].toString().getBytes(charset));
+				digest.update((byte) 0);
+			}
+			final ByteBuffer buffer = ByteBuffer.allocate(4096);
+			for (final int[] clause : sortedClauses) {
+				for (int i = 0; i <= clause.length; i++) {
+					if (!buffer.hasRemaining()) {
+						buffer.flip();
+						digest.update(buffer);
+						buffer.clear();
+					}
+					// each clause is terminated by 0
+					buffer.putInt(i < clause.length ? clause[i] : 0);
+				}
+			}
+			buffer.flip();
+			digest.update(buffer);
+
+			final StringBuilder sb = new StringBuilder();
+			for (final byte b : digest.digest()) {
+				sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+				sb.append(Character.forDigit(b & 0xf, 16));
+			}
+			contentHash = sb.toString();
+		}
+		return contentHash;
+	}
+
 	public int getNumberOfVariables() {
 		return intToVar.length - 1;
 	}
 
+	/**
+	 * @return the number of variables that correspond to features (i.e., all variables except {@link AuxiliaryVariable auxiliary variables})
+	 */
+	public int getNumberOfFeatureVariables() {
+		return numberOfFeatureVariables;
+	}
+
+	/**
+	 * @param x a (signed) variable
+	 * @return true iff the variable is an {@link AuxiliaryVariable auxiliary variable} that does not correspond to a feature
+	 */
+	public boolean isAuxiliaryVariable(int x) {
+		return Math.abs(x) > numberOfFeatureVariables;
+	}
+
 	public Literal getLiteral(final int x) {
 		return new Literal(intToVar[Math.abs(x)], x > 0);
 	}
@@ -0,0 +1,106 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.ArrayDeque;
+
+import org.prop4j.solver.ISatSolver.SelectionStrategy;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.fm.core.Logger;
+
+/**
+ * Holds initialized {@link BasicSolver solvers} for one {@link SatInstance}, such that subsequent queries do not have to add all clauses again.<br>
+ * Solvers are taken with {@link #acquire()} and must be handed back with {@link #release(BasicSolver)}. Only the assignment and the selection order of a
+ * released solver are reset, so callers must not add clauses to it.
+ */
+public class SolverPool {
+
+	private static final int DEFAULT_MAX_SIZE = 4;
+
+	private final SatInstance satInstance;
+	private final int maxSize;
+
+	private final ArrayDeque<BasicSolver> solvers = new ArrayDeque<>();
+
+	private boolean contradiction = false;
+
+	public SolverPool(SatInstance satInstance) {
+		this(satInstance, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param satInstance the problem of all solvers in this pool
+	 * @param maxSize the maximum number of idle solvers that are kept
+	 */
+	public SolverPool(SatInstance satInstance, int maxSize) {
+		this.satInstance = satInstance;
+		this.maxSize = maxSize;
+	}
+
+	public SatInstance getSatInstance() {
+		return satInstance;
+	}
+
+	/**
+	 * Returns an idle solver or creates a new one, if there is none.
+	 *
+	 * @return a solver with an empty assignment or {@code null}, if the sat instance is contradictory
+	 */
+	public BasicSolver acquire() {
+		synchronized (solvers) {
+			final BasicSolver solver = solvers.pollLast();
+			if ((solver != null) || contradiction) {
+				return solver;
+			}
+		}
+		try {
+			return new BasicSolver(satInstance);
+		} catch (final ContradictionException e) {
+			Logger.logError(e);
+			synchronized (solvers) {
+				contradiction = true;
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Hands a solver back to this pool. Does nothing for {@code null} or solvers of another sat instance.
+	 *
+	 * @param solver a solver obtained from {@link #acquire()}
+	 */
+	public void release(BasicSolver solver) {
+		if ((solver == null) || (solver.getSatInstance() != satInstance)) {
+			return;
+		}
+		solver.assignmentClear(0);
+		solver.solutionList = null;
+		solver.fixOrder();
+		solver.setSelectionStrategy(SelectionStrategy.ORG);
+		synchronized (solvers) {
+			if (solvers.size() < maxSize) {
+				solvers.addLast(solver);
+			}
+		}
+	}
+
+}
@@ -106,75 +106,70 @@ public class DimacsWriter {
 	 * @return the transformed CNF; not null
 	 */
 	public String write() {
-		String s = "";
+		final StringBuilder sb = new StringBuilder();
 		if (writingVariableDirectory) {
-			s += writeVariableDirectory();
+			writeVariableDirectory(sb);
 		}
-		s += writeProblem();
-		s += writeClauses();
-		return s;
+		writeProblem(sb);
+		writeClauses(sb);
+		return sb.toString();
 	}
 
 	/**
 	 * Writes the variable directory.
 	 *
-	 * @return the variable directory; not null
+	 * @param sb the builder to append the variable directory to; not null
 	 */
-	private String writeVariableDirectory() {
-		String s = "";
+	private void writeVariableDirectory(StringBuilder sb) {
 		for (final Entry<Object, Integer> e : variableIndexes.entrySet()) {
-			s += writeVariableDirectoryEntry(e.getKey(), e.getValue());
+			writeVariableDirectoryEntry(sb, e.getKey(), e.getValue());
 		}
-		return s;
 	}
 
 	/**
 	 * Writes an entry of the variable directory.
 	 *
+	 * @param sb the builder to append the entry to; not null
 	 * @param variable variable to list in the entry
 	 * @param index index of the variable
-	 * @return an entry of the variable directory; not null
 	 */
-	private String writeVariableDirectoryEntry(Object variable, int index) {
-		return String.format("%s %d %s%n", COMMENT, index, String.valueOf(variable));
+	private void writeVariableDirectoryEntry(StringBuilder sb, Object variable, int index) {
+		sb.append(COMMENT).append(' ').append(index).append(' ').append(String.valueOf(variable)).append(System.lineSeparator());
 	}
 
 	/**
 	 * Writes the problem description.
 	 *
-	 * @return the problem description; not null
+	 * @param sb the builder to append the problem description to; not null
 	 */
-	private String writeProblem() {
-		return String.format("%s %s %d %d%n", PROBLEM, CNF, variableIndexes.size(), clauses.size());
+	private void writeProblem(StringBuilder sb) {
+		sb.append(PROBLEM).append(' ').append(CNF).append(' ').append(variableIndexes.size()).append(' ').append(clauses.size())
+				.append(System.lineSeparator());
 	}
 
 	/**
 	 * Writes all clauses.
 	 *
-	 * @return all transformed clauses; not null
+	 * @param sb the builder to append the transformed clauses to; not null
 	 */
-	private String writeClauses() {
-		String s = "";
+	private void writeClauses(StringBuilder sb) {
 		for (final Node clause : clauses) {
-			s += writeClause(clause);
+			writeClause(sb, clause);
 		}
-		return s;
 	}
 
 	/**
 	 * Writes the given clause.
 	 *
+	 * @param sb the builder to append the transformed clause to; not null
 	 * @param clause clause to transform; not null
-	 * @return the transformed clause; not null
 	 */
-	private String writeClause(Node clause) {
-		String s = "";
+	private void writeClause(StringBuilder sb, Node clause) {
 		for (final Literal l : clause.getUniqueLiterals()) {
-			s += writeLiteral(l) + " ";
+			sb.append(writeLiteral(l)).append(' ');
 		}
-		s += CLAUSE_END;
-		s += System.lineSeparator();
-		return s;
+		sb.append(CLAUSE_END);
+		sb.append(System.lineSeparator());
 	}
 
 	/**
@@ -0,0 +1,335 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.transform;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Transforms DIMACS CNF files into instances of {@link SatInstance} without creating any {@link org.prop4j.Node nodes}. The input is parsed byte by byte
+ * from a {@link ByteBuffer} and the clauses are stored in an {@link IntCNF}.</br> Other than {@link DimacsReader}, this reader
+ * requires every variable index to lie between 1 and the variable count of the problem definition, so that the indices of the file can be used by the
+ * solver directly. Variables that are declared but never used are allowed.
+ *
+ * @see IntDimacsWriter
+ */
+public class IntDimacsReader {
+
+	/** Token leading a (single-line) comment. */
+	private static final byte COMMENT = 'c';
+	/** Token leading the problem definition. */
+	private static final String PROBLEM = "p";
+	/** Token identifying the problem type as CNF. */
+	private static final String CNF = "cnf";
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/** The source to read from. */
+	private final ByteBuffer in;
+	/** The current position within the source. */
+	private int position;
+	/** The end of the source. */
+	private int limit;
+	/** The current line number (starting with 1). */
+	private int lineNumber = 1;
+
+	/** Maps indexes to variable names as found in the variable directory. */
+	private final Map<Integer, String> indexVariables = new HashMap<>();
+	/** The amount of variables as declared in the problem definition. */
+	private int variableCount;
+	/** The amount of clauses in the problem. */
+	private int clauseCount;
+	/** True to read the variable directory for naming variables. */
+	private boolean readingVariableDirectory = false;
+	/** True iff {@link #read()} has been called. */
+	private boolean read = false;
+
+	/**
+	 * Constructs a new instance of this class with the given input. The input is read from its current position to its limit.
+	 *
+	 * @param in input to read from; not null
+	 */
+	public IntDimacsReader(ByteBuffer in) {
+		this.in = in;
+	}
+
+	/**
+	 * <p> Sets the reading variable directory flag. If true, the reader will look for a variable directory in the comments. This contains names for the
+	 * variables which would otherwise just be numbers. If there are several entries for the same index, the first one is used. </p>
+	 *
+	 * <p> Defaults to false. </p>
+	 *
+	 * @param readingVariableDirectory whether to read the variable directory
+	 */
+	public void setReadingVariableDirectory(boolean readingVariableDirectory) {
+		this.readingVariableDirectory = readingVariableDirectory;
+	}
+
+	/**
+	 * @return the line at which the reader stopped (e.g., the line of a syntax error)
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Reads the input.
+	 *
+	 * @return a satisfiability instance containing all clauses and variables of the input; not null
+	 * @throws IllegalStateException if this method has already been called on this instance before
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public synchronized SatInstance read() throws IllegalStateException, ParseException {
+		if (read) {
+			throw new IllegalStateException("Already read");
+		}
+		read = true;
+		position = in.position();
+		limit = in.limit();
+
+		readProblem();
+		final IntCNF clauses = readClauses();
+		if (nextToken()) {
+			throw new ParseException("Trailing data", position);
+		}
+
+		final List<String> variables = new ArrayList<>(variableCount);
+		for (int i = 1; i <= variableCount; i++) {
+			final String variable = indexVariables.get(i);
+			variables.add(variable == null ? String.valueOf(i) : variable);
+		}
+		return new SatInstance(clauses, variables);
+	}
+
+	/**
+	 * Reads the problem definition.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readProblem() throws ParseException {
+		if (!PROBLEM.equals(readWord())) {
+			throw new ParseException("Missing problem definition", position);
+		}
+		if (!CNF.equals(readWord())) {
+			throw new ParseException("Problem type is not CNF", position);
+		}
+
+		if (!nextToken()) {
+			throw new ParseException("Unexpected end of input", position);
+		}
+		variableCount = readInteger("Variable count is not an integer");
+		if (variableCount <= 0) {
+			throw new ParseException("Variable count is not positive", position);
+		}
+
+		if (!nextToken()) {
+			throw new ParseException("Unexpected end of input", position);
+		}
+		clauseCount = readInteger("Clause count is not an integer");
+		if (clauseCount <= 0) {
+			throw new ParseException("Clause count is not positive", position);
+		}
+	}
+
+	/**
+	 * Reads all clauses. The token denoting the end of a clause is optional for the last clause.
+	 *
+	 * @return all clauses; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private IntCNF readClauses() throws ParseException {
+		final IntCNF clauses = new IntCNF(clauseCount, clauseCount * 3);
+		int[] clause = new int[16];
+		for (int i = 0; i < clauseCount; i++) {
+			final boolean lastClause = (i + 1) == clauseCount;
+			int length = 0;
+			while (true) {
+				if (!nextToken()) {
+					if (lastClause) {
+						break;
+					}
+					throw new ParseException("Unexpected end of input", position);
+				}
+				final int literal = readInteger("Illegal literal");
+				if (literal == 0) {
+					break;
+				}
+				if ((literal > variableCount) || (literal < -variableCount)) {
+					throw new ParseException("Variable index " + Math.abs(literal) + " exceeds variable count", position);
+				}
+				if (length == clause.length) {
+					clause = Arrays.copyOf(clause, length << 1);
+				}
+				clause[length++] = literal;
+			}
+			if (length == 0) {
+				throw new ParseException("Empty clause", position);
+			}
+			clauses.addClause(clause, 0, length);
+		}
+		clauses.trimToSize();
+		return clauses;
+	}
+
+	/**
+	 * Moves to the start of the next non-comment token. Also reads any comments before it.
+	 *
+	 * @return true if there is a token left in the input
+	 */
+	private boolean nextToken() {
+		while (position < limit) {
+			final byte b = in.get(position);
+			if (b == '\n') {
+				lineNumber++;
+				position++;
+			} else if (isWhitespace(b)) {
+				position++;
+			} else if ((b == COMMENT) && isTokenEnd(position + 1)) {
+				readComment(position + 1);
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the next token as string.
+	 *
+	 * @return the next token; null if there is no token left in the input
+	 */
+	private String readWord() {
+		if (!nextToken()) {
+			return null;
+		}
+		final int start = position;
+		while (!isTokenEnd(position)) {
+			position++;
+		}
+		return decode(start, position);
+	}
+
+	/**
+	 * Reads the token at the current position as integer.
+	 *
+	 * @param message the message of the exception that is thrown if the token is no integer
+	 * @return the integer value of the token
+	 * @throws ParseException if the token is no integer
+	 */
+	private int readInteger(String message) throws ParseException {
+		final int start = position;
+		final byte sign = in.get(position);
+		if ((sign == '-') || (sign == '+')) {
+			position++;
+		}
+		long value = 0;
+		final int digitStart = position;
+		while (!isTokenEnd(position)) {
+			final int digit = in.get(position) - '0';
+			if ((digit < 0) || (digit > 9) || (value > Integer.MAX_VALUE)) {
+				throw new ParseException(message, start);
+			}
+			value = (value * 10) + digit;
+			position++;
+		}
+		if ((position == digitStart) || (value > Integer.MAX_VALUE)) {
+			throw new ParseException(message, start);
+		}
+		return (int) (sign == '-' ? -value : value);
+	}
+
+	/**
+	 * Called when a comment is read. Moves to the end of the current line.
+	 *
+	 * @param start the position right after the comment token
+	 */
+	private void readComment(int start) {
+		position = start;
+		while (position < limit) {
+			final byte b = in.get(position);
+			if ((b == '\n') || (b == '\r')) {
+				break;
+			}
+			position++;
+		}
+		if (readingVariableDirectory) {
+			readVariableDirectoryEntry(start, position);
+		}
+	}
+
+	/**
+	 * Reads an entry of the variable directory. An entry consists of the index and the name of a variable, separated by a single whitespace character.
+	 *
+	 * @param start the start of the entry (inclusive)
+	 * @param end the end of the entry (exclusive)
+	 */
+	private void readVariableDirectoryEntry(int start, int end) {
+		int i = start;
+		while ((i < end) && isWhitespace(in.get(i))) {
+			i++;
+		}
+		if ((i < end) && (in.get(i) == '+')) {
+			i++;
+		}
+		long index = 0;
+		final int digitStart = i;
+		while ((i < end) && (index <= Integer.MAX_VALUE)) {
+			final int digit = in.get(i) - '0';
+			if ((digit < 0) || (digit > 9)) {
+				break;
+			}
+			index = (index * 10) + digit;
+			i++;
+		}
+		// the name must be separated by a single whitespace character and must not be empty
+		if ((i == digitStart) || ((end - i) < 2) || !isWhitespace(in.get(i))) {
+			return;
+		}
+		if ((index > 0) && (index <= Integer.MAX_VALUE) && !indexVariables.containsKey((int) index)) {
+			indexVariables.put((int) index, decode(i + 1, end));
+		}
+	}
+
+	private String decode(int start, int end) {
+		final byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = in.get(start + i);
+		}
+		return new String(bytes, CHARSET);
+	}
+
+	private boolean isTokenEnd(int index) {
+		return (index >= limit) || isWhitespace(in.get(index));
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return (b == ' ') || (b == '\t') || (b == '\n') || (b == '\r') || (b == '\f') || (b == 0x0B);
+	}
+}
@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.transform;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
+
+/**
+ * Transforms instances of {@link SatInstance} into DIMACS CNF file format. The clauses are taken from the {@link IntCNF} of the instance and written directly
+ * to a {@link Writer}, so that the output is never held in memory as a whole. The variable indices of the instance are used as DIMACS indices.
+ *
+ * @see IntDimacsReader
+ */
+public class IntDimacsWriter {
+
+	/** Token leading a (single-line) comment. */
+	private static final String COMMENT = "c";
+	/** Token leading the problem definition. */
+	private static final String PROBLEM = "p";
+	/** Token identifying the problem type as CNF. */
+	private static final String CNF = "cnf";
+	/** Token denoting the end of a clause. */
+	private static final char CLAUSE_END = '0';
+
+	/** The instance to transform. */
+	private final SatInstance satInstance;
+
+	/** Whether the writer should write a variable directory listing the names of the variables. */
+	private boolean writingVariableDirectory = false;
+
+	/** Buffer for the digits of a single literal. */
+	private final char[] digits = new char[11];
+
+	/**
+	 * Constructs a new instance of this class with the given instance.
+	 *
+	 * @param satInstance the instance to transform; not null
+	 */
+	public IntDimacsWriter(SatInstance satInstance) {
+		this.satInstance = satInstance;
+	}
+
+	/**
+	 * <p> Sets the writing variable directory flag. If true, the writer will write a variable directory at the start of the output. This is a set of comments
+	 * naming the variables. This can later be used during reading so the variables are not just numbers. </p>
+	 *
+	 * <p> Defaults to false. </p>
+	 *
+	 * @param writingVariableDirectory whether to write the variable directory
+	 */
+	public void setWritingVariableDirectory(boolean writingVariableDirectory) {
+		this.writingVariableDirectory = writingVariableDirectory;
+	}
+
+	/**
+	 * Writes the DIMACS CNF file format. The writer is flushed, but not closed.
+	 *
+	 * @param out the writer to write to; not null
+	 * @throws IOException if the writer cannot be written
+	 */
+	public void write(Writer out) throws IOException {
+		final String lineSeparator = System.lineSeparator();
+		final int numberOfVariables = satInstance.getNumberOfVariables();
+		if (writingVariableDirectory) {
+			for (int i = 1; i <= numberOfVariables; i++) {
+				out.write(COMMENT);
+				out.write(' ');
+				writeInteger(out, i);
+				out.write(' ');
+				out.write(String.valueOf(satInstance.getVariableObject(i)));
+				out.write(lineSeparator);
+			}
+		}
+
+		final IntCNF clauses = satInstance.getClauses();
+		final int numberOfClauses = clauses.getNumberOfClauses();
+		out.write(PROBLEM);
+		out.write(' ');
+		out.write(CNF);
+		out.write(' ');
+		writeInteger(out, numberOfVariables);
+		out.write(' ');
+		writeInteger(out, numberOfClauses);
+		out.write(lineSeparator);
+
+		final int[] literals = clauses.getLiterals();
+		for (int i = 0; i < numberOfClauses; i++) {
+			final int end = clauses.getOffset(i + 1);
+			for (int j = clauses.getOffset(i); j < end; j++) {
+				writeInteger(out, literals[j]);
+				out.write(' ');
+			}
+			out.write(CLAUSE_END);
+			out.write(lineSeparator);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the decimal representation of the given integer without creating a string.
+	 *
+	 * @param out the writer to write to
+	 * @param value the integer to write
+	 * @throws IOException if the writer cannot be written
+	 */
+	private void writeInteger(Writer out, int value) throws IOException {
+		if (value == Integer.MIN_VALUE) {
+			out.write(String.valueOf(value));
+			return;
+		}
+		int index = digits.length;
+		int remainder = Math.abs(value);
+		do {
+			digits[--index] = (char) ('0' + (remainder % 10));
+			remainder /= 10;
+		} while (remainder != 0);
+		if (value < 0) {
+			digits[--index] = '-';
+		}
+		out.write(digits, index, digits.length - index);
+	}
+}
@@ -33,6 +33,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.THE_GIVEN_FEAT
 import static de.ovgu.featureide.fm.core.localization.StringTable.VALID_COMMA_;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
@@ -579,25 +580,25 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		if (configurationEditor.getConfiguration().getPropagator() == null) {
 			return;
 		}
-		final LongRunningJob<Long> job = new LongRunningJob<>("", configurationEditor.getConfiguration().getPropagator().number(250));
-		job.addJobFinishedListener(new JobFinishListener<Long>() {
+		final LongRunningJob<BigInteger> job = new LongRunningJob<>("", configurationEditor.getConfiguration().getPropagator().exactNumber(250));
+		job.addJobFinishedListener(new JobFinishListener<BigInteger>() {
 
 			@Override
-			public void jobFinished(IJob<Long> finishedJob) {
+			public void jobFinished(IJob<BigInteger> finishedJob) {
 				final StringBuilder sb = new StringBuilder();
 				sb.append(valid ? VALID_COMMA_ : INVALID_COMMA_);
 
-				final Long number = finishedJob.getResults();
+				final BigInteger number = finishedJob.getResults();
 				if (number != null) {
-					if (number < 0) {
+					if (number.signum() < 0) {
 						sb.append(MORE_THAN);
-						sb.append(-1 - number);
+						sb.append(number.negate().subtract(BigInteger.ONE));
 					} else {
 						sb.append(number);
 					}
 					sb.append(POSSIBLE_CONFIGURATIONS);
 
-					if ((number == 0) && !configurationEditor.isAutoSelectFeatures()) {
+					if ((number.signum() == 0) && !configurationEditor.isAutoSelectFeatures()) {
 						sb.append(" - Autoselect not possible!");
 					}
 				}
@@ -25,9 +25,13 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.INCLING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
 import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 
+import java.io.File;
 import java.security.KeyStore.Builder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.CheckForNull;
 
@@ -48,11 +52,12 @@ import org.eclipse.jdt.internal.core.JavaProject;
 
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
-import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.IJob;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.ProgressMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 import de.ovgu.featureide.fm.core.localization.StringTable;
 import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.configuration.AConfigurationGenerator;
@@ -99,6 +104,11 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	String classpath = "";
 
+	/**
+	 * The entries of {@link #classpath} for the in-process compiler.
+	 */
+	final List<File> classpathEntries = new ArrayList<>();
+
 	/**
 	 * This folder is used for compilation.
 	 */
@@ -117,7 +127,7 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	/**
 	 * This flag indicates that all jobs should be aborted.
 	 */
-	boolean cancelGeneratorJobs = false;
+	volatile boolean cancelGeneratorJobs = false;
 
 	/**
 	 * Saves the time of start.
@@ -137,7 +147,12 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	/**
 	 * This list contains all {@link Generator} jobs.
 	 */
-	final List<Generator> generatorJobs = new ArrayList<>();
+	final List<Generator> generatorJobs = Collections.synchronizedList(new ArrayList<Generator>());
+
+	/**
+	 * The interval in ms in which the progress is updated and the monitor is checked for cancellation.
+	 */
+	private static final long STATUS_INTERVAL = 150;
 
 	public AbstractConfigurationSorter sorter;
 
@@ -148,22 +163,23 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	private AConfigurationGenerator configurationBuilder;
 
 	/**
-	 * Gets the first entry of configurations or <code>null</code> if there is none.
+	 * Gets the next configuration to build. Blocks until a configuration is available.
 	 *
-	 * @return The first entry
+	 * @return The next configuration or <code>null</code> if all configurations are built or the build process was canceled
 	 */
 	@CheckForNull
-	public synchronized BuilderConfiguration getConfiguration() {
+	public BuilderConfiguration getConfiguration() {
 		return sorter.getConfiguration();
 	}
 
 	/**
-	 * Adds the given configuration to configurations.
+	 * Adds the given configuration to configurations. Blocks while the buffer is full.
 	 *
 	 * @param configuration
+	 * @return <code>false</code> if the build process was canceled
 	 */
-	public synchronized void addConfiguration(BuilderConfiguration configuration) {
-		sorter.addConfiguration(configuration);
+	public boolean addConfiguration(BuilderConfiguration configuration) {
+		return sorter.addConfiguration(configuration);
 	}
 
 	// TODO revise long parameter list
@@ -264,6 +280,8 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 			private IRunner<Void> configurationBuilderJob;
 
+			private final CountDownLatch configurationBuilderFinished = new CountDownLatch(1);
+
 			@Override
 			public IStatus run(IProgressMonitor monitor) {
 				try {
@@ -289,6 +307,13 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 						newgeneratorJobs(1);
 					}
 					configurationBuilderJob = LongRunningWrapper.getRunner(configurationBuilder, "Create Configurations " + id++);
+					configurationBuilderJob.addJobFinishedListener(new JobFinishListener<Void>() {
+
+						@Override
+						public void jobFinished(IJob<Void> finishedJob) {
+							configurationBuilderFinished.countDown();
+						}
+					});
 					configurationBuilderJob.schedule();
 					showStatistics(monitor);
 					if (!createNewProjects) {
@@ -301,8 +326,10 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				} finally {
 					configurationBuilderJob.cancel();
 					cancelGenerationJobs();
-					for (final Thread g : generatorJobs) {
-						g.interrupt();
+					synchronized (generatorJobs) {
+						for (final Thread g : generatorJobs) {
+							g.interrupt();
+						}
 					}
 					monitor.done();
 				}
@@ -311,27 +338,21 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 			private void showStatistics(IProgressMonitor monitor) {
 				try {
-					while (configurationBuilderJob.getStatus() == JobStatus.NOT_STARTED) {
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						}
-					}
-					while (configurationBuilderJob.getStatus() == JobStatus.RUNNING) {
-						monitor.setTaskName(getTaskName());
-						if (monitor.isCanceled()) {
-							cancelGenerationJobs();
-							configurationBuilderJob.cancel();
-							return;
-						}
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
+					try {
+						while (!configurationBuilderFinished.await(STATUS_INTERVAL, TimeUnit.MILLISECONDS)) {
+							monitor.setTaskName(getTaskName());
+							if (monitor.isCanceled()) {
+								cancelGenerationJobs();
+								configurationBuilderJob.cancel();
+								return;
+							}
 						}
+					} catch (final InterruptedException e) {
+						LOGGER.logError(e);
+						cancelGenerationJobs();
+						configurationBuilderJob.cancel();
+						return;
 					}
-					System.err.println(configurationBuilderJob.getStatus());
 
 					if (!sorter.isSorted()) {
 						final IMonitor workMonitor = new ProgressMonitor(getTaskName(), monitor);
@@ -350,14 +371,16 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 							if (generator == null) {
 								// generator can never be null, however see #416
 								generatorJobs.remove(0);
-							} else if (generator.getState() == Thread.State.TERMINATED) {
-								generatorJobs.remove(generator);
-								if (sorter.getBufferSize() != 0) {
-									createNewGenerator(generator.nr);
+							} else {
+								generator.join(STATUS_INTERVAL);
+								if (generator.getState() == Thread.State.TERMINATED) {
+									generatorJobs.remove(generator);
+									if (!cancelGeneratorJobs && (sorter.getBufferSize() != 0)) {
+										createNewGenerator(generator.nr);
+									}
 								}
 							}
 							monitor.setTaskName(getTaskName());
-							Thread.sleep(150);
 						} catch (final InterruptedException e) {
 							LOGGER.logError(e);
 						} catch (final IndexOutOfBoundsException e) {
@@ -374,7 +397,8 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 					if (built > configurationNumber) {
 						built = (int) configurationNumber;
 					}
-					LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t);
+					LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t + " ("
+						+ formatProductsPerSecond() + ")");
 				} finally {
 					generatorJobs.clear();
 				}
@@ -473,10 +497,12 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				final String path = e.getPath().toOSString();
 				if (e.getPath().isAbsolute()) {
 					classpath += sep + "\"" + path + "\"";
+					classpathEntries.add(new File(path));
 				} else {
 					final IResource resource = e.getResource();
 					if ((resource != null) && "jar".equals(resource.getFileExtension())) {
 						classpath += sep + "\"" + resource.getLocation().toOSString() + "\"";
+						classpathEntries.add(resource.getLocation().toFile());
 					} else {
 						UIPlugin.getDefault().logWarning("ClassPath element " + e.toString() + " is missing.");
 					}
@@ -524,6 +550,7 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	public void cancelGenerationJobs() {
 		cancelGeneratorJobs = true;
+		sorter.cancel();
 	}
 
 	/**
@@ -531,6 +558,7 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	public void finish() {
 		finish = true;
+		sorter.finish();
 	}
 
 	/**
@@ -548,7 +576,16 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 		}
 		final long buffer = sorter.getBufferSize();
 		return "Built configurations: " + built + "/" + (configurationNumber == Integer.MAX_VALUE ? COUNTING___ : configurationNumber) + "(" + buffer
-			+ " buffered)" + " Expected time: " + t;
+			+ " buffered, " + formatProductsPerSecond() + ")" + " Expected time: " + t;
+	}
+
+	/**
+	 * @return the number of configurations built per second since the start of the build process.
+	 */
+	private String formatProductsPerSecond() {
+		final long duration = System.currentTimeMillis() - time;
+		final double productsPerSecond = duration > 0 ? (built * 1000.0) / duration : 0;
+		return String.format("%.1f products/s", productsPerSecond);
 	}
 
 	/**
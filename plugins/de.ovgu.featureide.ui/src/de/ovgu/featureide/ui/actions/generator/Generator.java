@@ -122,28 +122,11 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 	public void run() {
 		try {
 			while (true) {
-				synchronized (this) {
-					if (builder.cancelGeneratorJobs) {
-						builder.generatorJobs.remove(this);
-						return;
-					}
-					if (builder.sorter.getBufferSize() == 0) {
-						while ((builder.sorter.getBufferSize() == 0) || !builder.sorter.isSorted()) {
-							/** the job waits for a new configuration to build **/
-							try {
-								Thread.sleep(1000);
-								if (((builder.sorter.getBufferSize() == 0) && builder.finish) || builder.cancelGeneratorJobs) {
-									return;
-								}
-							} catch (final InterruptedException e) {
-								UIPlugin.getDefault().logError(e);
-							}
-						}
-					}
-				}
+				/** the job waits for a new configuration to build **/
 				configuration = builder.getConfiguration();
 				if (configuration == null) {
-					continue;
+					// all configurations are built or the build process was canceled
+					return;
 				}
 				final String name = configuration.getName();
 				if (builder.createNewProjects) {
@@ -191,6 +174,9 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 			UIPlugin.getDefault().logWarning(THE_GENERATOR_NR_ + nr + WILL_BE_RESTARTED_);
 			builder.createNewGenerator(nr);
 		} finally {
+			if (compiler != null) {
+				compiler.close();
+			}
 			builder.generatorJobs.remove(this);
 		}
 		return;
@@ -24,22 +24,40 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.CANNOT_FIND_SY
 import static de.ovgu.featureide.fm.core.localization.StringTable.COMPILER;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SYMBOL;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.CheckForNull;
+import javax.tools.Diagnostic;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 
 import de.ovgu.featureide.ui.UIPlugin;
@@ -51,8 +69,33 @@ import de.ovgu.featureide.ui.UIPlugin;
  */
 public class JavaCompiler implements IConfigurationBuilderBasics {
 
+	/**
+	 * The compiler of the running JDK or <code>null</code> if FeatureIDE runs on a JRE. In this case, the products are compiled with the batch compiler of
+	 * JDT.
+	 */
+	@CheckForNull
+	private static final javax.tools.JavaCompiler SYSTEM_COMPILER = ToolProvider.getSystemJavaCompiler();
+
 	private final Generator generator;
 
+	/**
+	 * The source level of the feature project as set in its Java compiler settings or <code>null</code> if it is unknown.
+	 */
+	@CheckForNull
+	private final String sourceLevel;
+
+	/**
+	 * The options for the system compiler. Instead of filtering the messages afterwards, the ignored warnings are not reported by javac at all.
+	 */
+	private final List<String> systemCompilerOptions = new ArrayList<>();
+
+	/**
+	 * The file manager of the system compiler. It is reused for all products compiled by this compiler, such that the class path is only indexed once per
+	 * run. A file manager is not thread-safe, thus, each {@link Generator} has its own one.
+	 */
+	@CheckForNull
+	private StandardJavaFileManager fileManager;
+
 	/**
 	 * The parent folder of the generated variants
 	 */
@@ -65,6 +108,13 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 	 */
 	public JavaCompiler(int nr, Generator generator) {
 		this.generator = generator;
+		sourceLevel = JavaCore.create(generator.builder.featureProject.getProject()).getOption(JavaCore.COMPILER_SOURCE, true);
+
+		systemCompilerOptions.addAll(Arrays.asList("-g", "-Xlint:all,-rawtypes,-cast,-serial,-deprecation", "-proc:none"));
+		if (sourceLevel != null) {
+			systemCompilerOptions.add("-source");
+			systemCompilerOptions.add(sourceLevel);
+		}
 
 		tmp = generator.builder.tmp.getFolder(COMPILER + nr);
 		if (!tmp.exists()) {
@@ -75,6 +125,30 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 			}
 		}
 
+		if (SYSTEM_COMPILER != null) {
+			fileManager = SYSTEM_COMPILER.getStandardFileManager(null, null, null);
+			try {
+				fileManager.setLocation(StandardLocation.CLASS_PATH, generator.builder.classpathEntries);
+				fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(tmp.getRawLocation().toFile()));
+			} catch (final IOException e) {
+				UIPlugin.getDefault().logError(e);
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Releases the file manager of the system compiler.
+	 */
+	void close() {
+		if (fileManager != null) {
+			try {
+				fileManager.close();
+			} catch (final IOException e) {
+				UIPlugin.getDefault().logError(e);
+			}
+			fileManager = null;
+		}
 	}
 
 	/**
@@ -102,6 +176,97 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 	 */
 	private void compile(String confName) {
 		final LinkedList<IFile> files = getJavaFiles(generator.builder.folder.getFolder(confName));
+		LinkedList<IFile> errorFiles = (fileManager != null) ? compileInProcess(files, confName) : null;
+		if (errorFiles == null) {
+			errorFiles = compileWithBatchCompiler(files, confName);
+		}
+		for (final IFile file : errorFiles) {
+			generator.builder.featureProject.getComposer().postCompile(null, file);
+		}
+	}
+
+	/**
+	 * Compiles the given files with the system compiler and creates the problem markers from its diagnostics.
+	 *
+	 * @param files The files to compile
+	 * @param configurationName Name of the actual configuration
+	 * @return The files containing problems or <code>null</code> if the system compiler does not support the options (e.g., the source level). In this case,
+	 *         the file manager is released and all further products are compiled with the batch compiler.
+	 */
+	@CheckForNull
+	private LinkedList<IFile> compileInProcess(LinkedList<IFile> files, String configurationName) {
+		final LinkedList<IFile> errorFiles = new LinkedList<IFile>();
+		if (files.isEmpty()) {
+			return errorFiles;
+		}
+		final Map<File, IFile> sourceFiles = new HashMap<>();
+		for (final IFile file : files) {
+			sourceFiles.put(file.getLocation().toFile().getAbsoluteFile(), file);
+		}
+
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourceFiles.keySet());
+		try {
+			SYSTEM_COMPILER.getTask(null, fileManager, diagnostics, systemCompilerOptions, null, compilationUnits).call();
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			UIPlugin.getDefault().logWarning("The system compiler cannot be used: " + e.getMessage());
+			close();
+			return null;
+		}
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			// errors without a source concern the options (e.g., a source level that is no longer supported)
+			if ((diagnostic.getKind() == Kind.ERROR) && (diagnostic.getSource() == null)) {
+				UIPlugin.getDefault().logWarning("The system compiler cannot be used: " + diagnostic.getMessage(Locale.getDefault()));
+				close();
+				return null;
+			}
+		}
+
+		try {
+			for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				final boolean warning;
+				switch (diagnostic.getKind()) {
+				case ERROR:
+					warning = false;
+					break;
+				case WARNING:
+				case MANDATORY_WARNING:
+					warning = true;
+					break;
+				default:
+					continue;
+				}
+				final JavaFileObject source = diagnostic.getSource();
+				if (source == null) {
+					continue;
+				}
+				final IFile currentFile = sourceFiles.get(new File(source.toUri()).getAbsoluteFile());
+				if (currentFile == null) {
+					continue;
+				}
+				final String errorMessage = diagnostic.getMessage(Locale.getDefault()).replaceAll("\\s*\\n\\s*", " ");
+				if (isIgnored(errorMessage)) {
+					continue;
+				}
+				if (!errorFiles.contains(currentFile)) {
+					errorFiles.add(currentFile);
+				}
+				createMarker(currentFile, (int) diagnostic.getLineNumber(), configurationName + " " + errorMessage, warning);
+			}
+		} catch (final CoreException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+		return errorFiles;
+	}
+
+	/**
+	 * Compiles the given files with the batch compiler of JDT and creates the problem markers from its output.
+	 *
+	 * @param files The files to compile
+	 * @param confName Name of the actual configuration
+	 * @return The files containing problems
+	 */
+	private LinkedList<IFile> compileWithBatchCompiler(LinkedList<IFile> files, String confName) {
 		final LinkedList<String> options = new LinkedList<>();
 		for (final IFile file : files) {
 			options.add(setupPath(file));
@@ -109,17 +274,14 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 		options.add("-g");
 		options.add("-Xlint");
 		options.add("-source");
-		options.add("1.7");
+		options.add(sourceLevel != null ? sourceLevel : "1.7");
 		options.add("-d");
 		options.add(setupPath(tmp.getRawLocation().toOSString()));
 		options.add("-classpath");
 		options.add(generator.builder.classpath);
 
 		final String output = process(options);
-		final LinkedList<IFile> errorFiles = parseJavacOutput(output, files, confName);
-		for (final IFile file : errorFiles) {
-			generator.builder.featureProject.getComposer().postCompile(null, file);
-		}
+		return parseJavacOutput(output, files, confName);
 	}
 
 	/**
@@ -210,21 +372,13 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 				// if (CANNOT_FIND_SYMBOL.equals(errorMessage)) {
 				// errorMessage = parseCannotFindSymbolMessage(scanner);
 				// }
-				if (errorMessage.contains(ERROR_IGNOR_RAW_TYPE) || errorMessage.contains(ERROR_IGNOR_CAST) || errorMessage.contains(ERROR_IGNOR_SERIIZABLE)
-					|| (errorMessage.contains(ERROR_IGNOR_UNUSED_IMPORT) && !errorMessage.contains("cannot be resolved"))
-					|| errorMessage.contains(ERROR_IGNOR_DEPRECATION)) {
+				if (isIgnored(errorMessage)) {
 					continue;
 				}
 				if (!errorFiles.contains(currentFile)) {
 					errorFiles.add(currentFile);
 				}
-				IMarker newMarker;
-				newMarker = currentFile.createMarker(PROBLEM_MARKER);
-				if (newMarker.exists()) {
-					newMarker.setAttribute(IMarker.LINE_NUMBER, line);
-					newMarker.setAttribute(IMarker.MESSAGE, configurationName + " " + errorMessage);
-					newMarker.setAttribute(IMarker.SEVERITY, warning ? IMarker.SEVERITY_WARNING : IMarker.SEVERITY_ERROR);
-				}
+				createMarker(currentFile, line, configurationName + " " + errorMessage, warning);
 			}
 		} catch (final CoreException e) {
 			UIPlugin.getDefault().logError(e);
@@ -233,6 +387,21 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 		return errorFiles;
 	}
 
+	private static boolean isIgnored(String errorMessage) {
+		return errorMessage.contains(ERROR_IGNOR_RAW_TYPE) || errorMessage.contains(ERROR_IGNOR_CAST) || errorMessage.contains(ERROR_IGNOR_SERIIZABLE)
+			|| (errorMessage.contains(ERROR_IGNOR_UNUSED_IMPORT) && !errorMessage.contains("cannot be resolved"))
+			|| errorMessage.contains(ERROR_IGNOR_DEPRECATION);
+	}
+
+	private static void createMarker(IFile file, int line, String message, boolean warning) throws CoreException {
+		final IMarker newMarker = file.createMarker(PROBLEM_MARKER);
+		if (newMarker.exists()) {
+			newMarker.setAttribute(IMarker.LINE_NUMBER, line);
+			newMarker.setAttribute(IMarker.MESSAGE, message);
+			newMarker.setAttribute(IMarker.SEVERITY, warning ? IMarker.SEVERITY_WARNING : IMarker.SEVERITY_ERROR);
+		}
+	}
+
 	@SuppressWarnings("unused")
 	private String parseCannotFindSymbolMessage(Scanner scanner) {
 		while (scanner.hasNextLine()) {
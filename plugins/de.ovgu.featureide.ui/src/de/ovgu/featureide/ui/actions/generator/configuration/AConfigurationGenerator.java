@@ -24,6 +24,7 @@ import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 import de.ovgu.featureide.ui.actions.generator.ConfigurationBuilder;
 
@@ -65,7 +66,14 @@ public abstract class AConfigurationGenerator implements LongRunningMethod<Void>
 		return (int) builder.configurationNumber;
 	}
 
+	/**
+	 * Passes the given configuration to the builder. Blocks while the buffer of the builder is full.
+	 *
+	 * @throws MethodCancelException if the build process was canceled
+	 */
 	protected void addConfiguration(Configuration configuration) {
-		builder.addConfiguration(new BuilderConfiguration(configuration, ++confs));
+		if (!builder.addConfiguration(new BuilderConfiguration(configuration, ++confs))) {
+			throw new MethodCancelException();
+		}
 	}
 }
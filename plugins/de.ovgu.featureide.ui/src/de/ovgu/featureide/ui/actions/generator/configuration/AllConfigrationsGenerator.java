@@ -23,12 +23,14 @@ package de.ovgu.featureide.ui.actions.generator.configuration;
 import java.util.LinkedList;
 
 import org.eclipse.core.runtime.jobs.Job;
-import org.prop4j.And;
-import org.prop4j.Literal;
 import org.prop4j.Node;
-import org.prop4j.SatSolver;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVecInt;
 
 import de.ovgu.featureide.core.IFeatureProject;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
@@ -38,6 +40,7 @@ import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
 import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.job.LongRunningJob;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -78,24 +81,38 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 		number.schedule();
 	}
 
-	private Node rootNode;
-	private LinkedList<Node> children;
+	/**
+	 * Creates a generator that is not connected to a {@link ConfigurationBuilder} and does not count the configurations in advance. Subclasses must override
+	 * {@link #maxConfigs()}, {@link #addConfiguration(Configuration)}, and {@link #cancelGenerationJobs()}.<br> Used to test and benchmark the enumeration.
+	 *
+	 * @param featureModel the feature model
+	 */
+	AllConfigrationsGenerator(IFeatureModel featureModel) {
+		super(null, featureModel, null);
+	}
 
 	/**
-	 * The max size of <code>>configurations</code>
+	 * Incremental solver that is used to check partial selections during the depth-first search.<br> The selected features of the current partial selection
+	 * are kept as assumptions, such that the solver (and its learned clauses) can be reused for the whole enumeration.
 	 */
-	private final int maxBufferSize = 5000;
+	private BasicSolver solver;
 
 	@Override
 	public Void execute(IMonitor monitor) throws Exception {
 		try {
 			buildAll(featureModel.getStructure().getRoot().getFeature(), monitor);
 		} finally {
-			number.cancel();
+			cancelCounting();
 		}
 		return null;
 	}
 
+	private void cancelCounting() {
+		if (number != null) {
+			number.cancel();
+		}
+	}
+
 	/**
 	 * Builds all possible valid configurations for the feature project.<br> Iterates through the structure of the feature model and ignores constraints, to get
 	 * a linear expenditure.<br> After collecting a configurations the satsolver tests its validity.<br> Then the found configuration will be build into the
@@ -107,8 +124,15 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 	private void buildAll(IFeature root, IMonitor monitor) {
 		final LinkedList<IFeature> selectedFeatures2 = new LinkedList<IFeature>();
 		selectedFeatures2.add(root);
-		rootNode = AdvancedNodeCreator.createNodes(featureModel, new AbstractFeatureFilter(), CNFType.Compact, ModelType.All, true);
-		children = new LinkedList<Node>();
+		if (featureModel.getConstraintCount() > 0) {
+			final Node rootNode = AdvancedNodeCreator.createNodes(featureModel, new AbstractFeatureFilter(), CNFType.Regular, ModelType.All, false);
+			try {
+				solver = new BasicSolver(new SatInstance(rootNode, Functional.toList(FeatureUtils.getConcreteFeatureNames(featureModel))));
+			} catch (final ContradictionException e) {
+				// feature model is void
+				return;
+			}
+		}
 		build(root, "", selectedFeatures2, monitor);
 	}
 
@@ -116,7 +140,7 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 		try {
 			monitor.checkCancel();
 		} catch (final MethodCancelException e) {
-			number.cancel();
+			cancelCounting();
 			cancelGenerationJobs();
 			return;
 		}
@@ -124,18 +148,8 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 			return;
 		}
 
-		if (featureModel.getConstraintCount() > 0) {
-			children.clear();
-			for (final String feature : selected.split("\"")) {
-				children.add(new Literal(feature, true));
-			}
-			try {
-				if (!(new SatSolver(new And(rootNode.clone(), new And(children)), 1000)).isSatisfiable()) {
-					return;
-				}
-			} catch (final org.sat4j.specs.TimeoutException e) {
-				UIPlugin.getDefault().logError(e);
-			}
+		if ((solver != null) && !isSatisfiable(selected)) {
+			return;
 		}
 
 		if (selectedFeatures2.isEmpty()) {
@@ -168,24 +182,6 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 				}
 
 				addConfiguration(configuration);
-
-				if (builder.sorter.getBufferSize() >= maxBufferSize) {
-					synchronized (this) {
-						while (builder.sorter.getBufferSize() >= maxBufferSize) {
-							try {
-								monitor.checkCancel();
-							} catch (final MethodCancelException e) {
-								number.cancel();
-								return;
-							}
-							try {
-								wait(1000);
-							} catch (final InterruptedException e) {
-								UIPlugin.getDefault().logError(e);
-							}
-						}
-					}
-				}
 			}
 			return;
 		}
@@ -309,6 +305,40 @@ public class AllConfigrationsGenerator extends AConfigurationGenerator {
 
 	}
 
+	/**
+	 * Checks whether the given partial selection can be extended to a valid configuration. Only called if the feature model has constraints.<br> Only the
+	 * features that differ from the previous call are popped from and pushed to the assumptions of the solver.
+	 *
+	 * @param selected The names of the selected features, separated by <code>"</code>
+	 * @return <code>false</code> if the partial selection is unsatisfiable, <code>true</code> otherwise
+	 */
+	protected boolean isSatisfiable(String selected) {
+		final String[] selectedFeatures = selected.isEmpty() ? new String[0] : selected.split("\"");
+		final SatInstance satInstance = solver.getSatInstance();
+		final IVecInt assignment = solver.getAssignment();
+
+		int unchanged = 0;
+		final int maxUnchanged = Math.min(assignment.size(), selectedFeatures.length);
+		while ((unchanged < maxUnchanged) && (assignment.get(unchanged) == satInstance.getVariable(selectedFeatures[unchanged]))) {
+			unchanged++;
+		}
+		solver.assignmentClear(unchanged);
+		for (int i = unchanged; i < selectedFeatures.length; i++) {
+			solver.assignmentPush(satInstance.getVariable(selectedFeatures[i]));
+		}
+
+		switch (solver.isSatisfiable()) {
+		case FALSE:
+			return false;
+		case TIMEOUT:
+			UIPlugin.getDefault().logWarning(StringTable.SATSOLVER_COMPUTATION_TIMEOUT);
+			return true;
+		case TRUE:
+		default:
+			return true;
+		}
+	}
+
 	/**
 	 * Returns all children of a feature if it is a layer or if it has a child that is concrete.
 	 *
@@ -23,20 +23,30 @@ package de.ovgu.featureide.ui.actions.generator.sorter;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import javax.annotation.CheckForNull;
+
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 
 /**
- * Sorts configurations.<br> Default implementation, does nothing.
+ * Sorts configurations.<br> Default implementation, does nothing.<br> <br> The sorter is also the buffer between the configuration generator (producer) and
+ * the {@link de.ovgu.featureide.ui.actions.generator.Generator Generator} threads (consumers). If the configurations are already sorted, the producer blocks
+ * as soon as the buffer contains {@link #MAX_BUFFER_SIZE} configurations. Consumers block until a configuration is available, until no more configurations
+ * will be added, or until the build process is canceled.
  *
  * @author Jens Meinicke
  */
 public class AbstractConfigurationSorter {
 
 	/**
-	 * This list contains all found configurations to built.<br> Use <code>getConfiguration()</code> and <code>setConfiguration(c)</code> for synchronizing.
+	 * The maximal number of buffered configurations, if the configurations do not need to be sorted.
+	 */
+	public static final int MAX_BUFFER_SIZE = 5000;
+
+	/**
+	 * This list contains all found configurations to built.<br> Use <code>getConfiguration()</code> and <code>addConfiguration(c)</code> for synchronizing.
 	 */
 	protected LinkedList<BuilderConfiguration> configurations = new LinkedList<BuilderConfiguration>();
 
@@ -44,13 +54,26 @@ public class AbstractConfigurationSorter {
 
 	protected boolean sorted = true;
 
+	/**
+	 * <code>true</code> if no more configurations will be added.
+	 */
+	private boolean finished = false;
+
+	/**
+	 * <code>true</code> if the build process was canceled.
+	 */
+	private boolean canceled = false;
+
 	public AbstractConfigurationSorter(final IFeatureModel featureModel) {
 		concreteFeatures = FeatureUtils.extractConcreteFeaturesAsStringList(featureModel);// TODO move to implementations
 	}
 
 	public int sortConfigurations(final IMonitor monitor) {
 		final int numberOfConfigurations = sort(monitor);
-		sorted = true;
+		synchronized (this) {
+			sorted = true;
+			notifyAll();
+		}
 		return numberOfConfigurations;
 	}
 
@@ -58,15 +81,69 @@ public class AbstractConfigurationSorter {
 		return configurations.size();
 	}
 
-	public synchronized void addConfiguration(BuilderConfiguration configuration) {
+	/**
+	 * Adds a configuration to the buffer. Blocks while the buffer is full.
+	 *
+	 * @param configuration the configuration to build
+	 * @return <code>false</code> if the build process was canceled (the configuration is discarded), <code>true</code> otherwise
+	 */
+	public synchronized boolean addConfiguration(BuilderConfiguration configuration) {
+		try {
+			while (sorted && !canceled && (configurations.size() >= MAX_BUFFER_SIZE)) {
+				wait();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		if (canceled) {
+			return false;
+		}
 		configurations.add(configuration);
+		notifyAll();
+		return true;
 	}
 
+	/**
+	 * Gets the next configuration to build. Blocks until a configuration is available.
+	 *
+	 * @return the next configuration or <code>null</code> if there are no more configurations or the build process was canceled
+	 */
+	@CheckForNull
 	public synchronized BuilderConfiguration getConfiguration() {
-		if (!sorted || configurations.isEmpty()) {
+		try {
+			while (!canceled && (!sorted || configurations.isEmpty())) {
+				if (finished && sorted) {
+					return null;
+				}
+				wait();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
 			return null;
 		}
-		return configurations.pop();
+		if (canceled) {
+			return null;
+		}
+		final BuilderConfiguration configuration = configurations.pop();
+		notifyAll();
+		return configuration;
+	}
+
+	/**
+	 * Notification that no more configurations will be added. Waiting consumers return as soon as the buffer is empty.
+	 */
+	public synchronized void finish() {
+		finished = true;
+		notifyAll();
+	}
+
+	/**
+	 * Wakes up all waiting producers and consumers and discards all further configurations.
+	 */
+	public synchronized void cancel() {
+		canceled = true;
+		notifyAll();
 	}
 
 	public int getBufferSize() {
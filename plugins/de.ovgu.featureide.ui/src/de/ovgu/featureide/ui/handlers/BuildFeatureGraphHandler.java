@@ -33,12 +33,14 @@ import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.io.AnalysisCache;
 import de.ovgu.featureide.fm.core.io.FeatureGraphFormat;
-import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.job.IJob;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
+import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.handlers.base.AFeatureProjectHandler;
 
 public class BuildFeatureGraphHandler extends AFeatureProjectHandler {
@@ -57,12 +59,26 @@ public class BuildFeatureGraphHandler extends AFeatureProjectHandler {
 			final IFeatureModel fm = project.getFeatureModel();
 			final SatInstance sat =
 				new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), Functional.mapToList(fm.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+			final AnalysisCache cache = AnalysisCache.INSTANCE;
+			if (cache != null) {
+				final IFeatureGraph cachedGraph = cache.readFeatureGraph(sat);
+				if (cachedGraph != null) {
+					writeFeatureGraph(cachedGraph, path);
+					continue;
+				}
+			}
 			final IRunner<IFeatureGraph> runner = LongRunningWrapper.getRunner(new FGBuilder(sat));
 			runner.addJobFinishedListener(new JobFinishListener<IFeatureGraph>() {
 
 				@Override
 				public void jobFinished(IJob<IFeatureGraph> finishedJob) {
-					SimpleFileHandler.save(path, finishedJob.getResults(), new FeatureGraphFormat());
+					final IFeatureGraph featureGraph = finishedJob.getResults();
+					if (featureGraph != null) {
+						writeFeatureGraph(featureGraph, path);
+						if (cache != null) {
+							cache.writeFeatureGraph(sat, featureGraph);
+						}
+					}
 				}
 			});
 			runner.schedule();
@@ -70,4 +86,13 @@ public class BuildFeatureGraphHandler extends AFeatureProjectHandler {
 		projectList.clear();
 	}
 
+	/**
+	 * Writes the graph via the {@link de.ovgu.featureide.fm.core.io.FileSystem file system}, which also refreshes the workspace resource.
+	 */
+	private static void writeFeatureGraph(IFeatureGraph featureGraph, Path path) {
+		for (final Problem problem : new FeatureGraphFormat().write(featureGraph, path).getErrors()) {
+			UIPlugin.getDefault().logWarning(problem.getMessage());
+		}
+	}
+
 }
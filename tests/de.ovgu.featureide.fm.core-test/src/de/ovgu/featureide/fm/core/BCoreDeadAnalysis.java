@@ -0,0 +1,81 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+import org.prop4j.analyses.CoreDeadAnalysis;
+import org.prop4j.analyses.ParallelCoreDeadAnalysis;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * This is a benchmark for the computation of core and dead features. It compares the sequential {@link CoreDeadAnalysis} to the
+ * {@link ParallelCoreDeadAnalysis}. The test cases only check that both analyses compute the same result.
+ */
+public class BCoreDeadAnalysis {
+
+	private static final int NUMBER_OF_THREADS = 4;
+
+	private static void analyze(final String modelFile) {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile(modelFile, Commons.FEATURE_MODEL_BENCHMARK_PATH_REMOTE,
+				Commons.FEATURE_MODEL_BENCHMARK_PATH_LOCAL_CLASS_PATH);
+		final SatInstance satInstance = new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), FeatureUtils.getFeatureNamesPreorder(fm));
+
+		long time = System.nanoTime();
+		final int[] result1 = LongRunningWrapper.runMethod(new CoreDeadAnalysis(satInstance));
+		final long time1 = System.nanoTime() - time;
+
+		final ParallelCoreDeadAnalysis parallelAnalysis = new ParallelCoreDeadAnalysis(satInstance);
+		parallelAnalysis.setNumberOfThreads(NUMBER_OF_THREADS);
+		time = System.nanoTime();
+		final int[] result2 = LongRunningWrapper.runMethod(parallelAnalysis);
+		final long time2 = System.nanoTime() - time;
+
+		System.out.println(modelFile + ": " + result1.length + " core/dead features");
+		System.out.println("\tSequential:             " + (time1 / 1000000) + " ms");
+		System.out.println("\tParallel (" + NUMBER_OF_THREADS + " threads): " + (time2 / 1000000) + " ms");
+
+		assertArrayEquals(result1, result2);
+	}
+
+	@Test
+	public final void BAnalyzeBerkeleyDB() {
+		analyze("berkeley_db_model.xml");
+	}
+
+	@Test
+	public final void BAnalyzeBerkeleyDB2() {
+		analyze("berkeley_db_model2.xml");
+	}
+
+	@Test
+	public final void BAnalyze200() {
+		analyze("200-100.xml");
+	}
+
+}
@@ -0,0 +1,86 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.analyses.FGBuilder;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link ConfigurationChanger}.
+ */
+public class TConfigurationChanger {
+
+	private static final Selection[] SELECTIONS = { Selection.UNDEFINED, Selection.SELECTED, Selection.UNSELECTED };
+
+	@Test
+	public void testIsValidWithSolver() throws Exception {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile("test_7.xml",
+				"/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.fm.core-test/src/analyzefeaturemodels/", "analyzefeaturemodels");
+		final SatInstance sat = new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), FeatureUtils.getFeatureNamesList(fm));
+		final IFeatureGraph featureGraph = new FGBuilder(sat).analyze(new NullMonitor());
+
+		final ConfigurationFG configuration = new ConfigurationFG(fm, featureGraph, ConfigurationFG.PARAM_NONE);
+		final ConfigurationChanger propagator = configuration.getPropagator();
+		final BasicSolver solver = propagator.createSolver();
+		assertNotNull(solver);
+
+		final List<SelectableFeature> features = new ArrayList<>();
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			if (feature.getAutomatic() == Selection.UNDEFINED) {
+				features.add(feature);
+			}
+		}
+		final int[] counts = new int[2];
+		final int combinations = (int) Math.pow(SELECTIONS.length, features.size());
+		for (int i = 0; i < combinations; i++) {
+			int index = i;
+			for (final SelectableFeature feature : features) {
+				configuration.setManual(feature, SELECTIONS[index % SELECTIONS.length]);
+				index /= SELECTIONS.length;
+			}
+			final Boolean valid = LongRunningWrapper.runMethod(propagator.isValid());
+			assertEquals(valid, LongRunningWrapper.runMethod(propagator.isValid(solver)));
+			assertEquals(valid, LongRunningWrapper.runMethod(propagator.isValid(null)));
+			counts[valid ? 1 : 0]++;
+		}
+		assertTrue(counts[0] > 0);
+		assertTrue(counts[1] > 0);
+	}
+
+}
@@ -0,0 +1,110 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SparseFeatureGraph}. The sparse graph must behave exactly like the {@link MatrixFeatureGraph}.
+ */
+public class TSparseFeatureGraph {
+
+	private static final byte[] EDGES = { AFeatureGraph.EDGE_00Q, AFeatureGraph.EDGE_01Q, AFeatureGraph.EDGE_10Q, AFeatureGraph.EDGE_11Q,
+		AFeatureGraph.EDGE_00, AFeatureGraph.EDGE_01, AFeatureGraph.EDGE_10, AFeatureGraph.EDGE_11 };
+
+	private static int[] createIndex(int numberOfVariables) {
+		final int[] index = new int[numberOfVariables];
+		int size = 0;
+		for (int i = 0; i < index.length; i++) {
+			index[i] = ((i % 5) == 0) ? -1 : size++;
+		}
+		return index;
+	}
+
+	private static void assertSameGraph(IFeatureGraph expected, IFeatureGraph actual) {
+		assertEquals(expected.getSize(), actual.getSize());
+		for (int i = 0; i < expected.getSize(); i++) {
+			for (int j = 0; j < expected.getSize(); j++) {
+				assertEquals(expected.getEdge(i, j), actual.getEdge(i, j));
+				assertEquals(expected.getValue(i, j, true), actual.getValue(i, j, true));
+				assertEquals(expected.getValue(i, j, false), actual.getValue(i, j, false));
+			}
+		}
+		for (int i = 0; i < expected.getIndex().length; i++) {
+			for (int j = 0; j < expected.getIndex().length; j++) {
+				assertEquals(expected.getValueInternal(i, j, true), actual.getValueInternal(i, j, true));
+				assertEquals(expected.getValueInternal(i, j, false), actual.getValueInternal(i, j, false));
+			}
+		}
+	}
+
+	@Test
+	public void testSetEdge() {
+		final int[] index = createIndex(300);
+		final MatrixFeatureGraph matrixGraph = new MatrixFeatureGraph(null, index);
+		final SparseFeatureGraph sparseGraph = new SparseFeatureGraph(null, index);
+		final int size = matrixGraph.getSize();
+
+		final Random random = new Random(42);
+		for (int i = 0; i < (size * 8); i++) {
+			final int from = random.nextInt(size);
+			final int to = random.nextInt(size);
+			final byte edge = ((i % 10) == 0) ? AFeatureGraph.EDGE_NONE : EDGES[random.nextInt(4)];
+			assertEquals(matrixGraph.setEdge(from, to, edge), sparseGraph.setEdge(from, to, edge));
+		}
+		for (int i = 0; i < size; i++) {
+			final int from = random.nextInt(size);
+			final int to = random.nextInt(size);
+			final byte edge = EDGES[4 + random.nextInt(4)];
+			matrixGraph.setEdge(from, to, AFeatureGraph.EDGE_NONE);
+			sparseGraph.setEdge(from, to, AFeatureGraph.EDGE_NONE);
+			assertEquals(matrixGraph.setEdge(from, to, edge), sparseGraph.setEdge(from, to, edge));
+		}
+		assertSameGraph(matrixGraph, sparseGraph);
+
+		final SparseFeatureGraph copiedGraph = new SparseFeatureGraph();
+		copiedGraph.copyValues(sparseGraph);
+		assertSameGraph(matrixGraph, copiedGraph);
+	}
+
+	@Test
+	public void testRemoveEdge() {
+		final SparseFeatureGraph graph = new SparseFeatureGraph(null, createIndex(20));
+		assertTrue(graph.setEdge(0, 3, AFeatureGraph.EDGE_01Q));
+		assertTrue(graph.setEdge(0, 1, AFeatureGraph.EDGE_10));
+		assertFalse(graph.setEdge(0, 1, AFeatureGraph.EDGE_10Q));
+		assertFalse(graph.setEdge(2, 2, AFeatureGraph.EDGE_11));
+		assertEquals(2, graph.getNumberOfEdges());
+
+		assertTrue(graph.setEdge(0, 3, AFeatureGraph.EDGE_NONE));
+		assertFalse(graph.setEdge(0, 3, AFeatureGraph.EDGE_NONE));
+		assertEquals(AFeatureGraph.EDGE_NONE, graph.getEdge(0, 3));
+		assertEquals(AFeatureGraph.EDGE_10, graph.getEdge(0, 1));
+		assertEquals(1, graph.getNumberOfEdges());
+	}
+
+}
@@ -0,0 +1,99 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.conf.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link ConfigurationCheckThread}.
+ */
+public class TConfigurationCheckThread {
+
+	private static final String[] CONFIGURATIONS = { "F1\nF2\n", "F1\n", "", "F1\nF2\nF3\n", "F2\n" };
+
+	private Path folder;
+	private final List<Path> files = new ArrayList<>();
+
+	@Before
+	public void createFiles() throws IOException {
+		folder = Files.createTempDirectory("configs");
+		for (int i = 0; i < CONFIGURATIONS.length; i++) {
+			files.add(Files.write(folder.resolve(i + ".config"), CONFIGURATIONS[i].getBytes(StandardCharsets.UTF_8)));
+		}
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		for (final Path file : files) {
+			Files.deleteIfExists(file);
+		}
+		Files.deleteIfExists(folder);
+	}
+
+	private void checkConfigurations(int numberOfThreads) {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile("test_1.xml",
+				"/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.fm.core-test/src/analyzefeaturemodels/", "analyzefeaturemodels");
+		final ConfigurationCheckThread checkThread = new ConfigurationCheckThread(fm, files, new NullMonitor());
+		checkThread.start(numberOfThreads);
+
+		final Configuration configuration = new Configuration(fm, false, false);
+		for (int i = 0; i < files.size(); i++) {
+			final int numberOfProblems = SimpleFileHandler.load(files.get(i), configuration, ConfigFormatManager.getInstance()).size();
+			assertEquals(configuration.isValid(), checkThread.isValid(i));
+			assertEquals(numberOfProblems, checkThread.getProblems(i).size());
+		}
+		assertTrue(checkThread.isValid(0));
+		assertFalse(checkThread.isValid(1));
+		assertFalse(checkThread.isValid(2));
+		assertFalse(checkThread.getProblems(3).isEmpty());
+	}
+
+	@Test
+	public void testSingleThread() {
+		checkConfigurations(1);
+	}
+
+	@Test
+	public void testMultipleThreads() {
+		checkConfigurations(3);
+	}
+
+}
@@ -0,0 +1,112 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link ConfigurationPropagator} with repeated queries on the same configuration and on clones that share its solvers.
+ */
+public class TConfigurationPropagator extends AbstractConfigurationTest {
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : [A] [B] [D] C :: _S; %% A implies D; not B;");
+	}
+
+	@Test
+	public void testRepeatedUpdates() {
+		final Configuration c = new Configuration(fm, true);
+		for (int i = 0; i < 10; i++) {
+			c.setManual("A", Selection.SELECTED);
+			assertEquals(Selection.SELECTED, c.getSelectablefeature("D").getAutomatic());
+			assertEquals(Selection.UNSELECTED, c.getSelectablefeature("B").getAutomatic());
+			assertTrue(c.isValid());
+
+			c.setManual("A", Selection.UNDEFINED);
+			assertEquals(Selection.UNDEFINED, c.getSelectablefeature("D").getAutomatic());
+			assertTrue(c.isValid());
+
+			c.setManual("D", Selection.UNSELECTED);
+			assertEquals(Selection.UNSELECTED, c.getSelectablefeature("A").getAutomatic());
+			c.setManual("D", Selection.UNDEFINED);
+		}
+	}
+
+	@Test
+	public void testClone() {
+		final Configuration c = new Configuration(fm, true);
+		c.setManual("D", Selection.UNSELECTED);
+		final Configuration clone = c.clone();
+		clone.setManual("D", Selection.UNDEFINED);
+		clone.setManual("A", Selection.SELECTED);
+		assertEquals(Selection.UNSELECTED, c.getSelectablefeature("A").getAutomatic());
+		assertEquals(Selection.SELECTED, clone.getSelectablefeature("D").getAutomatic());
+	}
+
+	@Test
+	public void testResolve() {
+		final Configuration c = new Configuration(fm, false);
+		c.setManual("A", Selection.SELECTED);
+		c.setManual("B", Selection.SELECTED);
+		c.setManual("D", Selection.UNSELECTED);
+		LongRunningWrapper.runMethod(c.getPropagator().resolve());
+
+		assertEquals(Selection.SELECTED, c.getSelectablefeature("A").getManual());
+		assertEquals(Selection.UNDEFINED, c.getSelectablefeature("B").getManual());
+		assertEquals(Selection.UNDEFINED, c.getSelectablefeature("D").getManual());
+		assertEquals(Selection.UNSELECTED, c.getSelectablefeature("B").getAutomatic());
+		assertEquals(Selection.SELECTED, c.getSelectablefeature("C").getAutomatic());
+		assertEquals(Selection.SELECTED, c.getSelectablefeature("D").getAutomatic());
+		assertTrue(c.isValid());
+	}
+
+	@Test
+	public void testCoverFeatures() throws Exception {
+		final Configuration c = new Configuration(fm, true);
+		c.setManual("C", Selection.SELECTED);
+		final List<String> features = new ArrayList<>(Arrays.asList("A", "D"));
+		final List<List<String>> solutions = c.coverFeatures(features, new NullMonitor(), false);
+		assertTrue(features.isEmpty());
+		assertEquals(1, solutions.size());
+		assertFalse(solutions.get(0).contains("A"));
+		assertFalse(solutions.get(0).contains("D"));
+		assertTrue(solutions.get(0).contains("C"));
+
+		final List<String> selectedFeatures = new ArrayList<>(Arrays.asList("A", "C"));
+		final List<List<String>> selectedSolutions = c.coverFeatures(selectedFeatures, new NullMonitor(), true);
+		assertEquals(1, selectedSolutions.size());
+		assertTrue(selectedSolutions.get(0).containsAll(Arrays.asList("A", "C", "D")));
+	}
+
+}
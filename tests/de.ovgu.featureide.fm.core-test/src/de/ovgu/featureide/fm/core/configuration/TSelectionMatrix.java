@@ -0,0 +1,157 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Tests for {@link SelectionMatrix}.
+ */
+public class TSelectionMatrix {
+
+	private final IFeatureModel fm = Commons.loadFeatureModelFromFile("test_1.xml",
+			"/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.fm.core-test/src/analyzefeaturemodels/", "analyzefeaturemodels");
+
+	private final List<String> features = new ArrayList<>(FeatureUtils.getFeatureNamesPreorder(fm));
+
+	private final Random random = new Random(42);
+
+	private final Map<String, Configuration> configurations = new LinkedHashMap<>();
+
+	private Configuration createConfiguration(double selectionProbability) {
+		final Configuration configuration = new Configuration(fm, false, false);
+		for (final String feature : features) {
+			configuration.setManual(feature, random.nextDouble() < selectionProbability ? Selection.SELECTED : Selection.UNSELECTED);
+		}
+		return configuration;
+	}
+
+	private void assertSameFeatures(SelectionMatrix matrix) {
+		final List<String> unusedFeatures = new ArrayList<>();
+		final List<String> alwaysSelectedFeatures = new ArrayList<>();
+		if (!configurations.isEmpty()) {
+			for (final String feature : features) {
+				boolean used = false;
+				boolean alwaysSelected = true;
+				for (final Configuration configuration : configurations.values()) {
+					if (configuration.getSelectablefeature(feature).getSelection() == Selection.SELECTED) {
+						used = true;
+					} else {
+						alwaysSelected = false;
+					}
+				}
+				if (!used) {
+					unusedFeatures.add(feature);
+				}
+				if (alwaysSelected) {
+					alwaysSelectedFeatures.add(feature);
+				}
+			}
+		}
+		assertEquals(configurations.size(), matrix.getNumberOfConfigurations());
+		assertEquals(unusedFeatures, matrix.getUnusedFeatures());
+		assertEquals(alwaysSelectedFeatures, matrix.getAlwaysSelectedFeatures());
+		for (final String key : configurations.keySet()) {
+			for (final String feature : features) {
+				assertEquals(configurations.get(key).getSelectablefeature(feature).getSelection() == Selection.SELECTED, matrix.isSelected(key, feature));
+			}
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		final SelectionMatrix matrix = new SelectionMatrix(features);
+		assertTrue(matrix.getUnusedFeatures().isEmpty());
+		assertTrue(matrix.getAlwaysSelectedFeatures().isEmpty());
+		assertFalse(matrix.removeConfiguration("0"));
+	}
+
+	@Test
+	public void testAddReplaceRemove() {
+		final SelectionMatrix matrix = new SelectionMatrix(features);
+		for (int i = 0; i < 200; i++) {
+			final String key = Integer.toString(i);
+			final Configuration configuration = createConfiguration(i < 130 ? 0.9 : 0.5);
+			configurations.put(key, configuration);
+			matrix.setConfiguration(key, configuration);
+			if ((i % 50) == 0) {
+				assertSameFeatures(matrix);
+			}
+		}
+		assertSameFeatures(matrix);
+
+		for (int i = 0; i < 20; i++) {
+			final String key = Integer.toString(random.nextInt(200));
+			final Configuration configuration = createConfiguration(0.1);
+			configurations.put(key, configuration);
+			matrix.setConfiguration(key, configuration);
+		}
+		assertSameFeatures(matrix);
+
+		for (int i = 199; i >= 0; i--) {
+			final String key = Integer.toString((i * 7) % 200);
+			assertTrue(matrix.removeConfiguration(key));
+			configurations.remove(key);
+			if ((i % 30) == 0) {
+				assertSameFeatures(matrix);
+			}
+		}
+		assertSameFeatures(matrix);
+	}
+
+	@Test
+	public void testAlwaysSelected() {
+		final SelectionMatrix matrix = new SelectionMatrix(features);
+		for (int i = 0; i < 128; i++) {
+			final String key = Integer.toString(i);
+			final Configuration configuration = createConfiguration(1);
+			configurations.put(key, configuration);
+			matrix.setConfiguration(key, configuration);
+		}
+		assertEquals(features, matrix.getAlwaysSelectedFeatures());
+		assertSameFeatures(matrix);
+
+		final Configuration configuration = createConfiguration(0);
+		configurations.put("128", configuration);
+		matrix.setConfiguration("128", configuration);
+		assertTrue(matrix.getAlwaysSelectedFeatures().isEmpty());
+		assertSameFeatures(matrix);
+
+		configurations.remove("0");
+		matrix.removeConfiguration("0");
+		assertSameFeatures(matrix);
+	}
+
+}
@@ -0,0 +1,94 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+
+/**
+ * Tests for {@link AdvancedNodeCreator#createSatInstance()}.
+ */
+public class TAdvancedNodeCreator {
+
+	private static IFeatureModel load(String modelFile) {
+		return Commons.loadFeatureModelFromFile(modelFile, Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+				Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH);
+	}
+
+	private static void assertSameInstance(IFeatureModel fm, ModelType modelType, boolean includeBooleanValues) {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setModelType(modelType);
+		nodeCreator.setIncludeBooleanValues(includeBooleanValues);
+		nodeCreator.setUseOldNames(false);
+
+		final SatInstance expected = new SatInstance(nodeCreator.createNodes(), FeatureUtils.getFeatureNamesPreorder(fm));
+		final SatInstance actual = nodeCreator.createSatInstance();
+
+		for (int i = 1; i <= expected.getNumberOfVariables(); i++) {
+			assertEquals(expected.getVariableObject(i), actual.getVariableObject(i));
+		}
+		final IntCNF expectedClauses = expected.getClauses();
+		final IntCNF actualClauses = actual.getClauses();
+		assertEquals(expectedClauses.getNumberOfClauses(), actualClauses.getNumberOfClauses());
+		for (int i = 0; i < expectedClauses.getNumberOfClauses(); i++) {
+			assertArrayEquals(expectedClauses.getClause(i), actualClauses.getClause(i));
+		}
+		assertEquals(expected.getCnf(), actual.getCnf());
+	}
+
+	@Test
+	public void testGPL() {
+		final IFeatureModel fm = load("gpl_medium_model.xml");
+		assertSameInstance(fm, ModelType.All, false);
+		assertSameInstance(fm, ModelType.OnlyStructure, false);
+		assertSameInstance(fm, ModelType.OnlyConstraints, false);
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		assertSameInstance(load("berkeley_db_model.xml"), ModelType.All, false);
+	}
+
+	@Test
+	public void testIntCNF() {
+		final IntCNF clauses = new IntCNF(1, 1);
+		clauses.addClause(1);
+		clauses.addClause(-1, 2);
+		clauses.addClause(1, -2, 3);
+		assertEquals(3, clauses.getNumberOfClauses());
+		assertEquals(6, clauses.getNumberOfLiterals());
+		assertEquals(2, clauses.getClauseLength(1));
+		assertEquals(-2, clauses.getLiteral(2, 1));
+		assertArrayEquals(new int[] { 1, -2, 3 }, clauses.getClause(2));
+	}
+
+}
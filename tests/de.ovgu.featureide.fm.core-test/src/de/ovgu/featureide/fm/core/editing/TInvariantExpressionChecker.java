@@ -0,0 +1,136 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.NodeReader;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.InvariantExpressionChecker.Invariance;
+
+/**
+ * Tests for {@link InvariantExpressionChecker}.
+ */
+public class TInvariantExpressionChecker {
+
+	private static final long TIMEOUT = 1000;
+
+	private static Node parse(String expression) {
+		return new NodeReader().stringToNode(expression);
+	}
+
+	/**
+	 * Checks an expression as before, i.e., with two new solvers for the formula of the feature model, the context, and the expression.
+	 */
+	private static Invariance checkWithNewSolvers(Node featureModel, Node expression, List<Node> context) throws TimeoutException {
+		final List<Node> children = new ArrayList<>(context);
+		children.add(0, featureModel);
+		final Node contextNode = new And(children.toArray(new Node[children.size()]));
+		if (!new SatSolver(new And(contextNode, expression), TIMEOUT).isSatisfiable()) {
+			return Invariance.CONTRADICTION;
+		}
+		if (!new SatSolver(new And(contextNode, new Not(expression)), TIMEOUT).isSatisfiable()) {
+			return Invariance.TAUTOLOGY;
+		}
+		return Invariance.NONE;
+	}
+
+	private static Node createExpression(List<String> features, Random random, int depth) {
+		if ((depth == 0) || (random.nextInt(3) == 0)) {
+			return new Literal(features.get(random.nextInt(features.size())), random.nextBoolean());
+		}
+		final Node left = createExpression(features, random, depth - 1);
+		final Node right = createExpression(features, random, depth - 1);
+		switch (random.nextInt(5)) {
+		case 0:
+			return new And(left, right);
+		case 1:
+			return new Or(left, right);
+		case 2:
+			return new Implies(left, right);
+		case 3:
+			return new Equals(left, right);
+		default:
+			return new Not(left);
+		}
+	}
+
+	@Test
+	public void testSimple() throws TimeoutException {
+		final Node featureModel = parse("A and (B implies A) and (C implies A) and not (B and C)");
+		final InvariantExpressionChecker checker = new InvariantExpressionChecker(featureModel, TIMEOUT);
+		final List<Node> noContext = Collections.emptyList();
+
+		assertEquals(Invariance.TAUTOLOGY, checker.check(parse("A"), noContext));
+		assertEquals(Invariance.CONTRADICTION, checker.check(parse("not A"), noContext));
+		assertEquals(Invariance.NONE, checker.check(parse("B"), noContext));
+		assertEquals(Invariance.CONTRADICTION, checker.check(parse("B and C"), noContext));
+		assertEquals(Invariance.CONTRADICTION, checker.check(parse("C"), Arrays.asList(parse("B"))));
+		assertEquals(Invariance.TAUTOLOGY, checker.check(parse("not C"), Arrays.asList(parse("B"))));
+		assertEquals(Invariance.NONE, checker.check(parse("C"), Arrays.asList(parse("not B"))));
+		// cached result
+		assertEquals(Invariance.CONTRADICTION, checker.check(parse("C"), Arrays.asList(parse("B"))));
+		// unknown feature
+		assertEquals(Invariance.NONE, checker.check(parse("D"), noContext));
+	}
+
+	@Test
+	public void testRandomExpressions() throws TimeoutException {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile("gpl_medium_model.xml", Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+				Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH);
+		final Node featureModel = AdvancedNodeCreator.createNodes(fm);
+		final List<String> features = FeatureUtils.getFeatureNamesPreorder(fm);
+		final InvariantExpressionChecker checker = new InvariantExpressionChecker(featureModel, TIMEOUT);
+
+		final Random random = new Random(0);
+		final List<Node> context = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			if (!context.isEmpty() && random.nextBoolean()) {
+				context.remove(context.size() - 1);
+			}
+			final Node expression = createExpression(features, random, 3);
+			assertEquals(checkWithNewSolvers(featureModel, expression, context), checker.check(expression, context));
+			if (context.size() < 3) {
+				context.add(expression);
+			}
+		}
+	}
+
+}
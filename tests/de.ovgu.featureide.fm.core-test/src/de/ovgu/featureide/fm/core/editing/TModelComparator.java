@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.core.editing;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.FileNotFoundException;
 import java.util.HashSet;
@@ -36,8 +37,12 @@ import de.ovgu.featureide.common.Commons;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
 import de.ovgu.featureide.fm.core.io.guidsl.GuidslFormat;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
  * Checks that the calculation of edit categories works properly. A couple of known refactorings, generalizations and arbitrary edits are performed and the
@@ -267,14 +272,75 @@ public class TModelComparator {
 
 	}
 
+	/**
+	 * Each checked clause is reported to the monitor, a canceled monitor aborts the comparison.
+	 */
+	@Test
+	public void testMonitor() throws UnsupportedModelException {
+		final int[] steps = new int[1];
+		final NullMonitor monitor = new NullMonitor();
+		monitor.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object t) {
+				steps[0]++;
+			}
+		});
+		assertEquals(Comparison.REFACTORING, compare("S : A B :: _S;", "S : [A] B :: _S; %% S implies A;", monitor));
+		assertTrue(steps[0] > 0);
+
+		monitor.cancel();
+		try {
+			compare("S : A B :: _S;", "S : [A] B :: _S; %% S implies A;", monitor);
+			fail();
+		} catch (final MethodCancelException e) {}
+	}
+
+	/**
+	 * A failure in one direction of the comparison stops the other direction.
+	 */
+	@Test
+	public void testFailureStopsComparison() throws UnsupportedModelException {
+		final StringBuilder oldModel = new StringBuilder("S : ");
+		final StringBuilder newModel = new StringBuilder("S : ");
+		for (int i = 0; i < 50; i++) {
+			oldModel.append("[F").append(i).append("] ");
+			newModel.append("[F").append(i).append("] ");
+		}
+		oldModel.append(":: _S; %%");
+		newModel.append(":: _S; %%");
+		for (int i = 0; i < 49; i++) {
+			oldModel.append(" F").append(i).append(" implies F").append(i + 1).append(";");
+			newModel.append(" not F").append(i + 1).append(" implies not F").append(i).append(";");
+		}
+
+		final int[] steps = new int[1];
+		final NullMonitor monitor = new NullMonitor();
+		monitor.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object t) {
+				if (steps[0]++ == 0) {
+					throw new IllegalStateException();
+				}
+			}
+		});
+		assertEquals(Comparison.ERROR, compare(oldModel.toString(), newModel.toString(), monitor));
+		assertTrue(steps[0] <= 2);
+	}
+
 	private Comparison compare(String fm1, String fm2) throws UnsupportedModelException {
+		return compare(fm1, fm2, new NullMonitor());
+	}
+
+	private Comparison compare(String fm1, String fm2, IMonitor monitor) throws UnsupportedModelException {
 		final ModelComparator comperator = new ModelComparator(TIMEOUT);
 		final IFeatureModel oldModel = FMFactoryManager.getDefaultFactory().createFeatureModel();
 		final GuidslFormat reader = new GuidslFormat();
 		reader.read(oldModel, fm1);
 		final IFeatureModel newModel = FMFactoryManager.getDefaultFactory().createFeatureModel();
 		reader.read(newModel, fm2);
-		return comperator.compare(oldModel, newModel);
+		return comperator.compare(oldModel, newModel, monitor);
 	}
 
 	@Test
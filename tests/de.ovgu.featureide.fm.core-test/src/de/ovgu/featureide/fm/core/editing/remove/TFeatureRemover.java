@@ -0,0 +1,104 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.editing.remove;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.cnf.UnkownLiteralException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link FeatureRemover}. Compares the sliced formula with the projection of the original formula onto the remaining features, which is
+ * computed by enumerating all assignments of the remaining features.
+ */
+public class TFeatureRemover {
+
+	private static final int REMAINING_FEATURES = 10;
+
+	private static void assertProjection(String modelFile, String remotePath, String localClassPath, long seed)
+			throws TimeoutException, UnkownLiteralException {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile(modelFile, remotePath, localClassPath);
+		final Node cnf = AdvancedNodeCreator.createRegularCNF(fm);
+
+		final List<String> features = new ArrayList<>(FeatureUtils.getFeatureNamesPreorder(fm));
+		Collections.shuffle(features, new Random(seed));
+		final List<String> remainingFeatures = features.subList(0, REMAINING_FEATURES);
+		final List<String> removedFeatures = features.subList(REMAINING_FEATURES, features.size());
+
+		final FeatureRemover remover = new FeatureRemover(cnf, removedFeatures, false);
+		final Node slicedCnf = remover.createNewClauseList(remover.execute(new NullMonitor()));
+
+		final SatSolver solver = new SatSolver(cnf, 1000, false);
+		final Map<Object, Boolean> assignment = new HashMap<>();
+		final List<Node> assumptions = new ArrayList<>(REMAINING_FEATURES);
+		for (int i = 0; i < (1 << REMAINING_FEATURES); i++) {
+			assumptions.clear();
+			for (int j = 0; j < REMAINING_FEATURES; j++) {
+				final String feature = remainingFeatures.get(j);
+				final boolean selected = ((i >> j) & 1) != 0;
+				assignment.put(feature, selected);
+				assumptions.add(new Literal(feature, selected));
+			}
+			assertEquals(solver.isSatisfiable(assumptions), slicedCnf.getValue(assignment));
+		}
+	}
+
+	@Test
+	public void testGPL() throws TimeoutException, UnkownLiteralException {
+		for (long seed = 0; seed < 5; seed++) {
+			assertProjection("gpl_medium_model.xml", Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+					Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH, seed);
+		}
+	}
+
+	@Test
+	public void testBerkeleyDB() throws TimeoutException, UnkownLiteralException {
+		for (long seed = 0; seed < 5; seed++) {
+			assertProjection("berkeley_db_model.xml", Commons.FEATURE_MODEL_BENCHMARK_PATH_REMOTE, Commons.FEATURE_MODEL_BENCHMARK_PATH_LOCAL_CLASS_PATH,
+					seed);
+		}
+	}
+
+	@Test
+	public void test200() throws TimeoutException, UnkownLiteralException {
+		for (long seed = 0; seed < 5; seed++) {
+			assertProjection("200-100.xml", Commons.FEATURE_MODEL_BENCHMARK_PATH_REMOTE, Commons.FEATURE_MODEL_BENCHMARK_PATH_LOCAL_CLASS_PATH, seed);
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.fm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.analyses.FeatureModelAnalysis;
+
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests for {@link FeatureExplanationBatch}.
+ */
+public class TFeatureExplanationBatch {
+
+	private static IFeatureModel loadModel(String name) {
+		final File file = new File(ClassLoader.getSystemResource("analyzefeaturemodels").getPath(), name);
+		return FeatureModelManager.load(file.toPath()).getObject();
+	}
+
+	/**
+	 * Creates a feature model with a chain of false-optional features <code>F0</code> to <code>Fn</code> and a dead feature <code>Di</code> for each of them.
+	 */
+	private static IFeatureModel createModel(int n) {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(fm, "Root");
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
+		for (int i = 0; i <= n; i++) {
+			for (final String name : new String[] { "F" + i, "D" + i }) {
+				final IFeature feature = factory.createFeature(fm, name);
+				feature.getStructure().setMandatory(false);
+				fm.addFeature(feature);
+				root.getStructure().addChild(feature.getStructure());
+			}
+			fm.addConstraint(factory.createConstraint(fm, new Implies(new Literal("D" + i), new Not(new Literal("F" + i)))));
+			if (i < n) {
+				fm.addConstraint(factory.createConstraint(fm, new Implies(new Literal("F" + i), new Literal("F" + (i + 1)))));
+			}
+		}
+		fm.addConstraint(factory.createConstraint(fm, new Literal("F0")));
+		return fm;
+	}
+
+	private static void assertSameExplanations(IFeatureModel fm, int numberOfThreads) {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		LongRunningWrapper.runMethod(analysis);
+		final List<IFeature> deadFeatures = analysis.getDeadFeatures();
+		final List<IFeature> falseOptionalFeatures = analysis.getFalseOptionalFeatures();
+		assertFalse(deadFeatures.isEmpty());
+		assertFalse(falseOptionalFeatures.isEmpty());
+
+		final FeatureModelExplanationCreatorFactory factory = FeatureModelExplanationCreatorFactory.getDefault();
+		final FeatureExplanationBatch batch = new FeatureExplanationBatch(factory, fm, deadFeatures, falseOptionalFeatures);
+		batch.setNumberOfThreads(numberOfThreads);
+		final List<Object> streamed = Collections.synchronizedList(new ArrayList<>());
+		final IMonitor monitor = new NullMonitor();
+		monitor.setIntermediateFunction(new IConsumer<Object>() {
+
+			@Override
+			public void invoke(Object t) {
+				if (t != null) {
+					streamed.add(t);
+				}
+			}
+		});
+		final List<Explanation> explanations = LongRunningWrapper.runMethod(batch, monitor);
+		assertNotNull(explanations);
+		assertEquals(deadFeatures.size() + falseOptionalFeatures.size(), explanations.size());
+		assertNotNull(explanations.get(0));
+
+		final DeadFeatureExplanationCreator deadFeatureExplanationCreator = factory.getDeadFeatureExplanationCreator();
+		deadFeatureExplanationCreator.setFeatureModel(fm);
+		final Iterator<Explanation> it = explanations.iterator();
+		for (final IFeature feature : deadFeatures) {
+			deadFeatureExplanationCreator.setSubject(feature);
+			assertEquals(String.valueOf(deadFeatureExplanationCreator.getExplanation()), String.valueOf(it.next()));
+		}
+		final FalseOptionalFeatureExplanationCreator falseOptionalFeatureExplanationCreator = factory.getFalseOptionalFeatureExplanationCreator();
+		falseOptionalFeatureExplanationCreator.setFeatureModel(fm);
+		for (final IFeature feature : falseOptionalFeatures) {
+			falseOptionalFeatureExplanationCreator.setSubject(feature);
+			assertEquals(String.valueOf(falseOptionalFeatureExplanationCreator.getExplanation()), String.valueOf(it.next()));
+		}
+
+		int explained = 0;
+		for (final Explanation explanation : explanations) {
+			if (explanation != null) {
+				explained++;
+			}
+		}
+		assertEquals(explained, streamed.size());
+	}
+
+	@Test
+	public void testAnalyzer() throws InterruptedException {
+		final IFeatureModel fm = createModel(15);
+		final FeatureModelAnalyzer analyzer = fm.getAnalyser();
+		analyzer.analyzeFeatureModel(null);
+		final List<IFeature> deadFeatures = analyzer.getDeadFeatures();
+		final List<IFeature> falseOptionalFeatures = analyzer.getFalseOptionalFeatures();
+		assertFalse(deadFeatures.isEmpty());
+		assertFalse(falseOptionalFeatures.isEmpty());
+
+		// the first request is explained directly, all other defects in the background
+		final Explanation first = analyzer.getDeadFeatureExplanation(deadFeatures.get(0));
+		assertNotNull(first);
+		analyzer.joinFeatureExplanations();
+		assertSame(first, analyzer.getDeadFeatureExplanation(deadFeatures.get(0)));
+
+		final FalseOptionalFeatureExplanationCreator creator = FeatureModelExplanationCreatorFactory.getDefault().getFalseOptionalFeatureExplanationCreator();
+		creator.setFeatureModel(fm);
+		for (final IFeature feature : falseOptionalFeatures) {
+			creator.setSubject(feature);
+			assertEquals(String.valueOf(creator.getExplanation()), String.valueOf(analyzer.getFalseOptionalFeatureExplanation(feature)));
+		}
+	}
+
+	@Test
+	public void testSequential() {
+		assertSameExplanations(loadModel("test_3.xml"), 1);
+		assertSameExplanations(createModel(15), 1);
+	}
+
+	@Test
+	public void testParallel() {
+		assertSameExplanations(loadModel("test_8.xml"), 4);
+		assertSameExplanations(createModel(15), 4);
+	}
+
+}
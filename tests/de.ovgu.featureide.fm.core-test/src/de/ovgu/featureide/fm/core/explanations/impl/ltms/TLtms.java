@@ -0,0 +1,85 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.impl.ltms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+/**
+ * Tests for {@link Ltms}.
+ */
+public class TLtms {
+
+	private static Set<Integer> clauses(Integer... indices) {
+		return new TreeSet<>(Arrays.asList(indices));
+	}
+
+	@Test
+	public void testImplicationChain() {
+		final Node cnf = new And(new Or(new Literal("A", false), new Literal("B")), new Or(new Literal("B", false), new Literal("C")),
+				new Or(new Literal("C", false), new Literal("A", false)));
+		final Ltms ltms = new Ltms(cnf);
+		ltms.addPremise("A", true);
+		final List<Set<Integer>> explanations = ltms.getExplanations();
+		assertFalse(explanations.isEmpty());
+		for (final Set<Integer> explanation : explanations) {
+			assertEquals(clauses(0, 1, 2), explanation);
+		}
+	}
+
+	@Test
+	public void testImmediateContradiction() {
+		final Node cnf = new And(new Or(new Literal("A", false), new Literal("B")), new Literal("A", false));
+		final Ltms ltms = new Ltms(cnf);
+		ltms.setPremises(Collections.<Object, Boolean> singletonMap("A", true));
+		assertEquals(Arrays.asList(clauses(1)), ltms.getExplanations());
+	}
+
+	@Test
+	public void testRepeatedExplanations() {
+		final Node cnf = new And(new Or(new Literal("A", false), new Literal("B")), new Or(new Literal("B", false), new Literal("C")),
+				new Or(new Literal("A", false), new Literal("C", false)), new Or(new Literal("A", false), new Literal("D")), new Literal("D", false));
+		final Ltms ltms = new Ltms(cnf);
+		ltms.addPremise("A", true);
+		final List<Set<Integer>> explanations = ltms.getExplanations();
+		assertTrue(explanations.contains(clauses(3, 4)));
+		assertTrue(explanations.contains(clauses(0, 1, 2)));
+		assertEquals(explanations, ltms.getExplanations());
+
+		ltms.clearPremises();
+		ltms.addPremise("Unknown", true);
+		assertTrue(ltms.getExplanations().isEmpty());
+	}
+
+}
@@ -0,0 +1,247 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.analyses.FeatureModelAnalysis;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link AnalysisCache}.
+ */
+public class TAnalysisCache {
+
+	private static final String ANALYZE_PATH_REMOTE =
+		"/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.fm.core-test/src/analyzefeaturemodels/";
+	private static final String ANALYZE_PATH_LOCAL_CLASS_PATH = "analyzefeaturemodels";
+
+	private Path directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("analysisCache");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		new AnalysisCache(directory, 0).clear();
+		Files.deleteIfExists(directory);
+	}
+
+	private static IFeatureModel load(String modelFile) {
+		return Commons.loadFeatureModelFromFile(modelFile, ANALYZE_PATH_REMOTE, ANALYZE_PATH_LOCAL_CLASS_PATH);
+	}
+
+	/**
+	 * Creates a feature model for the pigeonhole problem, which is void and hard to prove for the solver.
+	 */
+	private static IFeatureModel createPigeonholeModel(int holes) {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(fm, "Root");
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
+		for (int pigeon = 0; pigeon <= holes; pigeon++) {
+			final Node[] pigeonInHole = new Node[holes];
+			for (int hole = 0; hole < holes; hole++) {
+				final IFeature feature = factory.createFeature(fm, "P" + pigeon + "H" + hole);
+				feature.getStructure().setMandatory(false);
+				fm.addFeature(feature);
+				root.getStructure().addChild(feature.getStructure());
+				pigeonInHole[hole] = new Literal(feature.getName());
+			}
+			fm.addConstraint(factory.createConstraint(fm, new Or(pigeonInHole)));
+		}
+		for (int hole = 0; hole < holes; hole++) {
+			for (int pigeon1 = 0; pigeon1 <= holes; pigeon1++) {
+				for (int pigeon2 = pigeon1 + 1; pigeon2 <= holes; pigeon2++) {
+					fm.addConstraint(factory.createConstraint(fm,
+							new Not(new And(new Literal("P" + pigeon1 + "H" + hole), new Literal("P" + pigeon2 + "H" + hole)))));
+				}
+			}
+		}
+		return fm;
+	}
+
+	private static SatInstance createSatInstance(IFeatureModel fm) {
+		return new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	private int countEntries() throws IOException {
+		int count = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.cache")) {
+			for (@SuppressWarnings("unused")
+			final Path path : stream) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static Map<String, Object> analyze(IFeatureModel fm, AnalysisCache cache) {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		analysis.setCache(cache);
+		LongRunningWrapper.runMethod(analysis);
+
+		final Map<String, Object> results = new LinkedHashMap<>();
+		results.put("valid", analysis.isValid());
+		results.put("core", Functional.mapToList(analysis.getCoreFeatures(), FeatureUtils.GET_FEATURE_NAME));
+		results.put("dead", Functional.mapToList(analysis.getDeadFeatures(), FeatureUtils.GET_FEATURE_NAME));
+		results.put("falseOptional", Functional.mapToList(analysis.getFalseOptionalFeatures(), FeatureUtils.GET_FEATURE_NAME));
+		for (final IFeature feature : fm.getFeatures()) {
+			results.put("feature " + feature.getName(), feature.getProperty().getFeatureStatus());
+		}
+		int i = 0;
+		for (final IConstraint constraint : fm.getConstraints()) {
+			final String key = "constraint " + i++;
+			results.put(key, constraint.getConstraintAttribute());
+			results.put(key + " dead", Functional.mapToList(constraint.getDeadFeatures(), FeatureUtils.GET_FEATURE_NAME));
+			results.put(key + " falseOptional", Functional.mapToList(constraint.getFalseOptional(), FeatureUtils.GET_FEATURE_NAME));
+		}
+		return results;
+	}
+
+	@Test
+	public void testReadWrite() {
+		final AnalysisCache cache = new AnalysisCache(directory, AnalysisCache.DEFAULT_MAX_SIZE);
+		final SatInstance satInstance = createSatInstance(load("test_1.xml"));
+		assertNull(cache.read(satInstance, AnalysisCache.SECTION_FEATURES));
+
+		final List<List<String>> lists = Arrays.asList(Arrays.asList("a", "bä", ""), Collections.<String> emptyList(), Arrays.asList("c"));
+		cache.write(satInstance, AnalysisCache.SECTION_FEATURES, lists);
+		assertEquals(lists, cache.read(satInstance, AnalysisCache.SECTION_FEATURES));
+		assertNull(cache.read(satInstance, AnalysisCache.SECTION_CONSTRAINTS));
+
+		final MatrixFeatureGraph graph = new MatrixFeatureGraph(null, new int[] { 0, -1, 1 });
+		graph.setEdge(0, 1, MatrixFeatureGraph.EDGE_10);
+		cache.writeFeatureGraph(satInstance, graph);
+		final MatrixFeatureGraph readGraph = (MatrixFeatureGraph) cache.readFeatureGraph(satInstance);
+		assertNotNull(readGraph);
+		assertEquals(MatrixFeatureGraph.EDGE_10, readGraph.getEdge(0, 1));
+	}
+
+	@Test
+	public void testContentHash() {
+		final IFeatureModel fm = load("test_1.xml");
+		final SatInstance satInstance = createSatInstance(fm);
+		assertEquals(satInstance.getContentHash(), createSatInstance(load("test_1.xml")).getContentHash());
+
+		// the order of the clauses does not matter
+		final List<Node> clauses = new ArrayList<>(Arrays.asList(satInstance.getCnf().getChildren()));
+		Collections.reverse(clauses);
+		final SatInstance reversedInstance = new SatInstance(new And(clauses), FeatureUtils.getFeatureNamesPreorder(fm));
+		assertEquals(satInstance.getContentHash(), reversedInstance.getContentHash());
+
+		// the order of the variables does matter
+		final List<String> names = new ArrayList<>(FeatureUtils.getFeatureNamesPreorder(fm));
+		Collections.reverse(names);
+		assertFalse(satInstance.getContentHash().equals(new SatInstance(satInstance.getCnf(), names).getContentHash()));
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		final AnalysisCache cache = new AnalysisCache(directory, 700);
+		final List<List<String>> lists = Arrays.asList(Collections.nCopies(30, "feature"));
+		final SatInstance satInstance1 = createSatInstance(load("test_1.xml"));
+		final SatInstance satInstance2 = createSatInstance(load("test_2.xml"));
+		final SatInstance satInstance3 = createSatInstance(load("test_3.xml"));
+
+		cache.write(satInstance1, AnalysisCache.SECTION_FEATURES, lists);
+		cache.write(satInstance2, AnalysisCache.SECTION_FEATURES, lists);
+		assertEquals(2, countEntries());
+
+		// the least recently used entry is removed
+		cache.write(satInstance3, AnalysisCache.SECTION_FEATURES, lists);
+		assertEquals(2, countEntries());
+		assertNotNull(cache.read(satInstance3, AnalysisCache.SECTION_FEATURES));
+		assertNull(cache.read(satInstance1, AnalysisCache.SECTION_FEATURES));
+	}
+
+	@Test
+	public void testFeatureModelAnalysis() throws IOException {
+		final AnalysisCache cache = new AnalysisCache(directory, AnalysisCache.DEFAULT_MAX_SIZE);
+		for (final String modelFile : new String[] { "test_1.xml", "test_2.xml", "test_3.xml" }) {
+			final Map<String, Object> expected = analyze(load(modelFile), null);
+			assertEquals(expected, analyze(load(modelFile), cache));
+			assertEquals(expected, analyze(load(modelFile), cache));
+		}
+		assertEquals(6, countEntries());
+	}
+
+	@Test
+	public void testAtomicSetsTimeout() throws IOException {
+		final AnalysisCache oldInstance = AnalysisCache.INSTANCE;
+		AnalysisCache.INSTANCE = new AnalysisCache(directory, AnalysisCache.DEFAULT_MAX_SIZE);
+		try {
+			// incomplete atomic sets are not stored
+			createPigeonholeModel(9).getAnalyser().getAtomicSets(1);
+			assertEquals(0, countEntries());
+
+			final List<List<IFeature>> atomicSets = load("test_1.xml").getAnalyser().getAtomicSets();
+			assertEquals(1, countEntries());
+			final List<List<IFeature>> cachedSets = load("test_1.xml").getAnalyser().getAtomicSets();
+			assertEquals(atomicSets.size(), cachedSets.size());
+			for (int i = 0; i < atomicSets.size(); i++) {
+				assertEquals(Functional.mapToList(atomicSets.get(i), FeatureUtils.GET_FEATURE_NAME),
+						Functional.mapToList(cachedSets.get(i), FeatureUtils.GET_FEATURE_NAME));
+			}
+		} finally {
+			AnalysisCache.INSTANCE = oldInstance;
+		}
+	}
+
+}
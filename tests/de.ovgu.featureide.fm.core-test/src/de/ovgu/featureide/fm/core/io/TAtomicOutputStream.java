@@ -0,0 +1,109 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AtomicOutputStream}.
+ */
+public class TAtomicOutputStream {
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	private Path directory;
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		directory = Files.createTempDirectory("atomic");
+		file = directory.resolve("model.xml");
+		Files.write(file, "old".getBytes(CHARSET));
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (final Path path : files) {
+				Files.delete(path);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private int countFiles() throws IOException {
+		int count = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (final Path path : files) {
+				if (Files.isRegularFile(path)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testCommit() throws IOException {
+		try (AtomicOutputStream out = new JavaFileSystem().newOutputStream(file)) {
+			out.write("new".getBytes(CHARSET));
+			assertArrayEquals("old".getBytes(CHARSET), Files.readAllBytes(file));
+			out.commit();
+		}
+		assertArrayEquals("new".getBytes(CHARSET), Files.readAllBytes(file));
+		assertEquals(1, countFiles());
+	}
+
+	@Test
+	public void testFailedWrite() throws IOException {
+		try (AtomicOutputStream out = new JavaFileSystem().newOutputStream(file)) {
+			out.write("partial".getBytes(CHARSET));
+			throw new IllegalStateException();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		assertArrayEquals("old".getBytes(CHARSET), Files.readAllBytes(file));
+		assertEquals(1, countFiles());
+	}
+
+	@Test
+	public void testNewFile() throws IOException {
+		final Path newFile = directory.resolve("new.xml");
+		try (AtomicOutputStream out = new JavaFileSystem().newOutputStream(newFile)) {
+			out.write("new".getBytes(CHARSET));
+			out.commit();
+		}
+		assertArrayEquals("new".getBytes(CHARSET), Files.readAllBytes(newFile));
+		assertEquals(2, countFiles());
+	}
+
+}
@@ -0,0 +1,154 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.conf.AFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.IFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.ListFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.MatrixFeatureGraph;
+import de.ovgu.featureide.fm.core.conf.SparseFeatureGraph;
+
+/**
+ * Tests for {@link FeatureGraphFormat}.
+ */
+public class TFeatureGraphFormat {
+
+	private static final byte[] EDGES = { AFeatureGraph.EDGE_00Q, AFeatureGraph.EDGE_01Q, AFeatureGraph.EDGE_10Q, AFeatureGraph.EDGE_11Q,
+		AFeatureGraph.EDGE_00, AFeatureGraph.EDGE_01, AFeatureGraph.EDGE_10, AFeatureGraph.EDGE_11 };
+
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = Files.createTempFile("model", ".fg");
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	private static int[] createIndex(int numberOfVariables) {
+		final int[] index = new int[numberOfVariables];
+		int size = 0;
+		for (int i = 0; i < index.length; i++) {
+			index[i] = ((i % 7) == 0) ? -1 : size++;
+		}
+		return index;
+	}
+
+	private static <T extends IFeatureGraph> T fillGraph(T graph) {
+		final int size = graph.getSize();
+		final Random random = new Random(42);
+		for (int i = 0; i < (size * 4); i++) {
+			graph.setEdge(random.nextInt(size), random.nextInt(size), EDGES[random.nextInt(EDGES.length)]);
+		}
+		return graph;
+	}
+
+	private static void assertSameGraph(IFeatureGraph graph, IFeatureGraph readGraph) {
+		assertEquals(graph.getSize(), readGraph.getSize());
+		assertArrayEquals(graph.getIndex(), readGraph.getIndex());
+		for (int i = 0; i < graph.getSize(); i++) {
+			for (int j = 0; j < graph.getSize(); j++) {
+				assertEquals(graph.getEdge(i, j), readGraph.getEdge(i, j));
+			}
+		}
+	}
+
+	@Test
+	public void testWriteRead() {
+		final MatrixFeatureGraph graph = fillGraph(new MatrixFeatureGraph(null, createIndex(500)));
+		final FeatureGraphFormat format = new FeatureGraphFormat();
+		assertFalse(format.write(graph, file).containsError());
+
+		final MatrixFeatureGraph readGraph = new MatrixFeatureGraph();
+		assertFalse(format.read(readGraph, file).containsError());
+		assertSameGraph(graph, readGraph);
+	}
+
+	@Test
+	public void testWriteReadSparse() {
+		final SparseFeatureGraph graph = fillGraph(new SparseFeatureGraph(null, createIndex(500)));
+		final FeatureGraphFormat format = new FeatureGraphFormat();
+		assertFalse(format.write(graph, file).containsError());
+
+		final ProblemList problems = new ProblemList();
+		final IFeatureGraph readGraph = format.read(file, problems);
+		assertFalse(problems.containsError());
+		assertTrue(readGraph instanceof SparseFeatureGraph);
+		assertSameGraph(graph, readGraph);
+
+		assertTrue(format.read(new MatrixFeatureGraph(), file).containsError());
+	}
+
+	@Test
+	public void testWriteReadString() {
+		final SparseFeatureGraph graph = fillGraph(new SparseFeatureGraph(null, createIndex(500)));
+		final FeatureGraphFormat format = new FeatureGraphFormat();
+		final String content = format.write(graph);
+
+		final SparseFeatureGraph readGraph = new SparseFeatureGraph();
+		assertFalse(format.read(readGraph, content).containsError());
+		assertSameGraph(graph, readGraph);
+	}
+
+	@Test
+	public void testUnsupportedGraph() {
+		final ListFeatureGraph graph = new ListFeatureGraph(null, createIndex(10));
+		final FeatureGraphFormat format = new FeatureGraphFormat();
+		assertTrue(format.write(graph, file).containsError());
+		assertNull(format.write(graph));
+	}
+
+	@Test
+	public void testInvalidFile() throws IOException {
+		Files.write(file, "<featureModel/>".getBytes("UTF-8"));
+		assertTrue(new FeatureGraphFormat().read(new MatrixFeatureGraph(), file).containsError());
+	}
+
+	@Test
+	public void testUnknownType() throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(16);
+		header.putInt(0x46494647).putInt(2).putInt(99).putInt(0);
+		Files.write(file, header.array());
+		final ProblemList problems = new ProblemList();
+		assertNull(new FeatureGraphFormat().read(file, problems));
+		assertTrue(problems.containsError());
+	}
+
+}
@@ -0,0 +1,173 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.Problem;
+
+/**
+ * Tests for {@link FormattingXMLStreamWriter} and the stream output of formats that only build a DOM.
+ */
+public class TFormattingXMLStreamWriter {
+
+	/**
+	 * Format that only implements the DOM writer, such that {@link AXMLFormat#write(Object, java.io.Writer)} has to pass the DOM to the stream writer.
+	 */
+	private static class DocumentFormat extends AXMLFormat<String> {
+
+		@Override
+		public String getId() {
+			return DocumentFormat.class.getName();
+		}
+
+		@Override
+		public String getName() {
+			return "Document";
+		}
+
+		@Override
+		public IPersistentFormat<String> getInstance() {
+			return new DocumentFormat();
+		}
+
+		@Override
+		public boolean supportsRead() {
+			return false;
+		}
+
+		@Override
+		public boolean supportsWrite() {
+			return true;
+		}
+
+		@Override
+		public boolean supportsContent(CharSequence content) {
+			return false;
+		}
+
+		@Override
+		protected void readDocument(Document doc, List<Problem> warnings) {}
+
+		@Override
+		protected void writeDocument(Document doc) {
+			final Element root = doc.createElement("root");
+			doc.appendChild(root);
+			root.appendChild(doc.createComment(" comment "));
+			final Element child = doc.createElement("child");
+			child.setAttribute("name", object);
+			root.appendChild(child);
+			final Element data = doc.createElement("data");
+			data.appendChild(doc.createCDATASection("a < b"));
+			root.appendChild(data);
+		}
+
+	}
+
+	private static String write(XMLStreamWriter writer, StringWriter target) throws XMLStreamException {
+		writer.writeEndDocument();
+		writer.close();
+		return target.toString();
+	}
+
+	@Test
+	public void testNamespaces() throws XMLStreamException {
+		final StringWriter target = new StringWriter();
+		final XMLStreamWriter writer = new FormattingXMLStreamWriter(target);
+		writer.writeStartDocument();
+		writer.setPrefix("x", "urn:x");
+		writer.writeStartElement("urn:x", "root");
+		writer.writeNamespace("x", "urn:x");
+		writer.writeDefaultNamespace("urn:d");
+		writer.writeEmptyElement("urn:x", "child");
+		writer.writeAttribute("urn:x", "name", "A");
+		writer.writeStartElement("y", "other", "urn:y");
+		writer.writeNamespace("y", "urn:y");
+		writer.writeAttribute("y", "urn:y", "name", "B");
+		writer.writeEndElement();
+		assertEquals("x", writer.getPrefix("urn:x"));
+		assertEquals("urn:d", writer.getNamespaceContext().getNamespaceURI(""));
+		assertEquals(null, writer.getPrefix("urn:y"));
+
+		assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+			+ "<x:root xmlns=\"urn:d\" xmlns:x=\"urn:x\">\n" //
+			+ "<x:child x:name=\"A\"/>\n" //
+			+ "<y:other xmlns:y=\"urn:y\" y:name=\"B\"/>\n" //
+			+ "</x:root>\n", write(writer, target));
+	}
+
+	@Test
+	public void testUnboundNamespace() {
+		final XMLStreamWriter writer = new FormattingXMLStreamWriter(new StringWriter());
+		try {
+			writer.writeStartElement("urn:x", "root");
+			throw new AssertionError();
+		} catch (final XMLStreamException e) {}
+	}
+
+	@Test
+	public void testMarkup() throws XMLStreamException {
+		final StringWriter target = new StringWriter();
+		final XMLStreamWriter writer = new FormattingXMLStreamWriter(target);
+		writer.writeStartDocument();
+		writer.writeDTD("<!DOCTYPE root>");
+		writer.writeStartElement("root");
+		writer.writeComment(" comment ");
+		writer.writeProcessingInstruction("target", "data");
+		writer.writeStartElement("text");
+		writer.writeCData("a ]]> b");
+		writer.writeEntityRef("amp");
+		writer.writeEndElement();
+
+		assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+			+ "<!DOCTYPE root>\n" //
+			+ "<root>\n" //
+			+ "<!-- comment -->\n" //
+			+ "<?target data?>\n" //
+			+ "<text><![CDATA[a ]]]]><![CDATA[> b]]>&amp;</text>\n" //
+			+ "</root>\n", write(writer, target));
+	}
+
+	@Test
+	public void testWriteDocument() throws IOException {
+		final StringWriter target = new StringWriter();
+		new DocumentFormat().write("A & B", target);
+		assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+			+ "\t<root>\n" //
+			+ "\t\t<!-- comment -->\n" //
+			+ "\t\t<child name=\"A &amp; B\"/>\n" //
+			+ "\t\t<data><![CDATA[a < b]]></data>\n" //
+			+ "\t</root>\n", target.toString());
+	}
+
+}
@@ -0,0 +1,150 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+
+/**
+ * Tests reading and writing feature models with {@link XmlFeatureModelFormat}.
+ */
+public class TXmlFeatureModelFormat {
+
+	private static final String MODEL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+		+ "<featureModel>\n" //
+		+ "\t<properties>\n" //
+		+ "\t\t<feature name=\"B\">\n" //
+		+ "\t\t\t<property data-type=\"INT\" key=\"cost\" value=\"3\"/>\n" //
+		+ "\t\t</feature>\n" //
+		+ "\t</properties>\n" //
+		+ "\t<struct>\n" //
+		+ "\t\t<or abstract=\"true\" mandatory=\"true\" name=\"Root\">\n" //
+		+ "\t\t\t<feature name=\"A\">\n" //
+		+ "\t\t\t\t<description>\n" //
+		+ "\t\t\t\t\tFirst child\n" //
+		+ "\t\t\t\t</description>\n" //
+		+ "\t\t\t</feature>\n" //
+		+ "\t\t\t<feature name=\"B\"/>\n" //
+		+ "\t\t</or>\n" //
+		+ "\t</struct>\n" //
+		+ "\t<constraints>\n" //
+		+ "\t\t<rule>\n" //
+		+ "\t\t\t<imp>\n" //
+		+ "\t\t\t\t<var>A</var>\n" //
+		+ "\t\t\t\t<var>B</var>\n" //
+		+ "\t\t\t</imp>\n" //
+		+ "\t\t</rule>\n" //
+		+ "\t</constraints>\n" //
+		+ "\t<featureOrder userDefined=\"true\">\n" //
+		+ "\t\t<feature name=\"B\"/>\n" //
+		+ "\t\t<feature name=\"A\"/>\n" //
+		+ "\t</featureOrder>\n" //
+		+ "</featureModel>\n";
+
+	private static void assertModel(IFeatureModel fm) {
+		final IFeature root = fm.getFeature("Root");
+		assertTrue(root.getStructure().isRoot());
+		assertTrue(root.getStructure().isOr());
+		assertEquals(2, root.getStructure().getChildrenCount());
+		assertEquals("First child", fm.getFeature("A").getProperty().getDescription());
+		final int cost = fm.getFeature("B").getCustomProperties().get("cost");
+		assertEquals(3, cost);
+		assertEquals(1, fm.getConstraintCount());
+		assertEquals("A => B", fm.getConstraints().get(0).getNode().toString());
+		assertTrue(fm.isFeatureOrderUserDefined());
+		assertEquals("B", fm.getFeatureOrderList().get(0));
+	}
+
+	@Test
+	public void testReadString() {
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		assertFalse(new XmlFeatureModelFormat().read(fm, MODEL).containsError());
+		assertModel(fm);
+	}
+
+	@Test
+	public void testReadStream() {
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		final ByteArrayInputStream source = new ByteArrayInputStream(MODEL.getBytes(Charset.forName("UTF-8")));
+		assertFalse(new XmlFeatureModelFormat().read(fm, source).containsError());
+		assertModel(fm);
+	}
+
+	@Test
+	public void testReadDocument() throws Exception {
+		final XmlFeatureModelFormat format = new XmlFeatureModelFormat();
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		final ProblemList problems = new ProblemList();
+		format.object = fm;
+		format.readDocument(AXMLFormat.readXML(MODEL), problems);
+		assertFalse(problems.containsError());
+		assertModel(fm);
+	}
+
+	@Test
+	public void testWriteStream() throws IOException {
+		final XmlFeatureModelFormat format = new XmlFeatureModelFormat();
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		assertFalse(format.read(fm, MODEL).containsError());
+		fm.getFeature("A").getProperty().setDescription("a < b & \"c\"");
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		format.write(fm, target);
+		final String content = new String(target.toByteArray(), Charset.forName("UTF-8"));
+		assertEquals(format.write(fm), content);
+
+		final IFeatureModel readModel = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		assertFalse(format.read(readModel, content).containsError());
+		assertEquals("a < b & \"c\"", readModel.getFeature("A").getProperty().getDescription());
+		readModel.getFeature("A").getProperty().setDescription("First child");
+		assertModel(readModel);
+	}
+
+	@Test
+	public void testMissingFeature() {
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		final ProblemList problems = new XmlFeatureModelFormat().read(fm, MODEL.replace("<var>B</var>", "<var>C</var>"));
+		assertTrue(problems.containsError());
+		assertEquals(22, problems.getErrors().get(0).getLine());
+	}
+
+	@Test
+	public void testMalformedXml() {
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		final ProblemList problems = new XmlFeatureModelFormat().read(fm, MODEL.replace("</rule>", ""));
+		assertTrue(problems.containsError());
+		assertEquals(25, problems.getErrors().get(0).getLine());
+	}
+
+}
@@ -26,9 +26,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 import org.junit.Test;
+import org.prop4j.solver.SatInstance;
 import org.sat4j.core.VecInt;
 import org.sat4j.minisat.SolverFactory;
 import org.sat4j.specs.ContradictionException;
@@ -708,4 +711,69 @@ public class Prop4JTest {
 		final Node n = nd.stringToNode(ctr);
 		assertNotNull(n.getChildren());
 	}
+
+	@Test
+	public void testTseitinCNFWithoutAuxiliaryVariables() {
+		final Node node = new Or(new And(a, b), new And(c, d));
+		final Node cnf = Node.buildTseitinCNF(node.clone(), 4);
+		assertEquals(4, cnf.getChildren().length);
+		for (final Literal literal : cnf.getLiterals()) {
+			assertFalse(literal.var instanceof AuxiliaryVariable);
+		}
+		equisatisfiable(node, cnf);
+	}
+
+	@Test
+	public void testTseitinCNFWithAuxiliaryVariables() {
+		final Node node = new Or(new And(a, b, c), new And(d, e, f), new And(new Not(a), g), new Implies(b, new Equals(e, g)));
+		final Node cnf = Node.buildTseitinCNF(node.clone(), 2);
+		boolean containsAuxiliaryVariables = false;
+		for (final Node clause : cnf.getChildren()) {
+			assertTrue(clause instanceof Or);
+			for (final Literal literal : clause.getLiterals()) {
+				containsAuxiliaryVariables |= literal.var instanceof AuxiliaryVariable;
+			}
+		}
+		assertTrue(containsAuxiliaryVariables);
+		equisatisfiable(node, cnf);
+
+		final SatInstance satInstance = new SatInstance(cnf, Arrays.asList("a", "b", "c", "d", "e", "f", "g"));
+		assertEquals(7, satInstance.getNumberOfFeatureVariables());
+		assertTrue(satInstance.getNumberOfVariables() > 7);
+		assertFalse(satInstance.isAuxiliaryVariable(-7));
+		assertTrue(satInstance.isAuxiliaryVariable(-8));
+		final int[] model = new int[satInstance.getNumberOfVariables()];
+		for (int i = 0; i < model.length; i++) {
+			model[i] = i + 1;
+		}
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f", "g"), satInstance.convertToString(model));
+	}
+
+	@Test
+	public void testTseitinCNFNegated() {
+		final Node node = new Not(new And(new Or(a, new And(b, c)), new Or(new And(d, e), new And(f, g)), new Or(new Not(a), d)));
+		equisatisfiable(node, Node.buildTseitinCNF(node.clone(), 1));
+	}
+
+	/**
+	 * Checks that the given CNF is satisfiable under an assignment of the variables of the given node iff the node is true under this assignment.
+	 */
+	private void equisatisfiable(Node node, Node cnf) {
+		final Literal[] variables = { a, b, c, d, e, f, g };
+		final Node[] clauses = cnf.getChildren();
+		for (int i = 0; i < (1 << variables.length); i++) {
+			final Map<Object, Boolean> assignment = new HashMap<>();
+			final Node[] assignedClauses = Arrays.copyOf(clauses, clauses.length + variables.length);
+			for (int j = 0; j < variables.length; j++) {
+				final boolean value = ((i >> j) & 1) == 1;
+				assignment.put(variables[j].var, value);
+				assignedClauses[clauses.length + j] = new Literal(variables[j].var, value);
+			}
+			try {
+				assertEquals(node.getValue(assignment), new SatSolver(new And(assignedClauses), TIMEOUT, false).isSatisfiable());
+			} catch (final TimeoutException e) {
+				throw new AssertionError(e);
+			}
+		}
+	}
 }
@@ -0,0 +1,94 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.FeatureStatus;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link FeatureModelAnalysis}.
+ */
+public class TFeatureModelAnalysis {
+
+	private static final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+
+	private static IFeature addFeature(IFeatureModel fm, String name) {
+		final IFeature feature = factory.createFeature(fm, name);
+		feature.getStructure().setMandatory(false);
+		feature.getStructure().setAbstract(false);
+		fm.addFeature(feature);
+		fm.getStructure().getRoot().addChild(feature.getStructure());
+		return feature;
+	}
+
+	private static Node and(String... names) {
+		final Node[] literals = new Node[names.length];
+		for (int i = 0; i < names.length; i++) {
+			literals[i] = new Literal(names[i]);
+		}
+		return new And(literals);
+	}
+
+	/**
+	 * A hidden feature that is defined by a constraint, which is converted using auxiliary variables, must not break the analysis.
+	 */
+	@Test
+	public void testHiddenFeatureWithLargeConstraint() {
+		final IFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(fm, "Root");
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
+		fm.getStructure().getRoot().setAnd();
+
+		for (final String name : new String[] { "a", "b", "c", "d", "e", "f", "g", "i", "j", "k", "l", "m" }) {
+			addFeature(fm, name);
+		}
+		final IFeature hidden = addFeature(fm, "H");
+		hidden.getStructure().setHidden(true);
+
+		final Node definition = new Or(and("a", "b", "c"), and("d", "e", "f"), and("g", "i", "j"), and("k", "l", "m"));
+		fm.addConstraint(factory.createConstraint(fm, new Equals(new Literal("H"), definition)));
+
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(fm);
+		final HashMap<Object, Object> results = LongRunningWrapper.runMethod(analysis);
+		assertNotNull(results);
+		assertTrue(analysis.isValid());
+		assertEquals(FeatureStatus.NORMAL, hidden.getProperty().getFeatureStatus());
+	}
+
+}
@@ -0,0 +1,207 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link IncrementalFeatureModelAnalysis}. After each change of a feature model, the results of the incremental analysis must be equal to the
+ * results of a complete {@link FeatureModelAnalysis}.
+ */
+public class TIncrementalFeatureModelAnalysis {
+
+	private static final String ANALYZE_PATH_REMOTE =
+		"/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.fm.core-test/src/analyzefeaturemodels/";
+	private static final String ANALYZE_PATH_LOCAL_CLASS_PATH = "analyzefeaturemodels";
+
+	private static List<String> getNames(Iterable<IFeature> features) {
+		final List<String> names = new ArrayList<>();
+		if (features != null) {
+			for (final IFeature feature : features) {
+				names.add(feature.getName());
+			}
+		}
+		return names;
+	}
+
+	private static Map<String, Object> getResults(IFeatureModel fm, FeatureModelAnalysis analysis, HashMap<Object, Object> attributes) {
+		final Map<String, Object> results = new LinkedHashMap<>();
+		results.put("valid", analysis.isValid());
+		if (analysis.isValid()) {
+			results.put("core", getNames(analysis.getCoreFeatures()));
+			results.put("dead", getNames(analysis.getDeadFeatures()));
+			results.put("falseOptional", getNames(analysis.getFalseOptionalFeatures()));
+		}
+		for (final IFeature feature : fm.getFeatures()) {
+			results.put("feature " + feature.getName(), feature.getProperty().getFeatureStatus());
+		}
+		int i = 0;
+		for (final IConstraint constraint : fm.getConstraints()) {
+			final String key = "constraint " + i++ + " " + constraint.getNode();
+			results.put(key, constraint.getConstraintAttribute());
+			results.put(key + " dead", getNames(constraint.getDeadFeatures()));
+			results.put(key + " falseOptional", getNames(constraint.getFalseOptional()));
+		}
+		final Map<String, Object> sortedAttributes = new TreeMap<>();
+		final List<IConstraint> constraints = fm.getConstraints();
+		for (final Entry<Object, Object> entry : attributes.entrySet()) {
+			final Object key = entry.getKey();
+			if (key instanceof IConstraint) {
+				for (int j = 0; j < constraints.size(); j++) {
+					if (constraints.get(j) == key) {
+						sortedAttributes.put("constraint " + j, entry.getValue());
+					}
+				}
+			} else {
+				sortedAttributes.put(key.toString(), entry.getValue());
+			}
+		}
+		results.put("attributes", sortedAttributes);
+		return results;
+	}
+
+	private static void assertSameResults(IFeatureModel fm, IncrementalFeatureModelAnalysis incrementalAnalysis) {
+		final HashMap<Object, Object> incrementalAttributes = new HashMap<>(LongRunningWrapper.runMethod(incrementalAnalysis));
+		final Map<String, Object> incrementalResults = getResults(fm, incrementalAnalysis, incrementalAttributes);
+
+		final FeatureModelAnalysis completeAnalysis = new FeatureModelAnalysis(fm);
+		final HashMap<Object, Object> completeAttributes = LongRunningWrapper.runMethod(completeAnalysis);
+		assertEquals(getResults(fm, completeAnalysis, completeAttributes), incrementalResults);
+	}
+
+	private static void testChanges(String modelFile) {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile(modelFile, ANALYZE_PATH_REMOTE, ANALYZE_PATH_LOCAL_CLASS_PATH);
+		final IncrementalFeatureModelAnalysis incrementalAnalysis = new IncrementalFeatureModelAnalysis(fm);
+		assertSameResults(fm, incrementalAnalysis);
+		assertSameResults(fm, incrementalAnalysis);
+
+		final List<IConstraint> constraints = new ArrayList<>(fm.getConstraints());
+		// remove and re-add each constraint
+		for (final IConstraint constraint : constraints) {
+			fm.removeConstraint(constraint);
+			assertSameResults(fm, incrementalAnalysis);
+			fm.addConstraint(constraint);
+			assertSameResults(fm, incrementalAnalysis);
+		}
+
+		// add redundant constraints
+		for (final IConstraint constraint : constraints) {
+			fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, constraint.getNode().clone()));
+			assertSameResults(fm, incrementalAnalysis);
+		}
+
+		// add new constraints and modify them (new constraints are appended, as the complete analysis can miss redundant constraints, if a unit clause that
+		// is followed by other constraints is removed from its solver)
+		final List<String> names = FeatureUtils.getFeatureNamesPreorder(fm);
+		for (int i = 1; i < (names.size() - 1); i += 2) {
+			final Node node = new Implies(new Literal(names.get(i)), new Not(new Literal(names.get(i + 1))));
+			final IConstraint constraint = FMFactoryManager.getFactory(fm).createConstraint(fm, node);
+			fm.addConstraint(constraint);
+			assertSameResults(fm, incrementalAnalysis);
+			constraint.setNode(new Implies(new Literal(names.get(i)), new Literal(names.get(i + 1))));
+			assertSameResults(fm, incrementalAnalysis);
+		}
+
+		// change hidden features
+		for (final IFeature feature : fm.getFeatures()) {
+			if (!feature.getStructure().isRoot()) {
+				feature.getStructure().setHidden(!feature.getStructure().isHidden());
+				incrementalAnalysis.propertyChange(new FeatureIDEEvent(feature, EventType.HIDDEN_CHANGED));
+				assertSameResults(fm, incrementalAnalysis);
+			}
+		}
+
+		// change the feature tree
+		for (final IFeature feature : fm.getFeatures()) {
+			if (!feature.getStructure().isRoot()) {
+				feature.getStructure().setMandatory(!feature.getStructure().isMandatory());
+				incrementalAnalysis.propertyChange(new FeatureIDEEvent(feature, EventType.MANDATORY_CHANGED));
+				assertSameResults(fm, incrementalAnalysis);
+				break;
+			}
+		}
+	}
+
+	@Test
+	public void testModel1() {
+		testChanges("test_1.xml");
+	}
+
+	@Test
+	public void testModel2() {
+		testChanges("test_2.xml");
+	}
+
+	@Test
+	public void testModel3() {
+		testChanges("test_3.xml");
+	}
+
+	@Test
+	public void testModel4() {
+		testChanges("test_4.xml");
+	}
+
+	@Test
+	public void testModel5() {
+		testChanges("test_5.xml");
+	}
+
+	@Test
+	public void testModel6() {
+		testChanges("test_6.xml");
+	}
+
+	@Test
+	public void testModel7() {
+		testChanges("test_7.xml");
+	}
+
+	@Test
+	public void testModel8() {
+		testChanges("test_8.xml");
+	}
+
+}
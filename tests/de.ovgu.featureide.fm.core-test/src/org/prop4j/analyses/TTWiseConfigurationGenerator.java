@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.analyses;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link TWiseConfigurationGenerator}. Each created configuration must be valid and each valid t-wise interaction must be covered.
+ */
+public class TTWiseConfigurationGenerator {
+
+	private static SatInstance load(String modelFile) {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile(modelFile, Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+				Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH);
+		return new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	private static List<List<String>> generate(SatInstance satInstance, int t, int maxSampleSize, int threads) {
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(satInstance, t, maxSampleSize);
+		generator.setNumberOfThreads(threads);
+		return LongRunningWrapper.runMethod(generator);
+	}
+
+	private static void assertValid(SatInstance satInstance, List<List<String>> sample) throws ContradictionException {
+		final BasicSolver solver = new BasicSolver(satInstance);
+		for (final List<String> configuration : sample) {
+			final Set<String> selected = new HashSet<>(configuration);
+			for (int var = 1; var <= satInstance.getNumberOfVariables(); var++) {
+				solver.assignmentPush(selected.contains(satInstance.getVariableObject(var)) ? var : -var);
+			}
+			assertTrue(solver.isSatisfiable() == SatResult.TRUE);
+			solver.assignmentClear(0);
+		}
+	}
+
+	private static void assertCovered(SatInstance satInstance, List<List<String>> sample, int t) throws ContradictionException {
+		final BasicSolver solver = new BasicSolver(satInstance);
+		final List<Set<String>> configurations = new ArrayList<>();
+		for (final List<String> configuration : sample) {
+			configurations.add(new HashSet<>(configuration));
+		}
+		assertCovered(satInstance, solver, configurations, new int[t], 0, 1);
+	}
+
+	private static void assertCovered(SatInstance satInstance, BasicSolver solver, List<Set<String>> configurations, int[] interaction, int depth,
+			int firstVar) {
+		if (depth == interaction.length) {
+			for (int i = 0; i < interaction.length; i++) {
+				solver.assignmentPush(interaction[i]);
+			}
+			final boolean valid = solver.isSatisfiable() == SatResult.TRUE;
+			solver.assignmentClear(0);
+			if (valid) {
+				configurationLoop: for (final Set<String> configuration : configurations) {
+					for (final int literal : interaction) {
+						if (configuration.contains(satInstance.getVariableObject(literal)) != (literal > 0)) {
+							continue configurationLoop;
+						}
+					}
+					return;
+				}
+				throw new AssertionError("Interaction not covered: " + satInstance.convertToString(interaction, true, true));
+			}
+			return;
+		}
+		for (int var = firstVar; var <= satInstance.getNumberOfVariables(); var++) {
+			interaction[depth] = var;
+			assertCovered(satInstance, solver, configurations, interaction, depth + 1, var + 1);
+			interaction[depth] = -var;
+			assertCovered(satInstance, solver, configurations, interaction, depth + 1, var + 1);
+		}
+	}
+
+	@Test
+	public void testPairWise() throws ContradictionException {
+		final SatInstance satInstance = load("gpl_medium_model.xml");
+		final List<List<String>> sample = generate(satInstance, 2, Integer.MAX_VALUE, 1);
+		assertValid(satInstance, sample);
+		assertCovered(satInstance, sample, 2);
+	}
+
+	@Test
+	public void testThreeWise() throws ContradictionException {
+		final SatInstance satInstance = load("gpl_medium_model.xml");
+		final List<List<String>> sample = generate(satInstance, 3, Integer.MAX_VALUE, 1);
+		assertValid(satInstance, sample);
+		assertCovered(satInstance, sample, 3);
+	}
+
+	@Test
+	public void testThreeWiseParallel() throws ContradictionException {
+		final SatInstance satInstance = load("gpl_medium_model.xml");
+		final List<List<String>> sample = generate(satInstance, 3, Integer.MAX_VALUE, 4);
+		assertValid(satInstance, sample);
+		assertCovered(satInstance, sample, 3);
+	}
+
+	@Test
+	public void testMaxSampleSize() throws ContradictionException {
+		final SatInstance satInstance = load("gpl_medium_model.xml");
+		final List<List<String>> sample = generate(satInstance, 3, 5, 2);
+		assertTrue(sample.size() <= 5);
+		assertFalse(sample.isEmpty());
+		assertValid(satInstance, sample);
+	}
+
+}
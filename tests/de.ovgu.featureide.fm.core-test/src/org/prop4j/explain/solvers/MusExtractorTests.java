@@ -88,6 +88,37 @@ public abstract class MusExtractorTests extends MutableSatSolverTests {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testMusPushPop() {
+		final MusExtractor solver = getInstance();
+		solver.addFormula(new And(new Or(new Not("A"), "B"), new Or(new Not("B"), "C")));
+		solver.push();
+		solver.addFormula(new And("A", new Not("C")));
+		final Set<Node> expected = new LinkedHashSet<>();
+		expected.add(new Or(new Literal("A", false), "B"));
+		expected.add(new Or(new Literal("B", false), "C"));
+		expected.add(new Or("A"));
+		expected.add(new Or(new Literal("C", false)));
+		assertEquals(expected, solver.getMinimalUnsatisfiableSubset());
+		solver.pop();
+		solver.push();
+		solver.addFormula(new And(new Not("B"), "A"));
+		expected.clear();
+		expected.add(new Or(new Literal("A", false), "B"));
+		expected.add(new Or(new Literal("B", false)));
+		expected.add(new Or("A"));
+		assertEquals(expected, solver.getMinimalUnsatisfiableSubset());
+		solver.pop();
+		solver.push();
+		solver.addFormula(new Literal("A"));
+		solver.addAssumption("C", false);
+		expected.clear();
+		expected.add(new Or(new Literal("A", false), "B"));
+		expected.add(new Or(new Literal("B", false), "C"));
+		expected.add(new Or("A"));
+		assertEquals(expected, solver.getMinimalUnsatisfiableSubset());
+	}
+
 	@Override
 	protected abstract MusExtractor getInstance();
 }
@@ -0,0 +1,94 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.common.Commons;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+
+/**
+ * Tests for {@link ModelCounter}. The counts are compared to the enumeration of all solutions by {@link SatSolver#countSolutions()}.
+ */
+public class TModelCounter {
+
+	private static final int TIMEOUT = 60000;
+
+	private static SatInstance load(String modelFile, String remotePath, String localClassPath) {
+		final IFeatureModel fm = Commons.loadFeatureModelFromFile(modelFile, remotePath, localClassPath);
+		return new SatInstance(AdvancedNodeCreator.createRegularCNF(fm), FeatureUtils.getFeatureNamesPreorder(fm));
+	}
+
+	@Test
+	public void testComponents() throws TimeoutException {
+		final Node cnf = new And(new Or(new Literal("a"), new Literal("b")), new Or(new Literal("c"), new Literal("d")));
+		final SatInstance satInstance = new SatInstance(cnf, Arrays.asList("a", "b", "c", "d", "e"));
+		final ModelCounter counter = new ModelCounter(satInstance);
+		assertEquals(BigInteger.valueOf(18), counter.count(new int[0], TIMEOUT));
+		assertEquals(BigInteger.valueOf(6), counter.count(new int[] { -1 }, TIMEOUT));
+		assertEquals(BigInteger.valueOf(2), counter.count(new int[] { -1, -3 }, TIMEOUT));
+		assertEquals(BigInteger.ZERO, counter.count(new int[] { -1, -2 }, TIMEOUT));
+		assertEquals(BigInteger.ZERO, counter.count(new int[] { 1, -1 }, TIMEOUT));
+	}
+
+	@Test
+	public void testFeatureModel() throws TimeoutException {
+		final SatInstance satInstance = load("gpl_medium_model.xml", Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+				Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH);
+		final ModelCounter counter = new ModelCounter(satInstance);
+		final SatSolver satSolver = new SatSolver(satInstance.getCnf(), TIMEOUT, false);
+		assertEquals(BigInteger.valueOf(satSolver.countSolutions()), counter.count(new int[0], TIMEOUT));
+
+		// counting under assumptions reuses the cached components of previous calls
+		for (int var = 1; var <= satInstance.getNumberOfVariables(); var += 3) {
+			for (final int literal : new int[] { var, -var }) {
+				final long expected = new SatSolver(satInstance.getCnf(), TIMEOUT, false).countSolutions(new Literal[] { satInstance.getLiteral(literal) });
+				assertEquals(BigInteger.valueOf(expected), counter.count(new int[] { literal }, TIMEOUT));
+			}
+		}
+	}
+
+	@Test
+	public void testLargeFeatureModel() throws TimeoutException {
+		final SatInstance satInstance = load("berkeley_db_model.xml", Commons.FEATURE_MODEL_BENCHMARK_PATH_REMOTE,
+				Commons.FEATURE_MODEL_BENCHMARK_PATH_LOCAL_CLASS_PATH);
+		final ModelCounter counter = new ModelCounter(satInstance);
+		final BigInteger count = counter.count(new int[0], TIMEOUT);
+		assertTrue(count.signum() > 0);
+		assertEquals(count, counter.count(new int[] { 1 }, TIMEOUT));
+		assertEquals(count, counter.count(new int[] { 1 }, TIMEOUT).add(counter.count(new int[] { -1 }, TIMEOUT)));
+	}
+
+}
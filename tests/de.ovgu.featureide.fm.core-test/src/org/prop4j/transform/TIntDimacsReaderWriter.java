@@ -0,0 +1,172 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.transform;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.prop4j.solver.IntCNF;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+
+/**
+ * Tests for {@link IntDimacsReader} and {@link IntDimacsWriter}.
+ */
+public class TIntDimacsReaderWriter {
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	private static SatInstance read(String s) throws ParseException {
+		final IntDimacsReader r = new IntDimacsReader(ByteBuffer.wrap(s.getBytes(CHARSET)));
+		r.setReadingVariableDirectory(true);
+		return r.read();
+	}
+
+	private static String write(SatInstance satInstance) throws IOException {
+		final StringWriter out = new StringWriter();
+		final IntDimacsWriter w = new IntDimacsWriter(satInstance);
+		w.setWritingVariableDirectory(true);
+		w.write(out);
+		return out.toString();
+	}
+
+	private static void assertClauses(IntCNF clauses, int[]... expected) {
+		assertEquals(expected.length, clauses.getNumberOfClauses());
+		for (int i = 0; i < expected.length; i++) {
+			assertArrayEquals(expected[i], clauses.getClause(i));
+		}
+	}
+
+	@Test
+	public void testRead() throws ParseException, ContradictionException {
+		final SatInstance satInstance = read("c 1 Foo\n" + "c 2 Bar Baz\n" + "p cnf c comment\n" + "3 2\n" + "1 -3 0\n" + "c 1 Overwritten\n" + "2\t3\n-1");
+		assertEquals(3, satInstance.getNumberOfVariables());
+		assertEquals("Foo", satInstance.getVariableObject(1));
+		assertEquals("Bar Baz", satInstance.getVariableObject(2));
+		assertEquals("3", satInstance.getVariableObject(3));
+		assertClauses(satInstance.getClauses(), new int[] { 1, -3 }, new int[] { 2, 3, -1 });
+		assertEquals(SatResult.TRUE, new BasicSolver(satInstance).isSatisfiable());
+	}
+
+	@Test
+	public void testReadInvalid() {
+		final String[] inputs = { "", //
+			"1 -3 0\n2 3 -1 0", //
+			"P cnf 3 2\n1 -3 0\n2 3 -1 0", //
+			"p wrong 3 2\n1 -3 0\n2 3 -1 0", //
+			"p cnf 0 2\n1 -3 0\n2 3 -1 0", //
+			"p cnf 3 -2\n1 -3 0\n2 3 -1 0", //
+			"cWhere is my space?p cnf 3 2\n1 -3 0\n2 3 -1 0", //
+			"p cnf 3 3\n1 -3 0\n2 3 -1 0", //
+			"p cnf 3 1\n1 -3 0\n2 3 -1 0", //
+			"p cnf 3 2\n1 -3 0\n0\n", //
+			"p cnf 3 2\n1 -3 0\n2 3 -1 0\nBye!", //
+			"p cnf 3 2\n1 -3 0\n2 3x -1 0", //
+			"p cnf 3 2\n1 -4 0\n2 3 -1 0", //
+			"p cnf 3 2\n1 -3 0\n2 99999999999 -1 0" };
+		for (final String input : inputs) {
+			try {
+				read(input);
+				fail(input);
+			} catch (final ParseException e) {}
+		}
+	}
+
+	@Test
+	public void testUnusedVariables() throws ParseException {
+		final SatInstance satInstance = read("p cnf 5 1\n-2 4 0\n");
+		assertEquals(5, satInstance.getNumberOfVariables());
+		assertClauses(satInstance.getClauses(), new int[] { -2, 4 });
+	}
+
+	@Test
+	public void testSameOutputAsDimacsWriter() throws IOException {
+		final Node cnf = new And(new Or("Foo", new Literal("Baz", false)), new Or("Bar", "Baz", new Literal("Foo", false)), new Or(new Literal("Bar", false)));
+		final DimacsWriter w = new DimacsWriter(cnf);
+		w.setWritingVariableDirectory(true);
+		assertEquals(w.write(), write(new SatInstance(cnf, Arrays.asList("Foo", "Baz", "Bar"))));
+	}
+
+	@Test
+	public void testWriteRead() throws IOException, ParseException {
+		final IntCNF clauses = new IntCNF();
+		clauses.addClause(1, -12);
+		clauses.addClause(-1234567, 3, 12);
+		clauses.addClause(7);
+		final String[] variables = new String[1234567];
+		for (int i = 0; i < variables.length; i++) {
+			variables[i] = "v" + (i + 1);
+		}
+		variables[0] = "Feature with spaces";
+		final SatInstance satInstance = read(write(new SatInstance(clauses, Arrays.asList(variables))));
+		assertEquals(variables.length, satInstance.getNumberOfVariables());
+		assertEquals("Feature with spaces", satInstance.getVariableObject(1));
+		assertEquals("v1234567", satInstance.getVariableObject(1234567));
+		assertClauses(satInstance.getClauses(), new int[] { 1, -12 }, new int[] { -1234567, 3, 12 }, new int[] { 7 });
+	}
+
+	@Test
+	public void testFile() throws IOException {
+		final Path file = Files.createTempFile("formula", ".dimacs");
+		try {
+			final DIMACSFormat format = new DIMACSFormat();
+			final SatInstance satInstance =
+				new SatInstance(new And(new Or("A", new Literal("B", false)), new Or("B", "C")), Arrays.asList("A", "B", "C"));
+			assertFalse(format.write(satInstance, file).containsError());
+
+			final ProblemList problems = new ProblemList();
+			final SatInstance readInstance = format.read(file, problems);
+			assertFalse(problems.containsError());
+			assertEquals(satInstance.getContentHash(), readInstance.getContentHash());
+
+			Files.write(file, "p cnf 3 2\n1 -2 0\n2 4 0\n".getBytes(CHARSET));
+			assertNull(format.read(file, problems));
+			assertTrue(problems.containsError());
+			assertEquals(3, problems.getErrors().get(0).getLine());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+}
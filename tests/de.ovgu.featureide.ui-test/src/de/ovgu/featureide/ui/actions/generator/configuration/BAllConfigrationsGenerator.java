@@ -0,0 +1,72 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.ui.actions.generator.configuration.TAllConfigrationsGenerator.CollectingGenerator;
+import de.ovgu.featureide.ui.actions.generator.configuration.TAllConfigrationsGenerator.SatSolverGenerator;
+
+/**
+ * This is a benchmark for the {@link AllConfigrationsGenerator}. It compares the generator, which checks each partial selection with one incremental
+ * solver, to the same generator checking each partial selection with a new {@link org.prop4j.SatSolver} (as done before). The test cases only check that
+ * both variants generate the same configurations.
+ */
+public class BAllConfigrationsGenerator {
+
+	private static final int MAX_PRODUCTS = 1000;
+
+	private static void generate(String modelFile) {
+		long time = System.nanoTime();
+		final List<Set<String>> products1 = new SatSolverGenerator(TAllConfigrationsGenerator.loadModel(modelFile), MAX_PRODUCTS).generate();
+		final long time1 = System.nanoTime() - time;
+
+		time = System.nanoTime();
+		final List<Set<String>> products2 = new CollectingGenerator(TAllConfigrationsGenerator.loadModel(modelFile), MAX_PRODUCTS).generate();
+		final long time2 = System.nanoTime() - time;
+
+		System.out.println(modelFile + ": " + products1.size() + " products");
+		System.out.println("\tSatSolver per partial selection: " + productsPerSecond(products1.size(), time1) + " products/s");
+		System.out.println("\tIncremental BasicSolver:         " + productsPerSecond(products2.size(), time2) + " products/s");
+
+		assertEquals(products1, products2);
+	}
+
+	private static long productsPerSecond(int products, long nanoTime) {
+		return (products * 1000000000L) / Math.max(1, nanoTime);
+	}
+
+	@Test
+	public final void BGenerateGPL() {
+		generate("gpl_medium_model.xml");
+	}
+
+	@Test
+	public final void BGenerateAPL() {
+		generate("apl_model.xml");
+	}
+
+}
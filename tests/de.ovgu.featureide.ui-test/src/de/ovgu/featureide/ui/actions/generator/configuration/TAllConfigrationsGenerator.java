@@ -0,0 +1,154 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link AllConfigrationsGenerator}.
+ */
+public class TAllConfigrationsGenerator {
+
+	protected static File MODEL_FILE_FOLDER = new File("/home/travis/build/FeatureIDE/FeatureIDE/tests/de.ovgu.featureide.ui-test/src/models/");
+
+	/**
+	 * Runs the generator without a builder and collects the selected features of all generated configurations.
+	 */
+	static class CollectingGenerator extends AllConfigrationsGenerator {
+
+		private final int maxConfigs;
+
+		private final List<Set<String>> configurations = new ArrayList<>();
+
+		public CollectingGenerator(IFeatureModel featureModel, int maxConfigs) {
+			super(featureModel);
+			this.maxConfigs = maxConfigs;
+		}
+
+		@Override
+		protected int maxConfigs() {
+			return maxConfigs;
+		}
+
+		@Override
+		protected void addConfiguration(Configuration configuration) {
+			confs++;
+			configurations.add(configuration.getSelectedFeatureNames());
+		}
+
+		@Override
+		protected void cancelGenerationJobs() {}
+
+		public List<Set<String>> generate() {
+			LongRunningWrapper.runMethod(this);
+			return configurations;
+		}
+
+	}
+
+	/**
+	 * Checks each partial selection with a new {@link SatSolver} on a copy of the whole CNF, as the generator did before it used an incremental solver.
+	 */
+	static class SatSolverGenerator extends CollectingGenerator {
+
+		private Node rootNode;
+
+		public SatSolverGenerator(IFeatureModel featureModel, int maxConfigs) {
+			super(featureModel, maxConfigs);
+		}
+
+		@Override
+		protected boolean isSatisfiable(String selected) {
+			if (rootNode == null) {
+				rootNode = AdvancedNodeCreator.createNodes(featureModel, new AbstractFeatureFilter(), CNFType.Compact, ModelType.All, true);
+			}
+			final LinkedList<Node> children = new LinkedList<>();
+			for (final String feature : selected.split("\"")) {
+				children.add(new Literal(feature, true));
+			}
+			try {
+				return new SatSolver(new And(rootNode.clone(), new And(children)), 1000).isSatisfiable();
+			} catch (final TimeoutException e) {
+				return true;
+			}
+		}
+
+	}
+
+	static IFeatureModel loadModel(String name) {
+		if (!MODEL_FILE_FOLDER.canRead()) {
+			MODEL_FILE_FOLDER = new File(ClassLoader.getSystemResource("models").getPath());
+		}
+		final IFeatureModel fm = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		SimpleFileHandler.load(new File(MODEL_FILE_FOLDER, name).toPath(), fm, FMFormatManager.getInstance());
+		return fm;
+	}
+
+	private static void assertSameConfigurations(String modelFile) {
+		final List<Set<String>> expected = new SatSolverGenerator(loadModel(modelFile), Integer.MAX_VALUE).generate();
+		final List<Set<String>> actual = new CollectingGenerator(loadModel(modelFile), Integer.MAX_VALUE).generate();
+		assertFalse(modelFile, expected.isEmpty());
+		assertEquals(modelFile, expected, actual);
+		assertEquals(modelFile, expected.size(), new HashSet<>(actual).size());
+	}
+
+	@Test
+	public void testEmail() {
+		assertSameConfigurations("email.xml");
+	}
+
+	@Test
+	public void testModel() {
+		assertSameConfigurations("model.xml");
+	}
+
+	@Test
+	public void testGPL() {
+		assertSameConfigurations("gpl.xml");
+	}
+
+}